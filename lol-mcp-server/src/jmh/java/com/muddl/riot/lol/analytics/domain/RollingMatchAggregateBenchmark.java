@@ -0,0 +1,103 @@
+package com.muddl.riot.lol.analytics.domain;
+
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of keeping a full window current and reading it back, per analytics call.
+ *
+ * <ul>
+ *   <li>{@code slideOneMatch} — fold one new match into a full window, evicting the oldest: a repeat
+ *       call after one game.
+ *   <li>{@code rebuildWindow} — fold a whole window into an emptied aggregate: a first call.
+ *   <li>{@code readTopK} — the most-played champions and roles, as the summary reads them.
+ * </ul>
+ *
+ * <p>Run with {@code ./gradlew :lol-mcp-server:jmh -Pjmh.includes=RollingMatchAggregateBenchmark
+ * -Pjmh.profilers=gc}; {@code gc.alloc.rate.norm} should stay flat as {@code window} grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RollingMatchAggregateBenchmark {
+
+    private static final String[] CHAMPIONS = {"Ahri", "Zed", "Lux", "Jinx", "Thresh", "LeeSin", "Orianna"};
+    private static final String[] POSITIONS = {"TOP", "JUNGLE", "MIDDLE", "BOTTOM", "UTILITY"};
+
+    @Param({"100", "500"})
+    public int window;
+
+    private RollingMatchAggregate aggregate;
+    private List<String> windowIds;
+    private List<MatchParticipantStats> windowStats;
+    private long nextMatch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        windowIds = new ArrayList<>();
+        windowStats = new ArrayList<>();
+        for (int i = 0; i < window; i++) {
+            windowIds.add("NA1_" + i);
+            windowStats.add(stats(i));
+        }
+        aggregate = new RollingMatchAggregate(window);
+        aggregate.fold(windowIds, windowStats);
+        nextMatch = window;
+    }
+
+    @Benchmark
+    public int slideOneMatch() {
+        long n = nextMatch++;
+        aggregate.fold(List.of("NA1_" + n), List.of(stats((int) n)));
+        return aggregate.getGames();
+    }
+
+    @Benchmark
+    public int rebuildWindow() {
+        aggregate.clear();
+        aggregate.fold(windowIds, windowStats);
+        return aggregate.getGames();
+    }
+
+    @Benchmark
+    public int readTopK() {
+        Map<String, Integer> champions = aggregate.topChampions(3);
+        Map<String, Integer> roles = aggregate.topRoles(2);
+        return champions.size() + roles.size();
+    }
+
+    private static MatchParticipantStats stats(int i) {
+        return MatchParticipantStats.builder()
+                .matchId("NA1_" + i)
+                .queueId(420)
+                .gameDuration(1500 + i % 900)
+                .championName(CHAMPIONS[i % CHAMPIONS.length])
+                .teamPosition(POSITIONS[i % POSITIONS.length])
+                .win(i % 3 != 0)
+                .kills(i % 12)
+                .deaths(i % 7)
+                .assists(i % 15)
+                .visionScore(20 + i % 30)
+                .totalMinionsKilled(150 + i % 80)
+                .neutralMinionsKilled(i % 20)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.muddl.riot.lol.match.adapter.out.riot;
+
+import com.muddl.riot.lol.match.domain.Ban;
+import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchInfo;
+import com.muddl.riot.lol.match.domain.MatchMetadata;
+import com.muddl.riot.lol.match.domain.Participant;
+import com.muddl.riot.lol.match.domain.Team;
+import java.util.ArrayList;
+import java.util.List;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * A Match-V5 body built to Riot's shape and size for the match benchmarks: ten participants carrying
+ * every stat {@code Participant} models plus the {@code challenges}, {@code perks} and {@code missions}
+ * objects it does not, and two teams.
+ */
+final class MatchPayloads {
+
+    static final int PARTICIPANTS = 10;
+
+    private MatchPayloads() {}
+
+    /** The match as Riot's JSON, written with {@code mapper}. */
+    static byte[] rankedMatch(JsonMapper mapper) {
+        List<Participant> participants = new ArrayList<>();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            participants.add(Participant.builder()
+                    .puuid("puuid-" + i)
+                    .championName("Champion" + i)
+                    .teamPosition("MIDDLE")
+                    .lane("MIDDLE")
+                    .role("SOLO")
+                    .riotIdName("Player" + i)
+                    .riotIdTagline("NA1")
+                    .summonerId("summoner-" + i)
+                    .summonerName("Player" + i)
+                    .bountyLevel(0)
+                    .kills(i)
+                    .deaths(i + 1)
+                    .assists(i + 2)
+                    .win(i < PARTICIPANTS / 2)
+                    .build());
+        }
+        List<Team> teams = List.of(
+                Team.builder().teamId(100).win(true).bans(bans()).build(),
+                Team.builder().teamId(200).win(false).bans(bans()).build());
+        Match match = Match.builder()
+                .metadata(MatchMetadata.builder()
+                        .dataVersion("2")
+                        .matchId("NA1_4600000001")
+                        .participants(participants.stream().map(Participant::getPuuid).toList())
+                        .build())
+                .info(MatchInfo.builder()
+                        .gameDuration(1834)
+                        .gameMode("CLASSIC")
+                        .queueId(420)
+                        .participants(participants)
+                        .teams(teams)
+                        .build())
+                .build();
+
+        ObjectNode tree = mapper.valueToTree(match);
+        ArrayNode participantNodes = (ArrayNode) tree.get("info").get("participants");
+        for (int i = 0; i < participantNodes.size(); i++) {
+            addUnmodelledSubtrees((ObjectNode) participantNodes.get(i));
+        }
+        return mapper.writeValueAsBytes(tree);
+    }
+
+
+    private static List<Ban> bans() {
+        List<Ban> bans = new ArrayList<>();
+        for (int turn = 1; turn <= 5; turn++) {
+            bans.add(Ban.builder().championId(turn * 11).pickTurn(turn).build());
+        }
+        return bans;
+    }
+
+    /** Riot's per-participant objects that {@code Participant} does not model, at their real sizes. */
+    private static void addUnmodelledSubtrees(ObjectNode participant) {
+        ObjectNode challenges = participant.putObject("challenges");
+        for (int i = 0; i < 125; i++) {
+            challenges.put("challengeStat" + i, i * 1.5);
+        }
+        ObjectNode perks = participant.putObject("perks");
+        ObjectNode statPerks = perks.putObject("statPerks");
+        statPerks.put("defense", 5002).put("flex", 5008).put("offense", 5005);
+        ArrayNode styles = perks.putArray("styles");
+        for (int style = 0; style < 2; style++) {
+            ObjectNode styleNode = styles.addObject();
+            styleNode.put("description", style == 0 ? "primaryStyle" : "subStyle");
+            styleNode.put("style", 8100 + style * 100);
+            ArrayNode selections = styleNode.putArray("selections");
+            for (int perk = 0; perk < 4; perk++) {
+                selections.addObject().put("perk", 8112 + perk).put("var1", 100).put("var2", 0).put("var3", 0);
+            }
+        }
+        ObjectNode missions = participant.putObject("missions");
+        for (int i = 1; i <= 12; i++) {
+            missions.put("playerScore" + i, 0);
+        }
+    }
+}
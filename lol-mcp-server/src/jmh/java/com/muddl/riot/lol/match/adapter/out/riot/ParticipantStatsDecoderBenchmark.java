@@ -0,0 +1,89 @@
+package com.muddl.riot.lol.match.adapter.out.riot;
+
+import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import com.muddl.riot.lol.match.domain.Participant;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Cost of reading one player's line out of a match, per analysed match, over a {@link MatchPayloads}
+ * body. The target is the last participant, so the streaming path cannot stop early.
+ *
+ * <ul>
+ *   <li>{@code fullDecode} — the old path: bind the whole {@code Match}, then search it for the PUUID.
+ *   <li>{@code streamingDecode} — {@link ParticipantStatsDecoder}.
+ * </ul>
+ *
+ * <p>Allocation is the number that matters here; read it from the GC profiler's {@code
+ * gc.alloc.rate.norm} (bytes per operation): {@code ./gradlew :lol-mcp-server:jmh
+ * -Pjmh.includes=ParticipantStatsDecoderBenchmark -Pjmh.profilers=gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParticipantStatsDecoderBenchmark {
+
+    private static final String TARGET = "puuid-" + (MatchPayloads.PARTICIPANTS - 1);
+
+    // As the RestClient's message converter binds it: Riot sends fields the DTOs do not model.
+    private final JsonMapper mapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        payload = MatchPayloads.rankedMatch(mapper);
+    }
+
+    @Benchmark
+    public MatchParticipantStats fullDecode() {
+        return pick(mapper.readValue(payload, Match.class), TARGET);
+    }
+
+    @Benchmark
+    public MatchParticipantStats streamingDecode() {
+        return ParticipantStatsDecoder.decode(new ByteArrayInputStream(payload), TARGET);
+    }
+
+    /** The full-decode path's last step: the player's line picked out of the bound match. */
+    private static MatchParticipantStats pick(Match match, String puuid) {
+        for (Participant participant : match.getInfo().getParticipants()) {
+            if (puuid.equals(participant.getPuuid())) {
+                return MatchParticipantStats.builder()
+                        .matchId(match.getMetadata() == null ? null : match.getMetadata().getMatchId())
+                        .queueId(match.getInfo().getQueueId())
+                        .gameDuration(match.getInfo().getGameDuration())
+                        .puuid(participant.getPuuid())
+                        .championName(participant.getChampionName())
+                        .teamPosition(participant.getTeamPosition())
+                        .win(participant.isWin())
+                        .kills(participant.getKills())
+                        .deaths(participant.getDeaths())
+                        .assists(participant.getAssists())
+                        .visionScore(participant.getVisionScore())
+                        .totalMinionsKilled(participant.getTotalMinionsKilled())
+                        .neutralMinionsKilled(participant.getNeutralMinionsKilled())
+                        .build();
+            }
+        }
+        return null;
+    }
+}
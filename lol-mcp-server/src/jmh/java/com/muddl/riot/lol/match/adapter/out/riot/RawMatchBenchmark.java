@@ -0,0 +1,61 @@
+package com.muddl.riot.lol.match.adapter.out.riot;
+
+import com.muddl.riot.lol.match.domain.Match;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Throughput of {@code lol_match_json_by_id} from Riot's body to the tool's JSON text, over a {@link
+ * MatchPayloads} body. The HTTP exchange is left out: it is the same for both.
+ *
+ * <ul>
+ *   <li>{@code decodeAndReencode} — the typed path, and the only one before {@code raw}: bind the
+ *       {@code Match}, then write it back out as JSON.
+ *   <li>{@code passThrough} — {@code raw}: Riot's bytes as the text, nothing decoded.
+ * </ul>
+ *
+ * <p>{@code ./gradlew :lol-mcp-server:jmh -Pjmh.includes=RawMatchBenchmark -Pjmh.profilers=gc}; the GC
+ * profiler's {@code gc.alloc.rate.norm} shows the garbage each lookup leaves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RawMatchBenchmark {
+
+    // As the RestClient's message converter binds it: Riot sends fields the DTOs do not model.
+    private final JsonMapper mapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        payload = MatchPayloads.rankedMatch(mapper);
+    }
+
+    @Benchmark
+    public String decodeAndReencode() {
+        return mapper.writeValueAsString(mapper.readValue(payload, Match.class));
+    }
+
+    @Benchmark
+    public String passThrough() {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}
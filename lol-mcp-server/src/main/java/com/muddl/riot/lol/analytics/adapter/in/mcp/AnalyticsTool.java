@@ -4,6 +4,7 @@ import com.muddl.riot.core.enums.RiotApiPlatformUri;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.lol.analytics.application.AnalyticsService;
 import com.muddl.riot.lol.analytics.domain.PlayerMatchAnalytics;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.mcp.annotation.McpTool;
@@ -20,6 +21,9 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class AnalyticsTool {
 
+    /** Beyond Riot's 100-ID page: the history is paged in as the matches are fetched. */
+    private static final int MAX_MATCH_COUNT = 500;
+
     private final AnalyticsService analyticsService;
 
     @McpTool(
@@ -30,12 +34,27 @@ public class AnalyticsTool {
                     String player,
             @McpToolParam(description = "The Riot platform, e.g. NA1, EUW1", required = true) String platformStr,
             @McpToolParam(description = "The Riot region, e.g. AMERICAS, EUROPE", required = true) String regionStr,
-            @McpToolParam(description = "Number of recent matches to analyze, 1-100, defaults to 10", required = false)
-                    Integer matchCount) {
+            @McpToolParam(description = "Number of recent matches to analyze, 1-500, defaults to 10", required = false)
+                    Integer matchCount,
+            @McpToolParam(description = "Optional: only this Riot queue ID, e.g. 420 for ranked solo", required = false)
+                    Integer queue,
+            @McpToolParam(
+                            description = "Optional: only matches started at or after this epoch second",
+                            required = false)
+                    Long startTime,
+            @McpToolParam(
+                            description = "Optional: only matches started at or before this epoch second",
+                            required = false)
+                    Long endTime) {
         RiotApiPlatformUri platform = RiotApiPlatformUri.valueOf(platformStr);
         RiotApiRegionUri region = RiotApiRegionUri.valueOf(regionStr);
-        int count = matchCount == null ? 10 : Math.min(100, Math.max(1, matchCount));
+        int count = matchCount == null ? 10 : Math.min(MAX_MATCH_COUNT, Math.max(1, matchCount));
+        MatchIdQuery query = MatchIdQuery.builder()
+                .queue(queue)
+                .startTime(startTime)
+                .endTime(endTime)
+                .build();
         log.info("MCP Tool - Generating match analytics for a player on platform: {}", platform);
-        return analyticsService.getPlayerMatchAnalytics(player, platform, region, count);
+        return analyticsService.getPlayerMatchAnalytics(player, platform, region, count, query);
     }
 }
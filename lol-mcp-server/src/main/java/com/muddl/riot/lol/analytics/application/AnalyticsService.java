@@ -1,17 +1,25 @@
 package com.muddl.riot.lol.analytics.application;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
+import com.muddl.riot.core.concurrent.BoundedFanOut;
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.core.paging.OffsetPager;
 import com.muddl.riot.lol.analytics.domain.PlayerMatchAnalytics;
+import com.muddl.riot.lol.analytics.domain.RollingMatchAggregate;
 import com.muddl.riot.lol.match.application.MatchService;
-import com.muddl.riot.lol.match.domain.Match;
-import com.muddl.riot.lol.match.domain.Participant;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
 import com.muddl.riot.lol.summoner.application.SummonerService;
 import com.muddl.riot.lol.summoner.domain.Summoner;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,15 +28,39 @@ import org.springframework.stereotype.Service;
 /**
  * Service for generating advanced analytics based on League of Legends match data.
  * This service combines data from multiple API endpoints to provide comprehensive insights.
+ *
+ * <p>The lookups run concurrently through one {@link BoundedFanOut.Call}: the summoner alongside the match
+ * history, and every match at once up to the fan-out cap, so a call takes about as long as its slowest
+ * match fetch rather than the sum of them. The history is paged in lazily, 100 IDs at a time, so a
+ * several-hundred-match window starts fetching matches as soon as its first page arrives.
+ *
+ * <p>Each match is read as the player's {@link MatchParticipantStats} line rather than a whole {@code
+ * Match}: analytics needs a dozen fields of one participant, not ten participants and both teams.
+ *
+ * <p>Results are kept incrementally. Each (region, player, match count, query) has a {@link
+ * RollingMatchAggregate} over its last {@code matchCount} matches; a repeat call reads only the head of
+ * the match history, fetches the matches played since, and folds them in. A player with no new games
+ * costs the summoner lookup and one match-ID page. Aggregates are stored column-wise, about forty bytes
+ * per match, and are bounded by count ({@value #MAX_AGGREGATES}); finished matches never change, so they
+ * need no TTL. A call reads Riot without holding its aggregate and only locks it to fold and summarize.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AnalyticsService {
 
+    private static final int MAX_AGGREGATES = 1_000;
+
+    /** Match IDs per page while looking for the newest known one; most repeat calls need one page. */
+    private static final int DELTA_PAGE_SIZE = 10;
+
     private final PlayerIdentityResolver identityResolver;
     private final SummonerService summonerService;
     private final MatchService matchService;
+    private final BoundedFanOut fanOut;
+
+    private final Cache<String, RollingMatchAggregate> aggregates =
+            Caffeine.newBuilder().maximumSize(MAX_AGGREGATES).build();
 
     /**
      * Get match analytics for a player by Riot ID (e.g., PlayerName#TAG)
@@ -36,120 +68,129 @@ public class AnalyticsService {
      * @param platform The game platform (e.g., NA1, EUW1)
      * @param region The game region (e.g., AMERICAS, EUROPE)
      * @param matchCount Number of recent matches to analyze
+     * @param query Which matches count: queue, type, and time window ({@link MatchIdQuery#ALL} for all)
      * @return Analytics of the player's recent matches
      */
     public PlayerMatchAnalytics getPlayerMatchAnalytics(
-            String player, RiotApiPlatformUri platform, RiotApiRegionUri region, int matchCount) {
+            String player, RiotApiPlatformUri platform, RiotApiRegionUri region, int matchCount, MatchIdQuery query) {
         log.info("Generating match analytics for player on platform: {}", platform);
 
         // Resolve the caller's player reference (Riot ID or raw PUUID) to a PUUID once.
         String puuid = identityResolver.resolvePuuid(player);
 
-        // Summoner name/level for the summary.
-        Summoner summoner = summonerService.getSummonerByPuuid(platform, puuid);
+        // The summoner and the match history are independent: fetch them side by side. Run from a scouting
+        // lookup, the call is scouting's own, so these fetches count against its cap rather than adding to it.
+        BoundedFanOut.Call call = fanOut.call();
+        BoundedFanOut.Fork<Summoner> summonerFork =
+                call.fork(() -> summonerService.getSummonerByPuuid(platform, puuid));
 
-        // Recent match IDs, then details.
-        List<String> matchIds = matchService.getMatchIdsByPuuid(region, puuid, matchCount, 0, null);
+        RollingMatchAggregate aggregate = aggregates.get(
+                region + "|" + puuid + "|" + matchCount + "|" + query, key -> new RollingMatchAggregate(matchCount));
+        // Riot is read outside the aggregate's lock, which only guards the fold: blocking under a monitor
+        // would pin a virtual thread to its carrier, and would hold up every other call for this player.
+        String newestKnown;
+        synchronized (aggregate) {
+            newestKnown = aggregate.newestMatchId();
+        }
+        NewMatchIds newMatchIds =
+                new NewMatchIds(history(region, puuid, query, aggregate.getCapacity(), newestKnown), newestKnown);
 
-        // Step 4: Get match details and extract player data
-        List<Match> matches = new ArrayList<>();
-        List<Participant> playerParticipations = new ArrayList<>();
+        // The player's line from each new match, concurrently, capped by riot.fan-out.max-concurrency, in
+        // match-ID order. Each fetch starts as its ID arrives, so a long history's later ID pages load while
+        // its first matches are already being read. Any failure fails the whole call and leaves the
+        // aggregate as it was.
+        List<MatchParticipantStats> newStats =
+                call.map(newMatchIds, matchId -> matchService.getParticipantStats(region, matchId, puuid));
+        PlayerMatchAnalytics analytics;
+        synchronized (aggregate) {
+            merge(aggregate, newestKnown, newMatchIds, newStats);
+            analytics = summarize(player, aggregate);
+        }
 
-        for (String matchId : matchIds) {
-            Match match = matchService.getMatchById(region, matchId);
-            matches.add(match);
+        Summoner summoner = summonerFork.join();
+        analytics.setSummonerName(summoner.getName());
+        analytics.setSummonerLevel(summoner.getSummonerLevel());
+        return analytics;
+    }
 
-            // Find the player in the participants
-            for (Participant participant : match.getInfo().getParticipants()) {
-                if (participant.getPuuid().equals(puuid)) {
-                    playerParticipations.add(participant);
-                    break;
-                }
+    /**
+     * The head of the player's match history, newest first, at most a window long. An empty window is
+     * filled from pages of 100. A filled one only needs the matches since its newest, usually none or a
+     * few, so its history is read in small pages and the first one is typically the only one.
+     */
+    private Iterator<String> history(
+            RiotApiRegionUri region, String puuid, MatchIdQuery query, int capacity, String newestKnown) {
+        if (newestKnown == null) {
+            return matchService.streamMatchIdsByPuuid(region, puuid, query, capacity);
+        }
+        return new OffsetPager<>(
+                capacity,
+                Math.min(DELTA_PAGE_SIZE, capacity),
+                (start, count) -> matchService.getMatchIdsByPuuid(region, puuid, count, start, query));
+    }
+
+    /**
+     * Folds the matches read since {@code newestKnown} into {@code aggregate}. Another call for the same
+     * window may have folded while this one read Riot: then only the matches newer than what it folded go
+     * in, and if this call's history does not reach its newest match, the other call read the later
+     * history and its window stands.
+     */
+    private static void merge(
+            RollingMatchAggregate aggregate,
+            String newestKnown,
+            NewMatchIds newMatchIds,
+            List<MatchParticipantStats> newStats) {
+        List<String> matchIds = newMatchIds.consumed();
+        String newest = aggregate.newestMatchId();
+        if (Objects.equals(newest, newestKnown)) {
+            if (!newMatchIds.reachedKnown()) {
+                aggregate.clear(); // the window was empty, or a whole window has been played since
             }
+            aggregate.fold(matchIds, newStats);
+            return;
         }
+        int folded = newest == null ? -1 : matchIds.indexOf(newest);
+        if (folded >= 0) {
+            aggregate.fold(matchIds.subList(0, folded), newStats.subList(0, folded));
+        }
+    }
 
-        // Step 5: Calculate basic analytics
-        int totalGames = playerParticipations.size();
+    private PlayerMatchAnalytics summarize(String player, RollingMatchAggregate aggregate) {
+        int totalGames = aggregate.getGames();
 
         // Handle case where no matches were found
         if (totalGames == 0) {
-            return PlayerMatchAnalytics.builder()
-                    .riotId(player)
-                    .summonerName(summoner.getName())
-                    .summonerLevel(summoner.getSummonerLevel())
-                    .matchCount(0)
-                    .build();
+            return PlayerMatchAnalytics.builder().riotId(player).matchCount(0).build();
         }
 
-        int wins =
-                (int) playerParticipations.stream().filter(Participant::isWin).count();
+        int wins = aggregate.getWins();
         int losses = totalGames - wins;
 
         double winRate = (double) wins / totalGames * 100;
-
-        double avgKills = playerParticipations.stream()
-                .mapToInt(Participant::getKills)
-                .average()
-                .orElse(0);
-
-        double avgDeaths = playerParticipations.stream()
-                .mapToInt(Participant::getDeaths)
-                .average()
-                .orElse(0);
-
-        double avgAssists = playerParticipations.stream()
-                .mapToInt(Participant::getAssists)
-                .average()
-                .orElse(0);
-
-        // Calculate average vision score
-        double avgVisionScore = playerParticipations.stream()
-                .mapToInt(Participant::getVisionScore)
-                .average()
-                .orElse(0);
-
-        // Calculate average creep score (CS)
-        double avgCreepScore = playerParticipations.stream()
-                .mapToInt(p -> p.getTotalMinionsKilled() + p.getNeutralMinionsKilled())
-                .average()
-                .orElse(0);
-
-        // Calculate average game duration
-        double avgGameDurationSeconds = matches.stream()
-                .mapToLong(match -> match.getInfo().getGameDuration())
-                .average()
-                .orElse(0);
+        double avgKills = (double) aggregate.getKills() / totalGames;
+        double avgDeaths = (double) aggregate.getDeaths() / totalGames;
+        double avgAssists = (double) aggregate.getAssists() / totalGames;
+        double avgVisionScore = (double) aggregate.getVisionScore() / totalGames;
+        double avgCreepScore = (double) aggregate.getCreepScore() / totalGames;
+        double avgGameDurationSeconds = (double) aggregate.getGameDurationSeconds() / totalGames;
 
         String formattedGameDuration = formatDuration((long) avgGameDurationSeconds);
 
-        // Step 6: Determine most played champions
-        List<String> mostPlayedChampions = playerParticipations.stream()
-                .collect(Collectors.groupingBy(Participant::getChampionName, Collectors.counting()))
-                .entrySet()
-                .stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .limit(3)
+        // Most played champions
+        List<String> mostPlayedChampions = aggregate.topChampions(3).entrySet().stream()
                 .map(entry -> entry.getKey() + " (" + entry.getValue() + " games)")
                 .collect(Collectors.toList());
 
-        // Step 7: Determine most played roles
-        List<String> mostPlayedRoles = playerParticipations.stream()
-                .collect(Collectors.groupingBy(Participant::getTeamPosition, Collectors.counting()))
-                .entrySet()
-                .stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .limit(2)
+        // Most played roles
+        List<String> mostPlayedRoles = aggregate.topRoles(2).entrySet().stream()
                 .map(entry -> {
                     String role = entry.getKey().isEmpty() ? "Unknown" : entry.getKey();
                     return role + " (" + entry.getValue() + " games)";
                 })
                 .collect(Collectors.toList());
 
-        // Step 8: Create and return the analytics object
         return PlayerMatchAnalytics.builder()
                 .riotId(player)
-                .summonerName(summoner.getName())
-                .summonerLevel(summoner.getSummonerLevel())
                 .matchCount(totalGames)
                 .wins(wins)
                 .losses(losses)
@@ -186,4 +227,54 @@ public class AnalyticsService {
         long remainingSeconds = duration.minusMinutes(minutes).getSeconds();
         return String.format("%dm %ds", minutes, remainingSeconds);
     }
+
+    /**
+     * Match IDs from the history up to, not including, the newest one already aggregated. Records what
+     * it hands out, in order, for the fold. Pulled by one thread — the one running the fan-out.
+     */
+    private static final class NewMatchIds implements Iterator<String> {
+
+        private final Iterator<String> history;
+        private final String newestKnown;
+        private final List<String> consumed = new ArrayList<>();
+        private String next;
+        private boolean reachedKnown;
+
+        NewMatchIds(Iterator<String> history, String newestKnown) {
+            this.history = history;
+            this.newestKnown = newestKnown;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !reachedKnown && history.hasNext()) {
+                String matchId = history.next();
+                if (matchId.equals(newestKnown)) {
+                    reachedKnown = true;
+                } else {
+                    next = matchId;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String matchId = next;
+            next = null;
+            consumed.add(matchId);
+            return matchId;
+        }
+
+        List<String> consumed() {
+            return consumed;
+        }
+
+        boolean reachedKnown() {
+            return reachedKnown;
+        }
+    }
 }
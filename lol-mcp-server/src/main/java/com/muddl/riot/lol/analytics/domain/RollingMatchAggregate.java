@@ -0,0 +1,289 @@
+package com.muddl.riot.lol.analytics.domain;
+
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Running totals over a player's most recent {@code capacity} matches, newest first. New matches are
+ * folded in at the head and the oldest fall out of the tail, each adjusting the sums and the
+ * champion/role histograms by its own contribution — so keeping the window current costs work per new
+ * match, not per match in the window.
+ *
+ * <p>The window is stored column-wise: one primitive array per stat, rows in a ring with the newest at
+ * {@code head}. Champion and team position are dictionary-encoded, each distinct name kept once with its
+ * game count indexed by code, so the histograms are int arrays and a top-K read is one pass over the
+ * few hundred codes a player can have. A row costs about forty bytes and no objects of its own; the
+ * arrays grow by doubling up to {@code capacity}.
+ *
+ * <p>Every match ID in the window is remembered, including matches the player turns out not to be in:
+ * they count towards the window's length, not its totals. Not thread-safe; the owner serialises access.
+ */
+public class RollingMatchAggregate {
+
+    private static final int INITIAL_ROWS = 16;
+
+    /** The champion code of a row whose match the player was not in. */
+    private static final int ABSENT = -1;
+
+    @Getter
+    private final int capacity;
+
+    @Getter
+    private int games;
+
+    @Getter
+    private int wins;
+
+    @Getter
+    private long kills;
+
+    @Getter
+    private long deaths;
+
+    @Getter
+    private long assists;
+
+    @Getter
+    private long visionScore;
+
+    @Getter
+    private long creepScore;
+
+    @Getter
+    private long gameDurationSeconds;
+
+    private final Dictionary championNames = new Dictionary();
+    private final Dictionary roleNames = new Dictionary();
+
+    private String[] matchIdColumn;
+    private int[] championColumn;
+    private int[] roleColumn;
+    private boolean[] winColumn;
+    private int[] killsColumn;
+    private int[] deathsColumn;
+    private int[] assistsColumn;
+    private int[] visionScoreColumn;
+    private int[] creepScoreColumn;
+    private int[] gameDurationColumn;
+    private int head;
+    private int rows;
+
+    public RollingMatchAggregate(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, was " + capacity);
+        }
+        this.capacity = capacity;
+        allocate(Math.min(capacity, INITIAL_ROWS));
+    }
+
+    /** The newest match ID folded in, or {@code null} while the window is empty. */
+    public String newestMatchId() {
+        return rows == 0 ? null : matchIdColumn[head];
+    }
+
+    /**
+     * Folds in matches newer than everything in the window, then evicts past {@code capacity}.
+     *
+     * @param matchIds the new match IDs, newest first
+     * @param stats the player's line from each, in the same order; {@code null} where they did not play
+     */
+    public void fold(List<String> matchIds, List<MatchParticipantStats> stats) {
+        if (matchIds.size() != stats.size()) {
+            throw new IllegalArgumentException(matchIds.size() + " match IDs but " + stats.size() + " stats");
+        }
+        // Oldest first, so the newest ends up at the head. A full window drops its oldest row before each
+        // addition rather than after all of them, which leaves the same window and never outgrows capacity.
+        for (int i = matchIds.size() - 1; i >= 0; i--) {
+            if (rows == capacity) {
+                removeOldest();
+            }
+            addNewest(matchIds.get(i), stats.get(i));
+        }
+    }
+
+    /** Empties the window — for when the match history no longer lines up with it. */
+    public void clear() {
+        Arrays.fill(matchIdColumn, null);
+        head = rows = 0;
+        championNames.clear();
+        roleNames.clear();
+        games = wins = 0;
+        kills = deaths = assists = visionScore = creepScore = gameDurationSeconds = 0;
+    }
+
+    /** The {@code limit} most-played champions across the window, most games first, with their games. */
+    public Map<String, Integer> topChampions(int limit) {
+        return championNames.top(limit);
+    }
+
+    /**
+     * The {@code limit} most-played team positions across the window, most games first, with their
+     * games. Riot leaves the position blank for modes without lanes; those count under {@code ""}.
+     */
+    public Map<String, Integer> topRoles(int limit) {
+        return roleNames.top(limit);
+    }
+
+    private void addNewest(String matchId, MatchParticipantStats stats) {
+        if (rows == matchIdColumn.length) {
+            allocate(Math.min(capacity, matchIdColumn.length * 2));
+        }
+        head = head == 0 ? matchIdColumn.length - 1 : head - 1;
+        rows++;
+        matchIdColumn[head] = matchId;
+        if (stats == null) {
+            championColumn[head] = ABSENT;
+            return;
+        }
+        int champion = championNames.encode(stats.getChampionName());
+        int role = roleNames.encode(stats.getTeamPosition());
+        int creeps = stats.getTotalMinionsKilled() + stats.getNeutralMinionsKilled();
+        int duration = (int) stats.getGameDuration();
+
+        championColumn[head] = champion;
+        roleColumn[head] = role;
+        winColumn[head] = stats.isWin();
+        killsColumn[head] = stats.getKills();
+        deathsColumn[head] = stats.getDeaths();
+        assistsColumn[head] = stats.getAssists();
+        visionScoreColumn[head] = stats.getVisionScore();
+        creepScoreColumn[head] = creeps;
+        gameDurationColumn[head] = duration;
+
+        games++;
+        wins += stats.isWin() ? 1 : 0;
+        kills += stats.getKills();
+        deaths += stats.getDeaths();
+        assists += stats.getAssists();
+        visionScore += stats.getVisionScore();
+        creepScore += creeps;
+        gameDurationSeconds += duration;
+        championNames.count(champion, 1);
+        roleNames.count(role, 1);
+    }
+
+    private void removeOldest() {
+        int row = (head + rows - 1) % matchIdColumn.length;
+        rows--;
+        matchIdColumn[row] = null;
+        if (championColumn[row] == ABSENT) {
+            return;
+        }
+        games--;
+        wins -= winColumn[row] ? 1 : 0;
+        kills -= killsColumn[row];
+        deaths -= deathsColumn[row];
+        assists -= assistsColumn[row];
+        visionScore -= visionScoreColumn[row];
+        creepScore -= creepScoreColumn[row];
+        gameDurationSeconds -= gameDurationColumn[row];
+        championNames.count(championColumn[row], -1);
+        roleNames.count(roleColumn[row], -1);
+    }
+
+    /** (Re)allocates the columns at {@code size} rows, unrolling the ring so the newest row lands at 0. */
+    private void allocate(int size) {
+        String[] matchIds = new String[size];
+        int[] champions = new int[size];
+        int[] roles = new int[size];
+        boolean[] winsByRow = new boolean[size];
+        int[] killsByRow = new int[size];
+        int[] deathsByRow = new int[size];
+        int[] assistsByRow = new int[size];
+        int[] visionByRow = new int[size];
+        int[] creepsByRow = new int[size];
+        int[] durations = new int[size];
+        for (int i = 0; i < rows; i++) {
+            int row = (head + i) % matchIdColumn.length;
+            matchIds[i] = matchIdColumn[row];
+            champions[i] = championColumn[row];
+            roles[i] = roleColumn[row];
+            winsByRow[i] = winColumn[row];
+            killsByRow[i] = killsColumn[row];
+            deathsByRow[i] = deathsColumn[row];
+            assistsByRow[i] = assistsColumn[row];
+            visionByRow[i] = visionScoreColumn[row];
+            creepsByRow[i] = creepScoreColumn[row];
+            durations[i] = gameDurationColumn[row];
+        }
+        matchIdColumn = matchIds;
+        championColumn = champions;
+        roleColumn = roles;
+        winColumn = winsByRow;
+        killsColumn = killsByRow;
+        deathsColumn = deathsByRow;
+        assistsColumn = assistsByRow;
+        visionScoreColumn = visionByRow;
+        creepScoreColumn = creepsByRow;
+        gameDurationColumn = durations;
+        head = 0;
+    }
+
+    /**
+     * A string column's dictionary: each distinct value gets the next int code and keeps it until the
+     * aggregate is cleared, alongside the window's game count for it. A null value is coded as {@code ""}.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private int[] games = new int[INITIAL_ROWS];
+
+        int encode(String value) {
+            String key = value == null ? "" : value;
+            Integer code = codes.get(key);
+            if (code != null) {
+                return code;
+            }
+            codes.put(key, values.size());
+            values.add(key);
+            if (values.size() > games.length) {
+                games = Arrays.copyOf(games, games.length * 2);
+            }
+            return values.size() - 1;
+        }
+
+        void count(int code, int delta) {
+            games[code] += delta;
+        }
+
+        /** The {@code limit} codes with the most games, by one pass keeping a small sorted leaderboard. */
+        Map<String, Integer> top(int limit) {
+            if (limit < 1) {
+                return Map.of();
+            }
+            int[] best = new int[limit];
+            int found = 0;
+            for (int code = 0; code < values.size(); code++) {
+                int count = games[code];
+                if (count == 0 || (found == best.length && count <= games[best[found - 1]])) {
+                    continue;
+                }
+                // Insert after every code with at least as many games, so ties keep first-seen order.
+                int at = found == best.length ? found - 1 : found++;
+                while (at > 0 && games[best[at - 1]] < count) {
+                    best[at] = best[at - 1];
+                    at--;
+                }
+                best[at] = code;
+            }
+            Map<String, Integer> top = new LinkedHashMap<>();
+            for (int i = 0; i < found; i++) {
+                top.put(values.get(best[i]), games[best[i]]);
+            }
+            return top;
+        }
+
+        void clear() {
+            codes.clear();
+            values.clear();
+            Arrays.fill(games, 0);
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.muddl.riot.lol.championmastery.adapter.out.riot;
 
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.core.exception.RiotApiException;
 import com.muddl.riot.core.http.RiotApiClient;
 import com.muddl.riot.lol.championmastery.application.port.ChampionMasteryPort;
 import com.muddl.riot.lol.championmastery.domain.ChampionMastery;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 /** Riot Champion-Mastery-V4 API adapter. Mastery endpoints are platform-routed. */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class RiotChampionMasteryAdapter implements ChampionMasteryPort {
 
     private static final String BY_PUUID = "/lol/champion-mastery/v4/champion-masteries/by-puuid/{puuid}";
+    private static final String BY_CHAMPION = BY_PUUID + "/by-champion/{championId}";
+    private static final int NOT_FOUND = 404;
 
     private final RiotApiClient riotApiClient;
 
@@ -28,4 +33,22 @@ public class RiotChampionMasteryAdapter implements ChampionMasteryPort {
                 .body(ChampionMastery[].class);
         return masteries == null ? List.of() : List.of(masteries);
     }
+
+    @Override
+    public ChampionMastery getMasteryByPuuidAndChampion(RiotApiPlatformUri platform, String puuid, long championId) {
+        try {
+            return riotApiClient
+                    .platform(platform)
+                    .get()
+                    .uri(BY_CHAMPION, puuid, championId)
+                    .retrieve()
+                    .body(ChampionMastery.class);
+        } catch (RiotApiException e) {
+            if (e.getStatusCode() == NOT_FOUND) {
+                log.debug("Player {} has no mastery of champion {} (404)", puuid, championId);
+                return null;
+            }
+            throw e;
+        }
+    }
 }
@@ -27,4 +27,11 @@ public class ChampionMasteryService {
         log.info("Fetching champion mastery on platform: {}", platform);
         return masteryPort.getMasteryByPuuid(platform, puuid, count);
     }
+
+    /** {@code player}'s mastery of one champion, or {@code null} if they have none. */
+    public ChampionMastery getMasteryByPlayerAndChampion(RiotApiPlatformUri platform, String player, long championId) {
+        String puuid = identityResolver.resolvePuuid(player);
+        log.info("Fetching champion {} mastery on platform: {}", championId, platform);
+        return masteryPort.getMasteryByPuuidAndChampion(platform, puuid, championId);
+    }
 }
@@ -12,4 +12,10 @@ public interface ChampionMasteryPort {
      * non-null, only the top {@code count} are returned (Riot's {@code /top} endpoint).
      */
     List<ChampionMastery> getMasteryByPuuid(RiotApiPlatformUri platform, String puuid, Integer count);
+
+    /**
+     * A player's mastery of one champion (Riot's {@code /by-champion/{championId}} endpoint), or {@code
+     * null} if they have none.
+     */
+    ChampionMastery getMasteryByPuuidAndChampion(RiotApiPlatformUri platform, String puuid, long championId);
 }
@@ -1,16 +1,28 @@
 package com.muddl.riot.lol.league.application;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.core.paging.RankedSnapshot;
+import com.muddl.riot.core.paging.SnapshotCursor;
 import com.muddl.riot.lol.league.application.port.LeaguePort;
+import com.muddl.riot.lol.league.domain.ApexStanding;
 import com.muddl.riot.lol.league.domain.ApexTier;
 import com.muddl.riot.lol.league.domain.LeagueEntry;
 import com.muddl.riot.lol.league.domain.LeagueItem;
 import com.muddl.riot.lol.league.domain.LeagueList;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.OptionalInt;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
@@ -19,14 +31,73 @@ import org.springframework.stereotype.Service;
  * service. This is the reference shape every player-keyed context in sub-project 1b copies (see the
  * 1a handoff contract): the tool passes a single {@code player}, and the service resolves it to a
  * PUUID here before calling the port.
+ *
+ * <p>Apex leagues are held as {@link RankedSnapshot}s per platform, tier and queue: sorted by league
+ * points once per fetch and indexed by PUUID, so the top N, a player's rank and their neighbours are
+ * read without a Riot call or a sort. A snapshot read more than {@link #LADDER_REFRESH} after it was
+ * taken is refreshed in the background while the old one is served; one unread for {@link
+ * #LADDER_IDLE} is dropped.
+ *
+ * <p>Each snapshot has a version, and a page of an apex league carries a cursor naming that version and
+ * where the next page starts. Paging by cursor slices the same snapshot however often it is refreshed
+ * meanwhile, so pages neither skip nor repeat entries. Snapshots stay reachable by version until unread
+ * for {@link #CURSOR_IDLE}.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class LeagueService {
 
+    /**
+     * How stale a served apex league may get. Nothing else caches these endpoints, so each refresh goes
+     * to Riot and the snapshot is the only copy of the league held.
+     */
+    static final Duration LADDER_REFRESH = Duration.ofMinutes(2);
+
+    static final Duration LADDER_IDLE = Duration.ofMinutes(30);
+
+    /** How long a superseded snapshot outlives its last page read. */
+    static final Duration CURSOR_IDLE = Duration.ofMinutes(10);
+
+    /** Every platform's three apex tiers, for two queues. */
+    private static final int MAX_LADDERS = 100;
+
+    private static final Comparator<LeagueItem> BY_LEAGUE_POINTS =
+            Comparator.comparingInt(LeagueItem::getLeaguePoints).reversed();
+
     private final LeaguePort leaguePort;
     private final PlayerIdentityResolver identityResolver;
+    private final LoadingCache<LadderKey, ApexLadder> ladders;
+    private final Cache<Long, ApexLadder> laddersByVersion;
+    private final AtomicLong versions = new AtomicLong();
+
+    @Autowired
+    public LeagueService(LeaguePort leaguePort, PlayerIdentityResolver identityResolver) {
+        this(
+                leaguePort,
+                identityResolver,
+                Ticker.systemTicker(),
+                Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("lol-ladder-refresh-", 0).factory()));
+    }
+
+    LeagueService(LeaguePort leaguePort, PlayerIdentityResolver identityResolver, Ticker ticker, Executor executor) {
+        this.leaguePort = leaguePort;
+        this.identityResolver = identityResolver;
+        // A league Riot has no body for is not cached: the loader returns null.
+        this.ladders = Caffeine.newBuilder()
+                .maximumSize(MAX_LADDERS)
+                .refreshAfterWrite(LADDER_REFRESH)
+                .expireAfterAccess(LADDER_IDLE)
+                .ticker(ticker)
+                .executor(executor)
+                .build(this::fetchLadder);
+        // Refreshes replace a ladder about every LADDER_REFRESH; four per ladder covers a slow pager.
+        this.laddersByVersion = Caffeine.newBuilder()
+                .maximumSize(MAX_LADDERS * 4L)
+                .expireAfterAccess(CURSOR_IDLE)
+                .ticker(ticker)
+                .build();
+    }
 
     public List<LeagueEntry> getLeagueEntriesByPlayer(RiotApiPlatformUri platform, String player) {
         String puuid = identityResolver.resolvePuuid(player);
@@ -37,37 +108,117 @@ public class LeagueService {
     /** Default number of apex entries returned when the caller does not specify a count. */
     private static final int DEFAULT_APEX_ENTRIES = 10;
 
+    /** The first page of the apex league: its top {@code count} entries. */
     public LeagueList getApexLeague(RiotApiPlatformUri platform, ApexTier tier, String queue, Integer count) {
-        log.info("Fetching {} apex league for queue {} on platform: {}", tier, queue, platform);
-        int limit = (count == null || count <= 0) ? DEFAULT_APEX_ENTRIES : count;
-        return boundEntries(leaguePort.getApexLeague(platform, tier, queue), limit);
+        return getApexLeague(platform, tier, queue, count, null, null);
     }
 
     /**
-     * Returns a copy of {@code league} holding only the top {@code limit} entries by league points,
-     * with {@code totalEntries} stamped to the pre-truncation size.
+     * One page of the apex league: {@code count} entries by league points from 0-based {@code offset},
+     * or from where {@code cursor} points, with {@code totalEntries} the whole ladder's size. {@code
+     * nextCursor} continues from the same snapshot and is {@code null} on the last page.
      *
      * <p>Riot's League-V4 apex endpoint has no server-side count parameter (unlike
      * Champion-Mastery-V4, where the bound is pushed down to the port), so the bound is applied
      * here in the application layer. Riot does not guarantee entry order, so entries are sorted
      * before slicing — otherwise "top N" is meaningless and a discovered subject would change
      * between runs. See ADR-0016.
+     *
+     * @throws IllegalArgumentException if {@code cursor} is malformed, expired, or from another ladder
      */
-    private static LeagueList boundEntries(LeagueList league, int limit) {
+    public LeagueList getApexLeague(
+            RiotApiPlatformUri platform,
+            ApexTier tier,
+            String queue,
+            Integer count,
+            Integer offset,
+            String cursor) {
+        log.info("Reading {} apex league for queue {} on platform: {}", tier, queue, platform);
+        int limit = (count == null || count <= 0) ? DEFAULT_APEX_ENTRIES : count;
+        LadderKey key = new LadderKey(platform, tier, queue);
+        ApexLadder ladder;
+        int from;
+        if (cursor != null && !cursor.isBlank()) {
+            SnapshotCursor position = SnapshotCursor.decode(cursor);
+            ladder = laddersByVersion.getIfPresent(position.version());
+            if (ladder == null) {
+                throw new IllegalArgumentException("Cursor has expired; start again without one");
+            }
+            if (!ladder.key().equals(key)) {
+                throw new IllegalArgumentException("Cursor is for another ladder");
+            }
+            from = position.offset();
+        } else {
+            ladder = ladders.get(key);
+            if (ladder == null) {
+                return null;
+            }
+            from = offset == null ? 0 : Math.max(0, offset);
+        }
+        RankedSnapshot<LeagueItem> ranked = ladder.ranked();
+        List<LeagueItem> page = ranked.slice(from, limit);
+        int next = from + page.size();
+        return ladder.league().toBuilder()
+                .entries(page)
+                .totalEntries(ranked.size())
+                .offset(from)
+                .nextCursor(next < ranked.size() ? new SnapshotCursor(ladder.version(), next).encode() : null)
+                .build();
+    }
+
+    /**
+     * Where {@code player} stands in the apex ladder for {@code queue}, with {@code radius} entries on
+     * either side. Tiers are searched from the top, so a Master player costs three ladder reads, each
+     * free once its snapshot is held. {@code null} if the player is in no apex tier.
+     */
+    public ApexStanding getApexStandingByPlayer(RiotApiPlatformUri platform, String queue, String player, int radius) {
+        String puuid = identityResolver.resolvePuuid(player);
+        log.info("Reading apex standing for queue {} on platform: {}", queue, platform);
+        int reach = Math.max(0, radius);
+        int above = 0;
+        for (ApexTier tier : ApexTier.values()) {
+            ApexLadder ladder = ladders.get(new LadderKey(platform, tier, queue));
+            if (ladder == null) {
+                continue;
+            }
+            RankedSnapshot<LeagueItem> ranked = ladder.ranked();
+            OptionalInt rank = ranked.rankOf(puuid);
+            if (rank.isPresent()) {
+                int r = rank.getAsInt();
+                return ApexStanding.builder()
+                        .puuid(puuid)
+                        .tier(tier.name())
+                        .queue(queue)
+                        .rank(r)
+                        .apexRank(above + r)
+                        .totalEntries(ranked.size())
+                        .entry(ranked.atRank(r))
+                        .aroundFromRank(Math.max(1, r - reach))
+                        .around(ranked.around(puuid, reach))
+                        .build();
+            }
+            above += ranked.size();
+        }
+        return null;
+    }
+
+    private ApexLadder fetchLadder(LadderKey key) {
+        LeagueList league = leaguePort.getApexLeague(key.platform(), key.tier(), key.queue());
         if (league == null) {
             return null;
         }
-        List<LeagueItem> entries = league.getEntries();
-        if (entries == null) {
-            return league.toBuilder().entries(List.of()).totalEntries(0).build();
-        }
-        return league.toBuilder()
-                .entries(entries.stream()
-                        .sorted(Comparator.comparingInt(LeagueItem::getLeaguePoints)
-                                .reversed())
-                        .limit(limit)
-                        .toList())
-                .totalEntries(entries.size())
-                .build();
+        List<LeagueItem> entries = league.getEntries() == null ? List.of() : league.getEntries();
+        ApexLadder ladder = new ApexLadder(
+                key,
+                versions.incrementAndGet(),
+                league.toBuilder().entries(null).build(),
+                RankedSnapshot.of(entries, BY_LEAGUE_POINTS, LeagueItem::getPuuid));
+        laddersByVersion.put(ladder.version(), ladder);
+        return ladder;
     }
+
+    private record LadderKey(RiotApiPlatformUri platform, ApexTier tier, String queue) {}
+
+    /** An apex league's ranked entries, and the rest of the league without them. */
+    private record ApexLadder(LadderKey key, long version, LeagueList league, RankedSnapshot<LeagueItem> ranked) {}
 }
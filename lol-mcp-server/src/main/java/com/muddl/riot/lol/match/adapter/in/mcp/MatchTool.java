@@ -1,8 +1,11 @@
 package com.muddl.riot.lol.match.adapter.in.mcp;
 
 import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.core.json.JsonProjection;
 import com.muddl.riot.lol.match.application.MatchService;
 import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +15,14 @@ import org.springframework.stereotype.Component;
 
 /**
  * MCP tools for League of Legends match data (Match-V5, region-routed). {@code lol_match_ids_by_player}
- * is player-keyed; {@code lol_match_by_id} is keyed by a match ID and takes no player (ADR-0014).
+ * is player-keyed; {@code lol_match_by_id} and {@code lol_match_json_by_id} are keyed by a match ID and
+ * take no player (ADR-0014).
+ *
+ * <p>{@code lol_match_by_id} answers with the curated {@code Match}, serialized by the framework like
+ * any other tool result. {@code lol_match_json_by_id} always answers with JSON text it builds itself:
+ * with {@code raw}, Riot's body without a decode and re-encode; otherwise the curated {@code Match}.
+ * {@code fields} cuts either down as it is written ({@link JsonProjection}), so an agent asking for a
+ * few stats pays for a few stats.
  */
 @Slf4j
 @Component
@@ -34,10 +44,28 @@ public class MatchTool {
             @McpToolParam(description = "Number of match IDs to skip (for paging), defaults to 0", required = false)
                     Integer start,
             @McpToolParam(description = "Optional: filter by Riot queue ID, e.g. 420 for ranked solo", required = false)
-                    Integer queue) {
+                    Integer queue,
+            @McpToolParam(
+                            description = "Optional: filter by match type: ranked, normal, tourney, tutorial",
+                            required = false)
+                    String type,
+            @McpToolParam(
+                            description = "Optional: only matches started at or after this epoch second",
+                            required = false)
+                    Long startTime,
+            @McpToolParam(
+                            description = "Optional: only matches started at or before this epoch second",
+                            required = false)
+                    Long endTime) {
         RiotApiRegionUri region = RiotApiRegionUri.valueOf(regionStr.toUpperCase());
+        MatchIdQuery query = MatchIdQuery.builder()
+                .queue(queue)
+                .type(type == null ? null : type.toLowerCase())
+                .startTime(startTime)
+                .endTime(endTime)
+                .build();
         log.info("MCP Tool - Getting match IDs for a player in region: {}", region);
-        return matchService.getMatchIdsByPlayer(region, player, count, start, queue);
+        return matchService.getMatchIdsByPlayer(region, player, count, start, query);
     }
 
     @McpTool(
@@ -51,4 +79,32 @@ public class MatchTool {
         log.info("MCP Tool - Getting match detail for match ID: {}", matchId);
         return matchService.getMatchById(region, matchId);
     }
+
+    @McpTool(
+            name = "lol_match_json_by_id",
+            description = "Get one League of Legends match by its match ID as JSON text: Riot's match JSON "
+                    + "as sent with raw, and only the listed field paths with fields.")
+    public CallToolResult getMatchJsonById(
+            @McpToolParam(description = "The Riot region, e.g. AMERICAS, EUROPE, ASIA", required = true)
+                    String regionStr,
+            @McpToolParam(description = "The match ID, e.g. NA1_4567890123", required = true) String matchId,
+            @McpToolParam(
+                            description = "Optional: return Riot's match JSON as sent, with every field, e.g. "
+                                    + "challenges and perks. Defaults to false",
+                            required = false)
+                    Boolean raw,
+            @McpToolParam(
+                            description = "Optional: return only these comma-separated field paths, "
+                                    + "e.g. \"info.participants[].championName,kills,win\"; a bare name after a "
+                                    + "path is a sibling of that path's last field. Defaults to every field",
+                            required = false)
+                    String fields) {
+        RiotApiRegionUri region = RiotApiRegionUri.valueOf(regionStr.toUpperCase());
+        JsonProjection projection = JsonProjection.parse(fields);
+        log.info("MCP Tool - Getting match detail as JSON for match ID: {}", matchId);
+        String json = Boolean.TRUE.equals(raw)
+                ? projection.project(matchService.getRawMatchById(region, matchId))
+                : projection.write(matchService.getMatchById(region, matchId));
+        return CallToolResult.builder().addTextContent(json).build();
+    }
 }
@@ -0,0 +1,80 @@
+package com.muddl.riot.lol.match.adapter.out.riot;
+
+import java.util.ArrayList;
+import java.util.List;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Reads the Riot ID each participant played a match under, and when the match ended, straight off a
+ * Match-V5 payload with Jackson's streaming parser, as {@link ParticipantStatsDecoder} reads one
+ * player's line. It is for bodies that are stored without being bound to a {@code Match} — a raw read,
+ * a participant projection — so they teach the identity resolver as much as a decoded match does.
+ *
+ * <p>Every subtree but {@code info.gameEndTimestamp} and the participants' {@code puuid}, {@code
+ * riotIdGameName}, {@code riotIdName} and {@code riotIdTagline} is skipped token by token.
+ */
+final class MatchRiotIdReader {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private MatchRiotIdReader() {}
+
+    /** One participant's Riot ID; {@code gameName} falls back to the legacy {@code riotIdName}. */
+    record RiotId(String gameName, String tagLine, String puuid) {}
+
+    /** The participants' Riot IDs, and the game's end in epoch milliseconds ({@code 0} if absent). */
+    record MatchRiotIds(long gameEndTimestamp, List<RiotId> riotIds) {}
+
+    static MatchRiotIds read(byte[] json) {
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            long gameEndTimestamp = 0;
+            List<RiotId> riotIds = new ArrayList<>(10);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new MatchRiotIds(gameEndTimestamp, riotIds);
+            }
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String section = parser.currentName();
+                parser.nextToken();
+                if (!section.equals("info")) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "gameEndTimestamp" -> gameEndTimestamp = parser.getValueAsLong();
+                        case "participants" -> {
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                riotIds.add(readRiotId(parser));
+                            }
+                        }
+                        default -> parser.skipChildren();
+                    }
+                }
+            }
+            return new MatchRiotIds(gameEndTimestamp, riotIds);
+        }
+    }
+
+    private static RiotId readRiotId(JsonParser parser) {
+        String gameName = null;
+        String legacyName = null;
+        String tagLine = null;
+        String puuid = null;
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "puuid" -> puuid = parser.getValueAsString();
+                case "riotIdGameName" -> gameName = parser.getValueAsString();
+                case "riotIdName" -> legacyName = parser.getValueAsString();
+                case "riotIdTagline" -> tagLine = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        return new RiotId(gameName == null || gameName.isBlank() ? legacyName : gameName, tagLine, puuid);
+    }
+}
@@ -0,0 +1,111 @@
+package com.muddl.riot.lol.match.adapter.out.riot;
+
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import java.io.InputStream;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Reads one player's {@link MatchParticipantStats} straight off a Match-V5 payload with Jackson's
+ * streaming parser. A match is ~100 KB of JSON, nearly all of it ten participants of ~110 stats plus
+ * {@code challenges}, {@code perks} and {@code missions} objects, then {@code teams}; binding it to
+ * {@code Match} builds all of that to keep one participant's dozen fields.
+ *
+ * <p>Here every subtree other than the participants array is skipped token by token without being
+ * materialised, and each participant keeps only the fields the projection names — its nested objects
+ * are skipped too. Field order inside a participant is not guaranteed, so a participant's fields are
+ * collected before its {@code puuid} is checked; once the player is found, the remaining participants
+ * are skipped whole.
+ */
+final class ParticipantStatsDecoder {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private ParticipantStatsDecoder() {}
+
+    /** {@code puuid}'s line from the match JSON on {@code json}, or {@code null} if they are not in it. */
+    static MatchParticipantStats decode(InputStream json, String puuid) {
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String matchId = null;
+            int queueId = 0;
+            long gameDuration = 0;
+            MatchParticipantStats stats = null;
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String section = parser.currentName();
+                parser.nextToken();
+                if (section.equals("metadata")) {
+                    while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                        String field = parser.currentName();
+                        parser.nextToken();
+                        if (field.equals("matchId")) {
+                            matchId = parser.getValueAsString();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else if (section.equals("info")) {
+                    while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                        String field = parser.currentName();
+                        parser.nextToken();
+                        switch (field) {
+                            case "queueId" -> queueId = parser.getValueAsInt();
+                            case "gameDuration" -> gameDuration = parser.getValueAsLong();
+                            case "participants" -> stats = findParticipant(parser, puuid);
+                            default -> parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (stats != null) {
+                stats.setMatchId(matchId);
+                stats.setQueueId(queueId);
+                stats.setGameDuration(gameDuration);
+            }
+            return stats;
+        }
+    }
+
+    /** Walks the participants array, leaving the parser on its {@code END_ARRAY}. */
+    private static MatchParticipantStats findParticipant(JsonParser parser, String puuid) {
+        MatchParticipantStats found = null;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (found != null) {
+                parser.skipChildren();
+                continue;
+            }
+            MatchParticipantStats candidate = readParticipant(parser);
+            if (puuid.equals(candidate.getPuuid())) {
+                found = candidate;
+            }
+        }
+        return found;
+    }
+
+    private static MatchParticipantStats readParticipant(JsonParser parser) {
+        MatchParticipantStats stats = new MatchParticipantStats();
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "puuid" -> stats.setPuuid(parser.getValueAsString());
+                case "championName" -> stats.setChampionName(parser.getValueAsString());
+                case "teamPosition" -> stats.setTeamPosition(parser.getValueAsString());
+                case "win" -> stats.setWin(parser.getValueAsBoolean());
+                case "kills" -> stats.setKills(parser.getValueAsInt());
+                case "deaths" -> stats.setDeaths(parser.getValueAsInt());
+                case "assists" -> stats.setAssists(parser.getValueAsInt());
+                case "visionScore" -> stats.setVisionScore(parser.getValueAsInt());
+                case "totalMinionsKilled" -> stats.setTotalMinionsKilled(parser.getValueAsInt());
+                case "neutralMinionsKilled" -> stats.setNeutralMinionsKilled(parser.getValueAsInt());
+                default -> parser.skipChildren();
+            }
+        }
+        return stats;
+    }
+}
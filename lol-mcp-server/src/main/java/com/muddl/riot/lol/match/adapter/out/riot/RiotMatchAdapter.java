@@ -1,25 +1,46 @@
 package com.muddl.riot.lol.match.adapter.out.riot;
 
+import com.muddl.riot.account.identity.PlayerIdentityResolver;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.core.exception.RiotApiException;
 import com.muddl.riot.core.http.RiotApiClient;
 import com.muddl.riot.lol.match.application.port.MatchPort;
 import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import com.muddl.riot.lol.match.domain.Participant;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
 
-/** Riot Match-V5 API adapter. Match endpoints are region-routed. */
+/**
+ * Riot Match-V5 API adapter. Match endpoints are region-routed.
+ *
+ * <p>A decoded match also teaches {@link PlayerIdentityResolver} its participants' Riot IDs, so a
+ * follow-up on a teammate or opponent by Riot ID resolves without account-v1. So does a body fetched
+ * through {@link #getRawMatchLearningRiotIds}, which reads only the Riot IDs off it.
+ */
 @Component
 @RequiredArgsConstructor
 public class RiotMatchAdapter implements MatchPort {
 
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
     private final RiotApiClient riotApiClient;
+    private final PlayerIdentityResolver identityResolver;
 
     @Override
     @SuppressWarnings("unchecked")
     public List<String> getMatchIdsByPuuid(
-            RiotApiRegionUri region, String puuid, Integer count, Integer start, Integer queue) {
+            RiotApiRegionUri region, String puuid, Integer count, Integer start, MatchIdQuery query) {
         RestClient client = riotApiClient.regional(region);
 
         String uri = "/lol/match/v5/matches/by-puuid/{puuid}/ids?";
@@ -29,8 +50,19 @@ public class RiotMatchAdapter implements MatchPort {
         if (start != null) {
             uri += "start=" + start + "&";
         }
-        if (queue != null) {
-            uri += "queue=" + queue;
+        if (query != null) {
+            if (query.getQueue() != null) {
+                uri += "queue=" + query.getQueue() + "&";
+            }
+            if (query.getType() != null) {
+                uri += "type=" + query.getType() + "&";
+            }
+            if (query.getStartTime() != null) {
+                uri += "startTime=" + query.getStartTime() + "&";
+            }
+            if (query.getEndTime() != null) {
+                uri += "endTime=" + query.getEndTime();
+            }
         }
         if (uri.endsWith("&") || uri.endsWith("?")) {
             uri = uri.substring(0, uri.length() - 1);
@@ -41,11 +73,95 @@ public class RiotMatchAdapter implements MatchPort {
 
     @Override
     public Match getMatchById(RiotApiRegionUri region, String matchId) {
-        return riotApiClient
+        Match match = riotApiClient
                 .regional(region)
                 .get()
                 .uri("/lol/match/v5/matches/{matchId}", matchId)
                 .retrieve()
                 .body(Match.class);
+        learnRiotIds(match);
+        return match;
+    }
+
+    /**
+     * Binds a body {@link #getRawMatchById} returned, learning its Riot IDs as {@link #getMatchById}
+     * does. Riot's body has fields {@code Match} does not model; those are skipped.
+     */
+    Match decode(byte[] json) {
+        Match match = MAPPER.readValue(json, Match.class);
+        learnRiotIds(match);
+        return match;
+    }
+
+    @Override
+    public byte[] getRawMatchById(RiotApiRegionUri region, String matchId) {
+        return riotApiClient
+                .regional(region)
+                .get()
+                .uri("/lol/match/v5/matches/{matchId}", matchId)
+                .retrieve()
+                .body(byte[].class);
+    }
+
+    /**
+     * Fetches a body as {@link #getRawMatchById} does, and learns its Riot IDs as {@link #decode} would
+     * without binding it: for the store's misses that are served raw or as a participant projection. A
+     * body the reader cannot parse teaches nothing and is returned all the same.
+     */
+    byte[] getRawMatchLearningRiotIds(RiotApiRegionUri region, String matchId) {
+        byte[] json = getRawMatchById(region, matchId);
+        if (json == null) {
+            return null;
+        }
+        MatchRiotIdReader.MatchRiotIds seen;
+        try {
+            seen = MatchRiotIdReader.read(json);
+        } catch (JacksonException e) {
+            return json;
+        }
+        Duration age = Duration.ofMillis(System.currentTimeMillis() - seen.gameEndTimestamp());
+        for (MatchRiotIdReader.RiotId riotId : seen.riotIds()) {
+            identityResolver.learn(riotId.gameName(), riotId.tagLine(), riotId.puuid(), age);
+        }
+        return json;
+    }
+
+    /**
+     * A match names each player by the Riot ID they had when it was played, so the mappings are as old
+     * as the match: the resolver keeps them for what is left of its TTL after the game's end, and
+     * ignores them from an older match.
+     */
+    private void learnRiotIds(Match match) {
+        if (match == null || match.getInfo() == null || match.getInfo().getParticipants() == null) {
+            return;
+        }
+        Duration age = Duration.ofMillis(System.currentTimeMillis() - match.getInfo().getGameEndTimestamp());
+        for (Participant participant : match.getInfo().getParticipants()) {
+            String gameName = participant.getRiotIdGameName();
+            if (gameName == null || gameName.isBlank()) {
+                gameName = participant.getRiotIdName();
+            }
+            identityResolver.learn(gameName, participant.getRiotIdTagline(), participant.getPuuid(), age);
+        }
+    }
+
+    /**
+     * Streams the match body through {@link ParticipantStatsDecoder} instead of binding it: {@code
+     * exchange} hands over the raw body, so the client's default status handler does not run and a
+     * Riot error is mapped here the same way.
+     */
+    @Override
+    public MatchParticipantStats getParticipantStats(RiotApiRegionUri region, String matchId, String puuid) {
+        return riotApiClient
+                .regional(region)
+                .get()
+                .uri("/lol/match/v5/matches/{matchId}", matchId)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        String body = new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+                        throw RiotApiException.forStatus(response.getStatusCode().value(), body);
+                    }
+                    return ParticipantStatsDecoder.decode(response.getBody(), puuid);
+                });
     }
 }
@@ -0,0 +1,88 @@
+package com.muddl.riot.lol.match.adapter.out.riot;
+
+import com.muddl.riot.core.archive.ResourceArchive;
+import com.muddl.riot.core.cache.ImmutableResourceStore;
+import com.muddl.riot.core.config.RiotApiProperties;
+import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.lol.match.application.port.MatchPort;
+import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import java.util.List;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@link MatchPort} the application sees: {@link RiotMatchAdapter} behind an {@link
+ * ImmutableResourceStore}. A match ID names a finished, immutable match, so once fetched it is served
+ * from memory to {@code lol_match_by_id} and to every analytics pass that overlaps an earlier one.
+ * Match-ID lists change as players play and always go to Riot.
+ *
+ * <p>With {@code riot.archive.enabled}, the store reads through to an on-disk {@link ResourceArchive}
+ * under {@code lol-matches/}, so matches fetched before a restart are still a local read after it.
+ *
+ * <p>Matches are stored packed unless {@code riot.match-store.packed} is off — roughly a quarter of
+ * their object graph's heap — and rebuilt into a {@code Match} only for {@code lol_match_by_id}.
+ *
+ * <p>A participant projection streams from the stored match's JSON without rebuilding it. On a miss the
+ * body is fetched once, stored (and archived), and the projection is cut from those same bytes, so
+ * whatever reads the match next finds it in the store.
+ *
+ * <p>Every miss teaches the identity resolver the match's Riot IDs, whichever read it was: a decoded
+ * match through {@link RiotMatchAdapter#decode}, a raw or projected one through {@link
+ * RiotMatchAdapter#getRawMatchLearningRiotIds}.
+ */
+@Primary
+@Component
+public class StoredMatchAdapter implements MatchPort, DisposableBean {
+
+    private final RiotMatchAdapter riot;
+    private final ImmutableResourceStore<Match> matches;
+
+    public StoredMatchAdapter(RiotMatchAdapter riot, RiotApiProperties properties) {
+        this.riot = riot;
+        this.matches = new ImmutableResourceStore<>(
+                properties.getMatchStore().getMaxSize(),
+                ResourceArchive.open(properties.getArchive(), "lol-matches"),
+                Match.class,
+                properties.getMatchStore().isPacked());
+    }
+
+    @Override
+    public List<String> getMatchIdsByPuuid(
+            RiotApiRegionUri region, String puuid, Integer count, Integer start, MatchIdQuery query) {
+        return riot.getMatchIdsByPuuid(region, puuid, count, start, query);
+    }
+
+    @Override
+    public Match getMatchById(RiotApiRegionUri region, String matchId) {
+        // Match IDs carry their platform prefix (NA1_...), so the ID alone is a global key. The body is
+        // fetched raw so that Riot's JSON, not the re-serialized DTO, is what gets stored and archived.
+        return matches.get(matchId, id -> riot.getRawMatchById(region, id), riot::decode);
+    }
+
+    /**
+     * Served from the store, which keeps Riot's body rather than the decoded {@code Match}: a miss is
+     * fetched once and stored for every later read, raw or not. A packed hit replays that body — every
+     * field Riot sent, though not necessarily in Riot's exact spelling of numbers and whitespace.
+     */
+    @Override
+    public byte[] getRawMatchById(RiotApiRegionUri region, String matchId) {
+        return matches.getJson(matchId, id -> riot.getRawMatchLearningRiotIds(region, id));
+    }
+
+    @Override
+    public MatchParticipantStats getParticipantStats(RiotApiRegionUri region, String matchId, String puuid) {
+        // Stored or fetched, the JSON goes through the same streaming decoder, so no Match is built.
+        return matches.view(
+                matchId,
+                id -> riot.getRawMatchLearningRiotIds(region, id),
+                json -> ParticipantStatsDecoder.decode(json, puuid));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        matches.close();
+    }
+}
@@ -2,8 +2,12 @@ package com.muddl.riot.lol.match.application;
 
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.core.paging.OffsetPager;
 import com.muddl.riot.lol.match.application.port.MatchPort;
 import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import java.util.Iterator;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,19 +30,39 @@ public class MatchService {
     private final PlayerIdentityResolver identityResolver;
 
     public List<String> getMatchIdsByPlayer(
-            RiotApiRegionUri region, String player, Integer count, Integer start, Integer queue) {
+            RiotApiRegionUri region, String player, Integer count, Integer start, MatchIdQuery query) {
         String puuid = identityResolver.resolvePuuid(player);
-        return getMatchIdsByPuuid(region, puuid, count, start, queue);
+        return getMatchIdsByPuuid(region, puuid, count, start, query);
     }
 
     public List<String> getMatchIdsByPuuid(
-            RiotApiRegionUri region, String puuid, Integer count, Integer start, Integer queue) {
+            RiotApiRegionUri region, String puuid, Integer count, Integer start, MatchIdQuery query) {
         log.info("Fetching match IDs for PUUID: {}", puuid);
-        return matchPort.getMatchIdsByPuuid(region, puuid, count, start, queue);
+        return matchPort.getMatchIdsByPuuid(region, puuid, count, start, query);
+    }
+
+    /**
+     * A player's most recent {@code limit} match IDs matching {@code query}, most recent first, paged in
+     * lazily 100 at a time: a page is requested only once the IDs before it have been consumed.
+     */
+    public Iterator<String> streamMatchIdsByPuuid(
+            RiotApiRegionUri region, String puuid, MatchIdQuery query, int limit) {
+        return new OffsetPager<>(limit, (start, count) -> getMatchIdsByPuuid(region, puuid, count, start, query));
     }
 
     public Match getMatchById(RiotApiRegionUri region, String matchId) {
         log.info("Fetching match details for match ID: {}", matchId);
         return matchPort.getMatchById(region, matchId);
     }
+
+    /** The match as Riot sent it, for callers that pass it on rather than read it. */
+    public byte[] getRawMatchById(RiotApiRegionUri region, String matchId) {
+        log.info("Fetching raw match details for match ID: {}", matchId);
+        return matchPort.getRawMatchById(region, matchId);
+    }
+
+    public MatchParticipantStats getParticipantStats(RiotApiRegionUri region, String matchId, String puuid) {
+        log.info("Fetching participant stats for match ID: {}", matchId);
+        return matchPort.getParticipantStats(region, matchId, puuid);
+    }
 }
@@ -2,12 +2,32 @@ package com.muddl.riot.lol.match.application.port;
 
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
 import java.util.List;
 
 /** Outbound port for retrieving League of Legends match data. */
 public interface MatchPort {
 
-    List<String> getMatchIdsByPuuid(RiotApiRegionUri region, String puuid, Integer count, Integer start, Integer queue);
+    /**
+     * One page of a player's match IDs, most recent first: up to {@code count} (at most 100) from offset
+     * {@code start}, filtered by {@code query} ({@code null} for none).
+     */
+    List<String> getMatchIdsByPuuid(
+            RiotApiRegionUri region, String puuid, Integer count, Integer start, MatchIdQuery query);
 
     Match getMatchById(RiotApiRegionUri region, String matchId);
+
+    /**
+     * Riot's match-by-ID body: every field Riot sends, none of it bound to the DTO. Verbatim when it
+     * comes from Riot; a store may replay it with the same fields and values.
+     */
+    byte[] getRawMatchById(RiotApiRegionUri region, String matchId);
+
+    /**
+     * One player's line from a match, without decoding the rest of it.
+     *
+     * @return the player's stats, or {@code null} if {@code puuid} did not play in the match
+     */
+    MatchParticipantStats getParticipantStats(RiotApiRegionUri region, String matchId, String puuid);
 }
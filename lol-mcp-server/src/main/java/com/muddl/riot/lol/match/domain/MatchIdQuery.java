@@ -0,0 +1,43 @@
+package com.muddl.riot.lol.match.domain;
+
+import java.util.Set;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Filters on a player's match-ID history — the optional query parameters of Match-V5 {@code
+ * by-puuid/{puuid}/ids}. Times are epoch seconds; Riot only keeps timestamps from June 16th, 2021 on,
+ * so an earlier {@code startTime} matches nothing older than that.
+ */
+@Value
+public class MatchIdQuery {
+
+    /** No filters: every match, most recent first. */
+    public static final MatchIdQuery ALL = builder().build();
+
+    private static final Set<String> TYPES = Set.of("ranked", "normal", "tourney", "tutorial");
+
+    Integer queue;
+    String type;
+    Long startTime;
+    Long endTime;
+
+    @Builder
+    public MatchIdQuery(Integer queue, String type, Long startTime, Long endTime) {
+        if (type != null && !TYPES.contains(type)) {
+            throw new IllegalArgumentException(
+                    "Unknown match type '" + type + "'. Use one of ranked, normal, tourney, tutorial.");
+        }
+        if (startTime != null && endTime != null && startTime > endTime) {
+            throw new IllegalArgumentException("startTime " + startTime + " is after endTime " + endTime + ".");
+        }
+        this.queue = queue;
+        this.type = type;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public static MatchIdQuery ofQueue(Integer queue) {
+        return builder().queue(queue).build();
+    }
+}
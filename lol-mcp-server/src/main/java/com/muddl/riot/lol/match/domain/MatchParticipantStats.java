@@ -0,0 +1,30 @@
+package com.muddl.riot.lol.match.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One player's line from one match: the handful of match and participant fields analytics reads,
+ * without the other nine participants, the teams, or the ~100 stats per participant it never looks at.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchParticipantStats {
+    private String matchId;
+    private int queueId;
+    private long gameDuration;
+    private String puuid;
+    private String championName;
+    private String teamPosition;
+    private boolean win;
+    private int kills;
+    private int deaths;
+    private int assists;
+    private int visionScore;
+    private int totalMinionsKilled;
+    private int neutralMinionsKilled;
+}
@@ -71,6 +71,9 @@ public class Participant {
     private int pentaKills;
     private String puuid;
     private int quadraKills;
+    // Riot ID game name. Current matches carry it as riotIdGameName; riotIdName is its older spelling,
+    // blank or absent in recent payloads.
+    private String riotIdGameName;
     private String riotIdName;
     private String riotIdTagline;
     private String role;
@@ -0,0 +1,56 @@
+package com.muddl.riot.lol.scouting.adapter.in.mcp;
+
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.lol.scouting.application.ScoutingService;
+import com.muddl.riot.lol.scouting.domain.LiveGameScouting;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.mcp.annotation.McpTool;
+import org.springframework.ai.mcp.annotation.McpToolParam;
+import org.springframework.stereotype.Component;
+
+/**
+ * MCP server tool for scouting a live game: rank, champion mastery and recent form for every
+ * participant, looked up concurrently on the server in place of dozens of chained tool calls.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScoutingTool {
+
+    /** Recent form is analytics over each participant's history: ten histories, so kept short. */
+    private static final int MAX_MATCH_COUNT = 20;
+
+    private static final int DEFAULT_MATCH_COUNT = 5;
+    private static final int MAX_BUDGET_SECONDS = 60;
+    private static final int DEFAULT_BUDGET_SECONDS = 15;
+
+    private final ScoutingService scoutingService;
+
+    @McpTool(
+            name = "lol_scouting_live_game_by_player",
+            description =
+                    "Scout everyone in a player's live game (a Riot ID as GameName#TAG, or a raw PUUID): each participant's ranked entries, mastery of the champion they are playing, and recent-match form, in one call. Lookups that miss the time budget are listed in a participant's 'missing'. Returns null if the player is not in a game.")
+    public LiveGameScouting scoutLiveGameByPlayer(
+            @McpToolParam(description = "The player as a Riot ID (GameName#TAG) or a raw PUUID", required = true)
+                    String player,
+            @McpToolParam(description = "The Riot platform, e.g. NA1, EUW1", required = true) String platformStr,
+            @McpToolParam(description = "The Riot region, e.g. AMERICAS, EUROPE", required = true) String regionStr,
+            @McpToolParam(
+                            description = "Recent matches per participant for their form, 1-20, defaults to 5",
+                            required = false)
+                    Integer matchCount,
+            @McpToolParam(description = "Seconds to wait for the lookups, 1-60, defaults to 15", required = false)
+                    Integer budgetSeconds) {
+        RiotApiPlatformUri platform = RiotApiPlatformUri.valueOf(platformStr);
+        RiotApiRegionUri region = RiotApiRegionUri.valueOf(regionStr);
+        int count = matchCount == null ? DEFAULT_MATCH_COUNT : Math.min(MAX_MATCH_COUNT, Math.max(1, matchCount));
+        int budget = budgetSeconds == null
+                ? DEFAULT_BUDGET_SECONDS
+                : Math.min(MAX_BUDGET_SECONDS, Math.max(1, budgetSeconds));
+        log.info("MCP Tool - Scouting a player's live game on platform: {}", platform);
+        return scoutingService.scoutLiveGameByPlayer(platform, region, player, count, Duration.ofSeconds(budget));
+    }
+}
@@ -0,0 +1,155 @@
+package com.muddl.riot.lol.scouting.application;
+
+import com.muddl.riot.core.concurrent.BoundedFanOut;
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.lol.analytics.application.AnalyticsService;
+import com.muddl.riot.lol.analytics.domain.PlayerMatchAnalytics;
+import com.muddl.riot.lol.championmastery.application.ChampionMasteryService;
+import com.muddl.riot.lol.championmastery.domain.ChampionMastery;
+import com.muddl.riot.lol.league.application.LeagueService;
+import com.muddl.riot.lol.league.domain.LeagueEntry;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import com.muddl.riot.lol.scouting.domain.LiveGameScouting;
+import com.muddl.riot.lol.scouting.domain.ScoutedParticipant;
+import com.muddl.riot.lol.spectator.application.SpectatorService;
+import com.muddl.riot.lol.spectator.domain.CurrentGameInfo;
+import com.muddl.riot.lol.spectator.domain.CurrentGameParticipant;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scouts everyone in a player's live game: each participant's ranked entries, mastery of the champion
+ * they are playing, and recent form, in one call. Composes the spectator, league, champion-mastery and
+ * analytics application services, as analytics composes summoner and match.
+ *
+ * <p>All lookups are forked at once through one {@link BoundedFanOut.Call}, three per participant, and
+ * share one latency budget; at most {@code riot.fan-out.max-concurrency} of them, and of the analytics
+ * match fetches nested in them, run at a time. Other clients' calls have permits of their own. {@code
+ * RiotApiClient}'s rate limiter sits underneath, so a lobby costs the same calls it would one by one,
+ * only sooner. Participants are looked up by the PUUID the game lists, so none needs account-v1; the
+ * game itself comes from the shared live-game cache, and recent form from analytics' aggregates over
+ * stored matches.
+ *
+ * <p>A lookup that fails or is still running when the budget is spent is left out rather than failing
+ * the call, and named in the participant's {@code missing} list. One still running is cancelled, so a
+ * call that has answered stops spending rate-limit budget on it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScoutingService {
+
+    static final String LEAGUE = "league";
+    static final String MASTERY = "mastery";
+    static final String RECENT_FORM = "recentForm";
+
+    private final SpectatorService spectatorService;
+    private final LeagueService leagueService;
+    private final ChampionMasteryService masteryService;
+    private final AnalyticsService analyticsService;
+    private final BoundedFanOut fanOut;
+
+    /**
+     * Scouts the game {@code player} is in.
+     *
+     * @param matchCount recent matches per participant for their form
+     * @param budget how long to wait for the lookups, from the game being found
+     * @return {@code null} if the player is not in a game
+     */
+    public LiveGameScouting scoutLiveGameByPlayer(
+            RiotApiPlatformUri platform, RiotApiRegionUri region, String player, int matchCount, Duration budget) {
+        CurrentGameInfo game = spectatorService.getCurrentGameByPlayer(platform, player);
+        if (game == null) {
+            return null;
+        }
+        long deadline = System.nanoTime() + budget.toNanos();
+        List<CurrentGameParticipant> participants =
+                game.getParticipants() != null ? game.getParticipants() : List.of();
+        log.info("Scouting the {} participants of game {} on platform: {}",
+                participants.size(), game.getGameId(), platform);
+
+        BoundedFanOut.Call call = fanOut.call();
+        List<Lookups> lookups = participants.stream()
+                .map(participant -> start(call, platform, region, participant, matchCount))
+                .toList();
+        List<ScoutedParticipant> scouted = new ArrayList<>(lookups.size());
+        for (Lookups participantLookups : lookups) {
+            scouted.add(participantLookups.finish(deadline));
+        }
+        return LiveGameScouting.builder()
+                .gameId(game.getGameId())
+                .gameMode(game.getGameMode())
+                .gameQueueConfigId(game.getGameQueueConfigId())
+                .gameLength(game.getGameLength())
+                .complete(scouted.stream().allMatch(participant -> participant.getMissing().isEmpty()))
+                .participants(scouted)
+                .build();
+    }
+
+    private Lookups start(
+            BoundedFanOut.Call call,
+            RiotApiPlatformUri platform,
+            RiotApiRegionUri region,
+            CurrentGameParticipant participant,
+            int matchCount) {
+        String puuid = participant.getPuuid();
+        if (participant.isBot() || puuid == null) {
+            return new Lookups(participant, null, null, null);
+        }
+        return new Lookups(
+                participant,
+                call.fork(() -> leagueService.getLeagueEntriesByPlayer(platform, puuid)),
+                // Optional: a player with no mastery of the champion must not read as a missed lookup.
+                call.fork(() -> Optional.ofNullable(masteryService.getMasteryByPlayerAndChampion(
+                        platform, puuid, participant.getChampionId()))),
+                call.fork(() -> analyticsService.getPlayerMatchAnalytics(
+                        puuid, platform, region, matchCount, MatchIdQuery.ALL)));
+    }
+
+    /** One participant's lookups, in flight; all {@code null} for a bot. */
+    private record Lookups(
+            CurrentGameParticipant participant,
+            BoundedFanOut.Fork<List<LeagueEntry>> league,
+            BoundedFanOut.Fork<Optional<ChampionMastery>> mastery,
+            BoundedFanOut.Fork<PlayerMatchAnalytics> recentForm) {
+
+        ScoutedParticipant finish(long deadline) {
+            ScoutedParticipant.ScoutedParticipantBuilder scouted = ScoutedParticipant.builder()
+                    .puuid(participant.getPuuid())
+                    .riotId(participant.getRiotId())
+                    .teamId(participant.getTeamId())
+                    .championId(participant.getChampionId())
+                    .bot(participant.isBot());
+            List<String> missing = new ArrayList<>();
+            if (league != null) {
+                scouted.leagueEntries(join(league, deadline, LEAGUE, missing));
+                Optional<ChampionMastery> championMastery = join(mastery, deadline, MASTERY, missing);
+                scouted.championMastery(championMastery == null ? null : championMastery.orElse(null));
+                scouted.recentForm(join(recentForm, deadline, RECENT_FORM, missing));
+            }
+            return scouted.missing(missing).build();
+        }
+
+        private <T> T join(BoundedFanOut.Fork<T> fork, long deadline, String lookup, List<String> missing) {
+            try {
+                Optional<T> result = fork.joinWithin(Duration.ofNanos(deadline - System.nanoTime()));
+                if (result.isEmpty()) {
+                    fork.cancel();
+                    log.warn("Scouting {} for PUUID: {} missed the latency budget", lookup, participant.getPuuid());
+                    missing.add(lookup);
+                }
+                return result.orElse(null);
+            } catch (RuntimeException e) {
+                log.warn("Scouting {} for PUUID: {} failed: {}", lookup, participant.getPuuid(), e.toString());
+                missing.add(lookup);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.muddl.riot.lol.scouting.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everyone in a player's live game, scouted in one call. {@code complete} is {@code false} if any
+ * participant has a lookup {@code missing}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveGameScouting {
+    private long gameId;
+    private String gameMode;
+    private long gameQueueConfigId;
+    private long gameLength;
+    private boolean complete;
+    private List<ScoutedParticipant> participants;
+}
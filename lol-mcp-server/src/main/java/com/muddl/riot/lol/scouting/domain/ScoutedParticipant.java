@@ -0,0 +1,32 @@
+package com.muddl.riot.lol.scouting.domain;
+
+import com.muddl.riot.lol.analytics.domain.PlayerMatchAnalytics;
+import com.muddl.riot.lol.championmastery.domain.ChampionMastery;
+import com.muddl.riot.lol.league.domain.LeagueEntry;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One player of a scouted live game: their ranked entries, their mastery of the champion they are
+ * playing ({@code null} if they have none), and their recent form. A lookup that failed or missed the
+ * latency budget is left {@code null} and named in {@code missing}: {@code league}, {@code mastery}
+ * or {@code recentForm}. Bots are listed with nothing looked up.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoutedParticipant {
+    private String puuid;
+    private String riotId;
+    private long teamId;
+    private long championId;
+    private boolean bot;
+    private List<LeagueEntry> leagueEntries;
+    private ChampionMastery championMastery;
+    private PlayerMatchAnalytics recentForm;
+    private List<String> missing;
+}
@@ -0,0 +1,63 @@
+package com.muddl.riot.lol.spectator.adapter.in.mcp;
+
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.lol.spectator.application.LiveGameWatchService;
+import com.muddl.riot.lol.spectator.domain.LiveGameChange;
+import com.muddl.riot.lol.spectator.domain.LiveGameWatch;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.mcp.annotation.McpTool;
+import org.springframework.ai.mcp.annotation.McpToolParam;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * MCP server tools for following a player's live games. A watch pushes each game start and end to the
+ * session that asked for it, as an MCP logging notification from the {@value #LOGGER} logger whose data
+ * is the {@link LiveGameChange} as JSON. The session's logging level must be {@code info} or lower. A
+ * watch lasts at most six hours, so one whose session closed without unwatching does not poll forever;
+ * its last notification is a {@code WATCH_EXPIRED} change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveGameWatchTool {
+
+    static final String LOGGER = "lol_spectator_watch";
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private final LiveGameWatchService watchService;
+
+    @McpTool(
+            name = "lol_spectator_watch_player",
+            description =
+                    "Watch a player's live games (a Riot ID as GameName#TAG, or a raw PUUID). Each game start and end is pushed to this session as an info-level logging notification from the 'lol_spectator_watch' logger. Returns the watch ID and the game the player is in now, if any. A watch ends after 6 hours with a WATCH_EXPIRED notification; watch again to keep following. Prefer this to polling lol_spectator_current_game_by_player.")
+    public LiveGameWatch watchPlayer(
+            @McpToolParam(description = "The Riot platform, e.g. NA1, EUW1", required = true) String platformStr,
+            @McpToolParam(description = "The player as a Riot ID (GameName#TAG) or a raw PUUID", required = true)
+                    String player,
+            McpSyncServerExchange exchange) {
+        RiotApiPlatformUri platform = RiotApiPlatformUri.valueOf(platformStr);
+        log.info("MCP Tool - Watching a player's live games on platform: {}", platform);
+        return watchService.watch(platform, player, change -> exchange.loggingNotification(notification(change)));
+    }
+
+    @McpTool(
+            name = "lol_spectator_unwatch",
+            description =
+                    "Stop a watch started by lol_spectator_watch_player. Returns false if there was no such watch.")
+    public boolean unwatch(
+            @McpToolParam(description = "The watch ID lol_spectator_watch_player returned", required = true)
+                    String watchId) {
+        log.info("MCP Tool - Unwatching live games for watch: {}", watchId);
+        return watchService.unwatch(watchId);
+    }
+
+    static McpSchema.LoggingMessageNotification notification(LiveGameChange change) {
+        return new McpSchema.LoggingMessageNotification(
+                McpSchema.LoggingLevel.INFO, LOGGER, MAPPER.writeValueAsString(change));
+    }
+}
@@ -29,6 +29,7 @@ public class RiotSpectatorAdapter implements SpectatorPort {
                     .retrieve()
                     .body(CurrentGameInfo.class);
         } catch (RiotApiException e) {
+            // A 404 replayed by the response cache (riot.cache.policies not-found-ttl) lands here too.
             if (e.getStatusCode() == NOT_FOUND) {
                 log.debug("Player {} is not currently in a game (404)", puuid);
                 return null;
@@ -36,4 +37,10 @@ public class RiotSpectatorAdapter implements SpectatorPort {
             throw e;
         }
     }
+
+    /** Nothing is cached at this level; see {@link SharedLiveGameAdapter}. */
+    @Override
+    public CurrentGameInfo refreshCurrentGameInfo(RiotApiPlatformUri platform, String puuid) {
+        return getCurrentGameInfo(platform, puuid);
+    }
 }
@@ -0,0 +1,136 @@
+package com.muddl.riot.lol.spectator.adapter.out.riot;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.lol.spectator.application.port.SpectatorPort;
+import com.muddl.riot.lol.spectator.domain.CurrentGameInfo;
+import com.muddl.riot.lol.spectator.domain.CurrentGameParticipant;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@link SpectatorPort} the application sees: {@link RiotSpectatorAdapter} behind a cache of live
+ * games keyed by game ID. Spectator-V5 is keyed by PUUID, but one game has ten players. A fetched game
+ * is indexed under every participant's PUUID, so checking a player's teammates and opponents after them
+ * costs no further Riot calls.
+ *
+ * <p>A game is kept only until it could be over, by the {@code gameLength} Riot reported, and never less
+ * than {@link #MIN_TTL}: until {@link #REMAKE_WINDOW} while it can still be remade, then until {@link
+ * #EARLIEST_END}, when surrendering opens. From then on a read re-checks it once a minute, so a remake
+ * or a 15-minute surrender is seen within about a minute of its end. A served game has its {@code
+ * gameLength} advanced by the time since it was fetched. A player not in a game is never cached here; the response cache keeps
+ * that 404 briefly ({@code riot.cache.policies}). {@link #refreshCurrentGameInfo} bypasses the cache
+ * and corrects it, so a watched game that ends is dropped at once.
+ */
+@Primary
+@Component
+public class SharedLiveGameAdapter implements SpectatorPort {
+
+    /** How far into a game it can still be remade, ending it almost as soon as it began. */
+    static final Duration REMAKE_WINDOW = Duration.ofMinutes(4);
+
+    /** The earliest a game that was not remade can end: the first surrender vote. */
+    static final Duration EARLIEST_END = Duration.ofMinutes(15);
+
+    /** The shortest time a fetched game is served for, however long it has already run. */
+    static final Duration MIN_TTL = Duration.ofMinutes(1);
+
+    private static final int MAX_GAMES = 1_000;
+
+    private final RiotSpectatorAdapter riot;
+    private final Ticker ticker;
+    private final Cache<GameKey, FetchedGame> games;
+    private final Cache<String, GameKey> gameByPuuid;
+
+    @Autowired
+    public SharedLiveGameAdapter(RiotSpectatorAdapter riot) {
+        this(riot, Ticker.systemTicker());
+    }
+
+    SharedLiveGameAdapter(RiotSpectatorAdapter riot, Ticker ticker) {
+        this.riot = riot;
+        this.ticker = ticker;
+        // Both bounded by the longest a game is ever kept; a game's own expiry is checked on read.
+        this.games = Caffeine.newBuilder()
+                .maximumSize(MAX_GAMES)
+                .expireAfterWrite(EARLIEST_END)
+                .ticker(ticker)
+                .build();
+        this.gameByPuuid = Caffeine.newBuilder()
+                .maximumSize(MAX_GAMES * 10L)
+                .expireAfterWrite(EARLIEST_END)
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public CurrentGameInfo getCurrentGameInfo(RiotApiPlatformUri platform, String puuid) {
+        GameKey key = gameByPuuid.getIfPresent(puuid);
+        if (key != null && key.platform() == platform) {
+            FetchedGame game = games.getIfPresent(key);
+            long now = ticker.read();
+            if (game != null && now < game.expiresAt()) {
+                return game.asOf(now);
+            }
+        }
+        CurrentGameInfo info = riot.getCurrentGameInfo(platform, puuid);
+        if (info != null) {
+            remember(platform, info);
+        }
+        return info;
+    }
+
+    /**
+     * A fresh answer replaces the cached game. "Not in a game" for a player of a cached game means that
+     * game is over, for all ten players, so it is dropped.
+     */
+    @Override
+    public CurrentGameInfo refreshCurrentGameInfo(RiotApiPlatformUri platform, String puuid) {
+        CurrentGameInfo info = riot.getCurrentGameInfo(platform, puuid);
+        if (info != null) {
+            remember(platform, info);
+        } else {
+            GameKey key = gameByPuuid.getIfPresent(puuid);
+            if (key != null && key.platform() == platform) {
+                games.invalidate(key);
+            }
+            gameByPuuid.invalidate(puuid);
+        }
+        return info;
+    }
+
+    private void remember(RiotApiPlatformUri platform, CurrentGameInfo info) {
+        long now = ticker.read();
+        long gameLength = Math.max(0, info.getGameLength());
+        Duration couldEndAt = gameLength < REMAKE_WINDOW.toSeconds() ? REMAKE_WINDOW : EARLIEST_END;
+        Duration left = couldEndAt.minusSeconds(gameLength);
+        if (left.compareTo(MIN_TTL) < 0) {
+            left = MIN_TTL;
+        }
+        GameKey key = new GameKey(platform, info.getGameId());
+        games.put(key, new FetchedGame(info, now, now + left.toNanos()));
+        if (info.getParticipants() != null) {
+            for (CurrentGameParticipant participant : info.getParticipants()) {
+                if (participant.getPuuid() != null) { // bots have none
+                    gameByPuuid.put(participant.getPuuid(), key);
+                }
+            }
+        }
+    }
+
+    /** Game IDs are unique per platform only. */
+    private record GameKey(RiotApiPlatformUri platform, long gameId) {}
+
+    private record FetchedGame(CurrentGameInfo info, long fetchedAt, long expiresAt) {
+
+        /** The game as Riot would report it {@code now}: only its length has moved on. */
+        CurrentGameInfo asOf(long now) {
+            long elapsed = Duration.ofNanos(now - fetchedAt).toSeconds();
+            return info.toBuilder().gameLength(info.getGameLength() + elapsed).build();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.muddl.riot.lol.spectator.application;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.muddl.riot.account.identity.PlayerIdentityResolver;
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.lol.spectator.application.port.SpectatorPort;
+import com.muddl.riot.lol.spectator.domain.CurrentGameInfo;
+import com.muddl.riot.lol.spectator.domain.LiveGameChange;
+import com.muddl.riot.lol.spectator.domain.LiveGameWatch;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Watches players' live games for subscribers, so a client following a game need not poll {@code
+ * lol_spectator_current_game_by_player} itself. Watches of the same player on the same platform are
+ * one watch: however many subscribe, the player costs one spectator call per poll.
+ *
+ * <p>One scheduler thread checks every {@link #TICK} for watches that are due and polls them on virtual
+ * threads. A watch is polled every {@link #IDLE_INTERVAL} while its player is not in a game. In a game,
+ * it is polled at half the time left to {@link #EXPECTED_GAME_LENGTH}, between {@link #MIN_INTERVAL}
+ * and {@link #MAX_INTERVAL}: rarely early on, every half minute once the game could end. Polls go
+ * through {@link SpectatorPort#refreshCurrentGameInfo}, so the end of a game is seen as soon as Riot
+ * reports it.
+ *
+ * <p>A listener that throws, e.g. because its session has closed, is unsubscribed. A session can close
+ * without its listener ever being called, though, if its player never starts or ends a game, so every
+ * subscription also ends {@link #WATCH_LIFETIME} after it began: its listener is told {@code
+ * WATCH_EXPIRED} and a client still following the player watches again. A watch with no subscribers
+ * left is dropped.
+ */
+@Slf4j
+@Service
+public class LiveGameWatchService implements DisposableBean {
+
+    static final Duration TICK = Duration.ofSeconds(5);
+    static final Duration IDLE_INTERVAL = Duration.ofMinutes(2);
+    static final Duration MIN_INTERVAL = Duration.ofSeconds(30);
+    static final Duration MAX_INTERVAL = Duration.ofMinutes(5);
+    static final Duration EXPECTED_GAME_LENGTH = Duration.ofMinutes(25);
+
+    /** How long a subscription lasts, so one whose session is gone stops holding its player's watch. */
+    static final Duration WATCH_LIFETIME = Duration.ofHours(6);
+
+    /** At most this many players are watched at once, across all subscribers. */
+    static final int MAX_WATCHED_PLAYERS = 1_000;
+
+    private final SpectatorPort spectatorPort;
+    private final PlayerIdentityResolver identityResolver;
+    private final Ticker ticker;
+    private final Executor pollers;
+    private final ScheduledExecutorService scheduler;
+    private final Map<WatchKey, Watch> watches = new ConcurrentHashMap<>();
+    private final Map<String, WatchKey> keyByWatchId = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LiveGameWatchService(SpectatorPort spectatorPort, PlayerIdentityResolver identityResolver) {
+        this(spectatorPort, identityResolver, Ticker.systemTicker(), Executors.newVirtualThreadPerTaskExecutor(),
+                Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                        .name("lol-live-game-watch")
+                        .daemon(true)
+                        .factory()));
+        scheduler.scheduleWithFixedDelay(this::pollDue, TICK.toMillis(), TICK.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Polls only when {@link #pollDue} is called; {@code scheduler} may be {@code null}. */
+    LiveGameWatchService(
+            SpectatorPort spectatorPort,
+            PlayerIdentityResolver identityResolver,
+            Ticker ticker,
+            Executor pollers,
+            ScheduledExecutorService scheduler) {
+        this.spectatorPort = spectatorPort;
+        this.identityResolver = identityResolver;
+        this.ticker = ticker;
+        this.pollers = pollers;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Subscribes {@code listener} to {@code player}'s game starting and ending. The first subscriber of a
+     * player polls them at once; the returned watch says which game, if any, they are in. A subscriber
+     * arriving while that poll is under way waits for it, so it is told the same game. If the poll
+     * fails, the player is taken to be in no game: the watch reports none, and a game the next poll
+     * finds is reported as started.
+     *
+     * @throws IllegalStateException if {@link #MAX_WATCHED_PLAYERS} are already watched
+     */
+    public LiveGameWatch watch(RiotApiPlatformUri platform, String player, Consumer<LiveGameChange> listener) {
+        String puuid = identityResolver.resolvePuuid(player);
+        WatchKey key = new WatchKey(platform, puuid);
+        String watchId = UUID.randomUUID().toString();
+        Watch watch = watches.compute(key, (k, existing) -> {
+            if (existing == null && watches.size() >= MAX_WATCHED_PLAYERS) {
+                throw new IllegalStateException(
+                        "Already watching " + MAX_WATCHED_PLAYERS + " players. Unwatch one first.");
+            }
+            Watch w = existing != null ? existing : new Watch(key, ticker.read());
+            w.listeners.put(watchId, new Subscription(listener, ticker.read() + WATCH_LIFETIME.toNanos()));
+            return w;
+        });
+        keyByWatchId.put(watchId, key);
+        if (!watch.baseline.isDone() && watch.polling.compareAndSet(false, true)) {
+            log.info("Watching live games of PUUID: {} on platform: {}", puuid, platform);
+            poll(watch);
+        }
+        watch.baseline.join();
+        CurrentGameInfo game = watch.game;
+        return LiveGameWatch.builder()
+                .watchId(watchId)
+                .platform(platform)
+                .puuid(puuid)
+                .gameId(game != null ? game.getGameId() : null)
+                .build();
+    }
+
+    /** Ends a subscription. Returns {@code false} if there was none by that ID. */
+    public boolean unwatch(String watchId) {
+        WatchKey key = keyByWatchId.remove(watchId);
+        if (key == null) {
+            return false;
+        }
+        watches.computeIfPresent(key, (k, watch) -> {
+            watch.listeners.remove(watchId);
+            return watch.listeners.isEmpty() ? null : watch;
+        });
+        return true;
+    }
+
+    /** Players currently watched. */
+    int watchedPlayers() {
+        return watches.size();
+    }
+
+    /**
+     * Ends every subscription past its {@link #WATCH_LIFETIME}, then starts a poll of every watch that is
+     * due and not already being polled.
+     */
+    void pollDue() {
+        long now = ticker.read();
+        for (Watch watch : watches.values()) {
+            watch.listeners.forEach((watchId, subscription) -> {
+                if (now - subscription.expiresAt() >= 0) {
+                    expire(watch.key, watchId, subscription);
+                }
+            });
+        }
+        for (Watch watch : watches.values()) {
+            if (now - watch.nextPollAt >= 0 && watch.polling.compareAndSet(false, true)) {
+                pollers.execute(() -> poll(watch));
+            }
+        }
+    }
+
+    /** The wait before the next poll of a player in {@code game}, or not in one if it is {@code null}. */
+    static Duration nextPoll(CurrentGameInfo game) {
+        if (game == null) {
+            return IDLE_INTERVAL;
+        }
+        Duration half = EXPECTED_GAME_LENGTH.minusSeconds(game.getGameLength()).dividedBy(2);
+        if (half.compareTo(MIN_INTERVAL) < 0) {
+            return MIN_INTERVAL;
+        }
+        return half.compareTo(MAX_INTERVAL) > 0 ? MAX_INTERVAL : half;
+    }
+
+    private void poll(Watch watch) {
+        WatchKey key = watch.key;
+        List<LiveGameChange> changes = List.of();
+        Duration wait = MIN_INTERVAL;
+        try {
+            CurrentGameInfo game = spectatorPort.refreshCurrentGameInfo(key.platform(), key.puuid());
+            if (watch.baseline.isDone()) {
+                changes = changes(key, watch.game, game);
+            }
+            watch.game = game;
+            wait = nextPoll(game);
+        } catch (RuntimeException e) {
+            log.warn("Live-game poll failed for PUUID: {} on platform: {}; retrying", key.puuid(), key.platform(), e);
+        } finally {
+            watch.nextPollAt = ticker.read() + wait.toNanos();
+            watch.baseline.complete(null); // the first poll, failed or not, sets the baseline
+            watch.polling.set(false);
+        }
+        for (LiveGameChange change : changes) {
+            notifyListeners(watch, change);
+        }
+    }
+
+    private static List<LiveGameChange> changes(WatchKey key, CurrentGameInfo previous, CurrentGameInfo game) {
+        List<LiveGameChange> changes = new ArrayList<>(2);
+        boolean sameGame = previous != null && game != null && previous.getGameId() == game.getGameId();
+        if (previous != null && !sameGame) {
+            changes.add(LiveGameChange.of(LiveGameChange.Type.GAME_ENDED, key.platform(), key.puuid(), previous));
+        }
+        if (game != null && !sameGame) {
+            changes.add(LiveGameChange.of(LiveGameChange.Type.GAME_STARTED, key.platform(), key.puuid(), game));
+        }
+        return changes;
+    }
+
+    private void expire(WatchKey key, String watchId, Subscription subscription) {
+        if (!unwatch(watchId)) {
+            return; // unwatched meanwhile
+        }
+        log.info("Live-game watch {} has lasted {}; ending it", watchId, WATCH_LIFETIME);
+        try {
+            subscription.listener().accept(LiveGameChange.builder()
+                    .watchId(watchId)
+                    .type(LiveGameChange.Type.WATCH_EXPIRED)
+                    .platform(key.platform())
+                    .puuid(key.puuid())
+                    .build());
+        } catch (RuntimeException e) {
+            log.debug("Live-game watch {} expired after its listener had gone ({})", watchId, e.toString());
+        }
+    }
+
+    private void notifyListeners(Watch watch, LiveGameChange change) {
+        watch.listeners.forEach((watchId, subscription) -> {
+            try {
+                subscription.listener().accept(change.toBuilder().watchId(watchId).build());
+            } catch (RuntimeException e) {
+                log.info("Dropping live-game watch {}: its listener failed ({})", watchId, e.toString());
+                unwatch(watchId);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (pollers instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private record WatchKey(RiotApiPlatformUri platform, String puuid) {}
+
+    /** One subscriber's listener, and the {@link Ticker} reading at which its subscription ends. */
+    private record Subscription(Consumer<LiveGameChange> listener, long expiresAt) {}
+
+    /** One watched player. Only the thread holding {@link #polling} writes the poll state. */
+    private static final class Watch {
+
+        final WatchKey key;
+        final Map<String, Subscription> listeners = new ConcurrentHashMap<>();
+        final AtomicBoolean polling = new AtomicBoolean();
+        /** Done once the first poll has set {@link #game}; that poll reports no change. */
+        final CompletableFuture<Void> baseline = new CompletableFuture<>();
+        volatile CurrentGameInfo game;
+        volatile long nextPollAt;
+
+        Watch(WatchKey key, long now) {
+            this.key = key;
+            this.nextPollAt = now;
+        }
+    }
+}
@@ -8,4 +8,10 @@ public interface SpectatorPort {
 
     /** Returns the current game, or {@code null} if the player is not in a game. */
     CurrentGameInfo getCurrentGameInfo(RiotApiPlatformUri platform, String puuid);
+
+    /**
+     * As {@link #getCurrentGameInfo}, but always from Riot: for callers that must see a game end as
+     * soon as Riot does. Whatever is cached for the player is replaced by the answer.
+     */
+    CurrentGameInfo refreshCurrentGameInfo(RiotApiPlatformUri platform, String puuid);
 }
@@ -13,7 +13,7 @@ import lombok.NoArgsConstructor;
  * including participants, bans, observers, and game metadata.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @JsonIgnoreProperties(ignoreUnknown = true)
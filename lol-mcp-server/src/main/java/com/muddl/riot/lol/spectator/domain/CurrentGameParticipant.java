@@ -25,6 +25,7 @@ public class CurrentGameParticipant {
     private String summonerName;
     private String summonerId;
     private String puuid;
+    private String riotId; // GameName#TAG
     private long summonerLevel;
     private long spell1Id;
     private long spell2Id;
@@ -0,0 +1,46 @@
+package com.muddl.riot.lol.spectator.domain;
+
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A watched player's game started or ended, as pushed to one subscriber's {@code watchId}. The game
+ * fields are those of the game that started, or as last seen of the game that ended. {@code
+ * WATCH_EXPIRED} ends the subscription itself and carries no game.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveGameChange {
+
+    public enum Type {
+        GAME_STARTED,
+        GAME_ENDED,
+        WATCH_EXPIRED
+    }
+
+    private String watchId;
+    private Type type;
+    private RiotApiPlatformUri platform;
+    private String puuid;
+    private long gameId;
+    private long gameLength;
+    private String gameMode;
+    private long gameQueueConfigId;
+
+    public static LiveGameChange of(Type type, RiotApiPlatformUri platform, String puuid, CurrentGameInfo game) {
+        return LiveGameChange.builder()
+                .type(type)
+                .platform(platform)
+                .puuid(puuid)
+                .gameId(game.getGameId())
+                .gameLength(game.getGameLength())
+                .gameMode(game.getGameMode())
+                .gameQueueConfigId(game.getGameQueueConfigId())
+                .build();
+    }
+}
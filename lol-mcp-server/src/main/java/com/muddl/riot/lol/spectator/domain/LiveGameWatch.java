@@ -0,0 +1,22 @@
+package com.muddl.riot.lol.spectator.domain;
+
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A subscription to a player's live-game changes. {@code gameId} is the game the player was last seen
+ * in, or {@code null} if they were not in one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveGameWatch {
+    private String watchId;
+    private RiotApiPlatformUri platform;
+    private String puuid;
+    private Long gameId;
+}
@@ -10,7 +10,9 @@ import com.muddl.riot.lol.championmastery.adapter.in.mcp.ChampionMasteryTool;
 import com.muddl.riot.lol.clash.adapter.in.mcp.ClashTool;
 import com.muddl.riot.lol.league.adapter.in.mcp.LeagueTool;
 import com.muddl.riot.lol.match.adapter.in.mcp.MatchTool;
+import com.muddl.riot.lol.scouting.adapter.in.mcp.ScoutingTool;
 import com.muddl.riot.lol.spectator.adapter.in.mcp.LiveGameTool;
+import com.muddl.riot.lol.spectator.adapter.in.mcp.LiveGameWatchTool;
 import com.muddl.riot.lol.status.adapter.in.mcp.StatusTool;
 import com.muddl.riot.lol.summoner.adapter.in.mcp.SummonerTool;
 import java.util.Arrays;
@@ -21,7 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.ai.mcp.annotation.McpTool;
 
 /**
- * Guards the public MCP contract: exactly the thirteen tools currently shipped, each named
+ * Guards the public MCP contract: exactly the eighteen tools currently shipped, each named
  * {@code <game>_<context>_<action>}, every player-keyed tool taking a single {@code player} param.
  * See [ADR-0009](../../../../../../../../docs/knowledge/decisions/ADR-0009-mcp-tool-contract.md). If this
  * test fails, a tool's name changed without the contract (and this list) being updated to match.
@@ -32,16 +34,21 @@ class McpToolInventoryTest {
             "lol_account_by_player",
             "lol_summoner_by_player",
             "lol_spectator_current_game_by_player",
+            "lol_spectator_watch_player",
+            "lol_spectator_unwatch",
             "lol_analytics_player_matches",
             "lol_league_entries_by_player",
             "lol_league_apex_by_tier",
+            "lol_league_apex_standing_by_player",
             "lol_champion_rotation",
             "lol_status_platform",
             "lol_champion_mastery_by_player",
             "lol_challenges_by_player",
             "lol_clash_by_player",
             "lol_match_ids_by_player",
-            "lol_match_by_id");
+            "lol_match_by_id",
+            "lol_match_json_by_id",
+            "lol_scouting_live_game_by_player");
 
     @Test
     void tool_inventory_is_unchanged() {
@@ -49,6 +56,7 @@ class McpToolInventoryTest {
                         RiotAccountTool.class,
                         AnalyticsTool.class,
                         LiveGameTool.class,
+                        LiveGameWatchTool.class,
                         SummonerTool.class,
                         LeagueTool.class,
                         ChampionTool.class,
@@ -56,6 +64,7 @@ class McpToolInventoryTest {
                         ChallengesTool.class,
                         ClashTool.class,
                         MatchTool.class,
+                        ScoutingTool.class,
                         StatusTool.class)
                 .flatMap(c -> Arrays.stream(c.getDeclaredMethods()))
                 .filter(m -> m.isAnnotationPresent(McpTool.class))
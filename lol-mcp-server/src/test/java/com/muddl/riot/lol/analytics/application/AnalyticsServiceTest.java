@@ -1,22 +1,33 @@
 package com.muddl.riot.lol.analytics.application;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
+import com.muddl.riot.core.concurrent.BoundedFanOut;
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.core.exception.RiotApiException;
 import com.muddl.riot.lol.analytics.domain.PlayerMatchAnalytics;
 import com.muddl.riot.lol.match.application.InMemoryMatchPort;
 import com.muddl.riot.lol.match.application.MatchService;
 import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
 import com.muddl.riot.lol.match.domain.MatchInfo;
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
 import com.muddl.riot.lol.match.domain.Participant;
 import com.muddl.riot.lol.summoner.application.InMemorySummonerPort;
 import com.muddl.riot.lol.summoner.application.SummonerService;
 import com.muddl.riot.lol.summoner.domain.Summoner;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 class AnalyticsServiceTest {
@@ -28,11 +39,28 @@ class AnalyticsServiceTest {
 
     private final PlayerIdentityResolver resolver = mock(PlayerIdentityResolver.class);
     private final InMemorySummonerPort summonerPort = new InMemorySummonerPort();
-    private final InMemoryMatchPort matchPort = new InMemoryMatchPort();
+    private final List<String> fetchedMatches = new CopyOnWriteArrayList<>();
+    private volatile Runnable beforeFetch = () -> {};
+    private final InMemoryMatchPort matchPort = new InMemoryMatchPort() {
+        @Override
+        public Match getMatchById(RiotApiRegionUri region, String matchId) {
+            if (matchId.equals("NA1_GONE")) {
+                throw RiotApiException.forStatus(404, "gone");
+            }
+            return super.getMatchById(region, matchId);
+        }
+
+        @Override
+        public MatchParticipantStats getParticipantStats(RiotApiRegionUri region, String matchId, String puuid) {
+            beforeFetch.run();
+            fetchedMatches.add(matchId);
+            return super.getParticipantStats(region, matchId, puuid);
+        }
+    };
 
     private final SummonerService summonerService = new SummonerService(summonerPort, resolver);
-    private final AnalyticsService analyticsService =
-            new AnalyticsService(resolver, summonerService, new MatchService(matchPort, resolver));
+    private final AnalyticsService analyticsService = new AnalyticsService(
+            resolver, summonerService, new MatchService(matchPort, resolver), new BoundedFanOut(4));
 
     private void givenPlayer() {
         when(resolver.resolvePuuid(PLAYER)).thenReturn(PUUID);
@@ -47,7 +75,7 @@ class AnalyticsServiceTest {
         givenPlayer();
         matchPort.putMatchIds(PUUID, List.of());
 
-        PlayerMatchAnalytics result = analyticsService.getPlayerMatchAnalytics(PLAYER, PLATFORM, REGION, 5);
+        PlayerMatchAnalytics result = analyze(5);
 
         assertThat(result.getMatchCount()).isZero();
         assertThat(result.getSummonerName()).isEqualTo("Player");
@@ -62,7 +90,7 @@ class AnalyticsServiceTest {
         matchPort.putMatchIds(PUUID, List.of("NA1_1"));
         matchPort.putMatch("NA1_1", match(true, 5, 0, 3));
 
-        PlayerMatchAnalytics result = analyticsService.getPlayerMatchAnalytics(PLAYER, PLATFORM, REGION, 1);
+        PlayerMatchAnalytics result = analyze(1);
 
         assertThat(result.getMatchCount()).isEqualTo(1);
         assertThat(result.getWins()).isEqualTo(1);
@@ -79,7 +107,7 @@ class AnalyticsServiceTest {
         matchPort.putMatch("NA1_1", match(true, 10, 2, 5));
         matchPort.putMatch("NA1_2", match(false, 4, 6, 3));
 
-        PlayerMatchAnalytics result = analyticsService.getPlayerMatchAnalytics(PLAYER, PLATFORM, REGION, 2);
+        PlayerMatchAnalytics result = analyze(2);
 
         assertThat(result.getMatchCount()).isEqualTo(2);
         assertThat(result.getWins()).isEqualTo(1);
@@ -88,15 +116,166 @@ class AnalyticsServiceTest {
         assertThat(result.getAvgKills()).isEqualTo("7.00");
     }
 
+    @Test
+    void skipsMatches_thePlayerIsNotIn() {
+        givenPlayer();
+        matchPort.putMatchIds(PUUID, List.of("NA1_1", "NA1_2"));
+        matchPort.putMatch("NA1_1", match(true, 10, 2, 5));
+        matchPort.putMatch("NA1_2", Match.builder()
+                .info(MatchInfo.builder()
+                        .gameDuration(900L)
+                        .participants(List.of(Participant.builder().puuid("someone-else").build()))
+                        .build())
+                .build());
+
+        PlayerMatchAnalytics result = analyze(2);
+
+        assertThat(result.getMatchCount()).isEqualTo(1);
+        assertThat(result.getAvgGameDuration()).isEqualTo("30m 0s");
+    }
+
+    @Test
+    void repeatCall_fetchesOnlyTheNewMatches_andSlidesTheWindow() {
+        givenPlayer();
+        matchPort.putMatchIds(PUUID, List.of("NA1_2", "NA1_1"));
+        matchPort.putMatch("NA1_1", match(true, 10, 2, 5));
+        matchPort.putMatch("NA1_2", match(true, 8, 2, 5));
+        analyze(2);
+
+        matchPort.putMatchIds(PUUID, List.of("NA1_3", "NA1_2", "NA1_1"));
+        matchPort.putMatch("NA1_3", match(false, 4, 6, 3));
+        PlayerMatchAnalytics result = analyze(2);
+
+        assertThat(fetchedMatches).hasSize(3).endsWith("NA1_3");
+        // NA1_1 fell out of the two-match window: NA1_3 and NA1_2 remain.
+        assertThat(result.getMatchCount()).isEqualTo(2);
+        assertThat(result.getWins()).isEqualTo(1);
+        assertThat(result.getAvgKills()).isEqualTo("6.00");
+    }
+
+    @Test
+    void repeatCall_withNoNewGames_fetchesNoMatches() {
+        givenPlayer();
+        matchPort.putMatchIds(PUUID, List.of("NA1_2", "NA1_1"));
+        matchPort.putMatch("NA1_1", match(true, 10, 2, 5));
+        matchPort.putMatch("NA1_2", match(false, 4, 6, 3));
+
+        PlayerMatchAnalytics first = analyze(2);
+        PlayerMatchAnalytics second = analyze(2);
+
+        assertThat(fetchedMatches).hasSize(2);
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void repeatCall_rebuildsTheWindow_whenAWholeWindowWasPlayedSince() {
+        givenPlayer();
+        matchPort.putMatchIds(PUUID, List.of("NA1_1"));
+        matchPort.putMatch("NA1_1", match(true, 10, 2, 5));
+        analyze(1);
+
+        matchPort.putMatchIds(PUUID, List.of("NA1_3", "NA1_2", "NA1_1"));
+        matchPort.putMatch("NA1_2", match(false, 4, 6, 3));
+        matchPort.putMatch("NA1_3", match(false, 2, 6, 3));
+        PlayerMatchAnalytics result = analyze(1);
+
+        assertThat(result.getMatchCount()).isEqualTo(1);
+        assertThat(result.getAvgKills()).isEqualTo("2.00");
+        assertThat(fetchedMatches).containsExactly("NA1_1", "NA1_3");
+    }
+
+    @Test
+    void mostPlayed_followsTheWindow_asOldMatchesFallOut() {
+        givenPlayer();
+        matchPort.putMatchIds(PUUID, List.of("NA1_3", "NA1_2", "NA1_1"));
+        matchPort.putMatch("NA1_1", match(true, 1, 1, 1, "Zed", "MIDDLE"));
+        matchPort.putMatch("NA1_2", match(true, 1, 1, 1, "Zed", "MIDDLE"));
+        matchPort.putMatch("NA1_3", match(true, 1, 1, 1, "Ahri", "MIDDLE"));
+        assertThat(analyze(3).getMostPlayedChampions()).containsExactly("Zed (2 games)", "Ahri (1 games)");
+
+        matchPort.putMatchIds(PUUID, List.of("NA1_5", "NA1_4", "NA1_3", "NA1_2", "NA1_1"));
+        matchPort.putMatch("NA1_4", match(true, 1, 1, 1, "Ahri", "TOP"));
+        matchPort.putMatch("NA1_5", match(true, 1, 1, 1, "Lux", null));
+        PlayerMatchAnalytics result = analyze(3);
+
+        // Both Zed games fell out of the three-match window.
+        assertThat(result.getMostPlayedChampions()).containsExactly("Ahri (2 games)", "Lux (1 games)");
+        assertThat(result.getMostPlayedRoles()).containsExactly("MIDDLE (1 games)", "TOP (1 games)");
+    }
+
+    @Test
+    void analysesPastOneHundredMatches_byPagingTheHistory() {
+        givenPlayer();
+        List<String> ids = IntStream.range(0, 150).mapToObj(i -> "NA1_" + i).toList();
+        matchPort.putMatchIds(PUUID, ids);
+        ids.forEach(id -> matchPort.putMatch(id, match(true, 1, 1, 1)));
+
+        PlayerMatchAnalytics result = analyze(150);
+
+        assertThat(result.getMatchCount()).isEqualTo(150);
+        assertThat(fetchedMatches).hasSize(150);
+    }
+
+    @Test
+    void aConcurrentCall_isNotHeldUpByAnotherReadingRiot_andTheWindowIsFoldedOnce() throws Exception {
+        givenPlayer();
+        matchPort.putMatchIds(PUUID, List.of("NA1_2", "NA1_1"));
+        matchPort.putMatch("NA1_1", match(true, 10, 2, 5));
+        matchPort.putMatch("NA1_2", match(false, 4, 6, 3));
+        AtomicBoolean blockOnce = new AtomicBoolean(true);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        beforeFetch = () -> {
+            if (blockOnce.compareAndSet(true, false)) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        CompletableFuture<PlayerMatchAnalytics> slow = CompletableFuture.supplyAsync(() -> analyze(2));
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        PlayerMatchAnalytics fast = CompletableFuture.supplyAsync(() -> analyze(2)).get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertThat(fast.getMatchCount()).isEqualTo(2);
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo(fast);
+        assertThat(analyze(2)).isEqualTo(fast);
+    }
+
+    @Test
+    void failsTheWholeCall_withTheRiotError_whenAnyMatchFetchFails() {
+        givenPlayer();
+        matchPort.putMatchIds(PUUID, List.of("NA1_1", "NA1_GONE", "NA1_2"));
+        matchPort.putMatch("NA1_1", match(true, 10, 2, 5));
+        matchPort.putMatch("NA1_2", match(false, 4, 6, 3));
+
+        assertThatThrownBy(() -> analyze(3))
+                .isInstanceOf(RiotApiException.class)
+                .extracting(e -> ((RiotApiException) e).getStatusCode())
+                .isEqualTo(404);
+    }
+
+    private PlayerMatchAnalytics analyze(int matchCount) {
+        return analyticsService.getPlayerMatchAnalytics(PLAYER, PLATFORM, REGION, matchCount, MatchIdQuery.ALL);
+    }
+
     private Match match(boolean win, int kills, int deaths, int assists) {
+        return match(win, kills, deaths, assists, "Ahri", "MIDDLE");
+    }
+
+    private Match match(boolean win, int kills, int deaths, int assists, String champion, String position) {
         Participant p = Participant.builder()
                 .puuid(PUUID)
                 .win(win)
                 .kills(kills)
                 .deaths(deaths)
                 .assists(assists)
-                .championName("Ahri")
-                .teamPosition("MIDDLE")
+                .championName(champion)
+                .teamPosition(position)
                 .visionScore(20)
                 .totalMinionsKilled(150)
                 .neutralMinionsKilled(10)
@@ -0,0 +1,170 @@
+package com.muddl.riot.lol.analytics.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RollingMatchAggregateTest {
+
+    private static final List<String> CHAMPIONS = List.of("Ahri", "Zed", "Lux", "Jinx", "Thresh");
+    private static final List<String> ROLES = List.of("TOP", "MIDDLE", "BOTTOM", "UTILITY", "");
+
+    @Test
+    void fold_keepsTheTotalsOfExactlyTheNewestMatches_asTheColumnsGrowAndTheRingWraps() {
+        // 20 rows: the columns start at 16 and grow once; then every fold evicts, wrapping the ring.
+        RollingMatchAggregate aggregate = new RollingMatchAggregate(20);
+        Random random = new Random(42);
+        List<String> matchIds = new ArrayList<>(); // newest first
+        List<MatchParticipantStats> played = new ArrayList<>();
+
+        for (int next = 0; next < 120; ) {
+            int batch = 1 + random.nextInt(7);
+            List<String> ids = new ArrayList<>();
+            List<MatchParticipantStats> stats = new ArrayList<>();
+            for (int i = 0; i < batch; i++, next++) {
+                ids.add("NA1_" + next);
+                // Every fifth match the player was not in: it takes a row but adds to no total.
+                stats.add(next % 5 == 4 ? null : stats(
+                        CHAMPIONS.get(random.nextInt(CHAMPIONS.size())),
+                        ROLES.get(random.nextInt(ROLES.size())),
+                        random.nextBoolean(),
+                        next));
+            }
+            Collections.reverse(ids);
+            Collections.reverse(stats);
+            aggregate.fold(ids, stats);
+            matchIds.addAll(0, ids);
+            played.addAll(0, stats);
+
+            List<MatchParticipantStats> window = played.subList(0, Math.min(20, played.size()));
+            assertThat(aggregate.newestMatchId()).isEqualTo(matchIds.get(0));
+            assertWindow(aggregate, window);
+        }
+    }
+
+    @Test
+    void eviction_takesTheOldestMatchOutOfTheChampionAndRoleHistograms() {
+        RollingMatchAggregate aggregate = new RollingMatchAggregate(3);
+        aggregate.fold(
+                List.of("NA1_3", "NA1_2", "NA1_1"),
+                List.of(
+                        stats("Zed", "MIDDLE", true, 1),
+                        stats("Ahri", "MIDDLE", true, 1),
+                        stats("Ahri", "TOP", false, 1)));
+
+        aggregate.fold(
+                List.of("NA1_5", "NA1_4"),
+                List.of(stats("Lux", "UTILITY", true, 2), stats("Lux", "UTILITY", false, 2)));
+
+        assertThat(aggregate.topChampions(5)).containsExactly(Map.entry("Lux", 2), Map.entry("Zed", 1));
+        assertThat(aggregate.topRoles(5)).containsExactly(Map.entry("UTILITY", 2), Map.entry("MIDDLE", 1));
+        assertThat(aggregate.getGames()).isEqualTo(3);
+        assertThat(aggregate.getWins()).isEqualTo(2);
+        assertThat(aggregate.getKills()).isEqualTo(5);
+    }
+
+    @Test
+    void clear_emptiesTheWindow_andItFillsAgainFromNothing() {
+        RollingMatchAggregate aggregate = new RollingMatchAggregate(20);
+        List<String> ids = new ArrayList<>();
+        List<MatchParticipantStats> stats = new ArrayList<>();
+        for (int i = 0; i < 18; i++) {
+            ids.add("NA1_" + i);
+            stats.add(stats("Ahri", "MIDDLE", true, 3));
+        }
+        aggregate.fold(ids, stats);
+
+        aggregate.clear();
+
+        assertThat(aggregate.newestMatchId()).isNull();
+        assertThat(aggregate.getGames()).isZero();
+        assertThat(aggregate.getKills()).isZero();
+        assertThat(aggregate.topChampions(3)).isEmpty();
+        assertThat(aggregate.topRoles(3)).isEmpty();
+
+        aggregate.fold(List.of("NA1_99"), List.of(stats("Zed", null, false, 7)));
+
+        assertThat(aggregate.newestMatchId()).isEqualTo("NA1_99");
+        assertThat(aggregate.getGames()).isEqualTo(1);
+        assertThat(aggregate.getKills()).isEqualTo(7);
+        assertThat(aggregate.topChampions(3)).containsExactly(Map.entry("Zed", 1));
+        assertThat(aggregate.topRoles(3)).containsExactly(Map.entry("", 1));
+    }
+
+    @Test
+    void topChampionsAndRoles_rankByGames_breakingTiesByWhichWasPlayedFirst() {
+        RollingMatchAggregate aggregate = new RollingMatchAggregate(10);
+        // Newest first: played in the order Ahri, Zed, Jinx, Lux, Jinx.
+        aggregate.fold(
+                List.of("NA1_5", "NA1_4", "NA1_3", "NA1_2", "NA1_1"),
+                List.of(
+                        stats("Jinx", "BOTTOM", true, 0),
+                        stats("Lux", "UTILITY", true, 0),
+                        stats("Jinx", "BOTTOM", true, 0),
+                        stats("Zed", "MIDDLE", true, 0),
+                        stats("Ahri", "MIDDLE", true, 0)));
+
+        assertThat(aggregate.topChampions(2)).containsExactly(Map.entry("Jinx", 2), Map.entry("Ahri", 1));
+        assertThat(aggregate.topChampions(10))
+                .containsExactly(Map.entry("Jinx", 2), Map.entry("Ahri", 1), Map.entry("Zed", 1), Map.entry("Lux", 1));
+        assertThat(aggregate.topChampions(0)).isEmpty();
+        assertThat(aggregate.topRoles(1)).containsExactly(Map.entry("MIDDLE", 2));
+        assertThat(aggregate.topRoles(3))
+                .containsExactly(Map.entry("MIDDLE", 2), Map.entry("BOTTOM", 2), Map.entry("UTILITY", 1));
+    }
+
+    @Test
+    void fold_rejectsMismatchedLists_andTheConstructorACapacityBelowOne() {
+        RollingMatchAggregate aggregate = new RollingMatchAggregate(5);
+
+        assertThatThrownBy(() -> aggregate.fold(List.of("NA1_1"), List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RollingMatchAggregate(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Checks every total and both histograms against a recount of {@code window}. */
+    private static void assertWindow(RollingMatchAggregate aggregate, List<MatchParticipantStats> window) {
+        List<MatchParticipantStats> present = window.stream().filter(s -> s != null).toList();
+        Map<String, Integer> champions = new HashMap<>();
+        Map<String, Integer> roles = new HashMap<>();
+        present.forEach(s -> {
+            champions.merge(s.getChampionName(), 1, Integer::sum);
+            roles.merge(s.getTeamPosition(), 1, Integer::sum);
+        });
+
+        assertThat(aggregate.getGames()).isEqualTo(present.size());
+        assertThat(aggregate.getWins()).isEqualTo((int) present.stream().filter(MatchParticipantStats::isWin).count());
+        assertThat(aggregate.getKills()).isEqualTo(present.stream().mapToLong(MatchParticipantStats::getKills).sum());
+        assertThat(aggregate.getDeaths()).isEqualTo(present.stream().mapToLong(MatchParticipantStats::getDeaths).sum());
+        assertThat(aggregate.getCreepScore()).isEqualTo(present.stream()
+                .mapToLong(s -> s.getTotalMinionsKilled() + s.getNeutralMinionsKilled())
+                .sum());
+        assertThat(aggregate.getGameDurationSeconds())
+                .isEqualTo(present.stream().mapToLong(MatchParticipantStats::getGameDuration).sum());
+        assertThat(aggregate.topChampions(CHAMPIONS.size())).containsExactlyInAnyOrderEntriesOf(champions);
+        assertThat(aggregate.topRoles(ROLES.size())).containsExactlyInAnyOrderEntriesOf(roles);
+    }
+
+    private static MatchParticipantStats stats(String champion, String role, boolean win, int kills) {
+        return MatchParticipantStats.builder()
+                .championName(champion)
+                .teamPosition(role)
+                .win(win)
+                .kills(kills)
+                .deaths(kills % 3)
+                .assists(kills % 4)
+                .visionScore(kills % 5)
+                .totalMinionsKilled(kills * 2)
+                .neutralMinionsKilled(kills % 7)
+                .gameDuration(1_200 + kills)
+                .build();
+    }
+}
@@ -55,7 +55,7 @@ class HexagonalArchitectureTest {
     static final ArchRule adapters_live_in_outbound_riot = HexagonRules.ADAPTERS_LIVE_IN_OUTBOUND_RIOT;
 
     /**
-     * Contexts are independent except for two deliberate composition edges. This replaces the
+     * Contexts are independent except for deliberate composition edges. This replaces the
      * hand-maintained N-by-N matrix that preceded it: one rule that stays correct as contexts are
      * added, rather than one rule per context each enumerating every other.
      * <p>
@@ -64,6 +64,9 @@ class HexagonalArchitectureTest {
      * moved spectator to Spectator-V5 (PUUID-keyed) and dropped its by-name tools — removing
      * LiveGameTool's dependency on SummonerService.
      * <p>
+     * Scouting composes spectator, league, championmastery and analytics the same way, and hands
+     * analytics a match query: four edges to its sources, plus the one to match.
+     * <p>
      * analytics -> account needs no exception here: RiotAccountService lives in
      * com.muddl.riot.account (riot-account-core), outside this matcher. That same fact is why
      * {@link #only_analytics_and_the_account_tool_use_the_account_domain} exists — see below.
@@ -73,7 +76,12 @@ class HexagonalArchitectureTest {
             .should()
             .notDependOnEachOther()
             .ignoreDependency(resideInAPackage("..lol.analytics.."), resideInAPackage("..lol.summoner.."))
-            .ignoreDependency(resideInAPackage("..lol.analytics.."), resideInAPackage("..lol.match.."));
+            .ignoreDependency(resideInAPackage("..lol.analytics.."), resideInAPackage("..lol.match.."))
+            .ignoreDependency(resideInAPackage("..lol.scouting.."), resideInAPackage("..lol.spectator.."))
+            .ignoreDependency(resideInAPackage("..lol.scouting.."), resideInAPackage("..lol.league.."))
+            .ignoreDependency(resideInAPackage("..lol.scouting.."), resideInAPackage("..lol.championmastery.."))
+            .ignoreDependency(resideInAPackage("..lol.scouting.."), resideInAPackage("..lol.analytics.."))
+            .ignoreDependency(resideInAPackage("..lol.scouting.."), resideInAPackage("..lol.match.."));
 
     /**
      * Only analytics (which composes it) and this server's thin account tool may reach into the
@@ -31,6 +31,7 @@ class RiotChampionMasteryAdapterTest {
     private static final String PUUID = "test-puuid-abc123";
     private static final String ALL_URL = "/lol/champion-mastery/v4/champion-masteries/by-puuid/" + PUUID;
     private static final String TOP_URL = ALL_URL + "/top?count=1";
+    private static final String BY_CHAMPION_URL = ALL_URL + "/by-champion/157";
 
     private WireMockServer wireMock;
     private ChampionMasteryPort adapter;
@@ -118,6 +119,29 @@ class RiotChampionMasteryAdapterTest {
         assertThat(masteries.get(0).getChampionPoints()).isEqualTo(123456);
     }
 
+    @Test
+    void getMasteryByPuuidAndChampion_hitsByChampionUrl() {
+        stubFor(get(urlEqualTo(BY_CHAMPION_URL))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"puuid\":\"" + PUUID + "\",\"championId\":157,\"championLevel\":7,"
+                                + "\"championPoints\":123456}")));
+
+        ChampionMastery mastery = adapter.getMasteryByPuuidAndChampion(PLATFORM, PUUID, 157);
+
+        assertThat(mastery.getChampionId()).isEqualTo(157);
+        assertThat(mastery.getChampionPoints()).isEqualTo(123456);
+        verify(getRequestedFor(urlEqualTo(BY_CHAMPION_URL)));
+    }
+
+    @Test
+    void getMasteryByPuuidAndChampion_404_isNoMastery() {
+        stubFor(get(urlEqualTo(BY_CHAMPION_URL)).willReturn(aResponse().withStatus(404).withBody("not found")));
+
+        assertThat(adapter.getMasteryByPuuidAndChampion(PLATFORM, PUUID, 157)).isNull();
+    }
+
     @Test
     void nonSuccessResponse_mapsToRiotApiException_withStatusPreserved() {
         stubFor(get(urlEqualTo(ALL_URL)).willReturn(aResponse().withStatus(404).withBody("not found")));
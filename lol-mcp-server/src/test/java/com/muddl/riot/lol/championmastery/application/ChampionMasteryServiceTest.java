@@ -39,4 +39,14 @@ class ChampionMasteryServiceTest {
 
         assertThat(service.getMasteryByPlayer(PLATFORM, "puuid-raw", 1)).containsExactly(m1);
     }
+
+    @Test
+    void getMasteryByPlayerAndChampion_resolvesPlayer_thenReturnsThatChampionOrNull() {
+        when(resolver.resolvePuuid("Faker#KR1")).thenReturn("faker-puuid");
+        ChampionMastery ahri = ChampionMastery.builder().championId(103L).build();
+        port.put("faker-puuid", List.of(ChampionMastery.builder().championId(157L).build(), ahri));
+
+        assertThat(service.getMasteryByPlayerAndChampion(PLATFORM, "Faker#KR1", 103L)).isSameAs(ahri);
+        assertThat(service.getMasteryByPlayerAndChampion(PLATFORM, "Faker#KR1", 64L)).isNull();
+    }
 }
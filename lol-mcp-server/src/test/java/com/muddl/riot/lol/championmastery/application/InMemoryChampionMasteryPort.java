@@ -22,4 +22,12 @@ public class InMemoryChampionMasteryPort implements ChampionMasteryPort {
         List<ChampionMastery> all = byPuuid.getOrDefault(puuid, List.of());
         return count == null ? all : all.stream().limit(count).toList();
     }
+
+    @Override
+    public ChampionMastery getMasteryByPuuidAndChampion(RiotApiPlatformUri platform, String puuid, long championId) {
+        return byPuuid.getOrDefault(puuid, List.of()).stream()
+                .filter(mastery -> mastery.getChampionId() != null && mastery.getChampionId() == championId)
+                .findFirst()
+                .orElse(null);
+    }
 }
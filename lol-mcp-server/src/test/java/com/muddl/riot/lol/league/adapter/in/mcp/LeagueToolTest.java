@@ -7,6 +7,7 @@ import static org.mockito.Mockito.when;
 
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
 import com.muddl.riot.lol.league.application.LeagueService;
+import com.muddl.riot.lol.league.domain.ApexStanding;
 import com.muddl.riot.lol.league.domain.ApexTier;
 import com.muddl.riot.lol.league.domain.LeagueEntry;
 import com.muddl.riot.lol.league.domain.LeagueList;
@@ -41,41 +42,70 @@ class LeagueToolTest {
     @Test
     void getApexLeague_defaultsQueue_whenNull() {
         LeagueList league = LeagueList.builder().tier("CHALLENGER").build();
-        when(mockLeagueService.getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", null))
+        when(mockLeagueService.getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", null, null, null))
                 .thenReturn(league);
 
-        assertThat(leagueTool.getApexLeague("NA1", "CHALLENGER", null, null)).isSameAs(league);
-        verify(mockLeagueService).getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", null);
+        assertThat(leagueTool.getApexLeague("NA1", "CHALLENGER", null, null, null, null)).isSameAs(league);
+        verify(mockLeagueService).getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", null, null, null);
     }
 
     @Test
     void getApexLeague_honoursExplicitQueue() {
         LeagueList league = LeagueList.builder().tier("MASTER").build();
-        when(mockLeagueService.getApexLeague(PLATFORM, ApexTier.MASTER, "RANKED_FLEX_SR", null))
+        when(mockLeagueService.getApexLeague(PLATFORM, ApexTier.MASTER, "RANKED_FLEX_SR", null, null, null))
                 .thenReturn(league);
 
-        assertThat(leagueTool.getApexLeague("NA1", "master", "RANKED_FLEX_SR", null))
+        assertThat(leagueTool.getApexLeague("NA1", "master", "RANKED_FLEX_SR", null, null, null))
                 .isSameAs(league);
-        verify(mockLeagueService).getApexLeague(PLATFORM, ApexTier.MASTER, "RANKED_FLEX_SR", null);
+        verify(mockLeagueService).getApexLeague(PLATFORM, ApexTier.MASTER, "RANKED_FLEX_SR", null, null, null);
     }
 
     @Test
     void getApexLeague_passesCountThrough() {
         LeagueList league = LeagueList.builder().tier("CHALLENGER").build();
-        when(mockLeagueService.getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 3))
+        when(mockLeagueService.getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 3, null, null))
                 .thenReturn(league);
 
-        assertThat(leagueTool.getApexLeague("NA1", "CHALLENGER", null, 3)).isSameAs(league);
-        verify(mockLeagueService).getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 3);
+        assertThat(leagueTool.getApexLeague("NA1", "CHALLENGER", null, 3, null, null)).isSameAs(league);
+        verify(mockLeagueService).getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 3, null, null);
+    }
+
+    @Test
+    void getApexLeague_passesOffsetAndCursorThrough() {
+        LeagueList league = LeagueList.builder().tier("CHALLENGER").offset(200).build();
+        when(mockLeagueService.getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 50, 200, "cursor"))
+                .thenReturn(league);
+
+        assertThat(leagueTool.getApexLeague("NA1", "CHALLENGER", null, 50, 200, "cursor")).isSameAs(league);
+        verify(mockLeagueService).getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 50, 200, "cursor");
     }
 
     @Test
     void getApexLeague_invalidTier_throws() {
-        assertThatThrownBy(() -> leagueTool.getApexLeague("NA1", "DIAMOND", null, null))
+        assertThatThrownBy(() -> leagueTool.getApexLeague("NA1", "DIAMOND", null, null, null, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("No enum constant");
     }
 
+    @Test
+    void getApexStandingByPlayer_defaultsQueueAndRadius_whenNull() {
+        ApexStanding standing = ApexStanding.builder().puuid("puuid-1").rank(3).build();
+        when(mockLeagueService.getApexStandingByPlayer(PLATFORM, "RANKED_SOLO_5x5", "Faker#KR1", 2))
+                .thenReturn(standing);
+
+        assertThat(leagueTool.getApexStandingByPlayer("NA1", "Faker#KR1", null, null)).isSameAs(standing);
+        verify(mockLeagueService).getApexStandingByPlayer(PLATFORM, "RANKED_SOLO_5x5", "Faker#KR1", 2);
+    }
+
+    @Test
+    void getApexStandingByPlayer_clampsRadius() {
+        leagueTool.getApexStandingByPlayer("NA1", "Faker#KR1", "RANKED_FLEX_SR", 500);
+        leagueTool.getApexStandingByPlayer("NA1", "Faker#KR1", "RANKED_FLEX_SR", -1);
+
+        verify(mockLeagueService).getApexStandingByPlayer(PLATFORM, "RANKED_FLEX_SR", "Faker#KR1", 50);
+        verify(mockLeagueService).getApexStandingByPlayer(PLATFORM, "RANKED_FLEX_SR", "Faker#KR1", 0);
+    }
+
     @Test
     void getLeagueEntriesByPlayer_invalidPlatform_throws() {
         assertThatThrownBy(() -> leagueTool.getLeagueEntriesByPlayer("INVALID_PLATFORM", "Faker#KR1"))
@@ -14,6 +14,7 @@ public class InMemoryLeaguePort implements LeaguePort {
 
     private final Map<String, List<LeagueEntry>> entriesByPuuid = new HashMap<>();
     private final Map<String, LeagueList> apexByKey = new HashMap<>();
+    private int apexFetches;
 
     public InMemoryLeaguePort putEntries(String puuid, List<LeagueEntry> entries) {
         entriesByPuuid.put(puuid, entries);
@@ -32,6 +33,12 @@ public class InMemoryLeaguePort implements LeaguePort {
 
     @Override
     public LeagueList getApexLeague(RiotApiPlatformUri platform, ApexTier tier, String queue) {
+        apexFetches++;
         return apexByKey.get(tier + "|" + queue);
     }
+
+    /** Apex leagues fetched so far, found or not. */
+    public int apexFetches() {
+        return apexFetches;
+    }
 }
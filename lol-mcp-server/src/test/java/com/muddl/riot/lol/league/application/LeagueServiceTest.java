@@ -1,16 +1,20 @@
 package com.muddl.riot.lol.league.application;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.lol.league.domain.ApexStanding;
 import com.muddl.riot.lol.league.domain.ApexTier;
 import com.muddl.riot.lol.league.domain.LeagueEntry;
 import com.muddl.riot.lol.league.domain.LeagueItem;
 import com.muddl.riot.lol.league.domain.LeagueList;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
@@ -20,7 +24,8 @@ class LeagueServiceTest {
 
     private final InMemoryLeaguePort leaguePort = new InMemoryLeaguePort();
     private final PlayerIdentityResolver resolver = mock(PlayerIdentityResolver.class);
-    private final LeagueService leagueService = new LeagueService(leaguePort, resolver);
+    private final AtomicLong nanos = new AtomicLong();
+    private final LeagueService leagueService = new LeagueService(leaguePort, resolver, nanos::get, Runnable::run);
 
     @Test
     void getLeagueEntriesByPlayer_resolvesPlayer_thenReturnsEntries() {
@@ -132,4 +137,96 @@ class LeagueServiceTest {
         assertThat(leagueService.getApexLeague(PLATFORM, ApexTier.MASTER, "RANKED_SOLO_5x5", null))
                 .isNull();
     }
+
+    @Test
+    void getApexLeague_readsOneSnapshot_untilItIsDueARefresh() {
+        leaguePort.putApex(ApexTier.CHALLENGER, "RANKED_SOLO_5x5", ladderOf(300));
+
+        leagueService.getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 10);
+        leagueService.getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 50);
+        assertThat(leaguePort.apexFetches()).isEqualTo(1);
+
+        leaguePort.putApex(ApexTier.CHALLENGER, "RANKED_SOLO_5x5", ladderOf(5));
+        nanos.addAndGet(LeagueService.LADDER_REFRESH.plus(Duration.ofSeconds(1)).toNanos());
+        leagueService.getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 10); // triggers the refresh
+
+        assertThat(leaguePort.apexFetches()).isEqualTo(2);
+        assertThat(leagueService
+                        .getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 10)
+                        .getTotalEntries())
+                .isEqualTo(5);
+    }
+
+    @Test
+    void getApexLeague_pagesByCursor_throughOneSnapshot_evenOnceItIsRefreshed() {
+        leaguePort.putApex(ApexTier.CHALLENGER, "RANKED_SOLO_5x5", ladderOf(300));
+
+        LeagueList first =
+                leagueService.getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 50, 200, null);
+        leaguePort.putApex(ApexTier.CHALLENGER, "RANKED_SOLO_5x5", ladderOf(5));
+        nanos.addAndGet(LeagueService.LADDER_REFRESH.plus(Duration.ofSeconds(1)).toNanos());
+        leagueService.getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 10); // triggers the refresh
+        LeagueList second = leagueService.getApexLeague(
+                PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", 50, null, first.getNextCursor());
+
+        assertThat(first.getOffset()).isEqualTo(200);
+        assertThat(first.getEntries()).extracting(LeagueItem::getLeaguePoints).startsWith(99).endsWith(50);
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(leaguePort.apexFetches()).isEqualTo(2);
+        assertThat(second.getOffset()).isEqualTo(250);
+        assertThat(second.getTotalEntries()).isEqualTo(300);
+        assertThat(second.getEntries()).extracting(LeagueItem::getLeaguePoints).startsWith(49).endsWith(0);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getApexLeague_rejectsACursor_fromAnotherLadder_orOnceItHasExpired() {
+        leaguePort.putApex(ApexTier.CHALLENGER, "RANKED_SOLO_5x5", ladderOf(30));
+        leaguePort.putApex(ApexTier.MASTER, "RANKED_SOLO_5x5", ladderOf(30));
+        String cursor = leagueService
+                .getApexLeague(PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", null)
+                .getNextCursor();
+
+        assertThatThrownBy(() ->
+                        leagueService.getApexLeague(PLATFORM, ApexTier.MASTER, "RANKED_SOLO_5x5", null, null, cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("another ladder");
+
+        nanos.addAndGet(LeagueService.CURSOR_IDLE.plus(Duration.ofSeconds(1)).toNanos());
+        assertThatThrownBy(() -> leagueService.getApexLeague(
+                        PLATFORM, ApexTier.CHALLENGER, "RANKED_SOLO_5x5", null, null, cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void getApexStandingByPlayer_ranksThePlayerInTheirTierAndAcrossTheTiersAbove() {
+        when(resolver.resolvePuuid("Player#NA1")).thenReturn("puuid-95");
+        leaguePort.putApex(
+                ApexTier.CHALLENGER,
+                "RANKED_SOLO_5x5",
+                LeagueList.builder()
+                        .entries(List.of(LeagueItem.builder().puuid("someone-else").leaguePoints(2000).build()))
+                        .build());
+        leaguePort.putApex(ApexTier.GRANDMASTER, "RANKED_SOLO_5x5", ladderOf(700));
+
+        ApexStanding standing = leagueService.getApexStandingByPlayer(PLATFORM, "RANKED_SOLO_5x5", "Player#NA1", 2);
+
+        assertThat(standing.getTier()).isEqualTo("GRANDMASTER");
+        assertThat(standing.getRank()).isEqualTo(605); // 700 entries, leaguePoints 0..699: 95 is 605th
+        assertThat(standing.getApexRank()).isEqualTo(606);
+        assertThat(standing.getTotalEntries()).isEqualTo(700);
+        assertThat(standing.getEntry().getLeaguePoints()).isEqualTo(95);
+        assertThat(standing.getAroundFromRank()).isEqualTo(603);
+        assertThat(standing.getAround()).extracting(LeagueItem::getLeaguePoints).containsExactly(97, 96, 95, 94, 93);
+    }
+
+    @Test
+    void getApexStandingByPlayer_isNull_outsideTheApexTiers() {
+        when(resolver.resolvePuuid("Player#NA1")).thenReturn("unranked-puuid");
+        leaguePort.putApex(ApexTier.MASTER, "RANKED_SOLO_5x5", ladderOf(30));
+
+        assertThat(leagueService.getApexStandingByPlayer(PLATFORM, "RANKED_SOLO_5x5", "Player#NA1", 2))
+                .isNull();
+    }
 }
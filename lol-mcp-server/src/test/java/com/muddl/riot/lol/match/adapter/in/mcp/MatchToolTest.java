@@ -2,12 +2,20 @@ package com.muddl.riot.lol.match.adapter.in.mcp;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.lol.match.application.MatchService;
 import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import com.muddl.riot.lol.match.domain.MatchInfo;
+import com.muddl.riot.lol.match.domain.MatchMetadata;
+import com.muddl.riot.lol.match.domain.Participant;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,27 +36,122 @@ class MatchToolTest {
 
     @Test
     void getMatchIdsByPlayer_passesArgsThrough() {
-        when(mockMatchService.getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, null))
+        when(mockMatchService.getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, MatchIdQuery.ALL))
                 .thenReturn(List.of("NA1_1", "NA1_2"));
 
-        assertThat(matchTool.getMatchIdsByPlayer("AMERICAS", "Faker#KR1", 20, 0, null))
+        assertThat(matchTool.getMatchIdsByPlayer("AMERICAS", "Faker#KR1", 20, 0, null, null, null, null))
                 .containsExactly("NA1_1", "NA1_2");
-        verify(mockMatchService).getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, null);
+        verify(mockMatchService).getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, MatchIdQuery.ALL);
     }
 
     @Test
-    void getMatchById_passesArgsThrough() {
-        Match match = Match.builder().build();
+    void getMatchIdsByPlayer_buildsTheQuery_lowerCasingTheType() {
+        MatchIdQuery expected = MatchIdQuery.builder()
+                .queue(420)
+                .type("ranked")
+                .startTime(1_700_000_000L)
+                .endTime(1_700_600_000L)
+                .build();
+        when(mockMatchService.getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, expected))
+                .thenReturn(List.of("NA1_1"));
+
+        assertThat(matchTool.getMatchIdsByPlayer(
+                        "AMERICAS", "Faker#KR1", 20, 0, 420, "RANKED", 1_700_000_000L, 1_700_600_000L))
+                .containsExactly("NA1_1");
+    }
+
+    @Test
+    void getMatchIdsByPlayer_unknownType_throws() {
+        assertThatThrownBy(() ->
+                        matchTool.getMatchIdsByPlayer("AMERICAS", "Faker#KR1", 20, 0, null, "arena", null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown match type 'arena'");
+    }
+
+    @Test
+    void getMatchById_returnsTheMatchItself_forTheFrameworkToSerialize() {
+        Match match = Match.builder()
+                .metadata(MatchMetadata.builder().matchId("NA1_1").build())
+                .build();
         when(mockMatchService.getMatchById(REGION, "NA1_1")).thenReturn(match);
 
         assertThat(matchTool.getMatchById("AMERICAS", "NA1_1")).isSameAs(match);
-        verify(mockMatchService).getMatchById(REGION, "NA1_1");
+        verify(mockMatchService, never()).getRawMatchById(REGION, "NA1_1");
+    }
+
+    @Test
+    void getMatchJsonById_withoutRawOrFields_writesTheWholeCuratedMatch() {
+        Match match = Match.builder()
+                .metadata(MatchMetadata.builder().matchId("NA1_1").build())
+                .build();
+        when(mockMatchService.getMatchById(REGION, "NA1_1")).thenReturn(match);
+
+        assertThat(text(matchTool.getMatchJsonById("AMERICAS", "NA1_1", null, null)))
+                .contains("\"matchId\":\"NA1_1\"");
+        verify(mockMatchService, never()).getRawMatchById(REGION, "NA1_1");
+    }
+
+    @Test
+    void getMatchJsonById_raw_passesRiotsBodyThroughUntouched() {
+        String body = "{\"metadata\":{\"matchId\":\"NA1_1\"},\"info\":{\"unmodelledField\":7}}";
+        when(mockMatchService.getRawMatchById(REGION, "NA1_1")).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(text(matchTool.getMatchJsonById("AMERICAS", "NA1_1", true, null))).isEqualTo(body);
+        verify(mockMatchService, never()).getMatchById(REGION, "NA1_1");
+    }
+
+    @Test
+    void getMatchJsonById_fields_projectsTheCuratedMatch() {
+        Match match = Match.builder()
+                .metadata(MatchMetadata.builder().matchId("NA1_1").build())
+                .info(MatchInfo.builder()
+                        .gameDuration(1834)
+                        .participants(List.of(
+                                Participant.builder()
+                                        .championName("Ahri")
+                                        .kills(3)
+                                        .win(true)
+                                        .build(),
+                                Participant.builder()
+                                        .championName("Zed")
+                                        .kills(5)
+                                        .build()))
+                        .build())
+                .build();
+        when(mockMatchService.getMatchById(REGION, "NA1_1")).thenReturn(match);
+
+        String fields = "info.participants[].championName,kills,win";
+
+        assertThat(text(matchTool.getMatchJsonById("AMERICAS", "NA1_1", null, fields)))
+                .isEqualTo("{\"info\":{\"participants\":[{\"championName\":\"Ahri\",\"kills\":3,\"win\":true},"
+                        + "{\"championName\":\"Zed\",\"kills\":5,\"win\":false}]}}");
+    }
+
+    @Test
+    void getMatchJsonById_fields_projectsTheRawBody() {
+        String body = "{\"metadata\":{\"matchId\":\"NA1_1\"},\"info\":{\"gameDuration\":1834,\"unmodelledField\":7}}";
+        when(mockMatchService.getRawMatchById(REGION, "NA1_1")).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(text(matchTool.getMatchJsonById("AMERICAS", "NA1_1", true, "info.unmodelledField")))
+                .isEqualTo("{\"info\":{\"unmodelledField\":7}}");
+    }
+
+    @Test
+    void getMatchJsonById_badFields_throws() {
+        assertThatThrownBy(() -> matchTool.getMatchJsonById("AMERICAS", "NA1_1", null, "info..kills"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Bad field path");
     }
 
     @Test
     void getMatchIdsByPlayer_invalidRegion_throws() {
-        assertThatThrownBy(() -> matchTool.getMatchIdsByPlayer("INVALID", "Faker#KR1", null, null, null))
+        assertThatThrownBy(() ->
+                        matchTool.getMatchIdsByPlayer("INVALID", "Faker#KR1", null, null, null, null, null, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("No enum constant");
     }
+
+    private static String text(CallToolResult result) {
+        return ((TextContent) result.content().get(0)).text();
+    }
 }
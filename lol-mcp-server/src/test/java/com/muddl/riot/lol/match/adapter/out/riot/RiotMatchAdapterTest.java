@@ -13,19 +13,30 @@ import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.muddl.riot.account.identity.PlayerIdentityResolver;
 import com.muddl.riot.core.config.RiotApiProperties;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.core.exception.RiotApiException;
 import com.muddl.riot.core.http.RiotApiClient;
 import com.muddl.riot.core.testsupport.Fixtures;
+import com.muddl.riot.lol.match.application.InMemoryMatchPort;
 import com.muddl.riot.lol.match.application.port.MatchPort;
 import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
 class RiotMatchAdapterTest {
 
@@ -34,6 +45,7 @@ class RiotMatchAdapterTest {
     private static final String IDS_PATH = "/lol/match/v5/matches/by-puuid/" + PUUID + "/ids";
 
     private WireMockServer wireMock;
+    private PlayerIdentityResolver identityResolver;
     private MatchPort adapter;
 
     @BeforeEach
@@ -46,7 +58,8 @@ class RiotMatchAdapterTest {
         properties.setApiKey("test-key-123");
         properties.setBaseUrlOverride("http://localhost:" + wireMock.port());
 
-        adapter = new RiotMatchAdapter(new RiotApiClient(properties));
+        identityResolver = mock(PlayerIdentityResolver.class);
+        adapter = new RiotMatchAdapter(new RiotApiClient(properties), identityResolver);
     }
 
     @AfterEach
@@ -65,7 +78,7 @@ class RiotMatchAdapterTest {
                         .withHeader("Content-Type", "application/json")
                         .withBody(Fixtures.read("match-ids.json"))));
 
-        List<String> ids = adapter.getMatchIdsByPuuid(REGION, PUUID, 5, 0, 420);
+        List<String> ids = adapter.getMatchIdsByPuuid(REGION, PUUID, 5, 0, MatchIdQuery.ofQueue(420));
 
         assertThat(ids).containsExactly("NA1_4600000001", "NA1_4600000002", "NA1_4600000003");
         verify(getRequestedFor(urlPathEqualTo(IDS_PATH))
@@ -75,6 +88,34 @@ class RiotMatchAdapterTest {
                 .withHeader("X-RIOT-TOKEN", equalTo("test-key-123")));
     }
 
+    @Test
+    void getMatchIdsByPuuid_sendsTypeAndTimeWindow() {
+        stubFor(get(urlPathEqualTo(IDS_PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("match-ids.json"))));
+
+        adapter.getMatchIdsByPuuid(
+                REGION,
+                PUUID,
+                100,
+                200,
+                MatchIdQuery.builder()
+                        .type("ranked")
+                        .startTime(1_700_000_000L)
+                        .endTime(1_700_600_000L)
+                        .build());
+
+        verify(getRequestedFor(urlPathEqualTo(IDS_PATH))
+                .withQueryParam("count", equalTo("100"))
+                .withQueryParam("start", equalTo("200"))
+                .withQueryParam("type", equalTo("ranked"))
+                .withQueryParam("startTime", equalTo("1700000000"))
+                .withQueryParam("endTime", equalTo("1700600000"))
+                .withQueryParam("queue", absent()));
+    }
+
     @Test
     void getMatchIdsByPuuid_omitsQueueParam_whenQueueNull() {
         stubFor(get(urlPathEqualTo(IDS_PATH))
@@ -122,6 +163,40 @@ class RiotMatchAdapterTest {
                 .withHeader("X-RIOT-TOKEN", equalTo("test-key-123")));
     }
 
+    @Test
+    void getMatchById_teachesTheResolverEachParticipantsRiotIdAsOfTheGamesEnd() {
+        long endedAt = System.currentTimeMillis() - Duration.ofMinutes(2).toMillis();
+        String body = Fixtures.read("match.json")
+                .replace("\"gameEndTimestamp\": 1690001834000", "\"gameEndTimestamp\": " + endedAt)
+                .replace("\"riotIdName\": \"Opponent\"", "\"riotIdGameName\": \"Rival\", \"riotIdName\": \"\"");
+        stubFor(get(urlEqualTo("/lol/match/v5/matches/NA1_4600000001"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(body)));
+
+        adapter.getMatchById(REGION, "NA1_4600000001");
+
+        ArgumentCaptor<Duration> age = ArgumentCaptor.forClass(Duration.class);
+        Mockito.verify(identityResolver).learn(eq("Bjergsen"), eq("NA1"), eq(PUUID), age.capture());
+        Mockito.verify(identityResolver).learn(eq("Rival"), eq("NA1"), eq("other-puuid-2"), any());
+        assertThat(age.getValue()).isBetween(Duration.ofMinutes(2), Duration.ofMinutes(3));
+    }
+
+    @Test
+    void getRawMatchById_returnsTheBodyVerbatim() {
+        String body = Fixtures.read("match.json").replace("\"gameMode\"", "\"unmodelledField\": 7, \"gameMode\"");
+        stubFor(get(urlEqualTo("/lol/match/v5/matches/NA1_4600000001"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(body)));
+
+        byte[] raw = adapter.getRawMatchById(REGION, "NA1_4600000001");
+
+        assertThat(new String(raw, StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
     @Test
     void getMatchById_deserializesNullBountyLevel() {
         // Riot returns "bountyLevel": null for some real matches. If the DTO field is a
@@ -142,6 +217,46 @@ class RiotMatchAdapterTest {
         assertThat(match.getInfo().getParticipants().get(0).getChampionName()).isEqualTo("Ahri");
     }
 
+    @Test
+    void getParticipantStats_streamsOutOneParticipant_matchingTheFullDecode() {
+        stubFor(get(urlEqualTo("/lol/match/v5/matches/NA1_4600000001"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("match.json"))));
+
+        MatchParticipantStats stats = adapter.getParticipantStats(REGION, "NA1_4600000001", "other-puuid-2");
+        Match match = adapter.getMatchById(REGION, "NA1_4600000001");
+
+        assertThat(stats.getMatchId()).isEqualTo("NA1_4600000001");
+        assertThat(stats.getGameDuration()).isEqualTo(1834L);
+        assertThat(stats.getPuuid()).isEqualTo("other-puuid-2");
+        assertThat(stats).isEqualTo(InMemoryMatchPort.statsOf(match, "other-puuid-2"));
+    }
+
+    @Test
+    void getParticipantStats_returnsNull_whenThePlayerIsNotInTheMatch() {
+        stubFor(get(urlEqualTo("/lol/match/v5/matches/NA1_4600000001"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("match.json"))));
+
+        assertThat(adapter.getParticipantStats(REGION, "NA1_4600000001", "not-in-this-match"))
+                .isNull();
+    }
+
+    @Test
+    void getParticipantStats_mapsNonSuccessToRiotApiException() {
+        stubFor(get(urlEqualTo("/lol/match/v5/matches/NA1_MISSING"))
+                .willReturn(aResponse().withStatus(404).withBody("not found")));
+
+        assertThatThrownBy(() -> adapter.getParticipantStats(REGION, "NA1_MISSING", PUUID))
+                .isInstanceOf(RiotApiException.class)
+                .extracting(e -> ((RiotApiException) e).getStatusCode())
+                .isEqualTo(404);
+    }
+
     @Test
     void nonSuccessResponse_mapsToRiotApiException_withStatusPreserved() {
         stubFor(get(urlEqualTo("/lol/match/v5/matches/NA1_MISSING"))
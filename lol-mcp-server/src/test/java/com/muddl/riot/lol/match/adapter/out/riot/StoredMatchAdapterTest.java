@@ -0,0 +1,204 @@
+package com.muddl.riot.lol.match.adapter.out.riot;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.configureFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.muddl.riot.account.identity.PlayerIdentityResolver;
+import com.muddl.riot.core.config.RiotApiProperties;
+import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.core.exception.RiotApiException;
+import com.muddl.riot.core.http.RiotApiClient;
+import com.muddl.riot.core.testsupport.Fixtures;
+import com.muddl.riot.lol.match.application.port.MatchPort;
+import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import tools.jackson.databind.json.JsonMapper;
+
+class StoredMatchAdapterTest {
+
+    private static final RiotApiRegionUri REGION = RiotApiRegionUri.AMERICAS;
+    private static final String MATCH_PATH = "/lol/match/v5/matches/NA1_4600000001";
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private final PlayerIdentityResolver identityResolver = mock(PlayerIdentityResolver.class);
+    private WireMockServer wireMock;
+    private MatchPort adapter;
+
+    @BeforeEach
+    void setUp() {
+        wireMock = new WireMockServer(options().dynamicPort());
+        wireMock.start();
+        configureFor(wireMock.port());
+
+        RiotApiProperties properties = new RiotApiProperties();
+        properties.setApiKey("test-key-123");
+        properties.setBaseUrlOverride("http://localhost:" + wireMock.port());
+
+        adapter = new StoredMatchAdapter(
+                new RiotMatchAdapter(new RiotApiClient(properties), identityResolver), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMock.stop();
+    }
+
+    @Test
+    void a_match_is_fetched_once_and_then_served_from_the_store() {
+        stubFor(get(urlEqualTo(MATCH_PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("match.json"))));
+
+        Match first = adapter.getMatchById(REGION, "NA1_4600000001");
+        Match second = adapter.getMatchById(REGION, "NA1_4600000001");
+
+        // Stored packed: each read rebuilds an equal Match.
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        assertThat(second.getInfo().getParticipants()).hasSize(2);
+        verify(exactly(1), getRequestedFor(urlEqualTo(MATCH_PATH)));
+    }
+
+    @Test
+    void participant_stats_are_cut_from_a_stored_match_without_a_request() {
+        stubFor(get(urlEqualTo(MATCH_PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("match.json"))));
+
+        adapter.getMatchById(REGION, "NA1_4600000001");
+        MatchParticipantStats stats = adapter.getParticipantStats(REGION, "NA1_4600000001", "test-puuid-abc123");
+
+        assertThat(stats.getChampionName()).isEqualTo("Ahri");
+        verify(exactly(1), getRequestedFor(urlEqualTo(MATCH_PATH)));
+    }
+
+    @Test
+    void participant_stats_for_a_player_not_in_a_stored_match_are_null_without_a_request() {
+        stubFor(get(urlEqualTo(MATCH_PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("match.json"))));
+
+        adapter.getMatchById(REGION, "NA1_4600000001");
+
+        assertThat(adapter.getParticipantStats(REGION, "NA1_4600000001", "someone-else")).isNull();
+        verify(exactly(1), getRequestedFor(urlEqualTo(MATCH_PATH)));
+    }
+
+    @Test
+    void participant_stats_for_an_unstored_match_store_it_for_the_next_read() {
+        stubFor(get(urlEqualTo(MATCH_PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("match.json"))));
+
+        MatchParticipantStats stats = adapter.getParticipantStats(REGION, "NA1_4600000001", "test-puuid-abc123");
+        Match match = adapter.getMatchById(REGION, "NA1_4600000001");
+        adapter.getParticipantStats(REGION, "NA1_4600000001", "test-puuid-abc123");
+
+        assertThat(stats.getChampionName()).isEqualTo("Ahri");
+        assertThat(match.getInfo().getParticipants()).hasSize(2);
+        verify(exactly(1), getRequestedFor(urlEqualTo(MATCH_PATH)));
+    }
+
+    @Test
+    void a_raw_match_is_stored_and_later_reads_are_served_from_the_store() {
+        stubFor(get(urlEqualTo(MATCH_PATH))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("match.json"))));
+
+        byte[] fetched = adapter.getRawMatchById(REGION, "NA1_4600000001");
+        Match match = adapter.getMatchById(REGION, "NA1_4600000001");
+        byte[] stored = adapter.getRawMatchById(REGION, "NA1_4600000001");
+
+        assertThat(new String(fetched, StandardCharsets.UTF_8)).isEqualTo(Fixtures.read("match.json"));
+        assertThat(MAPPER.readTree(stored)).isEqualTo(MAPPER.readTree(fetched));
+        assertThat(match.getInfo().getParticipants()).hasSize(2);
+        verify(exactly(1), getRequestedFor(urlEqualTo(MATCH_PATH)));
+    }
+
+    @Test
+    void a_match_fetched_raw_or_for_participant_stats_teaches_the_resolver_its_riot_ids() {
+        long endedAt = System.currentTimeMillis() - Duration.ofMinutes(2).toMillis();
+        String body = Fixtures.read("match.json")
+                .replace("\"gameEndTimestamp\": 1690001834000", "\"gameEndTimestamp\": " + endedAt)
+                .replace("\"riotIdName\": \"Opponent\"", "\"riotIdGameName\": \"Rival\", \"riotIdName\": \"\"");
+        stubFor(get(urlPathEqualTo("/lol/match/v5/matches/NA1_1"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(body)));
+        stubFor(get(urlPathEqualTo("/lol/match/v5/matches/NA1_2"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(body)));
+
+        adapter.getParticipantStats(REGION, "NA1_1", "test-puuid-abc123");
+        adapter.getRawMatchById(REGION, "NA1_2");
+
+        ArgumentCaptor<Duration> age = ArgumentCaptor.forClass(Duration.class);
+        Mockito.verify(identityResolver, times(2))
+                .learn(eq("Bjergsen"), eq("NA1"), eq("test-puuid-abc123"), age.capture());
+        Mockito.verify(identityResolver, times(2)).learn(eq("Rival"), eq("NA1"), eq("other-puuid-2"), any());
+        assertThat(age.getAllValues()).allSatisfy(
+                seen -> assertThat(seen).isBetween(Duration.ofMinutes(2), Duration.ofMinutes(3)));
+    }
+
+    @Test
+    void match_id_lists_always_go_to_riot() {
+        String idsPath = "/lol/match/v5/matches/by-puuid/puuid-a/ids";
+        stubFor(get(urlPathEqualTo(idsPath))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("match-ids.json"))));
+
+        adapter.getMatchIdsByPuuid(REGION, "puuid-a", 5, null, null);
+        adapter.getMatchIdsByPuuid(REGION, "puuid-a", 5, null, null);
+
+        verify(exactly(2), getRequestedFor(urlPathEqualTo(idsPath)));
+    }
+
+    @Test
+    void a_failed_fetch_is_not_stored() {
+        stubFor(get(urlEqualTo("/lol/match/v5/matches/NA1_MISSING"))
+                .willReturn(aResponse().withStatus(404).withBody("not found")));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> adapter.getMatchById(REGION, "NA1_MISSING"))
+                    .isInstanceOf(RiotApiException.class);
+        }
+
+        verify(exactly(2), getRequestedFor(urlEqualTo("/lol/match/v5/matches/NA1_MISSING")));
+    }
+}
@@ -3,13 +3,19 @@ package com.muddl.riot.lol.match.application;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.lol.match.application.port.MatchPort;
 import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import com.muddl.riot.lol.match.domain.MatchParticipantStats;
+import com.muddl.riot.lol.match.domain.Participant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import tools.jackson.databind.json.JsonMapper;
 
-/** Hand-written in-memory {@link MatchPort} for fast, HTTP-free service tests. */
+/** Hand-written in-memory {@link MatchPort} for fast, HTTP-free service tests. Ignores query filters. */
 public class InMemoryMatchPort implements MatchPort {
 
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
     private final Map<String, List<String>> idsByPuuid = new HashMap<>();
     private final Map<String, Match> matchesById = new HashMap<>();
 
@@ -25,7 +31,7 @@ public class InMemoryMatchPort implements MatchPort {
 
     @Override
     public List<String> getMatchIdsByPuuid(
-            RiotApiRegionUri region, String puuid, Integer count, Integer start, Integer queue) {
+            RiotApiRegionUri region, String puuid, Integer count, Integer start, MatchIdQuery query) {
         List<String> all = idsByPuuid.getOrDefault(puuid, List.of());
         return all.stream()
                 .skip(start == null ? 0 : start)
@@ -37,4 +43,44 @@ public class InMemoryMatchPort implements MatchPort {
     public Match getMatchById(RiotApiRegionUri region, String matchId) {
         return matchesById.get(matchId);
     }
+
+    /** The stored match's JSON stands in for Riot's body. */
+    @Override
+    public byte[] getRawMatchById(RiotApiRegionUri region, String matchId) {
+        Match match = getMatchById(region, matchId);
+        return match == null ? null : JSON.writeValueAsBytes(match);
+    }
+
+    @Override
+    public MatchParticipantStats getParticipantStats(RiotApiRegionUri region, String matchId, String puuid) {
+        Match match = getMatchById(region, matchId);
+        return match == null ? null : statsOf(match, puuid);
+    }
+
+    /**
+     * {@code puuid}'s line picked from an already decoded match, or {@code null} if they did not play in
+     * it — what {@code ParticipantStatsDecoder} must agree with.
+     */
+    public static MatchParticipantStats statsOf(Match match, String puuid) {
+        for (Participant participant : match.getInfo().getParticipants()) {
+            if (puuid.equals(participant.getPuuid())) {
+                return MatchParticipantStats.builder()
+                        .matchId(match.getMetadata() == null ? null : match.getMetadata().getMatchId())
+                        .queueId(match.getInfo().getQueueId())
+                        .gameDuration(match.getInfo().getGameDuration())
+                        .puuid(participant.getPuuid())
+                        .championName(participant.getChampionName())
+                        .teamPosition(participant.getTeamPosition())
+                        .win(participant.isWin())
+                        .kills(participant.getKills())
+                        .deaths(participant.getDeaths())
+                        .assists(participant.getAssists())
+                        .visionScore(participant.getVisionScore())
+                        .totalMinionsKilled(participant.getTotalMinionsKilled())
+                        .neutralMinionsKilled(participant.getNeutralMinionsKilled())
+                        .build();
+            }
+        }
+        return null;
+    }
 }
@@ -7,7 +7,10 @@ import static org.mockito.Mockito.when;
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.lol.match.domain.Match;
+import com.muddl.riot.lol.match.domain.MatchIdQuery;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 class MatchServiceTest {
@@ -40,6 +43,17 @@ class MatchServiceTest {
         assertThat(matchService.getMatchById(REGION, "NA1_1")).isSameAs(expected);
     }
 
+    @Test
+    void streamMatchIdsByPuuid_pagesPastOneHundred_upToTheLimit() {
+        List<String> history = IntStream.range(0, 250).mapToObj(i -> "NA1_" + i).toList();
+        matchPort.putMatchIds("p", history);
+
+        List<String> streamed = new ArrayList<>();
+        matchService.streamMatchIdsByPuuid(REGION, "p", MatchIdQuery.ALL, 230).forEachRemaining(streamed::add);
+
+        assertThat(streamed).isEqualTo(history.subList(0, 230));
+    }
+
     @Test
     void getMatchIdsByPuuid_returnsEmpty_whenUnknownPuuid() {
         assertThat(matchService.getMatchIdsByPuuid(REGION, "unknown", 20, 0, null))
@@ -0,0 +1,154 @@
+package com.muddl.riot.lol.scouting.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.muddl.riot.core.concurrent.BoundedFanOut;
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.core.exception.RiotApiException;
+import com.muddl.riot.lol.analytics.application.AnalyticsService;
+import com.muddl.riot.lol.analytics.domain.PlayerMatchAnalytics;
+import com.muddl.riot.lol.championmastery.application.ChampionMasteryService;
+import com.muddl.riot.lol.championmastery.domain.ChampionMastery;
+import com.muddl.riot.lol.league.application.LeagueService;
+import com.muddl.riot.lol.league.domain.LeagueEntry;
+import com.muddl.riot.lol.scouting.domain.LiveGameScouting;
+import com.muddl.riot.lol.scouting.domain.ScoutedParticipant;
+import com.muddl.riot.lol.spectator.SpectatorTestFixtures;
+import com.muddl.riot.lol.spectator.application.SpectatorService;
+import com.muddl.riot.lol.spectator.domain.CurrentGameInfo;
+import com.muddl.riot.lol.spectator.domain.CurrentGameParticipant;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ScoutingServiceTest {
+
+    private static final RiotApiPlatformUri PLATFORM = RiotApiPlatformUri.NA1;
+    private static final RiotApiRegionUri REGION = RiotApiRegionUri.AMERICAS;
+    private static final String FIRST = "test_puuid_TestSummoner1";
+    private static final String SECOND = "test_puuid_TestSummoner2";
+
+    private final SpectatorService spectatorService = mock(SpectatorService.class);
+    private final LeagueService leagueService = mock(LeagueService.class);
+    private final ChampionMasteryService masteryService = mock(ChampionMasteryService.class);
+    private final AnalyticsService analyticsService = mock(AnalyticsService.class);
+    private final ScoutingService scoutingService = new ScoutingService(
+            spectatorService, leagueService, masteryService, analyticsService, new BoundedFanOut(4));
+
+    @Test
+    void scoutsEveryPlayer_byTheirPuuid_withTheirMasteryOfTheChampionTheyArePlaying() {
+        CurrentGameInfo game = givenGame(); // TestSummoner1 plays champion 1, TestSummoner2 champion 2
+        for (String puuid : List.of(FIRST, SECOND)) {
+            when(leagueService.getLeagueEntriesByPlayer(PLATFORM, puuid))
+                    .thenReturn(List.of(LeagueEntry.builder().puuid(puuid).tier("GOLD").build()));
+            when(masteryService.getMasteryByPlayerAndChampion(PLATFORM, puuid, 1L))
+                    .thenReturn(mastery(puuid, 1L, 5_000));
+            when(masteryService.getMasteryByPlayerAndChampion(PLATFORM, puuid, 2L))
+                    .thenReturn(mastery(puuid, 2L, 9_000));
+            when(analyticsService.getPlayerMatchAnalytics(eq(puuid), eq(PLATFORM), eq(REGION), eq(5), any()))
+                    .thenReturn(PlayerMatchAnalytics.builder().riotId(puuid).matchCount(5).build());
+        }
+
+        LiveGameScouting scouting = scout(Duration.ofSeconds(5));
+
+        assertThat(scouting.getGameId()).isEqualTo(game.getGameId());
+        assertThat(scouting.isComplete()).isTrue();
+        assertThat(scouting.getParticipants()).extracting(ScoutedParticipant::getPuuid).containsExactly(FIRST, SECOND);
+        ScoutedParticipant first = scouting.getParticipants().get(0);
+        assertThat(first.getLeagueEntries()).extracting(LeagueEntry::getTier).containsExactly("GOLD");
+        assertThat(first.getChampionMastery().getChampionPoints()).isEqualTo(5_000);
+        assertThat(first.getRecentForm().getMatchCount()).isEqualTo(5);
+        assertThat(first.getMissing()).isEmpty();
+        assertThat(scouting.getParticipants().get(1).getChampionMastery().getChampionPoints()).isEqualTo(9_000);
+        verify(masteryService, never()).getMasteryByPlayer(any(), any(), any());
+    }
+
+    @Test
+    void aFailedOrSlowLookup_isMissing_andTheRestIsReturnedWithinTheBudget() throws InterruptedException {
+        givenGame();
+        CountDownLatch neverReleased = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(leagueService.getLeagueEntriesByPlayer(eq(PLATFORM), any())).thenReturn(List.of());
+        when(masteryService.getMasteryByPlayerAndChampion(PLATFORM, FIRST, 1L))
+                .thenThrow(RiotApiException.forStatus(503, "down"));
+        when(masteryService.getMasteryByPlayerAndChampion(PLATFORM, SECOND, 2L)).thenReturn(null); // none
+        when(analyticsService.getPlayerMatchAnalytics(eq(FIRST), any(), any(), anyInt(), any()))
+                .thenReturn(PlayerMatchAnalytics.builder().build());
+        when(analyticsService.getPlayerMatchAnalytics(eq(SECOND), any(), any(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    try {
+                        neverReleased.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        cancelled.countDown();
+                        throw e;
+                    }
+                    return PlayerMatchAnalytics.builder().build();
+                });
+
+        long started = System.nanoTime();
+        LiveGameScouting scouting = scout(Duration.ofMillis(200));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+        assertThat(scouting.isComplete()).isFalse();
+        ScoutedParticipant first = scouting.getParticipants().get(0);
+        assertThat(first.getMissing()).containsExactly(ScoutingService.MASTERY);
+        assertThat(first.getRecentForm()).isNotNull();
+        ScoutedParticipant second = scouting.getParticipants().get(1);
+        assertThat(second.getMissing()).containsExactly(ScoutingService.RECENT_FORM);
+        assertThat(second.getLeagueEntries()).isEmpty();
+        assertThat(second.getChampionMastery()).isNull();
+        // The lookup that missed the budget is cancelled, not left to run on.
+        assertThat(cancelled.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void botsAreListed_butNotLookedUp() {
+        CurrentGameInfo game = SpectatorTestFixtures.createSampleCurrentGameInfo();
+        List<CurrentGameParticipant> participants = new ArrayList<>();
+        participants.add(CurrentGameParticipant.builder().bot(true).championId(3L).teamId(200L).build());
+        game.setParticipants(participants);
+        when(spectatorService.getCurrentGameByPlayer(PLATFORM, "Faker#KR1")).thenReturn(game);
+
+        LiveGameScouting scouting = scout(Duration.ofSeconds(5));
+
+        assertThat(scouting.isComplete()).isTrue();
+        assertThat(scouting.getParticipants()).singleElement().satisfies(bot -> {
+            assertThat(bot.isBot()).isTrue();
+            assertThat(bot.getLeagueEntries()).isNull();
+        });
+        verify(leagueService, never()).getLeagueEntriesByPlayer(any(), any());
+        verify(masteryService, never()).getMasteryByPlayerAndChampion(any(), any(), anyLong());
+    }
+
+    @Test
+    void aPlayerNotInAGame_isNull() {
+        assertThat(scout(Duration.ofSeconds(5))).isNull();
+    }
+
+    private CurrentGameInfo givenGame() {
+        CurrentGameInfo game = SpectatorTestFixtures.createSampleCurrentGameInfo();
+        when(spectatorService.getCurrentGameByPlayer(PLATFORM, "Faker#KR1")).thenReturn(game);
+        return game;
+    }
+
+    private LiveGameScouting scout(Duration budget) {
+        return scoutingService.scoutLiveGameByPlayer(PLATFORM, REGION, "Faker#KR1", 5, budget);
+    }
+
+    private static ChampionMastery mastery(String puuid, long championId, int points) {
+        return ChampionMastery.builder().puuid(puuid).championId(championId).championPoints(points).build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.muddl.riot.lol.spectator.adapter.in.mcp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.lol.spectator.application.LiveGameWatchService;
+import com.muddl.riot.lol.spectator.domain.LiveGameChange;
+import com.muddl.riot.lol.spectator.domain.LiveGameWatch;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/** Unit tests for LiveGameWatchTool with a mocked LiveGameWatchService and MCP exchange. */
+@ExtendWith(MockitoExtension.class)
+class LiveGameWatchToolTest {
+
+    @Mock
+    private LiveGameWatchService mockWatchService;
+
+    @Mock
+    private McpSyncServerExchange mockExchange;
+
+    @InjectMocks
+    private LiveGameWatchTool liveGameWatchTool;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void watchPlayer_pushesEachChangeToTheSessionAsALoggingNotification() {
+        LiveGameWatch watch = LiveGameWatch.builder().watchId("w1").build();
+        ArgumentCaptor<Consumer<LiveGameChange>> listener = ArgumentCaptor.forClass(Consumer.class);
+        when(mockWatchService.watch(eq(RiotApiPlatformUri.NA1), eq("Faker#KR1"), any())).thenReturn(watch);
+
+        assertThat(liveGameWatchTool.watchPlayer("NA1", "Faker#KR1", mockExchange)).isSameAs(watch);
+        verify(mockWatchService).watch(eq(RiotApiPlatformUri.NA1), eq("Faker#KR1"), listener.capture());
+        listener.getValue().accept(LiveGameChange.builder()
+                .watchId("w1")
+                .type(LiveGameChange.Type.GAME_STARTED)
+                .gameId(123456789L)
+                .build());
+
+        ArgumentCaptor<McpSchema.LoggingMessageNotification> notification =
+                ArgumentCaptor.forClass(McpSchema.LoggingMessageNotification.class);
+        verify(mockExchange).loggingNotification(notification.capture());
+        assertThat(notification.getValue().level()).isEqualTo(McpSchema.LoggingLevel.INFO);
+        assertThat(notification.getValue().logger()).isEqualTo(LiveGameWatchTool.LOGGER);
+        assertThat(notification.getValue().data())
+                .contains("\"watchId\":\"w1\"", "\"type\":\"GAME_STARTED\"", "\"gameId\":123456789");
+    }
+
+    @Test
+    void unwatch_delegatesToTheService() {
+        when(mockWatchService.unwatch("w1")).thenReturn(true);
+
+        assertThat(liveGameWatchTool.unwatch("w1")).isTrue();
+    }
+}
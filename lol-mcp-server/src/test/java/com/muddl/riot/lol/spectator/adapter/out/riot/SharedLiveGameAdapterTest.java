@@ -0,0 +1,121 @@
+package com.muddl.riot.lol.spectator.adapter.out.riot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.lol.spectator.SpectatorTestFixtures;
+import com.muddl.riot.lol.spectator.domain.CurrentGameInfo;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SharedLiveGameAdapterTest {
+
+    private static final RiotApiPlatformUri PLATFORM = RiotApiPlatformUri.NA1;
+    private static final String FIRST = "test_puuid_TestSummoner1";
+    private static final String SECOND = "test_puuid_TestSummoner2";
+
+    private final RiotSpectatorAdapter riot = mock(RiotSpectatorAdapter.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final SharedLiveGameAdapter adapter = new SharedLiveGameAdapter(riot, nanos::get);
+
+    @Test
+    void every_participant_of_a_fetched_game_is_served_it_with_no_further_riot_call() {
+        CurrentGameInfo game = SpectatorTestFixtures.createSampleCurrentGameInfo(); // 450s in
+        when(riot.getCurrentGameInfo(PLATFORM, FIRST)).thenReturn(game);
+
+        adapter.getCurrentGameInfo(PLATFORM, FIRST);
+        advance(Duration.ofSeconds(90));
+        CurrentGameInfo served = adapter.getCurrentGameInfo(PLATFORM, SECOND);
+
+        assertThat(served.getGameId()).isEqualTo(game.getGameId());
+        assertThat(served.getGameLength()).isEqualTo(540L); // moved on by the 90s since the fetch
+        verify(riot, times(1)).getCurrentGameInfo(PLATFORM, FIRST);
+        verify(riot, times(0)).getCurrentGameInfo(PLATFORM, SECOND);
+    }
+
+    @Test
+    void a_game_is_refetched_once_it_could_be_surrendered() {
+        CurrentGameInfo game = SpectatorTestFixtures.createSampleCurrentGameInfo(); // 450s in
+        when(riot.getCurrentGameInfo(PLATFORM, FIRST)).thenReturn(game);
+
+        adapter.getCurrentGameInfo(PLATFORM, FIRST);
+        advance(SharedLiveGameAdapter.EARLIEST_END.minusSeconds(game.getGameLength() + 1));
+        adapter.getCurrentGameInfo(PLATFORM, FIRST);
+        advance(Duration.ofSeconds(1));
+        adapter.getCurrentGameInfo(PLATFORM, FIRST);
+
+        verify(riot, times(2)).getCurrentGameInfo(PLATFORM, FIRST);
+    }
+
+    @Test
+    void a_game_that_could_still_be_remade_is_rechecked_once_the_remake_window_closes() {
+        CurrentGameInfo game = SpectatorTestFixtures.createSampleCurrentGameInfo().toBuilder()
+                .gameLength(60L)
+                .build();
+        when(riot.getCurrentGameInfo(PLATFORM, FIRST)).thenReturn(game, (CurrentGameInfo) null);
+
+        adapter.getCurrentGameInfo(PLATFORM, FIRST);
+        advance(SharedLiveGameAdapter.REMAKE_WINDOW.minusSeconds(61));
+        assertThat(adapter.getCurrentGameInfo(PLATFORM, SECOND)).isNotNull();
+        advance(Duration.ofSeconds(1));
+        CurrentGameInfo afterTheWindow = adapter.getCurrentGameInfo(PLATFORM, FIRST);
+
+        assertThat(afterTheWindow).isNull(); // remade
+        verify(riot, times(2)).getCurrentGameInfo(PLATFORM, FIRST);
+        verify(riot, times(0)).getCurrentGameInfo(PLATFORM, SECOND);
+    }
+
+    @Test
+    void a_game_that_could_already_be_over_is_kept_for_the_minimum() {
+        CurrentGameInfo game = SpectatorTestFixtures.createSampleCurrentGameInfo().toBuilder()
+                .gameLength(Duration.ofMinutes(16).toSeconds())
+                .build();
+        when(riot.getCurrentGameInfo(PLATFORM, FIRST)).thenReturn(game);
+
+        adapter.getCurrentGameInfo(PLATFORM, FIRST);
+        advance(Duration.ofSeconds(59));
+        adapter.getCurrentGameInfo(PLATFORM, SECOND);
+        advance(Duration.ofSeconds(1));
+        adapter.getCurrentGameInfo(PLATFORM, SECOND);
+
+        verify(riot, times(1)).getCurrentGameInfo(PLATFORM, FIRST);
+        verify(riot, times(1)).getCurrentGameInfo(PLATFORM, SECOND);
+    }
+
+    @Test
+    void not_being_in_a_game_is_not_cached_and_other_platforms_are_not_served() {
+        when(riot.getCurrentGameInfo(PLATFORM, FIRST)).thenReturn(null);
+        when(riot.getCurrentGameInfo(RiotApiPlatformUri.EUW1, SECOND))
+                .thenReturn(SpectatorTestFixtures.createSampleCurrentGameInfo());
+
+        assertThat(adapter.getCurrentGameInfo(PLATFORM, FIRST)).isNull();
+        assertThat(adapter.getCurrentGameInfo(PLATFORM, FIRST)).isNull();
+        adapter.getCurrentGameInfo(RiotApiPlatformUri.EUW1, SECOND);
+        adapter.getCurrentGameInfo(PLATFORM, FIRST);
+
+        verify(riot, times(3)).getCurrentGameInfo(PLATFORM, FIRST);
+    }
+
+    @Test
+    void a_refresh_always_asks_riot_and_a_finished_game_is_dropped_for_every_participant() {
+        CurrentGameInfo game = SpectatorTestFixtures.createSampleCurrentGameInfo();
+        when(riot.getCurrentGameInfo(PLATFORM, FIRST)).thenReturn(game, (CurrentGameInfo) null);
+        when(riot.getCurrentGameInfo(PLATFORM, SECOND)).thenReturn(null);
+
+        adapter.getCurrentGameInfo(PLATFORM, FIRST);
+        assertThat(adapter.refreshCurrentGameInfo(PLATFORM, FIRST)).isNull();
+
+        assertThat(adapter.getCurrentGameInfo(PLATFORM, SECOND)).isNull();
+        verify(riot, times(2)).getCurrentGameInfo(PLATFORM, FIRST);
+        verify(riot, times(1)).getCurrentGameInfo(PLATFORM, SECOND);
+    }
+
+    private void advance(Duration amount) {
+        nanos.addAndGet(amount.toNanos());
+    }
+}
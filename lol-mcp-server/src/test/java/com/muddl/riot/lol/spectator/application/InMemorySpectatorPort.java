@@ -20,4 +20,14 @@ public class InMemorySpectatorPort implements SpectatorPort {
     public CurrentGameInfo getCurrentGameInfo(RiotApiPlatformUri platform, String puuid) {
         return gamesByPuuid.get(puuid);
     }
+
+    @Override
+    public CurrentGameInfo refreshCurrentGameInfo(RiotApiPlatformUri platform, String puuid) {
+        return gamesByPuuid.get(puuid);
+    }
+
+    public InMemorySpectatorPort endGame(String puuid) {
+        gamesByPuuid.remove(puuid);
+        return this;
+    }
 }
@@ -0,0 +1,245 @@
+package com.muddl.riot.lol.spectator.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.muddl.riot.account.identity.PlayerIdentityResolver;
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.lol.spectator.SpectatorTestFixtures;
+import com.muddl.riot.lol.spectator.domain.CurrentGameInfo;
+import com.muddl.riot.lol.spectator.domain.LiveGameChange;
+import com.muddl.riot.lol.spectator.domain.LiveGameWatch;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LiveGameWatchServiceTest {
+
+    private static final RiotApiPlatformUri PLATFORM = RiotApiPlatformUri.NA1;
+    private static final String PUUID = "faker-puuid";
+
+    private final InMemorySpectatorPort spectatorPort = spy(new InMemorySpectatorPort());
+    private final PlayerIdentityResolver resolver = mock(PlayerIdentityResolver.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final LiveGameWatchService watchService =
+            new LiveGameWatchService(spectatorPort, resolver, nanos::get, Runnable::run, null);
+    private final List<LiveGameChange> changes = new ArrayList<>();
+
+    @BeforeEach
+    void resolvesFaker() {
+        when(resolver.resolvePuuid(any())).thenReturn(PUUID);
+    }
+
+    @Test
+    void watch_pollsAtOnce_andReportsTheCurrentGameWithoutAChange() {
+        spectatorPort.putGame(PUUID, SpectatorTestFixtures.createSampleCurrentGameInfo());
+
+        LiveGameWatch watch = watchService.watch(PLATFORM, "Faker#KR1", changes::add);
+
+        assertThat(watch.getWatchId()).isNotBlank();
+        assertThat(watch.getPuuid()).isEqualTo(PUUID);
+        assertThat(watch.getGameId()).isEqualTo(123456789L);
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    void watchersOfOnePlayer_shareOnePoll_andEachHearsOfTheGameStartingAndEnding() {
+        List<LiveGameChange> others = new ArrayList<>();
+        LiveGameWatch first = watchService.watch(PLATFORM, "Faker#KR1", changes::add);
+        LiveGameWatch second = watchService.watch(PLATFORM, "faker#kr1", others::add);
+
+        spectatorPort.putGame(PUUID, SpectatorTestFixtures.createSampleCurrentGameInfo());
+        advance(LiveGameWatchService.IDLE_INTERVAL);
+        watchService.pollDue();
+        spectatorPort.endGame(PUUID);
+        advance(LiveGameWatchService.MAX_INTERVAL);
+        watchService.pollDue();
+
+        assertThat(watchService.watchedPlayers()).isEqualTo(1);
+        verify(spectatorPort, times(3)).refreshCurrentGameInfo(PLATFORM, PUUID);
+        assertThat(changes)
+                .extracting(LiveGameChange::getType)
+                .containsExactly(LiveGameChange.Type.GAME_STARTED, LiveGameChange.Type.GAME_ENDED);
+        assertThat(changes).allSatisfy(change -> {
+            assertThat(change.getWatchId()).isEqualTo(first.getWatchId());
+            assertThat(change.getGameId()).isEqualTo(123456789L);
+        });
+        assertThat(others).extracting(LiveGameChange::getWatchId).containsOnly(second.getWatchId());
+        assertThat(others).hasSize(2);
+    }
+
+    @Test
+    void aWatcherArrivingDuringTheFirstPoll_waitsForIt_andIsToldTheSameGame() throws Exception {
+        spectatorPort.putGame(PUUID, SpectatorTestFixtures.createSampleCurrentGameInfo());
+        CountDownLatch polling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    polling.countDown();
+                    release.await();
+                    return invocation.callRealMethod();
+                })
+                .doCallRealMethod()
+                .when(spectatorPort)
+                .refreshCurrentGameInfo(PLATFORM, PUUID);
+
+        CompletableFuture<LiveGameWatch> first =
+                CompletableFuture.supplyAsync(() -> watchService.watch(PLATFORM, "Faker#KR1", changes::add));
+        polling.await();
+        CompletableFuture<LiveGameWatch> second =
+                CompletableFuture.supplyAsync(() -> watchService.watch(PLATFORM, "faker#kr1", changes::add));
+        verify(resolver, timeout(1_000).times(2)).resolvePuuid(any());
+        release.countDown();
+
+        assertThat(first.get().getGameId()).isEqualTo(123456789L);
+        assertThat(second.get().getGameId()).isEqualTo(123456789L);
+        verify(spectatorPort, times(1)).refreshCurrentGameInfo(PLATFORM, PUUID);
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    void aFailedFirstPoll_reportsNoGame_andTheGameTheNextPollFindsIsReportedAsStarted() {
+        doThrow(new IllegalStateException("503"))
+                .doCallRealMethod()
+                .when(spectatorPort)
+                .refreshCurrentGameInfo(PLATFORM, PUUID);
+
+        LiveGameWatch watch = watchService.watch(PLATFORM, "Faker#KR1", changes::add);
+        spectatorPort.putGame(PUUID, SpectatorTestFixtures.createSampleCurrentGameInfo());
+        advance(LiveGameWatchService.MIN_INTERVAL);
+        watchService.pollDue();
+
+        assertThat(watch.getGameId()).isNull();
+        assertThat(changes)
+                .extracting(LiveGameChange::getType, LiveGameChange::getGameId)
+                .containsExactly(tuple(LiveGameChange.Type.GAME_STARTED, 123456789L));
+    }
+
+    @Test
+    void pollDue_waitsForTheNextPoll() {
+        watchService.watch(PLATFORM, "Faker#KR1", changes::add);
+
+        advance(LiveGameWatchService.IDLE_INTERVAL.minusSeconds(1));
+        watchService.pollDue();
+        verify(spectatorPort, times(1)).refreshCurrentGameInfo(PLATFORM, PUUID);
+
+        advance(Duration.ofSeconds(1));
+        watchService.pollDue();
+        verify(spectatorPort, times(2)).refreshCurrentGameInfo(PLATFORM, PUUID);
+    }
+
+    @Test
+    void aNewGame_isTheLastOneEndingAndTheNextStarting() {
+        CurrentGameInfo game = SpectatorTestFixtures.createSampleCurrentGameInfo();
+        spectatorPort.putGame(PUUID, game);
+        watchService.watch(PLATFORM, "Faker#KR1", changes::add);
+
+        spectatorPort.putGame(PUUID, game.toBuilder().gameId(987654321L).gameLength(0).build());
+        advance(LiveGameWatchService.MAX_INTERVAL);
+        watchService.pollDue();
+
+        assertThat(changes)
+                .extracting(LiveGameChange::getType, LiveGameChange::getGameId)
+                .containsExactly(
+                        tuple(LiveGameChange.Type.GAME_ENDED, 123456789L),
+                        tuple(LiveGameChange.Type.GAME_STARTED, 987654321L));
+    }
+
+    @Test
+    void nextPoll_isSlowOutOfGame_andQuickensAsTheGameNearsItsExpectedEnd() {
+        CurrentGameInfo game = SpectatorTestFixtures.createSampleCurrentGameInfo();
+
+        assertThat(LiveGameWatchService.nextPoll(null)).isEqualTo(LiveGameWatchService.IDLE_INTERVAL);
+        assertThat(LiveGameWatchService.nextPoll(game.toBuilder().gameLength(0).build()))
+                .isEqualTo(LiveGameWatchService.MAX_INTERVAL);
+        assertThat(LiveGameWatchService.nextPoll(game.toBuilder().gameLength(19 * 60).build()))
+                .isEqualTo(Duration.ofMinutes(3));
+        assertThat(LiveGameWatchService.nextPoll(game.toBuilder().gameLength(40 * 60).build()))
+                .isEqualTo(LiveGameWatchService.MIN_INTERVAL);
+    }
+
+    @Test
+    void unwatch_ofTheLastWatcher_stopsPollingThePlayer() {
+        LiveGameWatch watch = watchService.watch(PLATFORM, "Faker#KR1", changes::add);
+
+        assertThat(watchService.unwatch(watch.getWatchId())).isTrue();
+        assertThat(watchService.unwatch(watch.getWatchId())).isFalse();
+        advance(LiveGameWatchService.IDLE_INTERVAL);
+        watchService.pollDue();
+
+        assertThat(watchService.watchedPlayers()).isZero();
+        verify(spectatorPort, times(1)).refreshCurrentGameInfo(PLATFORM, PUUID);
+    }
+
+    @Test
+    void aListenerThatThrows_isUnsubscribed() {
+        watchService.watch(PLATFORM, "Faker#KR1", change -> {
+            throw new IllegalStateException("session closed");
+        });
+
+        spectatorPort.putGame(PUUID, SpectatorTestFixtures.createSampleCurrentGameInfo());
+        advance(LiveGameWatchService.IDLE_INTERVAL);
+        watchService.pollDue();
+
+        assertThat(watchService.watchedPlayers()).isZero();
+    }
+
+    @Test
+    void aSubscriptionFromAnAbandonedSession_expires_andStopsHoldingThePlayer() {
+        // The session closed without unwatching; its player never changes state, so it is never called.
+        LiveGameWatch abandoned = watchService.watch(PLATFORM, "Faker#KR1", change -> {
+            throw new IllegalStateException("session closed");
+        });
+        advance(Duration.ofHours(1));
+        LiveGameWatch live = watchService.watch(PLATFORM, "Faker#KR1", changes::add);
+
+        advance(LiveGameWatchService.WATCH_LIFETIME.minusHours(1));
+        watchService.pollDue();
+
+        assertThat(watchService.unwatch(abandoned.getWatchId())).isFalse();
+        assertThat(watchService.watchedPlayers()).isEqualTo(1);
+        assertThat(changes).isEmpty();
+
+        advance(Duration.ofHours(1));
+        watchService.pollDue();
+        advance(LiveGameWatchService.IDLE_INTERVAL);
+        watchService.pollDue();
+
+        assertThat(watchService.watchedPlayers()).isZero();
+        assertThat(changes)
+                .extracting(LiveGameChange::getWatchId, LiveGameChange::getType)
+                .containsExactly(tuple(live.getWatchId(), LiveGameChange.Type.WATCH_EXPIRED));
+        verify(spectatorPort, times(2)).refreshCurrentGameInfo(PLATFORM, PUUID);
+    }
+
+    @Test
+    void aFailedPoll_isRetriedSoon() {
+        watchService.watch(PLATFORM, "Faker#KR1", changes::add);
+        doThrow(new IllegalStateException("503")).when(spectatorPort).refreshCurrentGameInfo(PLATFORM, PUUID);
+
+        advance(LiveGameWatchService.IDLE_INTERVAL);
+        watchService.pollDue();
+        advance(LiveGameWatchService.MIN_INTERVAL);
+        watchService.pollDue();
+
+        verify(spectatorPort, times(3)).refreshCurrentGameInfo(PLATFORM, PUUID);
+        assertThat(watchService.watchedPlayers()).isEqualTo(1);
+    }
+
+    private void advance(Duration amount) {
+        nanos.addAndGet(amount.toNanos());
+    }
+}
@@ -5,12 +5,17 @@ import com.muddl.riot.account.adapter.out.riot.RiotAccountRiotAdapter;
 import com.muddl.riot.account.application.RiotAccountService;
 import com.muddl.riot.account.application.port.RiotAccountPort;
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
+import com.muddl.riot.account.identity.PlayerIdentitySnapshot;
 import com.muddl.riot.core.config.RiotApiAutoConfiguration;
 import com.muddl.riot.core.config.RiotApiProperties;
 import com.muddl.riot.core.http.RiotApiClient;
+import java.time.Clock;
 import java.time.Duration;
+import java.util.concurrent.Executors;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 /**
@@ -19,6 +24,7 @@ import org.springframework.context.annotation.Bean;
  * so tool names can be namespaced per game without collisions).
  */
 @AutoConfiguration(after = RiotApiAutoConfiguration.class)
+@EnableConfigurationProperties(RiotIdentityProperties.class)
 public class RiotAccountAutoConfiguration {
 
     @Bean
@@ -36,12 +42,36 @@ public class RiotAccountAutoConfiguration {
     /**
      * Identity resolution is the open, cross-cutting surface of this library — every game server's
      * player-keyed tools depend on it (see ADR-0008). Defaults: a 5-minute TTL bounds Riot-ID
-     * staleness, 10 000 entries bound memory, and the system ticker drives expiry. A consumer can
-     * override the whole bean via {@link ConditionalOnMissingBean}.
+     * staleness, a Riot ID read after 4 minutes is refreshed in the background, 10 000 entries bound
+     * memory, and the system ticker drives expiry. Lookups run on virtual threads: they spend their
+     * time waiting on account-v1. A consumer can override the whole bean via {@link
+     * ConditionalOnMissingBean}.
      */
     @Bean
     @ConditionalOnMissingBean
     public PlayerIdentityResolver playerIdentityResolver(RiotAccountService riotAccountService) {
-        return new PlayerIdentityResolver(riotAccountService, Ticker.systemTicker(), Duration.ofMinutes(5), 10_000);
+        return new PlayerIdentityResolver(
+                riotAccountService,
+                Ticker.systemTicker(),
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("riot-identity-", 0).factory()),
+                Duration.ofMinutes(5),
+                Duration.ofMinutes(4),
+                10_000);
+    }
+
+    /**
+     * Saves the resolver's cache to {@code riot.identity.snapshot-path} and warms it from there at
+     * startup, so players resolved in an earlier session need no Riot call in this one.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("riot.identity.snapshot-path")
+    public PlayerIdentitySnapshot playerIdentitySnapshot(
+            PlayerIdentityResolver playerIdentityResolver, RiotIdentityProperties properties) {
+        return new PlayerIdentitySnapshot(
+                playerIdentityResolver,
+                properties.getSnapshotPath(),
+                properties.getSnapshotInterval(),
+                Clock.systemUTC());
     }
 }
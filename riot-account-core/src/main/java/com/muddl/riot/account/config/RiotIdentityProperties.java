@@ -0,0 +1,28 @@
+package com.muddl.riot.account.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Typed configuration for the player identity resolver, bound from {@code riot.identity.*}. Kept in
+ * this module rather than in riot-api-core's {@code RiotApiProperties}, which knows nothing of
+ * identity resolution.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "riot.identity")
+public class RiotIdentityProperties {
+
+    /**
+     * File the resolver's Riot ID → PUUID cache is saved to, with each entry's lookup time, and loaded
+     * back from at startup. Unset (the default), nothing is saved. Worth setting for stdio, where every
+     * client session is a new JVM with a cold cache; give each server its own file.
+     */
+    private Path snapshotPath;
+
+    /** How often the snapshot is rewritten while the server runs; it is also written on shutdown. */
+    private Duration snapshotInterval = Duration.ofMinutes(1);
+}
@@ -1,11 +1,25 @@
 package com.muddl.riot.account.identity;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy.VarExpiration;
 import com.github.benmanes.caffeine.cache.Ticker;
 import com.muddl.riot.account.application.RiotAccountService;
 import com.muddl.riot.account.domain.RiotAccount;
+import com.muddl.riot.core.exception.RiotApiException;
+import java.text.Normalizer;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Resolves a caller-supplied {@code player} — either a {@code GameName#TAG} Riot ID or a raw PUUID —
@@ -22,16 +36,58 @@ import java.time.Duration;
  * PUUID needs no lookup. The cache's {@link Ticker} is injected so tests advance time by hand.
  * Caffeine is an implementation detail — it appears here and in the auto-configuration, never in the
  * public {@link #resolvePuuid(String)} contract.
+ *
+ * <p>Keys are canonical: NFC and lower-cased, because account-v1 resolves Riot IDs case-insensitively
+ * and a model varies capitalisation freely. "faker#kr1", "Faker#KR1" and "FAKER#KR1" share one entry
+ * and one lookup. An alias index covers the spellings Riot equates and the key does not: the account's
+ * own Riot ID, as account-v1 returns it, points at the entry that was looked up.
+ *
+ * <p>The cache refreshes ahead: a Riot ID read after {@code refreshAfter} is served its cached PUUID
+ * while one background lookup on {@code executor} renews it, so a hot Riot ID never waits on account-v1
+ * again. Only a Riot ID left unread for the whole TTL expires and is looked up on the request path. A
+ * refresh that account-v1 answers with 404 drops the entry rather than keep a PUUID for a name that
+ * moved. A refresh that fails any other way keeps the entry, which expires at the end of its TTL.
+ *
+ * <p>Lookups are single-flight per Riot ID: callers asking for the same one while it loads share the
+ * load. {@link #resolveAll} starts every miss at once on {@code executor}; {@code RiotApiClient}'s rate
+ * limiter underneath paces them.
+ *
+ * <p>A {@link PlayerIdentitySnapshot} can carry the cache across restarts, and {@link #learn} takes
+ * mappings seen in other payloads. Either way an entry keeps only what is left of its TTL, counted from
+ * when the mapping was last known true, which is why expiry is tracked per entry.
  */
 public class PlayerIdentityResolver {
 
+    private static final int NOT_FOUND = 404;
+
     private final RiotAccountService accountService;
-    private final Cache<String, String> puuidByRiotId;
+    private final Duration cacheTtl;
+    private final AsyncLoadingCache<String, String> puuidByRiotId;
+    private final VarExpiration<String, String> expiration;
+    private final Cache<String, String> entryKeyByAlias;
 
     public PlayerIdentityResolver(
-            RiotAccountService accountService, Ticker ticker, Duration cacheTtl, int cacheMaxSize) {
+            RiotAccountService accountService,
+            Ticker ticker,
+            Executor executor,
+            Duration cacheTtl,
+            Duration refreshAfter,
+            int cacheMaxSize) {
+        if (refreshAfter.compareTo(cacheTtl) >= 0) {
+            throw new IllegalArgumentException(
+                    "refreshAfter (" + refreshAfter + ") must be shorter than the cache TTL (" + cacheTtl + ")");
+        }
         this.accountService = accountService;
+        this.cacheTtl = cacheTtl;
         this.puuidByRiotId = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new LookupExpiry(cacheTtl))
+                .refreshAfterWrite(refreshAfter)
+                .executor(executor)
+                .ticker(ticker)
+                .buildAsync(this::lookupPuuid);
+        this.expiration = puuidByRiotId.synchronous().policy().expireVariably().orElseThrow();
+        this.entryKeyByAlias = Caffeine.newBuilder()
                 .maximumSize(cacheMaxSize)
                 .expireAfterWrite(cacheTtl)
                 .ticker(ticker)
@@ -44,33 +100,178 @@ public class PlayerIdentityResolver {
      * @throws IllegalArgumentException if {@code player} is blank, malformed, or names no account
      */
     public String resolvePuuid(String player) {
+        String riotId = riotIdKey(player);
+        if (riotId == null) {
+            return player.trim(); // already a PUUID — nothing to resolve, no Riot call, no cache entry
+        }
+        return join(player, puuidByRiotId.get(entryKey(riotId)));
+    }
+
+    /**
+     * Resolves many players in one go — a team, a lobby. Every player is parsed before any Riot call,
+     * then the Riot IDs not in the cache are looked up concurrently, each once however often it appears.
+     *
+     * @param players {@code GameName#TAG} Riot IDs and raw PUUIDs, in any mix
+     * @return each player, as given, to its PUUID, in iteration order
+     * @throws IllegalArgumentException if any player is blank, malformed, or names no account; the
+     *     first such player in iteration order is reported. Lookups already started still finish and
+     *     are cached.
+     */
+    public Map<String, String> resolveAll(Collection<String> players) {
+        Map<String, String> riotIds = new LinkedHashMap<>();
+        for (String player : players) {
+            riotIds.put(player, riotIdKey(player));
+        }
+        Map<String, CompletableFuture<String>> lookups = new LinkedHashMap<>();
+        riotIds.forEach((player, riotId) -> lookups.put(
+                player,
+                riotId == null
+                        ? CompletableFuture.completedFuture(player.trim())
+                        : puuidByRiotId.get(entryKey(riotId))));
+        Map<String, String> puuids = new LinkedHashMap<>();
+        lookups.forEach((player, lookup) -> puuids.put(player, join(player, lookup)));
+        return puuids;
+    }
+
+    /**
+     * Learns a Riot ID's PUUID from somewhere other than account-v1 — a match payload lists every
+     * participant's — so a later {@link #resolvePuuid} of it needs no lookup. The mapping is cached
+     * as of {@code age} ago and expires when a lookup made then would have, so it is never staler than
+     * the TTL allows; one older than the TTL is ignored. A Riot ID already cached keeps its entry.
+     *
+     * @param age how long ago the mapping was true, e.g. since the match ended
+     */
+    public void learn(String gameName, String tagLine, String puuid, Duration age) {
+        if (gameName == null || tagLine == null) {
+            return;
+        }
+        restore(gameName + "#" + tagLine, puuid, age);
+    }
+
+    /** Every cached Riot ID with its PUUID and how long ago it was looked up, for {@link PlayerIdentitySnapshot}. */
+    List<CachedRiotId> cachedRiotIds() {
+        List<CachedRiotId> cached = new ArrayList<>();
+        puuidByRiotId.synchronous().asMap().forEach((riotId, puuid) -> expiration
+                .getExpiresAfter(riotId)
+                .ifPresent(left -> cached.add(new CachedRiotId(riotId, puuid, cacheTtl.minus(left)))));
+        return cached;
+    }
+
+    /**
+     * Caches {@code riotId} as if it had been looked up {@code age} ago, so it expires when it would
+     * have. Ignored when the Riot ID is malformed, already cached, or older than the TTL.
+     */
+    void restore(String riotId, String puuid, Duration age) {
+        // A time from the future (a clock that moved) counts as now: never more than the full TTL.
+        Duration left = age.isNegative() ? cacheTtl : cacheTtl.minus(age);
+        if (left.isNegative() || left.isZero() || puuid == null || puuid.isBlank()) {
+            return;
+        }
+        String key;
+        try {
+            key = riotIdKey(riotId);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        if (key != null) {
+            expiration.putIfAbsent(key, puuid, left);
+        }
+    }
+
+    /** The key of the entry {@code riotId} resolves through: its own, or the one an alias points at. */
+    private String entryKey(String riotId) {
+        String aliased = entryKeyByAlias.getIfPresent(riotId);
+        return aliased == null ? riotId : aliased;
+    }
+
+    /**
+     * The canonical cache key for a Riot ID, or {@code null} for a raw PUUID. Each half is trimmed so
+     * "Faker # KR1" keys the same as "Faker#KR1" (internal spaces in a game name are preserved), then
+     * {@linkplain #canonical canonicalised} so "faker#kr1" and "FAKER#KR1" do too.
+     */
+    private static String riotIdKey(String player) {
         if (player == null || player.isBlank()) {
             throw new IllegalArgumentException(unparseableMessage(player));
         }
         String trimmed = player.trim();
         if (trimmed.indexOf('#') < 0) {
-            return trimmed; // already a PUUID — nothing to resolve, no Riot call, no cache entry
+            return null;
         }
         String[] parts = trimmed.split("#", -1);
         if (parts.length != 2) {
             throw new IllegalArgumentException(unparseableMessage(player));
         }
-        // Trim each half so "Faker # KR1" normalizes to the same PUUID and cache key as "Faker#KR1"
-        // (internal spaces in a game name are preserved — only surrounding whitespace is removed).
         String gameName = parts[0].trim();
         String tagLine = parts[1].trim();
         if (gameName.isBlank() || tagLine.isBlank()) {
             throw new IllegalArgumentException(unparseableMessage(player));
         }
-        // get(key, loader) is atomic per key; a loader that throws (unknown Riot ID) propagates and
-        // caches nothing, which is exactly the "do not cache failed lookups" behaviour we want.
-        return puuidByRiotId.get(gameName + "#" + tagLine, key -> lookupPuuid(gameName, tagLine));
+        return canonical(gameName) + "#" + canonical(tagLine);
+    }
+
+    /**
+     * Riot IDs match case-insensitively, and a client may send either Unicode form of an accented
+     * name. The key is NFC, lower-cased in the root locale, and NFC again, since lower-casing can leave
+     * a decomposed sequence. It is a simple case fold: full folding would turn "ß" into "ss", which
+     * Riot may not treat as the same name. The key doubles as the lookup's spelling, which is safe
+     * because account-v1 ignores case.
+     */
+    private static String canonical(String part) {
+        String composed = Normalizer.normalize(part, Normalizer.Form.NFC);
+        return Normalizer.normalize(composed.toLowerCase(Locale.ROOT), Normalizer.Form.NFC);
+    }
+
+    /**
+     * Waits for a lookup and rethrows its own exception, not Caffeine's wrapper. A lookup that found no
+     * account completes with {@code null}, which Caffeine does not keep: an unknown Riot ID is not
+     * cached here. It is remembered one layer down instead — a not-found-ttl policy on account-v1
+     * replays Riot's 404 for a few minutes, after which a newly created ID resolves.
+     */
+    private static String join(String player, CompletableFuture<String> lookup) {
+        String puuid;
+        try {
+            puuid = lookup.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if (puuid == null) {
+            throw new IllegalArgumentException("No Riot account found for Riot ID '" + player.trim() + "'.");
+        }
+        return puuid;
     }
 
-    private String lookupPuuid(String gameName, String tagLine) {
-        RiotAccount account = accountService.getAccountByRiotId(gameName, tagLine);
+    /**
+     * The cache's loader, for first loads and refreshes alike. {@code null} for no account, including
+     * account-v1's 404: on a refresh, Caffeine takes that as removal, so a Riot ID that moved stops
+     * resolving to its old PUUID. Any other failure propagates.
+     *
+     * <p>Riot may match spellings this resolver's canonical key keeps apart. When the account's own
+     * Riot ID has a different key from the one looked up, that key becomes an alias of this entry, so
+     * the account's own spelling hits it too. The alias lives in its own cache: a loader must not
+     * write to the cache it is loading.
+     */
+    private String lookupPuuid(String riotId) {
+        int hash = riotId.indexOf('#');
+        RiotAccount account;
+        try {
+            account = accountService.getAccountByRiotId(riotId.substring(0, hash), riotId.substring(hash + 1));
+        } catch (RiotApiException e) {
+            if (e.getStatusCode() == NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
         if (account == null || account.getPuuid() == null || account.getPuuid().isBlank()) {
-            throw new IllegalArgumentException("No Riot account found for Riot ID '" + gameName + "#" + tagLine + "'.");
+            return null;
+        }
+        if (account.getGameName() != null && account.getTagLine() != null) {
+            String own = canonical(account.getGameName().trim()) + "#" + canonical(account.getTagLine().trim());
+            if (!own.equals(riotId)) {
+                entryKeyByAlias.put(own, riotId);
+            }
         }
         return account.getPuuid();
     }
@@ -79,4 +280,35 @@ public class PlayerIdentityResolver {
         return "Cannot resolve player '" + player + "'. Provide a Riot ID as GameName#TAG "
                 + "(for example Faker#KR1) or a raw PUUID.";
     }
+
+    /** A cache entry as {@link #cachedRiotIds()} reports it. */
+    record CachedRiotId(String riotId, String puuid, Duration age) {}
+
+    /**
+     * Every lookup, first load or refresh, lives for the TTL. Expiry is per entry rather than {@code
+     * expireAfterWrite} only so that {@link #restore} can give an entry what is left of its TTL.
+     */
+    private static final class LookupExpiry implements Expiry<String, String> {
+
+        private final long ttlNanos;
+
+        LookupExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String riotId, String puuid, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String riotId, String puuid, long currentTime, long currentDuration) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String riotId, String puuid, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package com.muddl.riot.account.identity;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Keeps a {@link PlayerIdentityResolver}'s Riot ID → PUUID cache on disk across restarts. A stdio
+ * server is a new JVM with every client session; with {@code riot.identity.snapshot-path} set, a
+ * player resolved in an earlier session resolves with no Riot call in the next, for as long as the
+ * TTL would have kept them.
+ *
+ * <p>The cache is loaded when this is built, saved every {@code riot.identity.snapshot-interval}, and
+ * saved once more on shutdown. The file is text, one cached Riot ID per line: the Riot ID, its PUUID,
+ * and the epoch millisecond it was looked up, tab-separated. Loading works out each entry's age from
+ * that time, so it expires when it would have in the old process; entries past the TTL are skipped.
+ * A save writes a sibling temporary file and moves it over the snapshot, so a crash mid-save leaves
+ * the previous snapshot whole.
+ *
+ * <p>The snapshot is a cache, so it never fails the server: a missing file loads nothing, a malformed
+ * line is skipped, and an I/O error is logged.
+ */
+@Slf4j
+public class PlayerIdentitySnapshot implements DisposableBean {
+
+    private final PlayerIdentityResolver resolver;
+    private final Path path;
+    private final Clock clock;
+    private final ScheduledExecutorService saver;
+
+    public PlayerIdentitySnapshot(PlayerIdentityResolver resolver, Path path, Duration interval, Clock clock) {
+        this.resolver = resolver;
+        this.path = path;
+        this.clock = clock;
+        load();
+        this.saver = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("riot-identity-snapshot").factory());
+        saver.scheduleWithFixedDelay(this::save, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Caches every entry of the snapshot file still inside the TTL. */
+    void load() {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            log.warn("Identity snapshot {} unreadable, starting cold: {}", path, e.getMessage());
+            return;
+        }
+        long now = clock.millis();
+        for (String line : lines) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 3) {
+                continue;
+            }
+            try {
+                resolver.restore(fields[0], fields[1], Duration.ofMillis(now - Long.parseLong(fields[2])));
+            } catch (NumberFormatException e) {
+                // a torn or hand-edited line: skip it like any other malformed one
+            }
+        }
+    }
+
+    /** Writes the resolver's cache to the snapshot file, replacing what was there. */
+    synchronized void save() {
+        long now = clock.millis();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (PlayerIdentityResolver.CachedRiotId cached : resolver.cachedRiotIds()) {
+                    writer.write(cached.riotId() + "\t" + cached.puuid() + "\t" + (now - cached.age().toMillis()));
+                    writer.newLine();
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temporary);
+                throw e;
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not save identity snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        saver.shutdownNow();
+        save();
+    }
+}
@@ -6,8 +6,12 @@ import com.muddl.riot.account.adapter.out.riot.RiotAccountRiotAdapter;
 import com.muddl.riot.account.application.RiotAccountService;
 import com.muddl.riot.account.application.port.RiotAccountPort;
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
+import com.muddl.riot.account.identity.PlayerIdentitySnapshot;
 import com.muddl.riot.core.config.RiotApiAutoConfiguration;
+import java.nio.file.Path;
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
@@ -32,6 +36,24 @@ class RiotAccountAutoConfigurationTest {
         runner.run(context -> assertThat(context).hasSingleBean(PlayerIdentityResolver.class));
     }
 
+    @Test
+    void snapshots_the_identity_cache_only_when_a_snapshot_path_is_set(@TempDir Path directory) {
+        runner.run(context -> assertThat(context).doesNotHaveBean(PlayerIdentitySnapshot.class));
+        runner.withPropertyValues("riot.identity.snapshot-path=" + directory.resolve("identity.tsv"))
+                .run(context -> assertThat(context).hasSingleBean(PlayerIdentitySnapshot.class));
+    }
+
+    @Test
+    void binds_riot_identity_into_this_modules_own_properties(@TempDir Path directory) {
+        Path snapshot = directory.resolve("identity.tsv");
+        runner.withPropertyValues("riot.identity.snapshot-path=" + snapshot, "riot.identity.snapshot-interval=30s")
+                .run(context -> {
+                    RiotIdentityProperties identity = context.getBean(RiotIdentityProperties.class);
+                    assertThat(identity.getSnapshotPath()).isEqualTo(snapshot);
+                    assertThat(identity.getSnapshotInterval()).isEqualTo(Duration.ofSeconds(30));
+                });
+    }
+
     @Test
     void a_consumer_supplied_port_wins_over_the_default_adapter() {
         runner.withBean(RiotAccountPort.class, () -> new StubAccountPort()).run(context -> {
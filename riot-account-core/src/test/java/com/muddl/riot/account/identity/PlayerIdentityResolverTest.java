@@ -2,11 +2,18 @@ package com.muddl.riot.account.identity;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
 import com.muddl.riot.account.application.RiotAccountService;
 import com.muddl.riot.account.application.port.RiotAccountPort;
 import com.muddl.riot.account.domain.RiotAccount;
+import com.muddl.riot.core.exception.RiotApiException;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 class PlayerIdentityResolverTest {
@@ -16,7 +23,8 @@ class PlayerIdentityResolverTest {
         private int riotIdLookups = 0;
         private String lastGameName;
         private String lastTagLine;
-        private final RiotAccount account;
+        private RiotAccount account;
+        private RuntimeException failure;
 
         CountingPort(RiotAccount account) {
             this.account = account;
@@ -27,6 +35,9 @@ class PlayerIdentityResolverTest {
             riotIdLookups++;
             lastGameName = gameName;
             lastTagLine = tagLine;
+            if (failure != null) {
+                throw failure;
+            }
             return account;
         }
 
@@ -36,8 +47,10 @@ class PlayerIdentityResolverTest {
         }
     }
 
+    /** Loads and refreshes run on the calling thread, so a refresh has finished when the read returns. */
     private PlayerIdentityResolver resolver(RiotAccountPort port, MutableTicker ticker) {
-        return new PlayerIdentityResolver(new RiotAccountService(port), ticker, Duration.ofMinutes(5), 10);
+        return new PlayerIdentityResolver(
+                new RiotAccountService(port), ticker, Runnable::run, Duration.ofMinutes(5), Duration.ofMinutes(4), 10);
     }
 
     @Test
@@ -106,8 +119,8 @@ class PlayerIdentityResolverTest {
         PlayerIdentityResolver resolver = resolver(port, new MutableTicker());
 
         assertThat(resolver.resolvePuuid("Faker # KR1")).isEqualTo("resolved-puuid");
-        assertThat(port.lastGameName).isEqualTo("Faker"); // trimmed, not "Faker "
-        assertThat(port.lastTagLine).isEqualTo("KR1"); // trimmed, not " KR1"
+        assertThat(port.lastGameName).isEqualTo("faker"); // trimmed, not "faker " (and canonically cased)
+        assertThat(port.lastTagLine).isEqualTo("kr1"); // trimmed, not " kr1"
 
         // Spaced variants normalize to the same cache key, so no second Riot call.
         resolver.resolvePuuid("  Faker#KR1  ");
@@ -142,4 +155,201 @@ class PlayerIdentityResolverTest {
         assertThatThrownBy(() -> resolver.resolvePuuid("Ghost#NA1")).isInstanceOf(IllegalArgumentException.class);
         assertThat(port.riotIdLookups).isEqualTo(2); // a failed lookup is not cached
     }
+
+    @Test
+    void a_riot_id_read_past_refresh_after_is_renewed_before_it_expires() {
+        CountingPort port = new CountingPort(account("resolved-puuid"));
+        MutableTicker ticker = new MutableTicker();
+        PlayerIdentityResolver resolver = resolver(port, ticker);
+
+        resolver.resolvePuuid("Faker#KR1");
+        ticker.advance(Duration.ofMinutes(4).plusSeconds(30)); // past refresh-after, inside the TTL
+        assertThat(resolver.resolvePuuid("Faker#KR1")).isEqualTo("resolved-puuid");
+        assertThat(port.riotIdLookups).isEqualTo(2); // the background refresh
+
+        ticker.advance(Duration.ofMinutes(1)); // past the first write's TTL, not the refresh's
+        resolver.resolvePuuid("Faker#KR1");
+        assertThat(port.riotIdLookups).isEqualTo(2); // no lookup on the request path
+    }
+
+    @Test
+    void a_refresh_that_finds_no_account_drops_the_riot_id() {
+        CountingPort port = new CountingPort(account("resolved-puuid"));
+        MutableTicker ticker = new MutableTicker();
+        PlayerIdentityResolver resolver = resolver(port, ticker);
+
+        resolver.resolvePuuid("Faker#KR1");
+        port.account = null; // the Riot ID was renamed away
+        ticker.advance(Duration.ofMinutes(4).plusSeconds(30));
+        resolver.resolvePuuid("Faker#KR1"); // served the old PUUID while the refresh finds nothing
+
+        assertThatThrownBy(() -> resolver.resolvePuuid("Faker#KR1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void a_refresh_answered_with_404_drops_the_riot_id_and_a_first_404_is_an_unknown_riot_id() {
+        CountingPort port = new CountingPort(account("resolved-puuid"));
+        MutableTicker ticker = new MutableTicker();
+        PlayerIdentityResolver resolver = resolver(port, ticker);
+
+        resolver.resolvePuuid("Faker#KR1");
+        port.failure = RiotApiException.forStatus(404, "Data not found"); // what account-v1 really sends
+        ticker.advance(Duration.ofMinutes(4).plusSeconds(30));
+        assertThat(resolver.resolvePuuid("Faker#KR1")).isEqualTo("resolved-puuid"); // refresh finds it gone
+
+        assertThatThrownBy(() -> resolver.resolvePuuid("Faker#KR1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No Riot account found");
+        assertThatThrownBy(() -> resolver.resolvePuuid("Ghost#NA1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void a_refresh_that_fails_otherwise_keeps_the_puuid() {
+        CountingPort port = new CountingPort(account("resolved-puuid"));
+        MutableTicker ticker = new MutableTicker();
+        PlayerIdentityResolver resolver = resolver(port, ticker);
+
+        resolver.resolvePuuid("Faker#KR1");
+        port.failure = RiotApiException.forStatus(503, "down");
+        ticker.advance(Duration.ofMinutes(4).plusSeconds(30));
+        resolver.resolvePuuid("Faker#KR1");
+
+        assertThat(resolver.resolvePuuid("Faker#KR1")).isEqualTo("resolved-puuid");
+    }
+
+    @Test
+    void refresh_after_must_be_shorter_than_the_ttl() {
+        assertThatThrownBy(() -> new PlayerIdentityResolver(
+                        new RiotAccountService(new CountingPort(null)),
+                        new MutableTicker(),
+                        Runnable::run,
+                        Duration.ofMinutes(5),
+                        Duration.ofMinutes(5),
+                        10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("refreshAfter");
+    }
+
+    @Test
+    void resolve_all_maps_each_player_as_given_and_looks_each_riot_id_up_once() {
+        CountingPort port = new CountingPort(account("resolved-puuid"));
+        PlayerIdentityResolver resolver = resolver(port, new MutableTicker());
+
+        assertThat(resolver.resolveAll(List.of("Faker#KR1", "raw-puuid", " Faker # KR1 ")))
+                .containsExactly(
+                        entry("Faker#KR1", "resolved-puuid"),
+                        entry("raw-puuid", "raw-puuid"),
+                        entry(" Faker # KR1 ", "resolved-puuid"));
+        assertThat(port.riotIdLookups).isEqualTo(1);
+    }
+
+    @Test
+    void resolve_all_checks_every_player_before_any_riot_call() {
+        CountingPort port = new CountingPort(account("resolved-puuid"));
+        PlayerIdentityResolver resolver = resolver(port, new MutableTicker());
+
+        assertThatThrownBy(() -> resolver.resolveAll(List.of("Faker#KR1", "a#b#c")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("a#b#c");
+        assertThat(port.riotIdLookups).isZero();
+    }
+
+    @Test
+    void resolve_all_looks_up_misses_concurrently() {
+        // Each lookup waits for the other at a barrier: resolving both only finishes if they overlap.
+        CyclicBarrier bothInFlight = new CyclicBarrier(2);
+        AtomicInteger lookups = new AtomicInteger();
+        RiotAccountPort port = new RiotAccountPort() {
+            @Override
+            public RiotAccount getAccountByRiotId(String gameName, String tagLine) {
+                lookups.incrementAndGet();
+                try {
+                    bothInFlight.await(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException("lookups did not overlap", e);
+                }
+                return RiotAccount.builder().puuid(gameName + "-puuid").gameName(gameName).tagLine(tagLine).build();
+            }
+
+            @Override
+            public RiotAccount getAccountByPuuid(String puuid) {
+                return null;
+            }
+        };
+        PlayerIdentityResolver resolver = new PlayerIdentityResolver(
+                new RiotAccountService(port),
+                new MutableTicker(),
+                Executors.newVirtualThreadPerTaskExecutor(),
+                Duration.ofMinutes(5),
+                Duration.ofMinutes(4),
+                10);
+
+        assertThat(resolver.resolveAll(List.of("Faker#KR1", "Zeus#KR1", "Faker#KR1")))
+                .containsEntry("Faker#KR1", "faker-puuid")
+                .containsEntry("Zeus#KR1", "zeus-puuid");
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    void a_learned_riot_id_resolves_with_no_lookup_until_its_ttl_from_when_it_was_seen() {
+        CountingPort port = new CountingPort(account("looked-up-puuid"));
+        MutableTicker ticker = new MutableTicker();
+        PlayerIdentityResolver resolver = resolver(port, ticker);
+
+        resolver.learn("Rival", "NA1", "seen-puuid", Duration.ofMinutes(2)); // a match that ended 2m ago
+        assertThat(resolver.resolvePuuid("Rival#NA1")).isEqualTo("seen-puuid");
+        assertThat(port.riotIdLookups).isZero();
+
+        ticker.advance(Duration.ofMinutes(3).plusSeconds(1)); // five minutes since the match
+        assertThat(resolver.resolvePuuid("Rival#NA1")).isEqualTo("looked-up-puuid");
+        assertThat(port.riotIdLookups).isEqualTo(1);
+    }
+
+    @Test
+    void a_mapping_older_than_the_ttl_or_for_a_cached_riot_id_is_not_learned() {
+        CountingPort port = new CountingPort(account("looked-up-puuid"));
+        PlayerIdentityResolver resolver = resolver(port, new MutableTicker());
+        resolver.resolvePuuid("Faker#KR1");
+
+        resolver.learn("Faker", "KR1", "seen-puuid", Duration.ZERO);
+        resolver.learn("Rival", "NA1", "seen-puuid", Duration.ofHours(1));
+        resolver.learn(null, "NA1", "seen-puuid", Duration.ZERO);
+
+        assertThat(resolver.resolvePuuid("Faker#KR1")).isEqualTo("looked-up-puuid");
+        assertThat(resolver.resolvePuuid("Rival#NA1")).isEqualTo("looked-up-puuid");
+        assertThat(port.riotIdLookups).isEqualTo(2);
+    }
+
+    @Test
+    void spellings_differing_in_case_or_unicode_form_share_one_entry() {
+        CountingPort port = new CountingPort(account("resolved-puuid"));
+        PlayerIdentityResolver resolver = resolver(port, new MutableTicker());
+
+        resolver.resolvePuuid("faker#kr1");
+        resolver.resolvePuuid("Faker#KR1");
+        resolver.resolvePuuid("FAKER#KR1");
+        assertThat(port.riotIdLookups).isEqualTo(1);
+
+        port.account = RiotAccount.builder().puuid("accented-puuid").gameName("Zoé").tagLine("EUW").build();
+        assertThat(resolver.resolvePuuid("Zo\u00e9#EUW")).isEqualTo("accented-puuid"); // precomposed é
+        assertThat(resolver.resolvePuuid("ZOE\u0301#euw")).isEqualTo("accented-puuid"); // E + combining acute
+        assertThat(port.riotIdLookups).isEqualTo(2);
+    }
+
+    @Test
+    void the_accounts_own_riot_id_is_an_alias_of_the_spelling_that_was_looked_up() {
+        // Riot equates these two spellings; the resolver's key does not. Greek capital sigma lower-cases
+        // to a final sigma at the end of a word, so the canonical keys differ in their last letter.
+        CountingPort port = new CountingPort(
+                RiotAccount.builder().puuid("greek-puuid").gameName("ΣΑΣ").tagLine("GR1").build());
+        PlayerIdentityResolver resolver = resolver(port, new MutableTicker());
+
+        resolver.resolvePuuid("σασ#GR1");
+        assertThat(resolver.resolvePuuid("ΣΑΣ#GR1")).isEqualTo("greek-puuid");
+        assertThat(port.riotIdLookups).isEqualTo(1);
+    }
+
+    private static RiotAccount account(String puuid) {
+        return RiotAccount.builder().puuid(puuid).gameName("Faker").tagLine("KR1").build();
+    }
 }
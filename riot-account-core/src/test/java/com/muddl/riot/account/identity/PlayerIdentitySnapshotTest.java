@@ -0,0 +1,103 @@
+package com.muddl.riot.account.identity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.muddl.riot.account.application.RiotAccountService;
+import com.muddl.riot.account.application.port.RiotAccountPort;
+import com.muddl.riot.account.domain.RiotAccount;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PlayerIdentitySnapshotTest {
+
+    private static final Instant SAVED_AT = Instant.parse("2026-10-01T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    /** Answers every Riot ID with {@code <gameName>-puuid}, counting the lookups. */
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private final RiotAccountPort port = new RiotAccountPort() {
+        @Override
+        public RiotAccount getAccountByRiotId(String gameName, String tagLine) {
+            lookups.incrementAndGet();
+            return RiotAccount.builder().puuid(gameName + "-puuid").gameName(gameName).tagLine(tagLine).build();
+        }
+
+        @Override
+        public RiotAccount getAccountByPuuid(String puuid) {
+            return null;
+        }
+    };
+
+    private PlayerIdentityResolver resolver(MutableTicker ticker) {
+        return new PlayerIdentityResolver(
+                new RiotAccountService(port), ticker, Runnable::run, Duration.ofMinutes(5), Duration.ofMinutes(4), 10);
+    }
+
+    private PlayerIdentitySnapshot snapshot(PlayerIdentityResolver resolver, Instant now) {
+        return new PlayerIdentitySnapshot(
+                resolver, directory.resolve("identity.tsv"), Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    void a_restart_resolves_a_saved_riot_id_with_no_riot_call_for_the_rest_of_its_ttl() {
+        MutableTicker before = new MutableTicker();
+        PlayerIdentityResolver first = resolver(before);
+        first.resolvePuuid("Faker#KR1");
+        before.advance(Duration.ofMinutes(1));
+        snapshot(first, SAVED_AT).destroy(); // shutdown: saved one minute after the lookup
+
+        MutableTicker after = new MutableTicker();
+        PlayerIdentityResolver second = resolver(after);
+        PlayerIdentitySnapshot restarted = snapshot(second, SAVED_AT.plus(Duration.ofMinutes(1)));
+        assertThat(second.resolvePuuid("Faker#KR1")).isEqualTo("faker-puuid");
+        assertThat(lookups).hasValue(1); // the first process's lookup only
+
+        after.advance(Duration.ofMinutes(3).plusSeconds(1)); // five minutes since the original lookup
+        second.resolvePuuid("Faker#KR1");
+        assertThat(lookups).hasValue(2);
+        restarted.destroy();
+    }
+
+    @Test
+    void entries_past_the_ttl_and_malformed_lines_are_skipped() throws Exception {
+        long savedAt = SAVED_AT.toEpochMilli();
+        Files.writeString(
+                directory.resolve("identity.tsv"),
+                "Old#KR1\told-puuid\t" + (savedAt - Duration.ofMinutes(6).toMillis()) + "\n"
+                        + "torn line\n"
+                        + "Bad#KR1\tbad-puuid\tnot-a-time\n"
+                        + "Fresh#KR1\tfresh-puuid\t" + savedAt + "\n");
+        PlayerIdentityResolver resolver = resolver(new MutableTicker());
+        PlayerIdentitySnapshot snapshot = snapshot(resolver, SAVED_AT);
+
+        assertThat(resolver.resolvePuuid("Fresh#KR1")).isEqualTo("fresh-puuid");
+        assertThat(lookups).hasValue(0);
+        assertThat(resolver.resolvePuuid("Old#KR1")).isEqualTo("old-puuid");
+        assertThat(resolver.resolvePuuid("Bad#KR1")).isEqualTo("bad-puuid");
+        assertThat(lookups).hasValue(2);
+        snapshot.destroy();
+    }
+
+    @Test
+    void no_snapshot_file_starts_cold_and_shutdown_writes_one() throws Exception {
+        PlayerIdentityResolver resolver = resolver(new MutableTicker());
+        PlayerIdentitySnapshot snapshot = snapshot(resolver, SAVED_AT);
+        resolver.resolvePuuid("Faker#KR1");
+
+        snapshot.destroy();
+
+        assertThat(Files.readAllLines(directory.resolve("identity.tsv")))
+                .containsExactly("faker#kr1\tfaker-puuid\t" + SAVED_AT.toEpochMilli());
+        assertThat(directory).isDirectoryNotContaining("glob:**.tmp");
+    }
+}
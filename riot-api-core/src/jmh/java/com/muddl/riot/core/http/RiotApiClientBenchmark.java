@@ -0,0 +1,96 @@
+package com.muddl.riot.core.http;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.muddl.riot.core.config.RiotApiProperties;
+import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Per-call overhead of a Riot round trip, before and after client caching. A local WireMock server
+ * answers instantly, so what remains is client construction plus connection setup — the cost a tool
+ * call paid on every request when {@code clientFor(host)} built a fresh {@code RestClient} (and, with
+ * it, a fresh JDK {@code HttpClient} and connection) each time.
+ *
+ * <ul>
+ *   <li>{@code perCallClient} — the old path: build a client on the default request factory, then send
+ *       one request. It ignores {@code transport}.
+ *   <li>{@code cachedClient} — the current path, over the {@code transport} under test.
+ * </ul>
+ *
+ * <p>Run with {@code ./gradlew :riot-api-core:jmh -Pjmh.includes=RiotApiClientBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiotApiClientBenchmark {
+
+    @Param({"JDK", "APACHE"})
+    public String transport;
+
+    private WireMockServer wireMock;
+    private RiotApiProperties properties;
+    private RiotApiClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wireMock = new WireMockServer(options().dynamicPort());
+        wireMock.start();
+        wireMock.stubFor(get(urlEqualTo("/ping")).willReturn(aResponse().withStatus(200).withBody("pong")));
+
+        properties = new RiotApiProperties();
+        properties.setApiKey("bench-key");
+        properties.setBaseUrlOverride("http://localhost:" + wireMock.port());
+        properties.getHttp().setTransport(RiotApiProperties.Http.Transport.valueOf(transport));
+        client = new RiotApiClient(properties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.destroy();
+        wireMock.stop();
+    }
+
+    @Benchmark
+    public String perCallClient() {
+        RestClient fresh = RestClient.builder()
+                .baseUrl(properties.getBaseUrlOverride())
+                .defaultHeader("X-RIOT-TOKEN", properties.getApiKey())
+                .requestInterceptor(new RetryOn429Interceptor(
+                        properties.getMaxRetries(),
+                        properties.getRetryBackoff(),
+                        properties.getMaxRetryBackoff(),
+                        BackoffSleeper.realTime(),
+                        RiotRateLimiter.disabled(),
+                        properties.getApiKey(),
+                        RiotApiPlatformUri.NA1.getPlatformUri()))
+                .build();
+        return fresh.get().uri("/ping").retrieve().body(String.class);
+    }
+
+    @Benchmark
+    public String cachedClient() {
+        return client.platform(RiotApiPlatformUri.NA1).get().uri("/ping").retrieve().body(String.class);
+    }
+}
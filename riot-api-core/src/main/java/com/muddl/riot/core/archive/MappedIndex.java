@@ -0,0 +1,222 @@
+package com.muddl.riot.core.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The archive's key → record index: an open-addressing hash table (linear probing) living in a
+ * memory-mapped file, so a lookup touches a few pages of the OS cache and nothing sits on the heap.
+ *
+ * <p>Layout: a 32-byte header — magic, version, capacity, count, dirty flag — then {@code capacity}
+ * slots of 48 bytes: the key's UTF-8 bytes zero-padded to {@value #KEY_BYTES}, then the record's
+ * segment number, offset, and length. A slot is free while its first byte is zero. The table doubles
+ * once it is 70% full; the dirty flag is set for the duration, so a crash mid-rehash is detected on the
+ * next open and the index is rebuilt from the segments, which are the source of truth.
+ *
+ * <p>Not thread-safe: {@link ResourceArchive} serializes access.
+ */
+final class MappedIndex implements Closeable {
+
+    /** Longest key, in UTF-8 bytes. Riot match IDs ({@code EUW1_7123456789}) are well inside it. */
+    static final int KEY_BYTES = 32;
+
+    static final int INITIAL_CAPACITY = 1 << 14;
+
+    private static final int MAGIC = 0x52494458; // "RIDX"
+    private static final int VERSION = 1;
+    private static final int HEADER = 32;
+    private static final int SLOT = 48;
+    private static final int CAPACITY_AT = 8;
+    private static final int COUNT_AT = 12;
+    private static final int DIRTY_AT = 16;
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private int capacity;
+    private int count;
+    private boolean reset;
+
+    private MappedIndex(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens {@code file}, creating it if needed. Returns an index that is either intact or empty; {@link
+     * #wasReset()} tells the caller to rebuild an empty one from the segments.
+     */
+    static MappedIndex open(Path file) throws IOException {
+        MappedIndex index = new MappedIndex(FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        index.load();
+        return index;
+    }
+
+    private void load() throws IOException {
+        if (channel.size() >= HEADER) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+            int storedCapacity = header.getInt(CAPACITY_AT);
+            boolean intact = header.getInt(0) == MAGIC
+                    && header.getInt(4) == VERSION
+                    && header.getInt(DIRTY_AT) == 0
+                    && storedCapacity > 0
+                    && channel.size() >= HEADER + (long) storedCapacity * SLOT;
+            if (intact) {
+                capacity = storedCapacity;
+                map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacity * SLOT);
+                count = map.getInt(COUNT_AT);
+                return;
+            }
+        }
+        clear();
+        reset = true;
+    }
+
+    /** Whether the file was missing, damaged, or left mid-rehash, and so was emptied on open. */
+    boolean wasReset() {
+        return reset;
+    }
+
+    /** Empties the table back to its initial capacity. */
+    void clear() throws IOException {
+        channel.truncate(0);
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) INITIAL_CAPACITY * SLOT);
+        capacity = INITIAL_CAPACITY;
+        count = 0;
+        map.putInt(0, MAGIC).putInt(4, VERSION).putInt(CAPACITY_AT, capacity).putInt(COUNT_AT, 0);
+        map.putInt(DIRTY_AT, 0);
+    }
+
+    static boolean fits(String key) {
+        int length = key.getBytes(StandardCharsets.UTF_8).length;
+        return length > 0 && length <= KEY_BYTES;
+    }
+
+    int size() {
+        return count;
+    }
+
+    /** Where {@code key}'s record is, or {@code null}. */
+    Location find(String key) {
+        byte[] padded = pad(key);
+        for (int slot = home(padded); ; slot = (slot + 1) % capacity) {
+            int at = offsetOf(slot);
+            if (map.get(at) == 0) {
+                return null;
+            }
+            if (keyEquals(at, padded)) {
+                return new Location(
+                        map.getInt(at + KEY_BYTES), map.getLong(at + KEY_BYTES + 4), map.getInt(at + KEY_BYTES + 12));
+            }
+        }
+    }
+
+    /** Records {@code key}'s location, replacing any earlier one. */
+    void put(String key, Location location) throws IOException {
+        if ((count + 1) * 10L > capacity * 7L) {
+            grow();
+        }
+        insert(pad(key), location.segment(), location.offset(), location.length());
+    }
+
+    private void insert(byte[] padded, int segment, long offset, int length) {
+        for (int slot = home(padded); ; slot = (slot + 1) % capacity) {
+            int at = offsetOf(slot);
+            boolean free = map.get(at) == 0;
+            if (free || keyEquals(at, padded)) {
+                // The key goes in last: a slot only becomes visible once its location is complete.
+                map.putInt(at + KEY_BYTES, segment)
+                        .putLong(at + KEY_BYTES + 4, offset)
+                        .putInt(at + KEY_BYTES + 12, length);
+                map.put(at, padded);
+                if (free) {
+                    map.putInt(COUNT_AT, ++count);
+                }
+                return;
+            }
+        }
+    }
+
+    private void grow() throws IOException {
+        if (HEADER + capacity * 2L * SLOT > Integer.MAX_VALUE) {
+            throw new IOException("Archive index is full at " + count + " entries");
+        }
+        List<byte[]> slots = new ArrayList<>(count);
+        for (int slot = 0; slot < capacity; slot++) {
+            int at = offsetOf(slot);
+            if (map.get(at) != 0) {
+                byte[] copy = new byte[SLOT];
+                map.get(at, copy);
+                slots.add(copy);
+            }
+        }
+        map.putInt(DIRTY_AT, 1);
+        map.force();
+
+        capacity *= 2;
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacity * SLOT);
+        byte[] zeros = new byte[SLOT * 1024];
+        for (long at = HEADER; at < HEADER + (long) capacity * SLOT; at += zeros.length) {
+            map.put((int) at, zeros, 0, (int) Math.min(zeros.length, HEADER + (long) capacity * SLOT - at));
+        }
+        map.putInt(CAPACITY_AT, capacity);
+        count = 0;
+        map.putInt(COUNT_AT, 0);
+        for (byte[] slot : slots) {
+            ByteBuffer copy = ByteBuffer.wrap(slot);
+            insert(
+                    Arrays.copyOf(slot, KEY_BYTES),
+                    copy.getInt(KEY_BYTES),
+                    copy.getLong(KEY_BYTES + 4),
+                    copy.getInt(KEY_BYTES + 12));
+        }
+        map.putInt(DIRTY_AT, 0);
+        map.force();
+    }
+
+    void force() {
+        map.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int home(byte[] padded) {
+        int hash = 0x811c9dc5; // FNV-1a
+        for (byte b : padded) {
+            hash = (hash ^ (b & 0xff)) * 0x01000193;
+        }
+        return Math.floorMod(hash, capacity);
+    }
+
+    private boolean keyEquals(int at, byte[] padded) {
+        for (int i = 0; i < KEY_BYTES; i++) {
+            if (map.get(at + i) != padded[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int offsetOf(int slot) {
+        return HEADER + slot * SLOT;
+    }
+
+    private static byte[] pad(String key) {
+        return Arrays.copyOf(key.getBytes(StandardCharsets.UTF_8), KEY_BYTES);
+    }
+
+    /** A record's position: which segment file, where in it, and how many bytes. */
+    record Location(int segment, long offset, int length) {}
+}
@@ -0,0 +1,378 @@
+package com.muddl.riot.core.archive;
+
+import com.muddl.riot.core.config.RiotApiProperties;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Persistent, append-only archive of immutable Riot resources, keyed by their ID — the disk tier under
+ * an {@code ImmutableResourceStore}. A stdio server restarts with every client session; with an archive
+ * configured ({@code riot.archive.*}), matches fetched in earlier sessions are read back from disk
+ * instead of from Riot, and months of them cost no heap.
+ *
+ * <p>One directory per archive holds:
+ *
+ * <ul>
+ *   <li>{@code NNNNNN.seg} — segment files of records appended back to back. A record is the key, then
+ *       the resource's JSON as Riot sent it, gzip-compressed, so fields the DTOs do not model survive
+ *       too. A segment is closed once it reaches {@code segment-size}.
+ *   <li>{@code index.bin} — a memory-mapped key → (segment, offset, length) hash table; see {@link
+ *       MappedIndex}. Records carry their key, so a missing or damaged index is rebuilt from the
+ *       segments on open, and a torn record at the tail of the last segment is cut off.
+ *   <li>{@code archive.lock} — held for the life of the archive. A second process pointed at the same
+ *       directory runs without an archive rather than interleaving appends.
+ * </ul>
+ *
+ * <p>The archive is a cache, so it never fails a call: an I/O error on read is logged and reads as
+ * absent, and one on write is logged and dropped. Writes are not synced per record — a process exit
+ * keeps them in the OS cache — and are forced on {@link #close()}.
+ */
+@Slf4j
+public class ResourceArchive implements Closeable {
+
+    /** Archived bodies carry every field Riot sent, including those the DTOs do not model. */
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final String INDEX_FILE = "index.bin";
+    private static final String LOCK_FILE = "archive.lock";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final MappedIndex index;
+    private final Map<Integer, FileChannel> readers = new ConcurrentHashMap<>();
+    private FileChannel writer;
+    private int writerSegment;
+
+    /** The no-op archive: everything reads as absent and writes are dropped. */
+    private ResourceArchive() {
+        this.directory = null;
+        this.segmentSize = 0;
+        this.lockChannel = null;
+        this.lock = null;
+        this.index = null;
+    }
+
+    private ResourceArchive(
+            Path directory, long segmentSize, FileChannel lockChannel, FileLock lock, MappedIndex index) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+        this.index = index;
+    }
+
+    /** An archive that stores nothing — {@code riot.archive.enabled=false}. */
+    public static ResourceArchive disabled() {
+        return new ResourceArchive();
+    }
+
+    /**
+     * Opens the archive named {@code name} under {@code riot.archive.directory}, or returns {@link
+     * #disabled()} when archiving is off or the directory cannot be used (logged, not thrown: a server
+     * without its archive is slower, not broken).
+     */
+    public static ResourceArchive open(RiotApiProperties.Archive config, String name) {
+        if (!config.isEnabled()) {
+            return disabled();
+        }
+        Path directory = config.getDirectory().resolve(name);
+        try {
+            return open(directory, config.getSegmentSize());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Archive {} unavailable, continuing without it: {}", directory, e.getMessage());
+            return disabled();
+        }
+    }
+
+    static ResourceArchive open(Path directory, DataSize segmentSize) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel lockChannel = FileChannel.open(
+                directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null; // held by this same JVM — another store opened the directory first
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("in use by another process");
+        }
+        MappedIndex index = null;
+        try {
+            index = MappedIndex.open(directory.resolve(INDEX_FILE));
+            ResourceArchive archive =
+                    new ResourceArchive(directory, segmentSize.toBytes(), lockChannel, lock, index);
+            archive.recover();
+            return archive;
+        } catch (IOException | RuntimeException e) {
+            if (index != null) {
+                index.close();
+            }
+            lockChannel.close();
+            throw e;
+        }
+    }
+
+    /** Whether this archive actually stores anything. */
+    public boolean isEnabled() {
+        return index != null;
+    }
+
+    /** Number of archived resources. */
+    public synchronized int size() {
+        return index == null ? 0 : index.size();
+    }
+
+    /** The value archived under {@code key}, decoded as {@code type}, or {@code null}. */
+    public <V> V read(String key, Class<V> type) {
+        byte[] json = readJson(key);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(json, type);
+        } catch (JacksonException e) {
+            log.warn("Archived {} unreadable, refetching: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /** The JSON archived under {@code key}, byte for byte as it was written, or {@code null}. */
+    public byte[] readJson(String key) {
+        if (index == null || !MappedIndex.fits(key)) {
+            return null;
+        }
+        MappedIndex.Location location;
+        synchronized (this) {
+            location = index.find(key);
+        }
+        if (location == null) {
+            return null;
+        }
+        try {
+            ByteBuffer record = ByteBuffer.allocate(location.length());
+            FileChannel reader = reader(location.segment());
+            while (record.hasRemaining()) {
+                if (reader.read(record, location.offset() + record.position()) < 0) {
+                    throw new IOException("record runs past the end of segment " + location.segment());
+                }
+            }
+            record.flip().position(Short.BYTES + record.getShort(0));
+            int payloadLength = record.getInt();
+            try (InputStream json = new GZIPInputStream(
+                    new ByteArrayInputStream(record.array(), record.position(), payloadLength))) {
+                return json.readAllBytes();
+            }
+        } catch (IOException e) {
+            log.warn("Archived {} unreadable, refetching: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Archives {@code json} — a resource's body as Riot sent it — under {@code key}, unless the key is
+     * already archived.
+     */
+    public void write(String key, byte[] json) {
+        if (index == null || !MappedIndex.fits(key)) {
+            return;
+        }
+        try {
+            ByteBuffer record = frame(key, compress(json));
+            synchronized (this) {
+                if (index.find(key) != null) {
+                    return;
+                }
+                rollIfFull();
+                long offset = writer.size();
+                int length = record.remaining();
+                while (record.hasRemaining()) {
+                    writer.write(record, offset + record.position());
+                }
+                index.put(key, new MappedIndex.Location(writerSegment, offset, length));
+            }
+        } catch (IOException e) {
+            log.warn("Could not archive {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (index == null) {
+            return;
+        }
+        try {
+            if (writer != null) {
+                writer.force(false);
+                writer.close();
+            }
+            for (FileChannel reader : readers.values()) {
+                reader.close();
+            }
+            index.close();
+        } finally {
+            lock.release();
+            lockChannel.close();
+        }
+    }
+
+    /** Finds the segment to append to, and rebuilds the index from the segments if it was reset. */
+    private void recover() throws IOException {
+        TreeMap<Integer, Path> segments = segments();
+        if (index.wasReset() && !segments.isEmpty()) {
+            log.info("Rebuilding archive index for {} from {} segments", directory, segments.size());
+        }
+        for (Map.Entry<Integer, Path> segment : segments.entrySet()) {
+            boolean last = segment.getKey().equals(segments.lastKey());
+            if (index.wasReset() || last) {
+                scan(segment.getKey(), segment.getValue(), index.wasReset(), last);
+            }
+        }
+        writerSegment = segments.isEmpty() ? 0 : segments.lastKey();
+        openWriter();
+        index.force();
+    }
+
+    /**
+     * Walks one segment's records, re-indexing them when {@code reindex}. In the last segment a record
+     * cut short by a crash is truncated away, so the next append starts on a record boundary.
+     */
+    private void scan(int number, Path file, boolean reindex, boolean last) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long offset = 0;
+            ByteBuffer header = ByteBuffer.allocate(Short.BYTES);
+            while (offset < size) {
+                long start = offset;
+                header.clear().limit(Short.BYTES);
+                if (!readFully(channel, header, offset)) {
+                    break;
+                }
+                int keyLength = header.getShort(0);
+                ByteBuffer keyAndLength = ByteBuffer.allocate(keyLength + Integer.BYTES);
+                if (keyLength <= 0
+                        || keyLength > MappedIndex.KEY_BYTES
+                        || !readFully(channel, keyAndLength, offset + Short.BYTES)) {
+                    break;
+                }
+                int payloadLength = keyAndLength.getInt(keyLength);
+                long end = offset + Short.BYTES + keyLength + Integer.BYTES + payloadLength;
+                if (payloadLength < 0 || end > size) {
+                    break;
+                }
+                if (reindex) {
+                    String key = new String(keyAndLength.array(), 0, keyLength, StandardCharsets.UTF_8);
+                    index.put(key, new MappedIndex.Location(number, start, (int) (end - start)));
+                }
+                offset = end;
+            }
+            if (offset < size && last) {
+                log.warn("Truncating a torn record at {} in {}", offset, file);
+                channel.truncate(offset);
+            }
+        }
+    }
+
+    private void rollIfFull() throws IOException {
+        if (writer.size() >= segmentSize) {
+            writer.force(false);
+            writer.close();
+            writerSegment++;
+            openWriter();
+        }
+    }
+
+    private void openWriter() throws IOException {
+        writer = FileChannel.open(segmentPath(writerSegment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private FileChannel reader(int segment) throws IOException {
+        FileChannel reader = readers.get(segment);
+        if (reader == null) {
+            FileChannel opened = FileChannel.open(segmentPath(segment), StandardOpenOption.READ);
+            reader = readers.putIfAbsent(segment, opened);
+            if (reader == null) {
+                reader = opened;
+            } else {
+                opened.close();
+            }
+        }
+        return reader;
+    }
+
+    private TreeMap<Integer, Path> segments() throws IOException {
+        TreeMap<Integer, Path> segments = new TreeMap<>();
+        try (var files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        segments.put(
+                                Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+                    } catch (NumberFormatException e) {
+                        // Not one of ours.
+                    }
+                }
+            });
+        }
+        return segments;
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve("%06d%s".formatted(segment, SEGMENT_SUFFIX));
+    }
+
+    private static byte[] compress(byte[] json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** {@code [short keyLength][key][int payloadLength][payload]}. */
+    private static ByteBuffer frame(String key, byte[] payload) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Short.BYTES + keyBytes.length + Integer.BYTES + payload.length)
+                .putShort((short) keyBytes.length)
+                .put(keyBytes)
+                .putInt(payload.length)
+                .put(payload)
+                .flip();
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
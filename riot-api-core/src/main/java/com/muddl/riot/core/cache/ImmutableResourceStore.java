@@ -0,0 +1,315 @@
+package com.muddl.riot.core.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.muddl.riot.core.archive.ResourceArchive;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * In-memory store for Riot resources that never change once published — a finished match is the
+ * canonical one. Entries never expire. They leave only when the store exceeds {@code maxSize}, measured
+ * as the value's serialized JSON size, so a 10-player ranked match costs roughly what Riot sent for it
+ * and the bound means the same thing whatever the resource.
+ *
+ * <p>This sits above the HTTP layer's response cache: a hit skips the exchange and the decode, and the
+ * key is the resource's own ID, independent of API key or routing host.
+ *
+ * <p>It may sit on a {@link ResourceArchive}: a memory miss then reads the archive before running the
+ * loader, and whatever the loader returns is archived as well as kept in memory. A loader can hand over
+ * the body Riot sent rather than a decoded value, and that body, byte for byte, is what gets archived.
+ *
+ * <p>Values are handed out as the stored instance, not a copy. Callers treat them as read-only — the
+ * game DTOs are mutable only because Jackson builds them that way.
+ *
+ * <p>A <em>packed</em> store keeps each value as {@code PackedJson} bytes instead: strings shared
+ * through one dictionary, numbers as varints. Its entries are weighed by their packed size, which is
+ * what they really cost, and a read rebuilds a fresh instance. The dictionaries those bytes refer to are
+ * shared, so they are charged to the store as a whole: {@code maxSize} minus their estimated heap is
+ * what the entries may use. {@link #view} lets a reader that needs a few fields stream them from the
+ * stored JSON and skip the rebuild.
+ *
+ * <p>A miss runs the loader on the caller's thread, outside the store's locks: two concurrent misses
+ * for one key each load it, and the HTTP layer's coalescing merges their requests. A loader that throws
+ * or returns {@code null} leaves nothing behind.
+ */
+@Slf4j
+public final class ImmutableResourceStore<V> implements AutoCloseable {
+
+    private static final JsonMapper SIZER = JsonMapper.builder().build();
+    private static final JsonMapper DECODER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final Cache<String, Object> entries;
+    private final ResourceArchive archive;
+    private final Class<V> type;
+    private final PackedJson packer;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final long maxBytes;
+    private volatile long dictionaryReserve;
+
+    public ImmutableResourceStore(DataSize maxSize) {
+        this(maxSize, ResourceArchive.disabled(), null);
+    }
+
+    /** A store whose misses read through to {@code archive}, decoding archived values as {@code type}. */
+    public ImmutableResourceStore(DataSize maxSize, ResourceArchive archive, Class<V> type) {
+        this(maxSize, archive, type, false);
+    }
+
+    /**
+     * As above; with {@code packed}, values are kept as {@code PackedJson} and {@code type} is also what
+     * reads rebuild.
+     */
+    public ImmutableResourceStore(DataSize maxSize, ResourceArchive archive, Class<V> type, boolean packed) {
+        if (packed && type == null) {
+            throw new IllegalArgumentException("A packed store needs the value type to rebuild values as");
+        }
+        this.archive = archive;
+        this.type = type;
+        this.packer = packed ? new PackedJson() : null;
+        this.maxBytes = maxSize.toBytes();
+        this.dictionaryReserve = packed ? packer.dictionaryBytes() : 0;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(Math.max(0, maxBytes - dictionaryReserve))
+                .weigher((String key, Object value) ->
+                        key.length() + (packed ? ((byte[]) value).length : serializedSize(value)))
+                .build();
+    }
+
+    /**
+     * The value stored under {@code key}, loading and storing it on a miss. The archive, if any, gets
+     * the loaded value's JSON; a loader that has the body Riot sent should use the overload below.
+     */
+    public V get(String key, Function<String, ? extends V> loader) {
+        Object cached = entries.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return unwrap(cached);
+        }
+        misses.increment();
+        byte[] archived = archive.readJson(key);
+        if (archived != null) {
+            V value = decode(key, archived);
+            if (value != null) {
+                return keep(key, archived, value, false);
+            }
+        }
+        V loaded = loader.apply(key);
+        if (loaded == null) {
+            return null;
+        }
+        byte[] json = archive.isEnabled() || packer != null ? SIZER.writeValueAsBytes(loaded) : null;
+        return keep(key, json, loaded, true);
+    }
+
+    /**
+     * The value stored under {@code key}; on a miss {@code fetch} gets its JSON as Riot sent it and
+     * {@code decode} binds it. That JSON is what gets archived and, in a packed store, kept, so fields
+     * {@code V} does not model are not lost. Archived JSON is bound by {@code decode} too.
+     */
+    public V get(String key, Function<String, byte[]> fetch, Function<byte[], ? extends V> decode) {
+        Object cached = entries.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return unwrap(cached);
+        }
+        misses.increment();
+        byte[] json = archive.readJson(key);
+        boolean fetched = json == null;
+        if (fetched) {
+            json = fetch.apply(key);
+            if (json == null) {
+                return null;
+            }
+        }
+        V value = decode.apply(json);
+        return value == null ? null : keep(key, json, value, fetched);
+    }
+
+    /**
+     * The value stored under {@code key} — in memory, or in the archive — or {@code null}. Never loads;
+     * counted like {@link #get}.
+     */
+    public V getIfPresent(String key) {
+        return get(key, absent -> null);
+    }
+
+    /**
+     * Applies {@code reader} to the JSON stored under {@code key}. On a miss that JSON comes from the
+     * archive or from {@code fetch}, and is stored — and archived — before {@code reader} sees it, so a
+     * reader that needs a few fields fills the store without binding a {@code V} in a packed store. A
+     * memory hit replays the packed JSON; in an unpacked store it is the stored value, serialized.
+     * Returns {@code null} if {@code fetch} does. Counted like {@link #get}.
+     */
+    public <R> R view(String key, Function<String, byte[]> fetch, Function<InputStream, R> reader) {
+        Object cached = entries.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return reader.apply(packer != null
+                    ? packer.json((byte[]) cached)
+                    : new ByteArrayInputStream(SIZER.writeValueAsBytes(cached)));
+        }
+        if (packer == null && type == null) {
+            throw new IllegalStateException("An unpacked store needs the value type to store what it views");
+        }
+        misses.increment();
+        byte[] json = archive.readJson(key);
+        boolean fetched = json == null;
+        if (fetched) {
+            json = fetch.apply(key);
+            if (json == null) {
+                return null;
+            }
+        }
+        keep(key, json, packer == null ? DECODER.readValue(json, type) : null, fetched);
+        return reader.apply(new ByteArrayInputStream(json));
+    }
+
+    /**
+     * The JSON stored under {@code key}, with every field Riot sent: on a miss the body as fetched or
+     * archived, byte for byte, and stored like {@link #view} stores it; on a hit in a packed store, that
+     * body replayed from its packed bytes. An unpacked store keeps only the bound {@code V}, which has
+     * lost what {@code V} does not model, so it answers from the archive or {@code fetch} every time.
+     * Returns {@code null} if {@code fetch} does.
+     */
+    public byte[] getJson(String key, Function<String, byte[]> fetch) {
+        if (packer != null) {
+            return view(key, fetch, ImmutableResourceStore::readAll);
+        }
+        byte[] json = archive.readJson(key);
+        if (json == null) {
+            json = fetch.apply(key);
+            if (json != null && entries.getIfPresent(key) == null) {
+                keep(key, json, DECODER.readValue(json, type), true);
+            }
+        }
+        return json;
+    }
+
+    /** Reads answered from the store. */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /** Reads that missed memory — answered by the archive, if any, or by the loader. */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /** Entries currently held; with {@link #weightedSize()}, the bytes an entry costs. */
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    /**
+     * Bytes currently held, as weighed for eviction: serialized JSON, or packed bytes in a packed store.
+     * A packed store's dictionaries come on top; see {@link #dictionaryBytes()}.
+     */
+    public long weightedSize() {
+        entries.cleanUp();
+        return entries.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    /** Releases the archive, if there is one. */
+    @Override
+    public void close() throws IOException {
+        archive.close();
+    }
+
+    /** Archives {@code json} if asked to, and keeps {@code value} — or {@code json}, packed. */
+    private V keep(String key, byte[] json, V value, boolean archiveIt) {
+        if (archiveIt && json != null) {
+            archive.write(key, json);
+        }
+        if (packer == null) {
+            entries.put(key, value);
+        } else {
+            entries.put(key, packer.packJson(json));
+            reserveDictionary();
+        }
+        return value;
+    }
+
+    /** Takes what the shared dictionaries have grown to out of the entries' share of {@code maxSize}. */
+    private void reserveDictionary() {
+        long dictionary = packer.dictionaryBytes();
+        if (dictionary == dictionaryReserve) {
+            return;
+        }
+        synchronized (this) {
+            dictionary = packer.dictionaryBytes();
+            long maximum = Math.max(0, maxBytes - dictionary);
+            entries.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maximum));
+            dictionaryReserve = dictionary;
+        }
+    }
+
+    /** {@code json} from the archive as a {@code V}, or {@code null} — and a refetch — if it is not one. */
+    private V decode(String key, byte[] json) {
+        try {
+            return DECODER.readValue(json, type);
+        } catch (JacksonException e) {
+            log.warn("Archived {} unreadable, refetching: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V unwrap(Object stored) {
+        return packer == null ? (V) stored : packer.unpack((byte[]) stored, type);
+    }
+
+    /** Strings in a packed store's shared dictionary; 0 for an unpacked store. */
+    public int dictionarySize() {
+        return packer == null ? 0 : packer.dictionarySize();
+    }
+
+    /** Estimated heap of a packed store's shared dictionaries, counted against {@code maxSize}; 0 unpacked. */
+    public long dictionaryBytes() {
+        return packer == null ? 0 : packer.dictionaryBytes();
+    }
+
+    private static byte[] readAll(InputStream json) {
+        try {
+            return json.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // an in-memory stream; not expected
+        }
+    }
+
+    /** Serializes into a counter rather than a buffer: only the length is wanted. */
+    static int serializedSize(Object value) {
+        CountingOutputStream counter = new CountingOutputStream();
+        SIZER.writeValue(counter, Objects.requireNonNull(value));
+        return (int) Math.min(counter.count, Integer.MAX_VALUE);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
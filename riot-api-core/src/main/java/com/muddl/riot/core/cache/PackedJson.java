@@ -0,0 +1,464 @@
+package com.muddl.riot.core.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * A compact binary form of a JSON value, for keeping many resources of one shape in memory. A cached
+ * match as objects is {@code Match -> MatchInfo -> 10 x Participant}, ~100 fields per participant and a
+ * {@code String} instance per repeated name; as JSON text it spells out every property name in every
+ * participant. Here the value is one {@code byte[]}:
+ *
+ * <ul>
+ *   <li>an object's property-name list — its <em>shape</em>, the same for all ten participants and for
+ *       every match of a game version — is written as one dictionary code, followed by the values alone;
+ *   <li>integers from 0 to {@value #SMALL_INT_MAX} are a single byte, as most per-game stats are; other
+ *       integers are zig-zag varints and doubles eight raw bytes;
+ *   <li>string values are a dictionary code too, once the string has been seen twice. Champion, item and
+ *       mode names, positions and game versions collapse to a byte or two; one-off strings stay inline
+ *       and never enter the dictionary.
+ *   <li>IDs are always inline. A PUUID appears twice in its match — in the metadata's participant list
+ *       and on the participant — so seen-twice alone would admit every player ever packed and fill the
+ *       dictionary with strings no other match shares. Values of the {@link #ID_FIELDS} and tokens
+ *       shaped like Riot's opaque IDs (long, Base64url) are never interned.
+ * </ul>
+ *
+ * <p>The dictionaries are shared by everything one instance packs, bounded at {@value
+ * #MAX_DICTIONARY_SIZE} entries each (strings of at most {@value #MAX_INTERNED_LENGTH} characters) and
+ * only grow; once full, new strings and shapes are written inline. They are not in any packed value's
+ * size; {@link #dictionaryBytes} estimates their heap so a store can count it against its bound.
+ *
+ * <p>{@link #unpack} rebuilds the DTO; {@link #json} replays the JSON text for a streaming reader that
+ * wants a few fields and no DTO at all. Thread-safe.
+ */
+final class PackedJson {
+
+    static final int MAX_DICTIONARY_SIZE = 1 << 16;
+    static final int MAX_INTERNED_LENGTH = 128;
+
+    /** Properties whose string values, or array elements, are per-match or per-player IDs. */
+    static final Set<String> ID_FIELDS = Set.of("puuid", "matchId", "match_id", "participants", "summonerId");
+
+    /** Shortest token taken for an opaque ID: a PUUID is 78 characters, an encrypted summoner ID ~47. */
+    private static final int ID_MIN_LENGTH = 32;
+
+    /** Rough heap per dictionary entry: the map node, the boxed code, the table slot, a String's header. */
+    private static final int ENTRY_BYTES = 96;
+
+    /** Packed bodies can carry fields the value type does not model; rebuilding drops them. */
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private static final int SHAPED_OBJECT = 1;
+    private static final int OBJECT = 2;
+    private static final int ARRAY = 3;
+    private static final int STRING_CODE = 4;
+    private static final int STRING_INLINE = 5;
+    private static final int INTEGER = 6;
+    private static final int DOUBLE = 7;
+    private static final int BIG_INTEGER = 8;
+    private static final int TRUE = 9;
+    private static final int FALSE = 10;
+    private static final int NULL = 11;
+    /** Tags from here up are the integers 0 and on. */
+    private static final int SMALL_INT = 32;
+
+    static final int SMALL_INT_MAX = 0xFF - SMALL_INT;
+
+    /** JSON {@code null} while packing, where a Java {@code null} would be ambiguous. */
+    private static final Object JSON_NULL = new Object();
+
+    private final Dictionary<String> strings = new Dictionary<>(String::length);
+    private final Dictionary<List<String>> shapes = new Dictionary<>(
+            names -> names.stream().mapToLong(name -> ENTRY_BYTES + name.length()).sum());
+
+    /** {@code value}'s JSON, packed. */
+    byte[] pack(Object value) {
+        return packJson(MAPPER.writeValueAsBytes(value));
+    }
+
+    /** {@code json}, packed: every field in it, whether or not a value type models it. */
+    byte[] packJson(byte[] json) {
+        Writer out = new Writer();
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            parser.nextToken();
+            write(out, read(parser), null);
+        }
+        return out.toByteArray();
+    }
+
+    /** Rebuilds the value {@code packed} was made from, as {@code type}. */
+    <V> V unpack(byte[] packed, Class<V> type) {
+        return MAPPER.readValue(toJson(packed), type);
+    }
+
+    /** The JSON text {@code packed} was made from, for a streaming reader. */
+    InputStream json(byte[] packed) {
+        return new ByteArrayInputStream(toJson(packed));
+    }
+
+    /** Strings and shapes held in the shared dictionaries. */
+    int dictionarySize() {
+        return strings.size() + shapes.size();
+    }
+
+    /** Estimated heap held by the shared dictionaries, their first-sighting tables included. */
+    long dictionaryBytes() {
+        return strings.bytes() + shapes.bytes();
+    }
+
+    /**
+     * Reads the value at the parser's current token. Objects are read whole, as their shape is written
+     * before their values; packing runs once per stored value, so the intermediate lists are short-lived.
+     */
+    private static Object read(JsonParser parser) {
+        JsonToken token = parser.currentToken();
+        switch (token) {
+            case START_OBJECT -> {
+                List<String> names = new ArrayList<>();
+                List<Object> values = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                    names.add(parser.currentName());
+                    parser.nextToken();
+                    values.add(read(parser));
+                }
+                return new JsonObject(names, values);
+            }
+            case START_ARRAY -> {
+                List<Object> elements = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    elements.add(read(parser));
+                }
+                return elements;
+            }
+            case VALUE_STRING -> {
+                return parser.getValueAsString();
+            }
+            case VALUE_NUMBER_INT -> {
+                return parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                        ? parser.getBigIntegerValue()
+                        : (Object) parser.getLongValue();
+            }
+            case VALUE_NUMBER_FLOAT -> {
+                return parser.getDoubleValue();
+            }
+            case VALUE_TRUE -> {
+                return Boolean.TRUE;
+            }
+            case VALUE_FALSE -> {
+                return Boolean.FALSE;
+            }
+            case VALUE_NULL -> {
+                return JSON_NULL;
+            }
+            default -> throw new IllegalStateException("Unexpected JSON token " + token);
+        }
+    }
+
+    /** Writes {@code value}, the value of property {@code field} — or an element of it — if it has one. */
+    private void write(Writer out, Object value, String field) {
+        if (value instanceof JsonObject object) {
+            int shape = shapes.codeFor(object.names());
+            if (shape >= 0) {
+                out.tag(SHAPED_OBJECT);
+                out.varint(shape);
+                for (int i = 0; i < object.names().size(); i++) {
+                    write(out, object.values().get(i), object.names().get(i));
+                }
+            } else {
+                out.tag(OBJECT);
+                out.varint(object.names().size());
+                for (int i = 0; i < object.names().size(); i++) {
+                    writeString(out, object.names().get(i), true);
+                    write(out, object.values().get(i), object.names().get(i));
+                }
+            }
+        } else if (value instanceof List<?> elements) {
+            out.tag(ARRAY);
+            out.varint(elements.size());
+            for (Object element : elements) {
+                write(out, element, field);
+            }
+        } else if (value instanceof String string) {
+            boolean id = (field != null && ID_FIELDS.contains(field)) || looksLikeId(string);
+            writeString(out, string, !id);
+        } else if (value instanceof Long number) {
+            if (number >= 0 && number <= SMALL_INT_MAX) {
+                out.tag(SMALL_INT + number.intValue());
+            } else {
+                out.tag(INTEGER);
+                out.varint((number << 1) ^ (number >> 63));
+            }
+        } else if (value instanceof Double number) {
+            out.tag(DOUBLE);
+            out.fixed64(Double.doubleToRawLongBits(number));
+        } else if (value instanceof BigInteger number) {
+            out.tag(BIG_INTEGER);
+            out.text(number.toString());
+        } else if (value instanceof Boolean bool) {
+            out.tag(bool ? TRUE : FALSE);
+        } else {
+            out.tag(NULL);
+        }
+    }
+
+    private void writeString(Writer out, String value, boolean internable) {
+        int code = internable && value.length() <= MAX_INTERNED_LENGTH ? strings.codeFor(value) : -1;
+        if (code >= 0) {
+            out.tag(STRING_CODE);
+            out.varint(code);
+        } else {
+            out.tag(STRING_INLINE);
+            out.text(value);
+        }
+    }
+
+    private byte[] toJson(byte[] packed) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(packed.length * 4);
+        try (JsonGenerator generator = MAPPER.createGenerator(json)) {
+            replay(new Reader(packed), generator);
+        }
+        return json.toByteArray();
+    }
+
+    private void replay(Reader in, JsonGenerator generator) {
+        int tag = in.tag();
+        switch (tag) {
+            case SHAPED_OBJECT -> {
+                generator.writeStartObject();
+                for (String name : shapes.value(in.varintAsInt())) {
+                    generator.writeName(name);
+                    replay(in, generator);
+                }
+                generator.writeEndObject();
+            }
+            case OBJECT -> {
+                generator.writeStartObject();
+                for (int n = in.varintAsInt(); n > 0; n--) {
+                    generator.writeName(readString(in, in.tag()));
+                    replay(in, generator);
+                }
+                generator.writeEndObject();
+            }
+            case ARRAY -> {
+                generator.writeStartArray();
+                for (int n = in.varintAsInt(); n > 0; n--) {
+                    replay(in, generator);
+                }
+                generator.writeEndArray();
+            }
+            case STRING_CODE, STRING_INLINE -> generator.writeString(readString(in, tag));
+            case INTEGER -> {
+                long zigzag = in.varint();
+                generator.writeNumber((zigzag >>> 1) ^ -(zigzag & 1));
+            }
+            case DOUBLE -> generator.writeNumber(Double.longBitsToDouble(in.fixed64()));
+            case BIG_INTEGER -> generator.writeNumber(new BigInteger(in.text()));
+            case TRUE -> generator.writeBoolean(true);
+            case FALSE -> generator.writeBoolean(false);
+            case NULL -> generator.writeNull();
+            default -> {
+                if (tag < SMALL_INT) {
+                    throw new IllegalStateException("Corrupt packed value: tag " + tag);
+                }
+                generator.writeNumber(tag - SMALL_INT);
+            }
+        }
+    }
+
+    /** A long Base64url token: how Riot spells PUUIDs and encrypted summoner and account IDs. */
+    static boolean looksLikeId(String value) {
+        if (value.length() < ID_MIN_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean base64url = (c >= 'A' && c <= 'Z')
+                    || (c >= 'a' && c <= 'z')
+                    || (c >= '0' && c <= '9')
+                    || c == '-'
+                    || c == '_';
+            if (!base64url) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString(Reader in, int tag) {
+        return tag == STRING_CODE ? strings.value(in.varintAsInt()) : in.text();
+    }
+
+    private record JsonObject(List<String> names, List<Object> values) {}
+
+    /**
+     * Append-only table of codes. An entry is admitted on its second sighting, so the one-off IDs that
+     * make up most of a match's distinct strings never take a slot: {@code seen} remembers first
+     * sightings by hash, in a fixed table where a collision only delays an admission.
+     */
+    private static final class Dictionary<K> {
+
+        private final Map<K, Integer> codes = new ConcurrentHashMap<>();
+        private final int[] seen = new int[MAX_DICTIONARY_SIZE];
+        private final ToLongFunction<K> footprint;
+        private volatile Object[] values = new Object[64];
+        private int size;
+        private long bytes = 16L + (long) Integer.BYTES * MAX_DICTIONARY_SIZE;
+
+        /** {@code footprint} is an entry's own heap, beyond {@link #ENTRY_BYTES}. */
+        Dictionary(ToLongFunction<K> footprint) {
+            this.footprint = footprint;
+        }
+
+        /** {@code key}'s code, admitting it if this is its second sighting; -1 to write it inline. */
+        int codeFor(K key) {
+            Integer code = codes.get(key);
+            if (code != null) {
+                return code;
+            }
+            int hash = key.hashCode() | 1; // never 0, the empty slot
+            int slot = hash & (seen.length - 1);
+            synchronized (this) {
+                if (seen[slot] != hash) {
+                    seen[slot] = hash;
+                    return -1;
+                }
+                code = codes.get(key);
+                if (code != null) {
+                    return code;
+                }
+                if (size == MAX_DICTIONARY_SIZE) {
+                    return -1;
+                }
+                Object[] table = values;
+                if (size == table.length) {
+                    table = Arrays.copyOf(table, table.length * 2);
+                }
+                table[size] = key;
+                values = table; // publish the entry before its code can be handed out
+                codes.put(key, size);
+                bytes += ENTRY_BYTES + footprint.applyAsLong(key);
+                return size++;
+            }
+        }
+
+        /** A packed value is only read after it was written, so every code in it is published. */
+        @SuppressWarnings("unchecked")
+        K value(int code) {
+            return (K) values[code];
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+    }
+
+    private static final class Writer {
+
+        private byte[] bytes = new byte[1024];
+        private int length;
+
+        void tag(int tag) {
+            ensure(1);
+            bytes[length++] = (byte) tag;
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void fixed64(long value) {
+            ensure(8);
+            for (int shift = 0; shift < 64; shift += 8) {
+                bytes[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void text(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int tag() {
+            return bytes[position++] & 0xFF;
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        int varintAsInt() {
+            return (int) varint();
+        }
+
+        long fixed64() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 8) {
+                value |= (long) (bytes[position++] & 0xFF) << shift;
+            }
+            return value;
+        }
+
+        String text() {
+            int length = varintAsInt();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.muddl.riot.core.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent Riot lookups concurrently on virtual threads, for application services that
+ * compose several calls — analytics fetching a page of matches, for one. {@code RiotApiClient}'s rate
+ * limiter and coalescer sit underneath, so concurrency here spends the same budget sooner; it never
+ * spends more of it.
+ *
+ * <p>{@link #map} returns results in input order. Failure is fail-fast: the first task to fail (in
+ * completion order) cancels every task still queued or running, and its exception — the original
+ * {@code RiotApiException}, not a wrapper — is rethrown to the caller. No partial result is returned.
+ * Inputs may also arrive through an {@link Iterator}, each task starting as its input is pulled.
+ * {@link #fork} starts one task alongside the caller.
+ *
+ * <p>The cap, {@code riot.fan-out.max-concurrency}, is per {@link Call}: one composed lookup, whose
+ * {@code map} and {@code fork} tasks run at most that many at once. Calls do not share permits, so one
+ * client's lobby scouting never queues another client's analytics. A {@code map} or {@code fork} made
+ * from inside a task belongs to the task's call and draws on its permits, so nesting never multiplies
+ * the cap. A task holds its permit only while it runs: waiting on a nested {@code map} or on a {@link
+ * Fork}, it gives the permit back and takes one again before going on, so tasks holding every permit
+ * can never all be waiting on tasks that need one.
+ *
+ * <p>Registered as a bean by {@code RiotApiAutoConfiguration}.
+ */
+public class BoundedFanOut {
+
+    private static final Executor FORKS = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("riot-fork-", 0).factory());
+
+    /** The call whose task is running on this thread, holding one of its permits; unset elsewhere. */
+    private static final ThreadLocal<Call> TASK_OF = new ThreadLocal<>();
+
+    private final int maxConcurrency;
+
+    public BoundedFanOut(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(
+                    "riot.fan-out.max-concurrency must be at least 1, was " + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * The call to make one composed lookup's forks and maps through. From inside a task, the task's own
+     * call; anywhere else, a new one with {@code max-concurrency} permits of its own.
+     */
+    public Call call() {
+        Call current = TASK_OF.get();
+        return current != null ? current : new Call(maxConcurrency);
+    }
+
+    /** {@code call().map(inputs, task)}: from outside a task, a call of its own. */
+    public <T, R> List<R> map(List<T> inputs, Function<? super T, ? extends R> task) {
+        return call().map(inputs, task);
+    }
+
+    /** {@code call().map(inputs, task)}: from outside a task, a call of its own. */
+    public <T, R> List<R> map(Iterator<? extends T> inputs, Function<? super T, ? extends R> task) {
+        return call().map(inputs, task);
+    }
+
+    /**
+     * {@code call().fork(task)}: from outside a task, a call of its own, so forks that must share a cap
+     * are made through one {@link #call()} instead.
+     */
+    public <T> Fork<T> fork(Supplier<T> task) {
+        return call().fork(task);
+    }
+
+    /**
+     * Waits on {@code wait} without holding the current task's permit, if this thread runs a task, and
+     * takes a permit again before returning or throwing.
+     */
+    private static <V> V awaiting(Wait<V> wait) throws InterruptedException, ExecutionException, TimeoutException {
+        Call task = TASK_OF.get();
+        if (task == null) {
+            return wait.get();
+        }
+        task.permits.release();
+        try {
+            return wait.get();
+        } finally {
+            task.permits.acquireUninterruptibly();
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    @FunctionalInterface
+    private interface Wait<V> {
+        V get() throws InterruptedException, ExecutionException, TimeoutException;
+    }
+
+    /**
+     * One composed lookup's share of the fan-out: at most {@code riot.fan-out.max-concurrency} of its
+     * tasks run at once, however they were started and however deeply they nest.
+     */
+    public static final class Call {
+
+        private final Semaphore permits;
+
+        private Call(int maxConcurrency) {
+            this.permits = new Semaphore(maxConcurrency, true);
+        }
+
+        /** Applies {@code task} to every input concurrently, returning the results in input order. */
+        public <T, R> List<R> map(List<T> inputs, Function<? super T, ? extends R> task) {
+            if (inputs.size() <= 1) {
+                List<R> results = new ArrayList<>(inputs.size());
+                inputs.forEach(input -> results.add(task.apply(input)));
+                return results;
+            }
+            return map(inputs.iterator(), task);
+        }
+
+        /**
+         * Applies {@code task} to every input as the iterator yields it, returning the results in input
+         * order. Each input's task starts as soon as it is pulled, so an iterator that blocks — an {@code
+         * OffsetPager} fetching its next page — overlaps with the tasks already running. An iterator
+         * that throws fails the call like a task does.
+         */
+        public <T, R> List<R> map(Iterator<? extends T> inputs, Function<? super T, ? extends R> task) {
+            ExecutorService executor =
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("riot-fan-out-", 0).factory());
+            CompletionService<R> completed = new ExecutorCompletionService<>(executor);
+            List<Future<R>> futures = new ArrayList<>();
+            int outstanding = 0;
+            try {
+                while (inputs.hasNext()) {
+                    T input = inputs.next();
+                    // Every task gets its own thread at once; the permit, not the pool, bounds concurrency.
+                    futures.add(completed.submit(() -> run(() -> task.apply(input))));
+                    outstanding++;
+                    // Fail fast while still pulling inputs, not only once they are all in.
+                    for (Future<R> done = completed.poll(); done != null; done = completed.poll()) {
+                        outstanding--;
+                        done.get();
+                    }
+                }
+                for (; outstanding > 0; outstanding--) {
+                    awaiting(completed::take).get();
+                }
+                List<R> results = new ArrayList<>(futures.size());
+                for (Future<R> future : futures) {
+                    results.add(future.resultNow());
+                }
+                return results;
+            } catch (ExecutionException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw unwrap(e.getCause());
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for concurrent Riot calls", e);
+            } catch (TimeoutException e) {
+                throw new IllegalStateException(e); // take() has no timeout
+            } catch (RuntimeException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            } finally {
+                // Not close(): cancelled tasks unwind on their own; the caller does not wait for them.
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Starts {@code task} on a virtual thread and returns at once, so the caller can do other work
+         * alongside it. The task waits there for one of the call's permits. {@link Fork#join()} waits
+         * and rethrows the task's own exception.
+         */
+        public <T> Fork<T> fork(Supplier<T> task) {
+            FutureTask<T> future = new FutureTask<>(() -> run(task));
+            FORKS.execute(future);
+            return new FutureFork<>(future);
+        }
+
+        /** Runs {@code body} as one of this call's tasks, on the current thread, once it has a permit. */
+        private <R> R run(Supplier<R> body) throws InterruptedException {
+            permits.acquire();
+            TASK_OF.set(this);
+            try {
+                return body.get();
+            } finally {
+                TASK_OF.remove();
+                permits.release();
+            }
+        }
+    }
+
+    /** A task started by {@link #fork}. */
+    public interface Fork<T> {
+
+        /** Waits for the task and returns its result, or rethrows its exception. */
+        T join();
+
+        /**
+         * As {@link #join()}, but waits at most {@code timeout}: empty if the task has not finished by
+         * then. The task runs on; {@link #cancel()} it if its result is no longer wanted.
+         */
+        Optional<T> joinWithin(Duration timeout);
+
+        /**
+         * Stops the task: one still waiting for a permit never runs, and one running is interrupted, which
+         * aborts its Riot call. A later {@code join} throws {@link java.util.concurrent.CancellationException}.
+         * Does nothing to a task that has finished.
+         */
+        void cancel();
+    }
+
+    private record FutureFork<T>(Future<T> future) implements Fork<T> {
+
+        @Override
+        public T join() {
+            try {
+                return awaiting(future::get);
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            } catch (TimeoutException e) {
+                throw new IllegalStateException(e); // get() has no timeout
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a concurrent Riot call", e);
+            }
+        }
+
+        @Override
+        public Optional<T> joinWithin(Duration timeout) {
+            try {
+                return Optional.ofNullable(
+                        awaiting(() -> future.get(Math.max(0, timeout.toNanos()), TimeUnit.NANOSECONDS)));
+            } catch (TimeoutException e) {
+                return Optional.empty();
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a concurrent Riot call", e);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            future.cancel(true);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.muddl.riot.core.config;
 
+import com.muddl.riot.core.concurrent.BoundedFanOut;
 import com.muddl.riot.core.http.BackoffSleeper;
 import com.muddl.riot.core.http.RiotApiClient;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 /**
  * Auto-configuration for the shared Riot HTTP layer. This library is consumed as a
@@ -28,4 +31,25 @@ public class RiotApiAutoConfiguration {
     public RiotApiClient riotApiClient(RiotApiProperties properties, BackoffSleeper sleeper) {
         return new RiotApiClient(properties, sleeper);
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BoundedFanOut boundedFanOut(RiotApiProperties properties) {
+        return new BoundedFanOut(properties.getFanOut().getMaxConcurrency());
+    }
+
+    /**
+     * Micrometer is optional: nested so its condition is evaluated before any Micrometer type is loaded,
+     * and a consumer without the actuator never sees {@link RiotApiMeterBinder}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class RiotApiMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public RiotApiMeterBinder riotApiMeterBinder(RiotApiClient riotApiClient) {
+            return new RiotApiMeterBinder(riotApiClient);
+        }
+    }
 }
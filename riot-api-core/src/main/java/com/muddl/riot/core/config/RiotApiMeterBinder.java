@@ -0,0 +1,57 @@
+package com.muddl.riot.core.config;
+
+import com.muddl.riot.core.http.RiotApiClient;
+import com.muddl.riot.core.http.RiotApiMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Publishes {@link RiotApiMetrics} to Micrometer. The counters live on the client and are read when
+ * the registry scrapes, so the HTTP path never touches Micrometer.
+ *
+ * <p>Registered by {@link RiotApiAutoConfiguration} only when Micrometer is present. Spring Boot binds
+ * every {@code MeterBinder} bean to the application's registries, so a server with the actuator gets
+ * these on {@code /actuator/metrics} with no wiring of its own.
+ */
+public class RiotApiMeterBinder implements MeterBinder {
+
+    private final RiotApiClient client;
+
+    public RiotApiMeterBinder(RiotApiClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RiotApiMetrics metrics = client.metrics();
+        FunctionCounter.builder("riot.http.requests", metrics, RiotApiMetrics::issuedRequests)
+                .description("Riot requests sent over the network")
+                .tag("outcome", "issued")
+                .register(registry);
+        FunctionCounter.builder("riot.http.requests", metrics, RiotApiMetrics::coalescedRequests)
+                .description("Riot GETs served by joining an identical request already in flight")
+                .tag("outcome", "coalesced")
+                .register(registry);
+        for (String template : metrics.cacheTemplates()) {
+            cacheCounter(registry, metrics, template, "hit", RiotApiMetrics::cacheHits);
+            cacheCounter(registry, metrics, template, "stale", RiotApiMetrics::cacheStaleHits);
+            cacheCounter(registry, metrics, template, "not-found", RiotApiMetrics::cacheNotFoundHits);
+            cacheCounter(registry, metrics, template, "miss", RiotApiMetrics::cacheMisses);
+        }
+    }
+
+    private static void cacheCounter(
+            MeterRegistry registry,
+            RiotApiMetrics metrics,
+            String template,
+            String result,
+            ToLongBiFunction<RiotApiMetrics, String> count) {
+        FunctionCounter.builder("riot.http.cache.requests", metrics, m -> count.applyAsLong(m, template))
+                .description("Cacheable Riot reads, by URI template and whether the cache answered them")
+                .tag("template", template)
+                .tag("result", result)
+                .register(registry);
+    }
+}
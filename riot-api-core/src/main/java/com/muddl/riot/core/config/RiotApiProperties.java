@@ -1,10 +1,14 @@
 package com.muddl.riot.core.config;
 
 import com.muddl.riot.core.enums.RiotApiRegionUri;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Typed configuration for the Riot API integration, bound from the {@code riot.*}
@@ -39,4 +43,175 @@ public class RiotApiProperties {
      * hostile header values so one tool call cannot block a thread indefinitely.
      */
     private Duration maxRetryBackoff = Duration.ofSeconds(120);
+
+    /** Proactive limiting from Riot's rate-limit headers ({@code riot.rate-limit.*}). */
+    private final RateLimit rateLimit = new RateLimit();
+
+    /** The HTTP transport every Riot client shares ({@code riot.http.*}). */
+    private final Http http = new Http();
+
+    /** Per-endpoint response caching ({@code riot.cache.*}). */
+    private final Cache cache = new Cache();
+
+    /** The in-memory store of finished matches each server keeps ({@code riot.match-store.*}). */
+    private final MatchStore matchStore = new MatchStore();
+
+    /** Optional on-disk archive beneath the match stores ({@code riot.archive.*}). */
+    private final Archive archive = new Archive();
+
+    /** Concurrency of composed lookups ({@code riot.fan-out.*}). */
+    private final FanOut fanOut = new FanOut();
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+
+        /**
+         * Whether requests are delayed until Riot's reported application and method limits have room.
+         * Off leaves only the reactive 429 retry.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Longest the limiter will hold a request waiting for a window to reset. A request that would
+         * wait longer fails fast with the rate-limited error instead of stalling its caller; the default
+         * matches Riot's longest development-key window.
+         */
+        private Duration maxWait = Duration.ofSeconds(120);
+    }
+
+    @Getter
+    @Setter
+    public static class Http {
+
+        /**
+         * Which HTTP client carries Riot traffic. {@code JDK} (default) is {@code java.net.http.HttpClient}
+         * negotiating HTTP/2, so concurrent calls to one host multiplex over a single connection. {@code
+         * APACHE} is Apache HttpClient 5 with a pooled HTTP/1.1 connection manager; it needs {@code
+         * org.apache.httpcomponents.client5:httpclient5} on the runtime classpath.
+         */
+        private Transport transport = Transport.JDK;
+
+        /** Time allowed to establish a TCP/TLS connection to a Riot host. */
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /** Time allowed for a response once a request is sent. */
+        private Duration readTimeout = Duration.ofSeconds(30);
+
+        /**
+         * How long an idle pooled connection is kept for reuse ({@code APACHE}). The JDK client manages
+         * its own pool; tune it with the {@code jdk.httpclient.keepalive.timeout} system property.
+         */
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        /** Pooled connections per Riot host ({@code APACHE}). HTTP/2 multiplexes over one connection per host. */
+        private int maxConnectionsPerHost = 20;
+
+        /** Pooled connections across all Riot hosts ({@code APACHE}). */
+        private int maxConnectionsTotal = 100;
+
+        public enum Transport {
+            JDK,
+            APACHE
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /** Whether responses matching {@link #policies} are cached. Off sends every call to Riot. */
+        private boolean enabled = true;
+
+        /**
+         * Upper bound on cached response bodies, summed. The least valuable entries are evicted by size
+         * once it is reached, so one large ladder costs what it weighs.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Which endpoints are cached and for how long. A request is matched against each policy's URI
+         * template in order and the first match wins; a request matching none is never cached. A policy
+         * caches 2xx responses for {@code ttl}, and 404s for {@code not-found-ttl} if set.
+         */
+        private List<Policy> policies = new ArrayList<>();
+
+        @Getter
+        @Setter
+        public static class Policy {
+
+            /**
+             * URI template of the cached endpoint, written like the adapters' calls, e.g. {@code
+             * /lol/match/v5/matches/{matchId}}. Each {@code {placeholder}} matches one path segment.
+             */
+            private String template;
+
+            /**
+             * How long a response stays fresh: a duration ({@code 60s}, {@code 2m}), {@code forever}, or
+             * {@code weekly <DAY> <HH:mm>} for data that turns over on a weekly reset (UTC).
+             */
+            private String ttl;
+
+            /**
+             * How long past freshness a stale response may still be served while one background request
+             * refreshes it. Zero (default) means a stale entry is simply refetched.
+             */
+            private Duration staleWhileRevalidate = Duration.ZERO;
+
+            /**
+             * How long a 404 from this endpoint is remembered and replayed instead of asking again — an
+             * unknown Riot ID, a player not in a game. Keep it short: the answer can change. Unset, a 404
+             * is never cached. A policy may set only this, to cache nothing but 404s.
+             */
+            private Duration notFoundTtl;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class MatchStore {
+
+        /**
+         * Upper bound on stored matches, by serialized JSON size — or by packed size when {@code packed}.
+         * A finished match never changes, so entries are only ever evicted for space.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(32);
+
+        /**
+         * Whether stored matches are kept packed — dictionary-encoded strings and varint numbers in one
+         * {@code byte[]} each — rather than as objects. A packed match costs a fraction of its object
+         * graph, so far more fit under {@code max-size}; reading one back rebuilds it.
+         */
+        private boolean packed = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Archive {
+
+        /**
+         * Whether fetched matches are also appended to an on-disk archive and read back from it after a
+         * restart. Off by default; worth turning on for stdio, where every client session is a new JVM.
+         */
+        private boolean enabled = false;
+
+        /** Root directory; each server archives into its own subdirectory of it. */
+        private Path directory = Path.of(System.getProperty("user.home"), ".riot-mcp", "archive");
+
+        /** Size at which a segment file is closed and a new one started. */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+    }
+
+    @Getter
+    @Setter
+    public static class FanOut {
+
+        /**
+         * Most tasks one composed lookup (a {@code BoundedFanOut.Call}: an analytics pass, a lobby
+         * scouting) runs at once, its nested maps and forks included. Each call has its own permits.
+         * The rate limiter still governs the overall pace; this bounds how much of a window one call
+         * can take.
+         */
+        private int maxConcurrency = 8;
+    }
 }
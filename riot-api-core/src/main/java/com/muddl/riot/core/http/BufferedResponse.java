@@ -0,0 +1,87 @@
+package com.muddl.riot.core.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * A fully read Riot response — status, headers, and body bytes — that can be handed out any number of
+ * times. Each {@link #open()} returns an independent {@link ClientHttpResponse} with its own body
+ * stream, so several callers can each run the status handler and the message converter over the same
+ * exchange without racing on one stream.
+ *
+ * <p>Only the interceptors that share an exchange build one of these. The 429 retry still never reads
+ * a body.
+ */
+final class BufferedResponse {
+
+    private final HttpStatusCode status;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    private BufferedResponse(HttpStatusCode status, String statusText, HttpHeaders headers, byte[] body) {
+        this.status = status;
+        this.statusText = statusText;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /** Drains and closes {@code response}. */
+    static BufferedResponse of(ClientHttpResponse response) throws IOException {
+        try (response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            return new BufferedResponse(
+                    response.getStatusCode(), response.getStatusText(), headers, response.getBody().readAllBytes());
+        }
+    }
+
+    HttpStatusCode status() {
+        return status;
+    }
+
+    HttpHeaders headers() {
+        return headers;
+    }
+
+    /** Body size in bytes — the weight a cache charges for keeping this response. */
+    int size() {
+        return body.length;
+    }
+
+    /** A fresh response view over this snapshot, with its own body stream. */
+    ClientHttpResponse open() {
+        return new ClientHttpResponse() {
+            private final InputStream stream = new ByteArrayInputStream(body);
+
+            @Override
+            public HttpStatusCode getStatusCode() {
+                return status;
+            }
+
+            @Override
+            public String getStatusText() {
+                return statusText;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return stream;
+            }
+
+            @Override
+            public void close() {
+                // Nothing to release: the bytes are on the heap and the connection was returned on read.
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.muddl.riot.core.http;
+
+import com.muddl.riot.core.config.RiotApiProperties;
+import java.net.http.HttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Builds the one {@link ClientHttpRequestFactory} every Riot {@code RestClient} shares, from {@code
+ * riot.http.*}. Sharing it is the point: the connection pool (or the HTTP/2 connection) outlives any
+ * single call, so a tool call reuses a warm TLS session instead of handshaking again.
+ *
+ * <p>Apache HttpClient 5 is a {@code compileOnly} dependency of this module. Its types are touched only
+ * inside the nested {@link Apache} class — a separate class file, verified only when first used — so a
+ * consumer on the default JDK transport never loads them.
+ */
+final class HttpTransportFactory {
+
+    private static final String APACHE_CLIENT_CLASS = "org.apache.hc.client5.http.impl.classic.HttpClients";
+
+    private HttpTransportFactory() {}
+
+    static ClientHttpRequestFactory create(RiotApiProperties.Http http) {
+        return switch (http.getTransport()) {
+            case JDK -> jdk(http);
+            case APACHE -> {
+                if (!ClassUtils.isPresent(APACHE_CLIENT_CLASS, HttpTransportFactory.class.getClassLoader())) {
+                    throw new IllegalStateException("riot.http.transport=APACHE needs "
+                            + "org.apache.httpcomponents.client5:httpclient5 on the runtime classpath");
+                }
+                yield Apache.create(http);
+            }
+        };
+    }
+
+    private static ClientHttpRequestFactory jdk(RiotApiProperties.Http http) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(http.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(client);
+        factory.setReadTimeout(http.getReadTimeout());
+        return factory;
+    }
+
+    private static final class Apache {
+
+        static ClientHttpRequestFactory create(RiotApiProperties.Http http) {
+            TimeValue keepAlive = TimeValue.ofMilliseconds(http.getKeepAlive().toMillis());
+            PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnPerRoute(http.getMaxConnectionsPerHost())
+                    .setMaxConnTotal(http.getMaxConnectionsTotal())
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setConnectTimeout(Timeout.ofMilliseconds(http.getConnectTimeout().toMillis()))
+                            .setSocketTimeout(Timeout.ofMilliseconds(http.getReadTimeout().toMillis()))
+                            .build())
+                    .build();
+            CloseableHttpClient client = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    // Riot sends no Keep-Alive header, so the client's default would keep a connection
+                    // indefinitely; bound it, and sweep idle ones out of the pool on the same schedule.
+                    .setKeepAliveStrategy((response, context) -> keepAlive)
+                    .evictIdleConnections(keepAlive)
+                    .build();
+            HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(client);
+            factory.setReadTimeout(http.getReadTimeout());
+            return factory;
+        }
+    }
+}
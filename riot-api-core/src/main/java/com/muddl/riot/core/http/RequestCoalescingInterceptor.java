@@ -0,0 +1,85 @@
+package com.muddl.riot.core.http;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Single-flight for identical GETs. When a GET arrives while the same request is already in flight,
+ * it waits for that exchange instead of spending another call from Riot's rate-limit budget. The
+ * typical case is several MCP sessions asking for the same ladder, match, or live game at once.
+ * Identical means the same API key, the same routing host, and the same URI, query string included.
+ *
+ * <p>The leader's response is buffered once ({@link BufferedResponse}), and every waiter gets its own
+ * view of it. Each caller then decodes the shared bytes into its own object: the DTOs are mutable
+ * Lombok {@code @Data} classes, so handing one decoded instance to several callers would let one
+ * caller's change leak into another's result.
+ *
+ * <p>Only in-flight requests are shared. The entry is removed as soon as the leader's exchange
+ * completes, so this never serves a stale response. It sits before the 429 retry in the chain, so a
+ * coalesced request waits out the leader's retries rather than making its own.
+ */
+class RequestCoalescingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ConcurrentMap<String, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final String apiKey;
+    private final String routingHost;
+    private final RiotApiMetrics metrics;
+
+    RequestCoalescingInterceptor(String apiKey, String routingHost, RiotApiMetrics metrics) {
+        this.apiKey = apiKey;
+        this.routingHost = routingHost;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            metrics.recordIssued();
+            return execution.execute(request, body);
+        }
+        String key = apiKey + '|' + routingHost + '|' + request.getURI();
+        CompletableFuture<BufferedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            metrics.recordCoalesced();
+            return await(leader).open();
+        }
+        try {
+            metrics.recordIssued();
+            BufferedResponse response = BufferedResponse.of(execution.execute(request, body));
+            mine.complete(response);
+            return response.open();
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Waits for the leader and rethrows its failure as the caller would have seen it. */
+    private static BufferedResponse await(CompletableFuture<BufferedResponse> leader) throws IOException {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new UncheckedIOException(new IOException("Coalesced Riot request failed", cause));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.muddl.riot.core.http;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.muddl.riot.core.config.RiotApiProperties;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Response cache for Riot GETs, governed by {@code riot.cache.policies}. Only requests whose path
+ * matches a policy's URI template are cached: their 2xx responses, and their 404s where the policy
+ * has a {@code not-found-ttl}. Everything else passes straight through. The first matching policy
+ * wins.
+ *
+ * <p>Caching a 404 makes this a negative cache as well. The replayed 404 runs through the status
+ * handler like a live one, so callers need no changes to take part: the player resolver still reports
+ * an unknown Riot ID, and the spectator adapter still answers "not in a game". A player polled every
+ * few seconds costs one request per {@code not-found-ttl} instead of one per poll.
+ *
+ * <p>One cache is shared by every host's client and bounded by total body size ({@code
+ * riot.cache.max-size}). Caffeine evicts by weight, so one ladder costs what its bytes cost, and a
+ * burst of large matches cannot hold an unbounded heap. An entry expires at the end of its
+ * stale-while-revalidate window. Within that window a read is served the stale copy immediately, and
+ * a single background request refreshes it. That request is a new one, made through a factory that
+ * runs the rest of the chain: the stale read's own execution has returned with it and cannot be reused.
+ *
+ * <p>It is the outermost interceptor, so a hit spends nothing — no coalescing slot, no rate-limit
+ * token. Keys carry the API key, routing host, and full URI, like the coalescer's. Hits, stale hits,
+ * 404 hits, and misses are counted per template in {@link RiotApiMetrics}.
+ */
+@Slf4j
+class ResponseCache {
+
+    private static final int NOT_FOUND = 404;
+
+    private final List<ResponseCachePolicy> policies;
+    private final Clock clock;
+    private final Executor revalidator;
+    private final RiotApiMetrics metrics;
+    private final Cache<String, Entry> entries;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    ResponseCache(RiotApiProperties.Cache config, Clock clock, Executor revalidator, RiotApiMetrics metrics) {
+        this.policies =
+                config.getPolicies().stream().map(ResponseCachePolicy::of).toList();
+        this.clock = clock;
+        this.revalidator = revalidator;
+        this.metrics = metrics;
+        policies.forEach(policy -> metrics.registerCacheTemplate(policy.template()));
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxSize().toBytes())
+                .weigher((String key, Entry entry) -> key.length() + entry.response().size())
+                .expireAfter(new StaleDeadline())
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    /**
+     * The interceptor for one routing host's client. {@code downstream} makes requests through the
+     * interceptors after this one, for background revalidation.
+     */
+    ClientHttpRequestInterceptor interceptorFor(
+            String apiKey, String routingHost, ClientHttpRequestFactory downstream) {
+        String keyPrefix = apiKey + '|' + routingHost + '|';
+        return (request, body, execution) -> exchange(keyPrefix, downstream, request, body, execution);
+    }
+
+    private ClientHttpResponse exchange(
+            String keyPrefix,
+            ClientHttpRequestFactory downstream,
+            HttpRequest request,
+            byte[] body,
+            ClientHttpRequestExecution execution)
+            throws IOException {
+        ResponseCachePolicy policy = policyFor(request);
+        if (policy == null) {
+            return execution.execute(request, body);
+        }
+        String key = keyPrefix + request.getURI();
+        Entry entry = entries.getIfPresent(key);
+        long now = clock.millis();
+        if (entry != null && now < entry.freshUntil()) {
+            if (entry.response().status().value() == NOT_FOUND) {
+                metrics.recordCacheNotFoundHit(policy.template());
+            } else {
+                metrics.recordCacheHit(policy.template());
+            }
+            return entry.response().open();
+        }
+        if (entry != null) {
+            metrics.recordCacheStaleHit(policy.template());
+            revalidate(key, policy, request, downstream);
+            return entry.response().open();
+        }
+        metrics.recordCacheMiss(policy.template());
+        return store(key, policy, BufferedResponse.of(execution.execute(request, body))).open();
+    }
+
+    private ResponseCachePolicy policyFor(HttpRequest request) {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getURI().getPath();
+        for (ResponseCachePolicy policy : policies) {
+            if (policy.matches(path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private BufferedResponse store(String key, ResponseCachePolicy policy, BufferedResponse response) {
+        long now = clock.millis();
+        if (response.status().is2xxSuccessful() && policy.cachesSuccess()) {
+            entries.put(key, new Entry(response, policy.freshUntil(now), policy.staleUntil(now)));
+        } else if (response.status().value() == NOT_FOUND && policy.cachesNotFound()) {
+            long until = policy.notFoundUntil(now);
+            entries.put(key, new Entry(response, until, until));
+        }
+        return response;
+    }
+
+    /**
+     * Refreshes a stale entry off the caller's thread, with a new GET for the same URI and headers made
+     * through {@code downstream}, so it still passes coalescing, rate limiting, and 429 retry. At most one
+     * refresh per key is in flight.
+     */
+    private void revalidate(
+            String key, ResponseCachePolicy policy, HttpRequest request, ClientHttpRequestFactory downstream) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        try {
+            revalidator.execute(() -> {
+                try {
+                    ClientHttpRequest fresh = downstream.createRequest(request.getURI(), request.getMethod());
+                    fresh.getHeaders().putAll(request.getHeaders());
+                    store(key, policy, BufferedResponse.of(fresh.execute()));
+                } catch (IOException | RuntimeException e) {
+                    // The stale copy keeps being served until its window closes; the next read retries.
+                    log.debug("Background revalidation of {} failed: {}", policy.template(), e.getMessage());
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // E.g. during shutdown. The task will never run to release the key, so release it here.
+            revalidating.remove(key);
+            log.debug("Background revalidation of {} was rejected: {}", policy.template(), e.getMessage());
+        }
+    }
+
+    /** Total body bytes currently cached, as weighed for eviction. */
+    long weightedSize() {
+        entries.cleanUp();
+        return entries.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    private record Entry(BufferedResponse response, long freshUntil, long staleUntil) {}
+
+    /** Each entry lives until its own stale deadline; reads do not extend it. */
+    private final class StaleDeadline implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            long remaining = entry.staleUntil() - clock.millis();
+            return remaining <= 0 ? 0 : TimeUnit.MILLISECONDS.toNanos(Math.min(remaining, Long.MAX_VALUE / 1_000_000));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.muddl.riot.core.http;
+
+import com.muddl.riot.core.config.RiotApiProperties;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+import java.util.function.LongUnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * One entry of {@code riot.cache.policies}: the URI template it governs and how long a response to
+ * it stays fresh. Templates use the same {@code {name}} placeholders as the adapters' {@code .uri(...)}
+ * calls, so a policy reads like the call it caches — {@code /lol/league/v4/{leaguePath}/by-queue/{queue}}.
+ * A placeholder matches exactly one path segment; the query string is not part of the match, but it is
+ * part of the cache key.
+ *
+ * <p>{@code ttl} takes three forms:
+ *
+ * <ul>
+ *   <li>a duration — {@code 60s}, {@code 2m} — fresh for that long after it was fetched;
+ *   <li>{@code forever} — for immutable resources, such as a finished match;
+ *   <li>{@code weekly <DAY> <HH:mm>} — fresh until the next such instant in UTC, for data that
+ *       changes on a weekly reset (the champion rotation).
+ * </ul>
+ *
+ * <p>{@code stale-while-revalidate} extends an entry past freshness. For that long, a hit is answered
+ * from the stale copy immediately while one background request refreshes it.
+ *
+ * <p>{@code not-found-ttl} is the negative cache: a 404 is replayed for that long, then asked again. It
+ * is never served stale. A policy with only a {@code not-found-ttl} caches nothing else.
+ */
+final class ResponseCachePolicy {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{[^/}]+}");
+    private static final long FOREVER = Long.MAX_VALUE;
+
+    private final String template;
+    private final Pattern pattern;
+    private final LongUnaryOperator freshUntil;
+    private final long staleWhileRevalidateMillis;
+    private final long notFoundTtlMillis;
+
+    private ResponseCachePolicy(
+            String template,
+            Pattern pattern,
+            LongUnaryOperator freshUntil,
+            long staleWhileRevalidateMillis,
+            long notFoundTtlMillis) {
+        this.template = template;
+        this.pattern = pattern;
+        this.freshUntil = freshUntil;
+        this.staleWhileRevalidateMillis = staleWhileRevalidateMillis;
+        this.notFoundTtlMillis = notFoundTtlMillis;
+    }
+
+    static ResponseCachePolicy of(RiotApiProperties.Cache.Policy policy) {
+        String template = policy.getTemplate();
+        if (template == null || template.isBlank()) {
+            throw new IllegalArgumentException("riot.cache.policies[].template is required");
+        }
+        Duration swr = policy.getStaleWhileRevalidate() == null ? Duration.ZERO : policy.getStaleWhileRevalidate();
+        Duration notFound = policy.getNotFoundTtl();
+        if (notFound != null && (notFound.isNegative() || notFound.isZero())) {
+            throw new IllegalArgumentException("riot.cache.policies[].not-found-ttl must be positive for " + template);
+        }
+        LongUnaryOperator freshUntil = notFound != null && (policy.getTtl() == null || policy.getTtl().isBlank())
+                ? null
+                : parseTtl(template, policy.getTtl());
+        return new ResponseCachePolicy(
+                template, compile(template), freshUntil, swr.toMillis(), notFound == null ? 0 : notFound.toMillis());
+    }
+
+    String template() {
+        return template;
+    }
+
+    boolean matches(String path) {
+        return pattern.matcher(path).matches();
+    }
+
+    /** Whether 2xx responses are cached — false for a policy that only caches 404s. */
+    boolean cachesSuccess() {
+        return freshUntil != null;
+    }
+
+    /** Whether 404s are cached. */
+    boolean cachesNotFound() {
+        return notFoundTtlMillis > 0;
+    }
+
+    /** Epoch millis after which a 404 fetched at {@code now} is asked again. */
+    long notFoundUntil(long now) {
+        return now + notFoundTtlMillis;
+    }
+
+    /** Epoch millis after which a response fetched at {@code now} is no longer fresh. */
+    long freshUntil(long now) {
+        return freshUntil.applyAsLong(now);
+    }
+
+    /** Epoch millis after which a response fetched at {@code now} may not be served at all. */
+    long staleUntil(long now) {
+        long fresh = freshUntil(now);
+        return fresh > FOREVER - staleWhileRevalidateMillis ? FOREVER : fresh + staleWhileRevalidateMillis;
+    }
+
+    /** Literal text is quoted, each placeholder matches one segment, and any query in the template is ignored. */
+    private static Pattern compile(String template) {
+        int query = template.indexOf('?');
+        String path = query < 0 ? template : template.substring(0, query);
+        StringBuilder regex = new StringBuilder();
+        Matcher placeholder = PLACEHOLDER.matcher(path);
+        int last = 0;
+        while (placeholder.find()) {
+            regex.append(Pattern.quote(path.substring(last, placeholder.start()))).append("[^/]+");
+            last = placeholder.end();
+        }
+        regex.append(Pattern.quote(path.substring(last)));
+        return Pattern.compile(regex.toString());
+    }
+
+    private static LongUnaryOperator parseTtl(String template, String ttl) {
+        if (ttl == null || ttl.isBlank()) {
+            throw new IllegalArgumentException(
+                    "riot.cache.policies[].ttl or not-found-ttl is required for " + template);
+        }
+        String spec = ttl.trim();
+        if (spec.equalsIgnoreCase("forever")) {
+            return now -> FOREVER;
+        }
+        if (spec.toLowerCase(Locale.ROOT).startsWith("weekly ")) {
+            String[] parts = spec.split("\\s+");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(
+                        "Weekly ttl for " + template + " must read 'weekly <DAY> <HH:mm>', was '" + spec + "'");
+            }
+            DayOfWeek day = DayOfWeek.valueOf(parts[1].toUpperCase(Locale.ROOT));
+            LocalTime time = LocalTime.parse(parts[2]);
+            return now -> nextWeekly(now, day, time);
+        }
+        long millis = DurationStyle.detectAndParse(spec).toMillis();
+        return now -> now + millis;
+    }
+
+    static long nextWeekly(long now, DayOfWeek day, LocalTime time) {
+        ZonedDateTime at = Instant.ofEpochMilli(now).atZone(ZoneOffset.UTC);
+        ZonedDateTime next = at.with(TemporalAdjusters.nextOrSame(day)).with(time);
+        if (!next.isAfter(at)) {
+            next = next.plusWeeks(1);
+        }
+        return next.toInstant().toEpochMilli();
+    }
+}
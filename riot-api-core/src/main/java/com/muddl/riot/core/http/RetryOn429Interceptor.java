@@ -11,8 +11,10 @@ import org.springframework.http.client.ClientHttpResponse;
 /**
  * Retries a request on HTTP 429, waiting the server's {@code Retry-After} where present and a
  * configured default otherwise, up to a bounded number of attempts. Riot documents {@code
- * Retry-After} on 429, so this reacts to a real signal rather than guessing — it is deliberately
- * not a proactive rate limiter (see the roadmap's deferred items and ADR-0007).
+ * Retry-After} on 429, so this reacts to a real signal rather than guessing. Every attempt — the
+ * first and each retry — goes through the {@link RiotRateLimiter}, which delays it until Riot's
+ * reported limits have room; the retry is the backstop for what the limiter cannot see (another
+ * process on the same key, a service-level 429). See ADR-0021.
  *
  * <p>It reads only the status code and the {@code Retry-After} header — never the response body —
  * so it does not consume the stream {@code RiotApiClient}'s status handler reads afterward. When
@@ -28,25 +30,38 @@ class RetryOn429Interceptor implements ClientHttpRequestInterceptor {
     private final Duration defaultBackoff;
     private final Duration maxBackoff;
     private final BackoffSleeper sleeper;
+    private final RiotRateLimiter rateLimiter;
+    private final String apiKey;
+    private final String routingHost;
 
-    RetryOn429Interceptor(int maxRetries, Duration defaultBackoff, Duration maxBackoff, BackoffSleeper sleeper) {
+    RetryOn429Interceptor(
+            int maxRetries,
+            Duration defaultBackoff,
+            Duration maxBackoff,
+            BackoffSleeper sleeper,
+            RiotRateLimiter rateLimiter,
+            String apiKey,
+            String routingHost) {
         this.maxRetries = maxRetries;
         this.defaultBackoff = defaultBackoff;
         this.maxBackoff = maxBackoff;
         this.sleeper = sleeper;
+        this.rateLimiter = rateLimiter;
+        this.apiKey = apiKey;
+        this.routingHost = routingHost;
     }
 
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
             throws IOException {
-        ClientHttpResponse response = execution.execute(request, body);
+        ClientHttpResponse response = rateLimiter.exchange(apiKey, routingHost, request, body, execution);
         int attempt = 0;
         while (response.getStatusCode().value() == TOO_MANY_REQUESTS && attempt < maxRetries) {
             Duration wait = clampToMax(retryAfter(response).orElse(defaultBackoff));
             response.close();
             sleeper.sleep(wait);
             attempt++;
-            response = execution.execute(request, body);
+            response = rateLimiter.exchange(apiKey, routingHost, request, body, execution);
         }
         return response;
     }
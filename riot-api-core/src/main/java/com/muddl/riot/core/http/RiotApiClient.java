@@ -5,24 +5,71 @@ import com.muddl.riot.core.enums.RiotApiPlatformUri;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.core.exception.RiotApiException;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 /**
  * Central factory for Riot API {@link RestClient} instances. This is the single place
  * that knows the Riot authentication header, base-URL assembly, and error-to-exception
  * mapping — replacing the per-service HTTP plumbing that was previously copy-pasted.
+ *
+ * <p>Each host's {@link RestClient} is built once, on first use, and reused for every later call; all
+ * of them share one transport from {@code riot.http.*}, so connections (and their TLS sessions) are
+ * pooled across calls instead of being rebuilt per call. {@code RestClient} is thread-safe, so the
+ * cached instances are shared freely.
+ *
+ * <p>{@link #regionalAsync} and {@link #platformAsync} run the same calls on virtual threads, so a
+ * composing caller can fan out without tying up a platform thread per in-flight request — including
+ * while a 429 backoff or a rate-limit wait sleeps.
+ *
+ * <p>GETs matching a {@code riot.cache.policies} URI template are answered from a shared, size-bounded
+ * response cache while fresh; see {@link ResponseCache}.
  */
-public class RiotApiClient {
+public class RiotApiClient implements DisposableBean {
 
     private static final String RIOT_TOKEN_HEADER = "X-RIOT-TOKEN";
 
     private final RiotApiProperties properties;
     private final BackoffSleeper sleeper;
+    private final RiotRateLimiter rateLimiter;
+    private final ClientHttpRequestFactory requestFactory;
+    private final ConcurrentMap<String, RestClient> clients = new ConcurrentHashMap<>();
+    private final ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final RiotApiMetrics metrics = new RiotApiMetrics();
+    private final ResponseCache responseCache;
 
     public RiotApiClient(RiotApiProperties properties, BackoffSleeper sleeper) {
+        this(properties, sleeper, Clock.systemUTC());
+    }
+
+    /** Package-private seam: tests drive the rate limiter's windows and cache TTLs with a controllable clock. */
+    RiotApiClient(RiotApiProperties properties, BackoffSleeper sleeper, Clock clock) {
         this.properties = properties;
         this.sleeper = sleeper;
+        // One limiter per client, shared by every host's RestClient: buckets are keyed by host inside
+        // it, and one RiotApiClient bean serves every bounded context, so all of them draw on the same
+        // budget — which is how Riot counts it.
+        this.rateLimiter = properties.getRateLimit().isEnabled()
+                ? new RiotRateLimiter(clock, sleeper, properties.getRateLimit().getMaxWait())
+                : RiotRateLimiter.disabled();
+        this.requestFactory = HttpTransportFactory.create(properties.getHttp());
+        // Shared by every host's client, like the limiter: the size bound is one budget for the process.
+        this.responseCache = properties.getCache().isEnabled()
+                        && !properties.getCache().getPolicies().isEmpty()
+                ? new ResponseCache(properties.getCache(), clock, asyncExecutor, metrics)
+                : null;
     }
 
     /**
@@ -44,15 +91,58 @@ public class RiotApiClient {
         return clientFor(platform.getPlatformUri());
     }
 
+    /**
+     * Runs {@code call} against the region's client on a virtual thread. The call goes through the same
+     * client {@link #regional} returns, so rate limiting, 429 retry, and status mapping are identical; a
+     * failure completes the future exceptionally with the {@code RiotApiException} (wrapped in a {@code
+     * CompletionException} by {@code join()}).
+     */
+    public <T> CompletableFuture<T> regionalAsync(RiotApiRegionUri region, Function<RestClient, T> call) {
+        RestClient client = regional(region);
+        return CompletableFuture.supplyAsync(() -> call.apply(client), asyncExecutor);
+    }
+
+    /** The platform-routed counterpart of {@link #regionalAsync}. */
+    public <T> CompletableFuture<T> platformAsync(RiotApiPlatformUri platform, Function<RestClient, T> call) {
+        RestClient client = platform(platform);
+        return CompletableFuture.supplyAsync(() -> call.apply(client), asyncExecutor);
+    }
+
+    /** What the HTTP layer has saved so far: issued versus coalesced requests, and cache hits per template. */
+    public RiotApiMetrics metrics() {
+        return metrics;
+    }
+
     private RestClient clientFor(String host) {
-        return RestClient.builder()
+        return clients.computeIfAbsent(host, this::buildClient);
+    }
+
+    private RestClient buildClient(String host) {
+        RestClient.Builder builder = RestClient.builder()
+                .requestFactory(requestFactory)
                 .baseUrl(resolveBaseUrl(host))
-                .defaultHeader(RIOT_TOKEN_HEADER, properties.getApiKey())
-                .requestInterceptor(new RetryOn429Interceptor(
-                        properties.getMaxRetries(),
-                        properties.getRetryBackoff(),
-                        properties.getMaxRetryBackoff(),
-                        sleeper))
+                .defaultHeader(RIOT_TOKEN_HEADER, properties.getApiKey());
+        // Order matters: interceptors run in registration order. A cache hit returns before anything
+        // else runs; identical GETs are merged before the retry loop, and each merged group is retried
+        // (and rate-limited) once.
+        ClientHttpRequestInterceptor coalescing =
+                new RequestCoalescingInterceptor(properties.getApiKey(), host, metrics);
+        ClientHttpRequestInterceptor retry = new RetryOn429Interceptor(
+                properties.getMaxRetries(),
+                properties.getRetryBackoff(),
+                properties.getMaxRetryBackoff(),
+                sleeper,
+                rateLimiter,
+                properties.getApiKey(),
+                host);
+        if (responseCache != null) {
+            // Background revalidations are requests of their own, through the interceptors behind the cache.
+            ClientHttpRequestFactory behindCache =
+                    new InterceptingClientHttpRequestFactory(requestFactory, List.of(coalescing, retry));
+            builder.requestInterceptor(responseCache.interceptorFor(properties.getApiKey(), host, behindCache));
+        }
+        return builder.requestInterceptor(coalescing)
+                .requestInterceptor(retry)
                 .defaultStatusHandler(HttpStatusCode::isError, (request, response) -> {
                     String body = new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
                     throw RiotApiException.forStatus(response.getStatusCode().value(), body);
@@ -60,6 +150,18 @@ public class RiotApiClient {
                 .build();
     }
 
+    /**
+     * Releases the shared transport's pooled connections when the application context closes, and stops
+     * accepting async calls. In-flight async calls are left to finish on their own virtual threads.
+     */
+    @Override
+    public void destroy() throws Exception {
+        asyncExecutor.shutdown();
+        if (requestFactory instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
     private String resolveBaseUrl(String host) {
         String override = properties.getBaseUrlOverride();
         if (override != null && !override.isBlank()) {
@@ -0,0 +1,95 @@
+package com.muddl.riot.core.http;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for what the HTTP layer saves — coalesced requests, and response-cache hits per URI
+ * template. Each {@code RiotApiClient} keeps one instance, readable
+ * through {@link RiotApiClient#metrics()}. When Micrometer is on the classpath, {@code
+ * RiotApiAutoConfiguration} publishes them under {@code riot.http.*}.
+ */
+public final class RiotApiMetrics {
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final Map<String, CacheCounters> cache = new ConcurrentHashMap<>();
+
+    RiotApiMetrics() {}
+
+    /** Requests that left for Riot — one per coalesced group, plus every non-GET. */
+    public long issuedRequests() {
+        return issued.sum();
+    }
+
+    /** GETs that joined an identical request already in flight instead of issuing their own. */
+    public long coalescedRequests() {
+        return coalesced.sum();
+    }
+
+    void recordIssued() {
+        issued.increment();
+    }
+
+    void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    /** URI templates of the configured cache policies, each with its own hit, stale-hit, 404-hit and miss count. */
+    public Set<String> cacheTemplates() {
+        return Set.copyOf(cache.keySet());
+    }
+
+    /** Reads of {@code template} answered from a fresh cached response. */
+    public long cacheHits(String template) {
+        return counters(template).hits.sum();
+    }
+
+    /** Reads of {@code template} answered from a stale response while it was refreshed in the background. */
+    public long cacheStaleHits(String template) {
+        return counters(template).staleHits.sum();
+    }
+
+    /** Reads of {@code template} answered with a remembered 404 — its negative-cache hits. */
+    public long cacheNotFoundHits(String template) {
+        return counters(template).notFoundHits.sum();
+    }
+
+    /** Reads of {@code template} that found nothing servable and went to Riot. */
+    public long cacheMisses(String template) {
+        return counters(template).misses.sum();
+    }
+
+    void registerCacheTemplate(String template) {
+        cache.putIfAbsent(template, new CacheCounters());
+    }
+
+    void recordCacheHit(String template) {
+        counters(template).hits.increment();
+    }
+
+    void recordCacheStaleHit(String template) {
+        counters(template).staleHits.increment();
+    }
+
+    void recordCacheNotFoundHit(String template) {
+        counters(template).notFoundHits.increment();
+    }
+
+    void recordCacheMiss(String template) {
+        counters(template).misses.increment();
+    }
+
+    private CacheCounters counters(String template) {
+        return cache.computeIfAbsent(template, ignored -> new CacheCounters());
+    }
+
+    private static final class CacheCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder staleHits = new LongAdder();
+        private final LongAdder notFoundHits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+}
@@ -0,0 +1,238 @@
+package com.muddl.riot.core.http;
+
+import com.muddl.riot.core.exception.RiotApiException;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Proactive, header-driven rate limiter. Riot answers every call with its limits and the caller's
+ * current usage ({@code X-App-Rate-Limit} / {@code X-App-Rate-Limit-Count}, and the {@code
+ * X-Method-Rate-Limit} pair); this records both and, before the next request is sent, delays it until
+ * every window it would count against has room. Without it, a burst — an analytics fan-out, a
+ * scouting pass — only learns about the limit from a 429 and its {@code Retry-After}.
+ *
+ * <p>Buckets are keyed the way Riot enforces them: the application limit per API key and routing host
+ * (Riot counts each platform and region separately), and the method limit per API key, routing host,
+ * and endpoint. Until a key's first response arrives its limits are unknown and requests pass
+ * unthrottled — the limiter never invents a limit Riot has not stated.
+ *
+ * <p>Windows are fixed, as Riot's are: a window opens with its first counted request and resets once
+ * its length has elapsed. Riot's reported count is authoritative when it is ahead of ours (another
+ * process sharing the key, or a window we opened later than Riot did). All bucket state sits behind
+ * one monitor — the critical section is a few arithmetic operations — and waits happen outside it.
+ */
+class RiotRateLimiter {
+
+    static final String APP_LIMIT = "X-App-Rate-Limit";
+    static final String APP_COUNT = "X-App-Rate-Limit-Count";
+    static final String METHOD_LIMIT = "X-Method-Rate-Limit";
+    static final String METHOD_COUNT = "X-Method-Rate-Limit-Count";
+
+    /** Fixed path segments: lowercase words ({@code matches}, {@code by-puuid}) and versions ({@code v5}). */
+    private static final Pattern FIXED_SEGMENT = Pattern.compile("[a-z][a-z-]*|v\\d+");
+
+    private final boolean enabled;
+    private final Clock clock;
+    private final BackoffSleeper sleeper;
+    private final Duration maxWait;
+    private final Map<String, Map<Long, Window>> buckets = new HashMap<>();
+
+    RiotRateLimiter(Clock clock, BackoffSleeper sleeper, Duration maxWait) {
+        this(true, clock, sleeper, maxWait);
+    }
+
+    private RiotRateLimiter(boolean enabled, Clock clock, BackoffSleeper sleeper, Duration maxWait) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.sleeper = sleeper;
+        this.maxWait = maxWait;
+    }
+
+    /** A limiter that admits everything immediately — {@code riot.rate-limit.enabled=false}. */
+    static RiotRateLimiter disabled() {
+        return new RiotRateLimiter(false, Clock.systemUTC(), BackoffSleeper.realTime(), Duration.ZERO);
+    }
+
+    /**
+     * Sends one attempt of {@code request} to {@code routingHost}: waits for room in its buckets,
+     * executes it, and records the limits and counts the response reports. Called once per attempt, so
+     * 429 retries are admitted and counted like any other request.
+     */
+    ClientHttpResponse exchange(
+            String apiKey, String routingHost, HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!enabled) {
+            return execution.execute(request, body);
+        }
+        String appKey = apiKey + '|' + routingHost;
+        String methodKey = appKey + '|' + methodOf(request.getURI().getPath());
+        acquire(appKey, methodKey);
+        ClientHttpResponse response = execution.execute(request, body);
+        record(appKey, methodKey, response.getHeaders());
+        return response;
+    }
+
+    /** Blocks until both buckets have room, then counts the request against each. */
+    void acquire(String appKey, String methodKey) {
+        while (true) {
+            long waitMillis;
+            synchronized (this) {
+                long now = clock.millis();
+                waitMillis = Math.max(waitMillis(appKey, now), waitMillis(methodKey, now));
+                if (waitMillis <= 0) {
+                    reserve(appKey, now);
+                    reserve(methodKey, now);
+                    return;
+                }
+            }
+            Duration wait = Duration.ofMillis(waitMillis);
+            if (wait.compareTo(maxWait) > 0) {
+                // Waiting longer than a single 429 backoff may would stall the caller for no benefit:
+                // surface the same error the retry path does once its attempts are exhausted.
+                throw RiotApiException.forStatus(
+                        429,
+                        "Local rate limiter: next slot in " + wait.toSeconds() + "s exceeds riot.rate-limit.max-wait");
+            }
+            sleeper.sleep(wait);
+        }
+    }
+
+    /** Syncs both buckets with the limits and counts Riot reported on a response. */
+    synchronized void record(String appKey, String methodKey, HttpHeaders headers) {
+        long now = clock.millis();
+        sync(appKey, headers.getFirst(APP_LIMIT), headers.getFirst(APP_COUNT), now);
+        sync(methodKey, headers.getFirst(METHOD_LIMIT), headers.getFirst(METHOD_COUNT), now);
+    }
+
+    private long waitMillis(String key, long now) {
+        Map<Long, Window> windows = buckets.get(key);
+        if (windows == null) {
+            return 0;
+        }
+        long wait = 0;
+        for (Window window : windows.values()) {
+            wait = Math.max(wait, window.waitMillis(now));
+        }
+        return wait;
+    }
+
+    private void reserve(String key, long now) {
+        Map<Long, Window> windows = buckets.get(key);
+        if (windows != null) {
+            windows.values().forEach(window -> window.count(now));
+        }
+    }
+
+    private void sync(String key, String limitHeader, String countHeader, long now) {
+        List<long[]> limits = parse(limitHeader);
+        if (limits.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        parse(countHeader).forEach(pair -> counts.put(pair[1], pair[0]));
+
+        Map<Long, Window> previous = buckets.getOrDefault(key, Map.of());
+        Map<Long, Window> windows = new LinkedHashMap<>();
+        for (long[] limit : limits) {
+            long windowMillis = limit[1] * 1000;
+            Window window = previous.getOrDefault(windowMillis, new Window(windowMillis));
+            window.limit = limit[0];
+            window.observe(counts.getOrDefault(limit[1], 0L), now);
+            windows.put(windowMillis, window);
+        }
+        // A window Riot no longer reports (a key upgraded from development to production) is dropped.
+        buckets.put(key, windows);
+    }
+
+    /** Parses Riot's {@code "20:1,100:120"} form into {@code [value, seconds]} pairs; malformed pairs are skipped. */
+    static List<long[]> parse(String header) {
+        List<long[]> pairs = new ArrayList<>();
+        if (header == null || header.isBlank()) {
+            return pairs;
+        }
+        for (String pair : header.split(",")) {
+            String[] parts = pair.trim().split(":");
+            if (parts.length != 2) {
+                continue;
+            }
+            try {
+                pairs.add(new long[] {Long.parseLong(parts[0].trim()), Long.parseLong(parts[1].trim())});
+            } catch (NumberFormatException e) {
+                // An unparseable pair says nothing reliable about the limit; ignore it rather than guess.
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Reduces a request path to its Riot method: fixed segments are kept and variable ones (PUUIDs,
+     * match IDs, queues, tiers) collapse to {@code {}}. Every segment after a {@code by-*} selector is a
+     * parameter of that selector — {@code by-riot-id/{gameName}/{tagLine}} — even when it happens to
+     * look like a fixed word, so one player's lowercase game name cannot split a method's bucket.
+     */
+    static String methodOf(String path) {
+        StringBuilder method = new StringBuilder();
+        boolean selectorSeen = false;
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            boolean fixed = !selectorSeen && FIXED_SEGMENT.matcher(segment).matches();
+            method.append('/').append(fixed ? segment : "{}");
+            selectorSeen |= segment.startsWith("by-");
+        }
+        return method.toString();
+    }
+
+    /** One fixed window of one bucket. Guarded by the enclosing limiter's monitor. */
+    private static final class Window {
+
+        private final long lengthMillis;
+        private long limit;
+        private long count;
+        private long openedAt = -1;
+
+        private Window(long lengthMillis) {
+            this.lengthMillis = lengthMillis;
+        }
+
+        long waitMillis(long now) {
+            roll(now);
+            return count < limit ? 0 : openedAt + lengthMillis - now;
+        }
+
+        void count(long now) {
+            roll(now);
+            if (openedAt < 0) {
+                openedAt = now;
+            }
+            count++;
+        }
+
+        void observe(long reported, long now) {
+            roll(now);
+            if (openedAt < 0) {
+                openedAt = now;
+            }
+            count = Math.max(count, reported);
+        }
+
+        private void roll(long now) {
+            if (openedAt >= 0 && now >= openedAt + lengthMillis) {
+                openedAt = -1;
+                count = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.muddl.riot.core.json;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.filter.FilteringGeneratorDelegate;
+import tools.jackson.core.filter.FilteringParserDelegate;
+import tools.jackson.core.filter.TokenFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * A subset of a JSON document's fields, picked while it is written. A tool uses it to return part of a
+ * heavy payload: the output holds only the requested fields, plus the objects that lead to them.
+ *
+ * <p>Fields are comma-separated dotted paths, e.g. {@code info.gameDuration,metadata.matchId}. Arrays
+ * are transparent: a path continues into each element. {@code []} may mark an array, e.g. {@code
+ * info.participants[].kills}, but is not required. A bare name after a dotted path is a sibling of
+ * that path's last field, so {@code info.participants[].championName,kills,win} picks three fields
+ * from every participant. A path ending at an object or array keeps all of it.
+ *
+ * <p>Nothing is built to be thrown away. Raw JSON ({@link #project}) goes through a filtering parser,
+ * which skips a dropped subtree's tokens without decoding them. A value ({@link #write}) is serialized
+ * through a filtering generator, so a dropped field costs its serializer's walk but never reaches the
+ * output. Either way, the output's size follows what was asked for.
+ */
+public final class JsonProjection {
+
+    /** Every field: the document as it is. */
+    public static final JsonProjection ALL = new JsonProjection(null);
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private final PathFilter filter;
+
+    private JsonProjection(PathFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Parses a field list.
+     *
+     * @return {@link #ALL} for {@code null} or blank {@code fields}
+     * @throws IllegalArgumentException if a path is malformed
+     */
+    public static JsonProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        PathFilter root = new PathFilter();
+        List<String> parent = List.of();
+        for (String item : fields.split(",")) {
+            String path = item.strip();
+            if (path.isEmpty()) {
+                continue;
+            }
+            List<String> segments = new ArrayList<>();
+            for (String segment : path.split("\\.", -1)) {
+                String name = segment.endsWith("[]") ? segment.substring(0, segment.length() - 2) : segment;
+                if (name.isEmpty() || name.contains("[") || name.contains("]")) {
+                    throw new IllegalArgumentException(
+                            "Bad field path '" + path + "'. Use dotted names, e.g. info.participants[].kills.");
+                }
+                segments.add(name);
+            }
+            if (segments.size() > 1) {
+                parent = segments.subList(0, segments.size() - 1);
+            } else {
+                segments.addAll(0, parent);
+            }
+            root.add(segments);
+        }
+        return root.children.isEmpty() ? ALL : new JsonProjection(root);
+    }
+
+    /** {@code json}, an encoded document, cut down to the projected fields. */
+    public String project(byte[] json) {
+        if (filter == null) {
+            return new String(json, StandardCharsets.UTF_8);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (JsonParser parser = new FilteringParserDelegate(
+                        MAPPER.createParser(json), filter, TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
+                JsonGenerator generator = MAPPER.createGenerator(out)) {
+            if (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+        return text(out);
+    }
+
+    /** {@code value} serialized as JSON, keeping only the projected fields. */
+    public String write(Object value) {
+        if (filter == null) {
+            return MAPPER.writeValueAsString(value);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new FilteringGeneratorDelegate(
+                MAPPER.createGenerator(out), filter, TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true)) {
+            MAPPER.writeValue(generator, value);
+        }
+        return text(out);
+    }
+
+    /** A document with none of the fields is still a document: {@code {}}, not nothing. */
+    private static String text(ByteArrayOutputStream out) {
+        return out.size() == 0 ? "{}" : out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One level of the requested paths. A field named here descends into its own filter, or includes
+     * its whole value when its path ends there. Array elements pass through to the same level.
+     */
+    private static final class PathFilter extends TokenFilter {
+
+        private final Map<String, PathFilter> children = new LinkedHashMap<>();
+        private boolean whole;
+
+        void add(List<String> path) {
+            PathFilter node = this;
+            for (String name : path) {
+                if (node.whole) {
+                    return; // an ancestor is already kept whole
+                }
+                node = node.children.computeIfAbsent(name, ignored -> new PathFilter());
+            }
+            node.whole = true;
+            node.children.clear();
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            PathFilter child = children.get(name);
+            if (child == null) {
+                return null;
+            }
+            return child.whole ? TokenFilter.INCLUDE_ALL : child;
+        }
+
+        @Override
+        public TokenFilter includeElement(int index) {
+            return this;
+        }
+
+        @Override
+        public TokenFilter includeRootValue(int index) {
+            return this;
+        }
+
+        /** A scalar where a path expected more levels is not what was asked for. */
+        @Override
+        protected boolean _includeScalar() {
+            return false;
+        }
+    }
+}
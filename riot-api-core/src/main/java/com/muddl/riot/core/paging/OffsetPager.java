@@ -0,0 +1,84 @@
+package com.muddl.riot.core.paging;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+/**
+ * Lazily walks a Riot list endpoint paged by {@code start}/{@code count} — match-ID histories are the
+ * case in point, at most 100 IDs a page. A page is fetched only when the items before it have been
+ * consumed, so a caller can start working on the first page while later ones have not been requested,
+ * and stopping early never fetches the rest.
+ *
+ * <p>The walk ends at {@code limit} items, or at the first page shorter than requested (the endpoint
+ * has nothing further). Not thread-safe: one consumer iterates.
+ */
+public final class OffsetPager<T> implements Iterator<T> {
+
+    /** The largest page Riot's ID-list endpoints serve. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final PageFetcher<T> fetcher;
+    private final int limit;
+    private final int pageSize;
+    private final Queue<T> buffered = new ArrayDeque<>();
+    private int requested;
+    private boolean exhausted;
+
+    /** Pages of {@link #MAX_PAGE_SIZE} until {@code limit} items. */
+    public OffsetPager(int limit, PageFetcher<T> fetcher) {
+        this(limit, MAX_PAGE_SIZE, fetcher);
+    }
+
+    public OffsetPager(int limit, int pageSize, PageFetcher<T> fetcher) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be 1-" + MAX_PAGE_SIZE + ", was " + pageSize);
+        }
+        this.fetcher = fetcher;
+        this.limit = Math.max(0, limit);
+        this.pageSize = pageSize;
+    }
+
+    /** May block: fetches the next page when the current one is used up. */
+    @Override
+    public boolean hasNext() {
+        if (buffered.isEmpty() && !exhausted) {
+            fetchPage();
+        }
+        return !buffered.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return buffered.poll();
+    }
+
+    private void fetchPage() {
+        int count = Math.min(pageSize, limit - requested);
+        if (count <= 0) {
+            exhausted = true;
+            return;
+        }
+        List<T> page = fetcher.fetch(requested, count);
+        requested += count;
+        if (page == null || page.size() < count) {
+            exhausted = true;
+        }
+        if (page != null) {
+            buffered.addAll(page.size() > count ? page.subList(0, count) : page);
+        }
+    }
+
+    /** One page of the underlying endpoint. */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+
+        /** Up to {@code count} items starting at offset {@code start}. */
+        List<T> fetch(int start, int count);
+    }
+}
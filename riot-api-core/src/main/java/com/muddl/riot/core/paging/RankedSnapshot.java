@@ -0,0 +1,88 @@
+package com.muddl.riot.core.paging;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.function.Function;
+
+/**
+ * An immutable, ranked copy of a list, for ladders that are fetched whole but read a slice at a time —
+ * an apex league is the case in point, thousands of entries in Riot's own order. Sorted once when
+ * taken, with a hash index from each item's key (a PUUID) to its rank, so reading the top N, a player's
+ * rank, or the entries around them costs no sort and no scan.
+ *
+ * <p>Ranks are 1-based. Items that compare equal keep their source order. An item with a {@code null}
+ * key is ranked but cannot be looked up; of duplicate keys, the higher-ranked wins. Slices are views of
+ * the one sorted list, not copies.
+ */
+public final class RankedSnapshot<T> {
+
+    private final List<T> ranked;
+    private final Map<String, Integer> indexByKey;
+
+    private RankedSnapshot(List<T> ranked, Map<String, Integer> indexByKey) {
+        this.ranked = ranked;
+        this.indexByKey = indexByKey;
+    }
+
+    /** Ranks {@code items} by {@code order}, best first, indexed by {@code key}. */
+    public static <T> RankedSnapshot<T> of(
+            Collection<? extends T> items, Comparator<? super T> order, Function<? super T, String> key) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(order);
+        Map<String, Integer> indexByKey = HashMap.newHashMap(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            String k = key.apply(sorted.get(i));
+            if (k != null) {
+                indexByKey.putIfAbsent(k, i);
+            }
+        }
+        return new RankedSnapshot<>(List.copyOf(sorted), indexByKey);
+    }
+
+    public int size() {
+        return ranked.size();
+    }
+
+    /** The best {@code n}, or all of them if there are fewer. */
+    public List<T> top(int n) {
+        return slice(0, n);
+    }
+
+    /** Up to {@code count} items from 0-based {@code offset}; empty past the end. */
+    public List<T> slice(int offset, int count) {
+        int from = Math.clamp(offset, 0, ranked.size());
+        int to = Math.clamp((long) from + Math.max(0, count), from, ranked.size());
+        return ranked.subList(from, to);
+    }
+
+    /** The 1-based rank of the item with {@code key}, empty if there is none. */
+    public OptionalInt rankOf(String key) {
+        Integer index = key == null ? null : indexByKey.get(key);
+        return index == null ? OptionalInt.empty() : OptionalInt.of(index + 1);
+    }
+
+    /** The item at 1-based {@code rank}. */
+    public T atRank(int rank) {
+        return ranked.get(rank - 1);
+    }
+
+    /**
+     * The item with {@code key} and up to {@code radius} on either side, fewer at either end of the
+     * ladder; empty if there is no such item. The first item's rank is {@code rankOf(key) - radius},
+     * clamped to 1.
+     */
+    public List<T> around(String key, int radius) {
+        OptionalInt rank = rankOf(key);
+        if (rank.isEmpty()) {
+            return List.of();
+        }
+        int r = Math.max(0, radius);
+        int from = Math.max(0, rank.getAsInt() - 1 - r);
+        return slice(from, rank.getAsInt() - from + r);
+    }
+}
@@ -0,0 +1,47 @@
+package com.muddl.riot.core.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Where the next page of a {@link RankedSnapshot} starts: the snapshot's version and a 0-based offset.
+ * Handed to a client as an opaque string, so every page it asks for is sliced from the snapshot its
+ * first page came from, even after a newer one has replaced it. Versions are the holder's to assign;
+ * a cursor only carries one.
+ */
+public record SnapshotCursor(long version, int offset) {
+
+    private static final String PREFIX = "s1.";
+
+    public SnapshotCursor {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative, was " + offset);
+        }
+    }
+
+    /** URL-safe, unpadded Base64 of the version and offset. */
+    public String encode() {
+        String plain = PREFIX + version + "." + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * The cursor {@link #encode} wrote.
+     *
+     * @throws IllegalArgumentException if {@code cursor} is not one
+     */
+    public static SnapshotCursor decode(String cursor) {
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (plain.startsWith(PREFIX)) {
+                String[] parts = plain.substring(PREFIX.length()).split("\\.", -1);
+                if (parts.length == 2) {
+                    return new SnapshotCursor(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+                }
+            }
+        } catch (IllegalArgumentException e) { // bad Base64, a bad number, or a negative offset
+            throw new IllegalArgumentException("Bad cursor '" + cursor + "'", e);
+        }
+        throw new IllegalArgumentException("Bad cursor '" + cursor + "'");
+    }
+}
@@ -0,0 +1,149 @@
+package com.muddl.riot.core.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.muddl.riot.core.config.RiotApiProperties;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+class ResourceArchiveTest {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    @TempDir
+    Path directory;
+
+    private static Map<String, Object> match(String id) {
+        return Map.of("metadata", Map.of("matchId", id), "info", Map.of("gameDuration", 1834));
+    }
+
+    private static byte[] json(Object value) {
+        return MAPPER.writeValueAsBytes(value);
+    }
+
+    @Test
+    void an_archived_value_survives_a_reopen() throws IOException {
+        try (ResourceArchive archive = ResourceArchive.open(directory, DataSize.ofMegabytes(1))) {
+            archive.write("NA1_1", json(match("NA1_1")));
+            assertThat(archive.read("NA1_1", Map.class)).isEqualTo(match("NA1_1"));
+            assertThat(archive.read("NA1_2", Map.class)).isNull();
+        }
+
+        try (ResourceArchive reopened = ResourceArchive.open(directory, DataSize.ofMegabytes(1))) {
+            assertThat(reopened.size()).isEqualTo(1);
+            assertThat(reopened.read("NA1_1", Map.class)).isEqualTo(match("NA1_1"));
+        }
+    }
+
+    @Test
+    void the_json_comes_back_byte_for_byte() throws IOException {
+        byte[] body = "{ \"metadata\": {\"matchId\": \"NA1_1\"}, \"unmodelled\": [1, 2.50] }"
+                .getBytes(StandardCharsets.UTF_8);
+
+        try (ResourceArchive archive = ResourceArchive.open(directory, DataSize.ofMegabytes(1))) {
+            archive.write("NA1_1", body);
+
+            assertThat(archive.readJson("NA1_1")).isEqualTo(body);
+            assertThat(archive.read("NA1_1", Map.class)).containsKeys("metadata", "unmodelled");
+            assertThat(archive.readJson("NA1_2")).isNull();
+        }
+    }
+
+    @Test
+    void segments_roll_at_the_configured_size_and_stay_readable() throws IOException {
+        try (ResourceArchive archive = ResourceArchive.open(directory, DataSize.ofBytes(100))) {
+            for (int i = 0; i < 10; i++) {
+                archive.write("NA1_" + i, json(match("NA1_" + i)));
+            }
+            for (int i = 0; i < 10; i++) {
+                assertThat(archive.read("NA1_" + i, Map.class)).isEqualTo(match("NA1_" + i));
+            }
+        }
+
+        try (var files = Files.list(directory)) {
+            assertThat(files.filter(file -> file.toString().endsWith(".seg")).count()).isGreaterThan(1);
+        }
+    }
+
+    @Test
+    void the_index_grows_past_its_initial_capacity() throws IOException {
+        int entries = MappedIndex.INITIAL_CAPACITY; // well past the 70% load that triggers a rehash
+        try (ResourceArchive archive = ResourceArchive.open(directory, DataSize.ofMegabytes(64))) {
+            for (int i = 0; i < entries; i++) {
+                archive.write("NA1_" + i, json(Map.of("i", i)));
+            }
+            assertThat(archive.size()).isEqualTo(entries);
+            assertThat(archive.read("NA1_0", Map.class)).isEqualTo(Map.of("i", 0));
+            assertThat(archive.read("NA1_" + (entries - 1), Map.class)).isEqualTo(Map.of("i", entries - 1));
+        }
+    }
+
+    @Test
+    void a_lost_index_is_rebuilt_from_the_segments() throws IOException {
+        try (ResourceArchive archive = ResourceArchive.open(directory, DataSize.ofMegabytes(1))) {
+            archive.write("NA1_1", json(match("NA1_1")));
+            archive.write("NA1_2", json(match("NA1_2")));
+        }
+        Files.delete(directory.resolve("index.bin"));
+
+        try (ResourceArchive reopened = ResourceArchive.open(directory, DataSize.ofMegabytes(1))) {
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(reopened.read("NA1_2", Map.class)).isEqualTo(match("NA1_2"));
+        }
+    }
+
+    @Test
+    void a_torn_record_at_the_tail_is_cut_off_and_appends_continue() throws IOException {
+        try (ResourceArchive archive = ResourceArchive.open(directory, DataSize.ofMegabytes(1))) {
+            archive.write("NA1_1", json(match("NA1_1")));
+        }
+        Path segment = directory.resolve("000000.seg");
+        long intact = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 5, 'N', 'A'})); // a crash mid-append
+        }
+
+        try (ResourceArchive reopened = ResourceArchive.open(directory, DataSize.ofMegabytes(1))) {
+            assertThat(Files.size(segment)).isEqualTo(intact);
+            reopened.write("NA1_2", json(match("NA1_2")));
+            assertThat(reopened.read("NA1_1", Map.class)).isEqualTo(match("NA1_1"));
+            assertThat(reopened.read("NA1_2", Map.class)).isEqualTo(match("NA1_2"));
+        }
+    }
+
+    @Test
+    void a_directory_already_in_use_is_refused() throws IOException {
+        try (ResourceArchive first = ResourceArchive.open(directory, DataSize.ofMegabytes(1))) {
+            assertThatThrownBy(() -> ResourceArchive.open(directory, DataSize.ofMegabytes(1)))
+                    .isInstanceOf(IOException.class);
+
+            RiotApiProperties.Archive config = new RiotApiProperties.Archive();
+            config.setEnabled(true);
+            config.setDirectory(directory.getParent());
+            assertThat(ResourceArchive.open(config, directory.getFileName().toString()).isEnabled())
+                    .isFalse();
+        }
+    }
+
+    @Test
+    void the_disabled_archive_stores_nothing() throws IOException {
+        ResourceArchive archive = ResourceArchive.open(new RiotApiProperties.Archive(), "lol-matches");
+
+        archive.write("NA1_1", json(match("NA1_1")));
+
+        assertThat(archive.isEnabled()).isFalse();
+        assertThat(archive.read("NA1_1", Map.class)).isNull();
+        archive.close();
+    }
+}
@@ -0,0 +1,204 @@
+package com.muddl.riot.core.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.muddl.riot.core.archive.ResourceArchive;
+import com.muddl.riot.core.config.RiotApiProperties;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+class ImmutableResourceStoreTest {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Map<String, String> load(String key) {
+        loads.incrementAndGet();
+        return Map.of("id", key, "payload", "x".repeat(200));
+    }
+
+    @Test
+    void a_stored_value_is_returned_without_loading_again() {
+        ImmutableResourceStore<Map<String, String>> store = new ImmutableResourceStore<>(DataSize.ofMegabytes(1));
+
+        Map<String, String> first = store.get("NA1_1", this::load);
+        Map<String, String> second = store.get("NA1_1", this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(store.hits()).isEqualTo(1);
+        assertThat(store.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void a_failed_or_empty_load_stores_nothing() {
+        ImmutableResourceStore<Map<String, String>> store = new ImmutableResourceStore<>(DataSize.ofMegabytes(1));
+
+        assertThatThrownBy(() -> store.get("NA1_1", key -> {
+                    throw new IllegalStateException("boom");
+                }))
+                .hasMessage("boom");
+        assertThat(store.get("NA1_2", key -> null)).isNull();
+
+        store.get("NA1_1", this::load);
+        store.get("NA1_2", this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void getIfPresent_answers_from_the_store_and_never_loads() {
+        ImmutableResourceStore<Map<String, String>> store = new ImmutableResourceStore<>(DataSize.ofMegabytes(1));
+
+        assertThat(store.getIfPresent("NA1_1")).isNull();
+        Map<String, String> stored = store.get("NA1_1", this::load);
+
+        assertThat(store.getIfPresent("NA1_1")).isSameAs(stored);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void entries_are_weighed_by_serialized_size_and_evicted_past_the_bound() {
+        ImmutableResourceStore<Map<String, String>> store = new ImmutableResourceStore<>(DataSize.ofBytes(2_000));
+
+        for (int i = 0; i < 50; i++) {
+            store.get("NA1_" + i, this::load);
+        }
+
+        int entrySize = ImmutableResourceStore.serializedSize(load("NA1_0"));
+        assertThat(entrySize).isGreaterThan(200);
+        assertThat(store.weightedSize()).isPositive().isLessThanOrEqualTo(2_000);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void a_packed_store_rebuilds_an_equal_value_and_weighs_its_packed_size() {
+        ImmutableResourceStore<Map> store =
+                new ImmutableResourceStore<>(DataSize.ofMegabytes(1), ResourceArchive.disabled(), Map.class, true);
+
+        Map<String, String> loaded = store.get("NA1_1", this::load);
+        Map<String, String> read = store.get("NA1_1", this::load);
+
+        assertThat(read).isEqualTo(loaded).isNotSameAs(loaded);
+        assertThat(loads).hasValue(1);
+        assertThat(store.weightedSize()).isLessThan("NA1_1".length() + ImmutableResourceStore.serializedSize(loaded));
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void a_packed_store_counts_its_dictionaries_against_the_bound() {
+        long maxSize = 600_000;
+        ImmutableResourceStore<Map> store = new ImmutableResourceStore<>(
+                DataSize.ofBytes(maxSize), ResourceArchive.disabled(), Map.class, true);
+
+        for (int i = 0; i < 2_000; i++) {
+            String champion = "Champion" + i / 2; // each seen twice, so each enters the dictionary
+            String payload = "x".repeat(200) + i;
+            store.get("NA1_" + i, key -> Map.of("id", key, "champion", champion, "payload", payload));
+        }
+
+        assertThat(store.dictionaryBytes()).isGreaterThan(2L * Integer.BYTES * PackedJson.MAX_DICTIONARY_SIZE);
+        assertThat(store.size()).isLessThan(2_000);
+        assertThat(store.weightedSize() + store.dictionaryBytes()).isLessThanOrEqualTo(maxSize);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void view_streams_the_stored_json_packed_or_not_and_stores_what_it_fetches() {
+        Function<String, byte[]> fetch = key -> MAPPER.writeValueAsBytes(load(key));
+        Function<InputStream, Object> id = json -> MAPPER.readValue(json, Map.class).get("id");
+        for (boolean packed : new boolean[] {false, true}) {
+            ImmutableResourceStore<Map> store = new ImmutableResourceStore<>(
+                    DataSize.ofMegabytes(1), ResourceArchive.disabled(), Map.class, packed);
+
+            assertThat(store.view("NA1_1", key -> null, json -> "read")).isNull();
+            Object fetchedId = store.view("NA1_1", fetch, id);
+            Object storedId = store.view("NA1_1", fetch, id);
+
+            assertThat(fetchedId).isEqualTo(storedId).isEqualTo("NA1_1");
+            assertThat(store.get("NA1_1", key -> load(key))).containsEntry("id", "NA1_1");
+        }
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void getJson_returns_every_field_fetched_and_a_packed_store_answers_repeats_itself() {
+        byte[] body = "{\"id\":\"NA1_1\",\"unmodelled\":{\"a\":[1,2]}}".getBytes(StandardCharsets.UTF_8);
+        for (boolean packed : new boolean[] {false, true}) {
+            loads.set(0);
+            ImmutableResourceStore<Map> store = new ImmutableResourceStore<>(
+                    DataSize.ofMegabytes(1), ResourceArchive.disabled(), Map.class, packed);
+            Function<String, byte[]> fetch = key -> {
+                loads.incrementAndGet();
+                return body;
+            };
+
+            assertThat(store.getJson("NA1_1", fetch)).isEqualTo(body);
+            assertThat(MAPPER.readTree(store.getJson("NA1_1", fetch))).isEqualTo(MAPPER.readTree(body));
+            assertThat(store.get("NA1_1", key -> load(key))).containsKey("unmodelled");
+
+            // An unpacked store keeps only the bound value, so raw reads go back to the fetch.
+            assertThat(loads).hasValue(packed ? 1 : 2);
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void a_memory_miss_reads_through_to_the_archive_across_a_restart(@TempDir Path directory) throws Exception {
+        RiotApiProperties.Archive config = new RiotApiProperties.Archive();
+        config.setEnabled(true);
+        config.setDirectory(directory);
+
+        try (ImmutableResourceStore<Map> store = new ImmutableResourceStore<>(
+                DataSize.ofMegabytes(1), ResourceArchive.open(config, "matches"), Map.class)) {
+            store.get("NA1_1", key -> load(key));
+        }
+        try (ImmutableResourceStore<Map> restarted = new ImmutableResourceStore<>(
+                DataSize.ofMegabytes(1), ResourceArchive.open(config, "matches"), Map.class)) {
+            assertThat(restarted.get("NA1_1", key -> load(key))).containsEntry("id", "NA1_1");
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void a_fetched_body_is_archived_as_sent_and_only_bound_once(@TempDir Path directory) throws Exception {
+        RiotApiProperties.Archive config = new RiotApiProperties.Archive();
+        config.setEnabled(true);
+        config.setDirectory(directory);
+        byte[] body = "{ \"id\": \"NA1_1\", \"unmodelled\": 2.50 }".getBytes(StandardCharsets.UTF_8);
+        AtomicInteger decodes = new AtomicInteger();
+
+        try (ImmutableResourceStore<Map> store = new ImmutableResourceStore<>(
+                DataSize.ofMegabytes(1), ResourceArchive.open(config, "matches"), Map.class, true)) {
+            Function<byte[], Map> decode = json -> {
+                decodes.incrementAndGet();
+                return MAPPER.readValue(json, Map.class);
+            };
+            Map first = store.get("NA1_1", key -> {
+                loads.incrementAndGet();
+                return body;
+            }, decode);
+            Map second = store.get("NA1_1", key -> body, decode);
+
+            assertThat(second).isEqualTo(first).containsEntry("unmodelled", 2.5);
+        }
+        try (ResourceArchive archive = ResourceArchive.open(config, "matches")) {
+            assertThat(archive.readJson("NA1_1")).isEqualTo(body);
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(decodes).hasValue(1);
+    }
+}
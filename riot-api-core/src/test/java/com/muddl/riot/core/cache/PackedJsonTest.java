@@ -0,0 +1,101 @@
+package com.muddl.riot.core.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+class PackedJsonTest {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private final PackedJson packer = new PackedJson();
+
+    @Test
+    void a_packed_value_unpacks_to_the_same_json() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("small", 7);
+        value.put("negative", -5);
+        value.put("edges", List.of(PackedJson.SMALL_INT_MAX, PackedJson.SMALL_INT_MAX + 1, Long.MIN_VALUE));
+        value.put("huge", new BigInteger("123456789012345678901234567890"));
+        value.put("ratio", 0.1);
+        value.put("text", "ünïcødé");
+        value.put("missing", null);
+        value.put("flags", List.of(true, false));
+        value.put("empty", Map.of());
+        value.put("nested", List.of(Map.of("a", 1), Map.of("a", 2)));
+
+        for (int i = 0; i < 3; i++) { // cold, then with every string and shape in the dictionaries
+            byte[] packed = packer.pack(value);
+            assertThat(MAPPER.readTree(packer.json(packed))).isEqualTo(MAPPER.valueToTree(value));
+            assertThat(packer.unpack(packed, Map.class)).isEqualTo(MAPPER.convertValue(value, Map.class));
+        }
+    }
+
+    @Test
+    void repeated_shapes_and_strings_pack_to_codes_once_seen_twice() {
+        List<Map<String, Object>> participants = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> participant = new LinkedHashMap<>();
+            participant.put("puuid", "puuid-" + "x".repeat(70) + i);
+            participant.put("championName", i % 2 == 0 ? "Ahri" : "Zed");
+            participant.put("teamPosition", "MIDDLE");
+            participant.put("kills", i);
+            participant.put("totalDamageDealtToChampions", 20_000 + i);
+            participants.add(participant);
+        }
+        Map<String, Object> match = Map.of("participants", participants);
+
+        int json = MAPPER.writeValueAsBytes(match).length;
+        byte[] cold = packer.pack(match);
+        byte[] warm = packer.pack(match);
+
+        assertThat(cold.length).isLessThan(json);
+        assertThat(warm.length).isLessThan(cold.length);
+        assertThat(packer.dictionarySize()).isPositive();
+    }
+
+    @Test
+    void one_off_strings_stay_inline_and_out_of_the_dictionary() {
+        for (int i = 0; i < 100; i++) {
+            packer.pack(List.of("NA1_" + i));
+        }
+
+        assertThat(packer.dictionarySize()).isZero();
+    }
+
+    @Test
+    void ids_never_enter_the_dictionary_so_shared_strings_still_get_codes() {
+        // 70,000 distinct PUUIDs, each twice in its match: more than the dictionary holds.
+        for (int m = 0; m < 7_000; m++) {
+            List<String> puuids = new ArrayList<>();
+            List<Map<String, Object>> participants = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                String puuid = "Ab%076d".formatted(m * 10L + i);
+                puuids.add(puuid);
+                participants.add(Map.of("puuid", puuid, "summonerName", "Player" + m + "_" + i, "kills", i));
+            }
+            packer.pack(Map.of(
+                    "metadata", Map.of("matchId", "NA1_" + m, "participants", puuids),
+                    "info", Map.of("participants", participants)));
+        }
+        int full = packer.dictionarySize();
+
+        packer.pack(List.of("Hwei", "Hwei"));
+
+        assertThat(full).isLessThan(10);
+        assertThat(packer.dictionarySize()).isEqualTo(full + 1);
+    }
+
+    @Test
+    void opaque_id_tokens_are_recognised_by_shape() {
+        assertThat(PackedJson.looksLikeId("Ab" + "0123456789".repeat(7) + "-_xyzQ")).isTrue();
+        assertThat(PackedJson.looksLikeId("MonkeyKing")).isFalse();
+        assertThat(PackedJson.looksLikeId("The quick brown fox jumps over the lazy dog")).isFalse();
+    }
+}
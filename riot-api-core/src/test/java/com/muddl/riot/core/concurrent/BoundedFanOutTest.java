@@ -0,0 +1,274 @@
+package com.muddl.riot.core.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.muddl.riot.core.exception.RiotApiException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class BoundedFanOutTest {
+
+    private final BoundedFanOut fanOut = new BoundedFanOut(3);
+
+    @Test
+    void results_come_back_in_input_order_whatever_order_tasks_finish_in() {
+        List<Integer> inputs = IntStream.range(0, 10).boxed().toList();
+
+        List<Integer> results = fanOut.map(inputs, i -> {
+            sleep(20 - i * 2); // later inputs finish first
+            return i * 10;
+        });
+
+        assertThat(results).containsExactly(0, 10, 20, 30, 40, 50, 60, 70, 80, 90);
+    }
+
+    @Test
+    void never_runs_more_than_the_cap_at_once() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        fanOut.map(IntStream.range(0, 20).boxed().toList(), i -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(10);
+            inFlight.decrementAndGet();
+            return i;
+        });
+
+        assertThat(peak.get()).isEqualTo(3);
+    }
+
+    @Test
+    void the_first_failure_is_rethrown_as_is_and_the_rest_are_cancelled() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger finished = new AtomicInteger();
+
+        assertThatThrownBy(() -> fanOut.map(List.of(0, 1, 2, 3, 4, 5), i -> {
+                    if (i == 1) {
+                        failed.countDown();
+                        throw RiotApiException.forStatus(404, "missing");
+                    }
+                    sleep(2_000);
+                    finished.incrementAndGet();
+                    return i;
+                }))
+                .isInstanceOf(RiotApiException.class)
+                .extracting(e -> ((RiotApiException) e).getStatusCode())
+                .isEqualTo(404);
+
+        assertThat(failed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(finished).hasValue(0);
+    }
+
+    @Test
+    void iterator_inputs_start_while_later_inputs_are_still_being_pulled() {
+        CountDownLatch firstTaskRan = new CountDownLatch(1);
+        Iterator<Integer> slowSource = new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == 1) {
+                    // The second input is not produced until the first task has run.
+                    await(firstTaskRan);
+                }
+                return next < 3;
+            }
+
+            @Override
+            public Integer next() {
+                return next++;
+            }
+        };
+
+        List<Integer> results = fanOut.map(slowSource, i -> {
+            firstTaskRan.countDown();
+            return i * 10;
+        });
+
+        assertThat(results).containsExactly(0, 10, 20);
+    }
+
+    @Test
+    void an_iterator_that_throws_fails_the_call() {
+        Iterator<Integer> failing = new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == 2) {
+                    throw RiotApiException.forStatus(503, "down");
+                }
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return next++;
+            }
+        };
+
+        assertThatThrownBy(() -> fanOut.map(failing, i -> i))
+                .isInstanceOf(RiotApiException.class)
+                .extracting(e -> ((RiotApiException) e).getStatusCode())
+                .isEqualTo(503);
+    }
+
+    @Test
+    void a_fork_runs_alongside_the_caller_and_rethrows_its_own_exception() {
+        BoundedFanOut.Fork<String> ok = fanOut.fork(() -> "summoner");
+        BoundedFanOut.Fork<String> failing = fanOut.fork(() -> {
+            throw RiotApiException.forStatus(503, "down");
+        });
+
+        assertThat(ok.join()).isEqualTo("summoner");
+        assertThatThrownBy(failing::join).isInstanceOf(RiotApiException.class);
+    }
+
+    @Test
+    void a_fork_joined_within_a_timeout_is_empty_if_it_is_still_running() {
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedFanOut.Fork<String> slow = fanOut.fork(() -> {
+            await(release);
+            return "matches";
+        });
+
+        assertThat(slow.joinWithin(Duration.ofMillis(50))).isEmpty();
+        release.countDown();
+        assertThat(slow.joinWithin(Duration.ofSeconds(5))).contains("matches");
+        BoundedFanOut.Fork<String> failing = fanOut.fork(() -> {
+            throw RiotApiException.forStatus(503, "down");
+        });
+        assertThatThrownBy(() -> failing.joinWithin(Duration.ofSeconds(5))).isInstanceOf(RiotApiException.class);
+    }
+
+    @Test
+    void forks_of_one_call_share_its_cap() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        BoundedFanOut.Call call = fanOut.call();
+
+        List<BoundedFanOut.Fork<Integer>> forks = IntStream.range(0, 12)
+                .mapToObj(i -> call.fork(() -> {
+                    peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    sleep(10);
+                    inFlight.decrementAndGet();
+                    return i;
+                }))
+                .toList();
+
+        assertThat(forks.stream().map(BoundedFanOut.Fork::join)).containsExactlyElementsOf(
+                IntStream.range(0, 12).boxed().toList());
+        assertThat(peak.get()).isEqualTo(3);
+    }
+
+    @Test
+    void separate_calls_do_not_share_permits() {
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedFanOut.Call busy = fanOut.call();
+        List<BoundedFanOut.Fork<Integer>> holding = IntStream.range(0, 3)
+                .mapToObj(i -> busy.fork(() -> {
+                    await(release);
+                    return i;
+                }))
+                .toList();
+
+        assertThat(fanOut.call().fork(() -> "summoner").joinWithin(Duration.ofSeconds(5))).contains("summoner");
+        assertThat(fanOut.map(List.of(1, 2), i -> i * 10)).containsExactly(10, 20);
+        release.countDown();
+        assertThat(holding.stream().map(BoundedFanOut.Fork::join)).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void maps_and_forks_nested_in_a_task_stay_within_its_calls_cap() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        BoundedFanOut.Call call = fanOut.call();
+
+        List<BoundedFanOut.Fork<List<Integer>>> forks = IntStream.range(0, 4)
+                .mapToObj(i -> call.fork(() -> fanOut.map(List.of(1, 2, 3, 4), j -> {
+                    peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    sleep(10);
+                    inFlight.decrementAndGet();
+                    return i * 10 + j;
+                })))
+                .toList();
+
+        assertThat(forks.get(3).join()).containsExactly(31, 32, 33, 34);
+        forks.forEach(BoundedFanOut.Fork::join);
+        assertThat(peak.get()).isEqualTo(3);
+    }
+
+    @Test
+    void a_task_waiting_on_a_nested_fork_or_map_gives_its_permit_to_them() {
+        BoundedFanOut single = new BoundedFanOut(1);
+
+        BoundedFanOut.Fork<String> outer = single.fork(() -> single.fork(() -> "summoner").join() + "+matches");
+        List<String> mapped = single.map(List.of(1, 2), i -> single.fork(() -> "match " + i).join());
+
+        assertThat(outer.joinWithin(Duration.ofSeconds(5))).contains("summoner+matches");
+        assertThat(mapped).containsExactly("match 1", "match 2");
+    }
+
+    @Test
+    void a_cancelled_fork_is_interrupted_and_one_still_waiting_for_a_permit_never_runs() throws Exception {
+        BoundedFanOut.Call call = new BoundedFanOut(1).call();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicInteger queuedRan = new AtomicInteger();
+
+        BoundedFanOut.Fork<String> running = call.fork(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "late";
+        });
+        BoundedFanOut.Fork<String> queued = call.fork(() -> {
+            queuedRan.incrementAndGet();
+            return "never";
+        });
+        await(started);
+
+        assertThat(running.joinWithin(Duration.ofMillis(20))).isEmpty();
+        queued.cancel();
+        running.cancel();
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(running::join).isInstanceOf(CancellationException.class);
+        assertThatThrownBy(queued::join).isInstanceOf(CancellationException.class);
+        assertThat(call.fork(() -> "next").joinWithin(Duration.ofSeconds(5))).contains("next");
+        assertThat(queuedRan).hasValue(0);
+    }
+
+    @Test
+    void rejects_a_cap_below_one() {
+        assertThatThrownBy(() -> new BoundedFanOut(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.muddl.riot.core.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.muddl.riot.core.concurrent.BoundedFanOut;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.core.http.BackoffSleeper;
 import com.muddl.riot.core.http.RiotApiClient;
@@ -39,6 +40,16 @@ class RiotApiAutoConfigurationTest {
                 assertThat(context.getBean(RiotApiProperties.class).getRegion()).isEqualTo(RiotApiRegionUri.AMERICAS));
     }
 
+    @Test
+    void registers_the_meter_binder_when_micrometer_is_present() {
+        runner.run(context -> assertThat(context).hasSingleBean(RiotApiMeterBinder.class));
+    }
+
+    @Test
+    void registers_the_fan_out_bean() {
+        runner.run(context -> assertThat(context).hasSingleBean(BoundedFanOut.class));
+    }
+
     @Test
     void registers_backoff_sleeper_bean() {
         runner.run(context -> assertThat(context).hasSingleBean(BackoffSleeper.class));
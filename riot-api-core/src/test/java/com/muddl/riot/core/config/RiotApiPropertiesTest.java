@@ -3,10 +3,12 @@ package com.muddl.riot.core.config;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.muddl.riot.core.enums.RiotApiRegionUri;
+import java.time.Duration;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.util.unit.DataSize;
 
 class RiotApiPropertiesTest {
 
@@ -33,4 +35,46 @@ class RiotApiPropertiesTest {
 
         assertThat(props.getRegion()).isEqualTo(RiotApiRegionUri.AMERICAS);
     }
+
+    @Test
+    void binds_the_http_transport_and_rate_limit_blocks() {
+        var source = new MapConfigurationPropertySource(Map.of(
+                "riot.api-key", "k",
+                "riot.http.transport", "apache",
+                "riot.http.connect-timeout", "2s",
+                "riot.http.max-connections-per-host", "8",
+                "riot.rate-limit.enabled", "false"));
+
+        RiotApiProperties props =
+                new Binder(source).bind("riot", RiotApiProperties.class).get();
+
+        assertThat(props.getHttp().getTransport()).isEqualTo(RiotApiProperties.Http.Transport.APACHE);
+        assertThat(props.getHttp().getConnectTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(props.getHttp().getMaxConnectionsPerHost()).isEqualTo(8);
+        assertThat(props.getHttp().getReadTimeout()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(props.getRateLimit().isEnabled()).isFalse();
+    }
+
+    @Test
+    void binds_cache_policies_in_order() {
+        var source = new MapConfigurationPropertySource(Map.of(
+                "riot.api-key", "k",
+                "riot.cache.max-size", "16MB",
+                "riot.cache.policies[0].template", "/lol/match/v5/matches/{matchId}",
+                "riot.cache.policies[0].ttl", "forever",
+                "riot.cache.policies[1].template", "/lol/league/v4/{leaguePath}/by-queue/{queue}",
+                "riot.cache.policies[1].ttl", "2m",
+                "riot.cache.policies[1].stale-while-revalidate", "1m"));
+
+        RiotApiProperties props =
+                new Binder(source).bind("riot", RiotApiProperties.class).get();
+
+        assertThat(props.getCache().isEnabled()).isTrue();
+        assertThat(props.getCache().getMaxSize()).isEqualTo(DataSize.ofMegabytes(16));
+        assertThat(props.getCache().getPolicies())
+                .extracting(RiotApiProperties.Cache.Policy::getTemplate)
+                .containsExactly("/lol/match/v5/matches/{matchId}", "/lol/league/v4/{leaguePath}/by-queue/{queue}");
+        assertThat(props.getCache().getPolicies().get(0).getStaleWhileRevalidate()).isZero();
+        assertThat(props.getCache().getPolicies().get(1).getStaleWhileRevalidate()).isEqualTo(Duration.ofMinutes(1));
+    }
 }
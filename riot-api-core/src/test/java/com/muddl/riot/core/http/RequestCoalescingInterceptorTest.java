@@ -0,0 +1,117 @@
+package com.muddl.riot.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+class RequestCoalescingInterceptorTest {
+
+    private static final URI MATCH = URI.create("https://americas.api.riotgames.com/lol/match/v5/matches/NA1_1");
+
+    private final RiotApiMetrics metrics = new RiotApiMetrics();
+    private final RequestCoalescingInterceptor interceptor =
+            new RequestCoalescingInterceptor("key", "americas.api.riotgames.com", metrics);
+
+    /** Holds the leader's exchange open until released, counting how many exchanges really ran. */
+    private static final class GatedExecution implements ClientHttpRequestExecution {
+        final AtomicInteger executions = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+            executions.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new MockClientHttpResponse("{\"id\":1}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        }
+    }
+
+    @Test
+    void concurrent_identical_gets_share_one_exchange_and_each_get_the_body() throws Exception {
+        GatedExecution execution = new GatedExecution();
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> call(execution));
+        assertThat(execution.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> call(execution));
+        // Give the follower time to find the leader's entry before the exchange completes.
+        while (metrics.coalescedRequests() == 0) {
+            Thread.onSpinWait();
+        }
+        execution.release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("{\"id\":1}");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("{\"id\":1}");
+        assertThat(execution.executions).hasValue(1);
+        assertThat(metrics.issuedRequests()).isEqualTo(1);
+        assertThat(metrics.coalescedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void sequential_gets_are_not_coalesced_so_nothing_stale_is_served() throws Exception {
+        GatedExecution execution = new GatedExecution();
+        execution.release.countDown();
+
+        call(execution);
+        call(execution);
+
+        assertThat(execution.executions).hasValue(2);
+        assertThat(metrics.issuedRequests()).isEqualTo(2);
+        assertThat(metrics.coalescedRequests()).isZero();
+    }
+
+    @Test
+    void non_get_requests_pass_straight_through() throws Exception {
+        GatedExecution execution = new GatedExecution();
+        execution.release.countDown();
+
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, MATCH), new byte[0], execution);
+
+        assertThat(execution.executions).hasValue(1);
+        assertThat(metrics.issuedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void the_leaders_failure_reaches_the_leader_and_clears_the_entry() throws Exception {
+        ClientHttpRequestExecution failing = (request, body) -> {
+            throw new IOException("connection reset");
+        };
+
+        assertThatThrownBy(() ->
+                        interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, MATCH), new byte[0], failing))
+                .isInstanceOf(IOException.class)
+                .hasMessage("connection reset");
+
+        GatedExecution execution = new GatedExecution();
+        execution.release.countDown();
+        assertThat(call(execution)).isEqualTo("{\"id\":1}");
+    }
+
+    private String call(ClientHttpRequestExecution execution) {
+        try (ClientHttpResponse response =
+                interceptor.intercept(new MockClientHttpRequest(HttpMethod.GET, MATCH), new byte[0], execution)) {
+            return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.muddl.riot.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.muddl.riot.core.config.RiotApiProperties;
+import com.muddl.riot.core.http.RiotRateLimiterTest.MutableClock;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.unit.DataSize;
+
+class ResponseCacheTest {
+
+    private static final String HOST = "https://na1.api.riotgames.com";
+
+    private final MutableClock clock = new MutableClock();
+    private final RiotApiMetrics metrics = new RiotApiMetrics();
+    private final List<Runnable> revalidations = new ArrayList<>();
+
+    /**
+     * Answers each exchange with a body naming how many exchanges have run so far, whether it comes down
+     * the chain or, for a revalidation, as a new request.
+     */
+    private static final class CountingExecution implements ClientHttpRequestExecution, ClientHttpRequestFactory {
+        final AtomicInteger executions = new AtomicInteger();
+        final List<HttpRequest> newRequests = new ArrayList<>();
+        HttpStatus status = HttpStatus.OK;
+
+        @Override
+        public ClientHttpResponse execute(HttpRequest request, byte[] body) {
+            int n = executions.incrementAndGet();
+            return new MockClientHttpResponse(("v" + n).getBytes(StandardCharsets.UTF_8), status);
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+            MockClientHttpRequest request = new MockClientHttpRequest(httpMethod, uri);
+            request.setResponse(execute(request, new byte[0]));
+            newRequests.add(request);
+            return request;
+        }
+    }
+
+    /** For caches whose tests never revalidate. */
+    private static final ClientHttpRequestFactory NO_REVALIDATION = (uri, method) -> {
+        throw new AssertionError("unexpected revalidation of " + uri);
+    };
+
+    @Test
+    void a_fresh_entry_is_served_without_an_exchange_and_counted_as_a_hit() throws Exception {
+        ClientHttpRequestInterceptor cache = cache(policy("/lol/status/v4/platform-data", "60s", null));
+        CountingExecution execution = new CountingExecution();
+
+        assertThat(get(cache, "/lol/status/v4/platform-data", execution)).isEqualTo("v1");
+        clock.advance(Duration.ofSeconds(59));
+        assertThat(get(cache, "/lol/status/v4/platform-data", execution)).isEqualTo("v1");
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(get(cache, "/lol/status/v4/platform-data", execution)).isEqualTo("v2");
+
+        assertThat(execution.executions).hasValue(2);
+        assertThat(metrics.cacheHits("/lol/status/v4/platform-data")).isEqualTo(1);
+        assertThat(metrics.cacheMisses("/lol/status/v4/platform-data")).isEqualTo(2);
+    }
+
+    @Test
+    void placeholders_match_one_segment_and_each_uri_is_its_own_entry() throws Exception {
+        ClientHttpRequestInterceptor cache = cache(policy("/lol/match/v5/matches/{matchId}", "forever", null));
+        CountingExecution execution = new CountingExecution();
+
+        get(cache, "/lol/match/v5/matches/NA1_1", execution);
+        get(cache, "/lol/match/v5/matches/NA1_2", execution);
+        clock.advance(Duration.ofDays(3650));
+        get(cache, "/lol/match/v5/matches/NA1_1", execution);
+        // One segment only: the timeline is a different endpoint and is not cached.
+        get(cache, "/lol/match/v5/matches/NA1_1/timeline", execution);
+        get(cache, "/lol/match/v5/matches/NA1_1/timeline", execution);
+
+        assertThat(execution.executions).hasValue(4);
+        assertThat(metrics.cacheTemplates()).containsExactly("/lol/match/v5/matches/{matchId}");
+        assertThat(metrics.cacheHits("/lol/match/v5/matches/{matchId}")).isEqualTo(1);
+    }
+
+    @Test
+    void a_stale_entry_is_served_at_once_and_refreshed_in_the_background() throws Exception {
+        String template = "/lol/league/v4/{leaguePath}/by-queue/{queue}";
+        CountingExecution execution = new CountingExecution();
+        ClientHttpRequestInterceptor cache = cache(execution, policy(template, "2m", Duration.ofMinutes(1)));
+        String path = "/lol/league/v4/challengerleagues/by-queue/RANKED_SOLO_5x5";
+
+        get(cache, path, execution);
+        clock.advance(Duration.ofSeconds(150));
+        assertThat(get(cache, path, execution)).isEqualTo("v1");
+        // A second stale read does not start a second refresh.
+        assertThat(get(cache, path, execution)).isEqualTo("v1");
+        assertThat(revalidations).hasSize(1);
+
+        revalidations.removeFirst().run();
+        assertThat(get(cache, path, execution)).isEqualTo("v2");
+
+        // The refresh was a new request for the same URI, with the stale read's headers.
+        assertThat(execution.newRequests).singleElement().satisfies(request -> {
+            assertThat(request.getURI()).isEqualTo(URI.create(HOST + path));
+            assertThat(request.getHeaders().getFirst("X-RIOT-TOKEN")).isEqualTo("token");
+        });
+        assertThat(execution.executions).hasValue(2);
+        assertThat(metrics.cacheStaleHits(template)).isEqualTo(2);
+        assertThat(metrics.cacheHits(template)).isEqualTo(1);
+    }
+
+    @Test
+    void a_rejected_refresh_does_not_stop_the_entry_being_refreshed_later() throws Exception {
+        String template = "/lol/league/v4/{leaguePath}/by-queue/{queue}";
+        CountingExecution execution = new CountingExecution();
+        AtomicInteger rejections = new AtomicInteger(1);
+        Executor shuttingDown = task -> {
+            if (rejections.getAndDecrement() > 0) {
+                throw new RejectedExecutionException("shutting down");
+            }
+            revalidations.add(task);
+        };
+        RiotApiProperties.Cache config = new RiotApiProperties.Cache();
+        config.getPolicies().add(policy(template, "2m", Duration.ofMinutes(1)));
+        ClientHttpRequestInterceptor cache = new ResponseCache(config, clock, shuttingDown, metrics)
+                .interceptorFor("key", "na1.api.riotgames.com", execution);
+        String path = "/lol/league/v4/challengerleagues/by-queue/RANKED_SOLO_5x5";
+
+        get(cache, path, execution);
+        clock.advance(Duration.ofSeconds(150));
+        assertThat(get(cache, path, execution)).isEqualTo("v1"); // its refresh is rejected
+        assertThat(get(cache, path, execution)).isEqualTo("v1"); // so this read starts another
+
+        assertThat(revalidations).hasSize(1);
+        revalidations.removeFirst().run();
+        assertThat(get(cache, path, execution)).isEqualTo("v2");
+    }
+
+    @Test
+    void past_the_stale_window_the_entry_is_refetched_inline() throws Exception {
+        String template = "/lol/league/v4/{leaguePath}/by-queue/{queue}";
+        ClientHttpRequestInterceptor cache = cache(policy(template, "2m", Duration.ofMinutes(1)));
+        CountingExecution execution = new CountingExecution();
+        String path = "/lol/league/v4/masterleagues/by-queue/RANKED_SOLO_5x5";
+
+        get(cache, path, execution);
+        clock.advance(Duration.ofMinutes(4));
+
+        assertThat(get(cache, path, execution)).isEqualTo("v2");
+        assertThat(revalidations).isEmpty();
+    }
+
+    @Test
+    void error_responses_and_unmatched_paths_are_never_cached() throws Exception {
+        ClientHttpRequestInterceptor cache = cache(policy("/lol/status/v4/platform-data", "60s", null));
+        CountingExecution execution = new CountingExecution();
+        execution.status = HttpStatus.SERVICE_UNAVAILABLE;
+
+        get(cache, "/lol/status/v4/platform-data", execution);
+        get(cache, "/lol/status/v4/platform-data", execution);
+        get(cache, "/lol/platform/v3/champion-rotations", execution);
+        get(cache, "/lol/platform/v3/champion-rotations", execution);
+
+        assertThat(execution.executions).hasValue(4);
+    }
+
+    @Test
+    void a_404_is_replayed_for_its_not_found_ttl_and_counted_apart() throws Exception {
+        String template = "/lol/spectator/v5/active-games/by-summoner/{puuid}";
+        RiotApiProperties.Cache.Policy policy = policy(template, null, null);
+        policy.setNotFoundTtl(Duration.ofSeconds(30));
+        ClientHttpRequestInterceptor cache = cache(policy);
+        CountingExecution execution = new CountingExecution();
+        execution.status = HttpStatus.NOT_FOUND;
+
+        assertThat(status(cache, "/lol/spectator/v5/active-games/by-summoner/p1", execution))
+                .isEqualTo(404);
+        clock.advance(Duration.ofSeconds(29));
+        assertThat(status(cache, "/lol/spectator/v5/active-games/by-summoner/p1", execution))
+                .isEqualTo(404);
+        assertThat(execution.executions).hasValue(1);
+        assertThat(metrics.cacheNotFoundHits(template)).isEqualTo(1);
+        assertThat(metrics.cacheHits(template)).isZero();
+
+        // Past the TTL it is asked again; with only a not-found-ttl, the game it now finds is not kept.
+        clock.advance(Duration.ofSeconds(2));
+        execution.status = HttpStatus.OK;
+        get(cache, "/lol/spectator/v5/active-games/by-summoner/p1", execution);
+        get(cache, "/lol/spectator/v5/active-games/by-summoner/p1", execution);
+
+        assertThat(execution.executions).hasValue(3);
+        assertThat(metrics.cacheMisses(template)).isEqualTo(3);
+    }
+
+    @Test
+    void a_404_is_not_cached_without_a_not_found_ttl() throws Exception {
+        ClientHttpRequestInterceptor cache = cache(policy("/lol/match/v5/matches/{matchId}", "forever", null));
+        CountingExecution execution = new CountingExecution();
+        execution.status = HttpStatus.NOT_FOUND;
+
+        get(cache, "/lol/match/v5/matches/NA1_1", execution);
+        get(cache, "/lol/match/v5/matches/NA1_1", execution);
+
+        assertThat(execution.executions).hasValue(2);
+    }
+
+    @Test
+    void the_store_is_bounded_by_body_size() throws Exception {
+        RiotApiProperties.Cache config = new RiotApiProperties.Cache();
+        config.setMaxSize(DataSize.ofBytes(1_000));
+        config.getPolicies().add(policy("/lol/match/v5/matches/{matchId}", "forever", null));
+        ResponseCache responseCache = new ResponseCache(config, clock, revalidations::add, metrics);
+        ClientHttpRequestInterceptor cache =
+                responseCache.interceptorFor("key", "americas.api.riotgames.com", NO_REVALIDATION);
+        ClientHttpRequestExecution large =
+                (request, body) -> new MockClientHttpResponse(new byte[300], HttpStatus.OK);
+
+        for (int i = 0; i < 20; i++) {
+            get(cache, "/lol/match/v5/matches/NA1_" + i, large);
+        }
+
+        assertThat(responseCache.weightedSize()).isLessThanOrEqualTo(1_000);
+    }
+
+    @Test
+    void a_weekly_ttl_runs_until_the_next_reset() {
+        // 2026-10-01 is a Thursday.
+        long thursday = Instant.parse("2026-10-01T00:00:00Z").toEpochMilli();
+        long tuesdayReset = Instant.parse("2026-10-06T20:00:00Z").toEpochMilli();
+
+        assertThat(ResponseCachePolicy.nextWeekly(thursday, DayOfWeek.TUESDAY, LocalTime.of(20, 0)))
+                .isEqualTo(tuesdayReset);
+        // At the reset itself, the next one is a week away.
+        assertThat(ResponseCachePolicy.nextWeekly(tuesdayReset, DayOfWeek.TUESDAY, LocalTime.of(20, 0)))
+                .isEqualTo(Instant.parse("2026-10-13T20:00:00Z").toEpochMilli());
+    }
+
+    @Test
+    void a_malformed_ttl_fails_at_startup() {
+        assertThatThrownBy(() -> ResponseCachePolicy.of(policy("/lol/status/v4/platform-data", "weekly TUESDAY", null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("weekly <DAY> <HH:mm>");
+        assertThatThrownBy(() -> ResponseCachePolicy.of(policy("/lol/status/v4/platform-data", null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        RiotApiProperties.Cache.Policy zeroNotFound = policy("/lol/status/v4/platform-data", "60s", null);
+        zeroNotFound.setNotFoundTtl(Duration.ZERO);
+        assertThatThrownBy(() -> ResponseCachePolicy.of(zeroNotFound))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not-found-ttl must be positive");
+    }
+
+    private ClientHttpRequestInterceptor cache(RiotApiProperties.Cache.Policy... policies) {
+        return cache(NO_REVALIDATION, policies);
+    }
+
+    private ClientHttpRequestInterceptor cache(
+            ClientHttpRequestFactory downstream, RiotApiProperties.Cache.Policy... policies) {
+        RiotApiProperties.Cache config = new RiotApiProperties.Cache();
+        config.getPolicies().addAll(List.of(policies));
+        return new ResponseCache(config, clock, revalidations::add, metrics)
+                .interceptorFor("key", "na1.api.riotgames.com", downstream);
+    }
+
+    private static RiotApiProperties.Cache.Policy policy(String template, String ttl, Duration staleWhileRevalidate) {
+        RiotApiProperties.Cache.Policy policy = new RiotApiProperties.Cache.Policy();
+        policy.setTemplate(template);
+        policy.setTtl(ttl);
+        if (staleWhileRevalidate != null) {
+            policy.setStaleWhileRevalidate(staleWhileRevalidate);
+        }
+        return policy;
+    }
+
+    private static int status(
+            ClientHttpRequestInterceptor cache, String path, ClientHttpRequestExecution execution) throws IOException {
+        try (ClientHttpResponse response = cache.intercept(
+                new MockClientHttpRequest(HttpMethod.GET, URI.create(HOST + path)), new byte[0], execution)) {
+            return response.getStatusCode().value();
+        }
+    }
+
+    private static String get(ClientHttpRequestInterceptor cache, String path, ClientHttpRequestExecution execution)
+            throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create(HOST + path));
+        request.getHeaders().add("X-RIOT-TOKEN", "token");
+        try (ClientHttpResponse response = cache.intercept(request, new byte[0], execution)) {
+            return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
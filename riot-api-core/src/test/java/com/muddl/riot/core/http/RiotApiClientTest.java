@@ -17,13 +17,17 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.muddl.riot.core.config.RiotApiProperties;
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.core.exception.RiotApiException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
 
 class RiotApiClientTest {
 
@@ -237,4 +241,217 @@ class RiotApiClientTest {
         // A non-numeric Retry-After is unusable, so the interceptor uses the configured default.
         assertThat(sleeper.waits).containsExactly(Duration.ofMillis(250));
     }
+
+    @Test
+    void delays_the_next_request_when_riots_reported_limit_is_used_up() {
+        stubFor(get(urlEqualTo("/limited"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("X-App-Rate-Limit", "1:10")
+                        .withHeader("X-App-Rate-Limit-Count", "1:10")
+                        .withBody("ok")));
+
+        RiotRateLimiterTest.MutableClock clock = new RiotRateLimiterTest.MutableClock();
+        RiotRateLimiterTest.AdvancingSleeper sleeper = new RiotRateLimiterTest.AdvancingSleeper(clock);
+        RiotApiProperties props = new RiotApiProperties();
+        props.setApiKey("test-key-123");
+        props.setBaseUrlOverride("http://localhost:" + wireMock.port());
+        RiotApiClient client = new RiotApiClient(props, sleeper, clock);
+
+        client.platform(RiotApiPlatformUri.NA1).get().uri("/limited").retrieve().body(String.class);
+        client.platform(RiotApiPlatformUri.NA1).get().uri("/limited").retrieve().body(String.class);
+        // A different routing host has its own application bucket.
+        client.platform(RiotApiPlatformUri.EUW1).get().uri("/limited").retrieve().body(String.class);
+
+        // The second NA1 call waited out the window Riot reported instead of drawing a 429.
+        assertThat(sleeper.waits).containsExactly(Duration.ofSeconds(10));
+        verify(exactly(3), getRequestedFor(urlEqualTo("/limited")));
+    }
+
+    @Test
+    void sends_without_delay_when_the_rate_limiter_is_disabled() {
+        stubFor(get(urlEqualTo("/limited"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("X-App-Rate-Limit", "1:10")
+                        .withHeader("X-App-Rate-Limit-Count", "1:10")
+                        .withBody("ok")));
+
+        RecordingSleeper sleeper = new RecordingSleeper();
+        RiotApiProperties props = new RiotApiProperties();
+        props.setApiKey("test-key-123");
+        props.setBaseUrlOverride("http://localhost:" + wireMock.port());
+        props.getRateLimit().setEnabled(false);
+        RiotApiClient client = new RiotApiClient(props, sleeper);
+
+        client.platform(RiotApiPlatformUri.NA1).get().uri("/limited").retrieve().body(String.class);
+        client.platform(RiotApiPlatformUri.NA1).get().uri("/limited").retrieve().body(String.class);
+
+        assertThat(sleeper.waits).isEmpty();
+    }
+
+    @Test
+    void builds_one_client_per_host_and_reuses_it() {
+        RestClient na1 = riotApiClient.platform(RiotApiPlatformUri.NA1);
+
+        assertThat(riotApiClient.platform(RiotApiPlatformUri.NA1)).isSameAs(na1);
+        assertThat(riotApiClient.platform(RiotApiPlatformUri.EUW1)).isNotSameAs(na1);
+    }
+
+    @Test
+    void the_pooled_apache_transport_carries_requests_with_the_same_semantics() throws Exception {
+        stubFor(get(urlEqualTo("/ping")).willReturn(aResponse().withStatus(200).withBody("pong")));
+        stubFor(get(urlEqualTo("/boom")).willReturn(aResponse().withStatus(403).withBody("forbidden raw body")));
+
+        RiotApiProperties props = new RiotApiProperties();
+        props.setApiKey("test-key-123");
+        props.setBaseUrlOverride("http://localhost:" + wireMock.port());
+        props.getHttp().setTransport(RiotApiProperties.Http.Transport.APACHE);
+        RiotApiClient apacheClient = new RiotApiClient(props);
+
+        try {
+            assertThat(apacheClient
+                            .platform(RiotApiPlatformUri.NA1)
+                            .get()
+                            .uri("/ping")
+                            .retrieve()
+                            .body(String.class))
+                    .isEqualTo("pong");
+            assertThatThrownBy(() -> apacheClient
+                            .platform(RiotApiPlatformUri.NA1)
+                            .get()
+                            .uri("/boom")
+                            .retrieve()
+                            .body(String.class))
+                    .isInstanceOf(RiotApiException.class)
+                    .extracting(e -> ((RiotApiException) e).getStatusCode())
+                    .isEqualTo(403);
+            verify(getRequestedFor(urlEqualTo("/ping")).withHeader("X-RIOT-TOKEN", equalTo("test-key-123")));
+        } finally {
+            apacheClient.destroy();
+        }
+    }
+
+    @Test
+    void async_calls_run_on_virtual_threads_and_return_the_body() {
+        stubFor(get(urlEqualTo("/ping")).willReturn(aResponse().withStatus(200).withBody("pong")));
+
+        CompletableFuture<Boolean> ranVirtual = riotApiClient.platformAsync(
+                RiotApiPlatformUri.NA1, client -> Thread.currentThread().isVirtual());
+        CompletableFuture<String> body = riotApiClient.regionalAsync(
+                RiotApiRegionUri.AMERICAS,
+                client -> client.get().uri("/ping").retrieve().body(String.class));
+
+        assertThat(ranVirtual.join()).isTrue();
+        assertThat(body.join()).isEqualTo("pong");
+    }
+
+    @Test
+    void async_calls_keep_the_retry_and_status_mapping_semantics() {
+        stubFor(get(urlEqualTo("/retry"))
+                .inScenario("async-retry")
+                .whenScenarioStateIs(STARTED)
+                .willReturn(aResponse().withStatus(429).withHeader("Retry-After", "2"))
+                .willSetStateTo("recovered"));
+        stubFor(get(urlEqualTo("/retry"))
+                .inScenario("async-retry")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withStatus(200).withBody("ok")));
+        stubFor(get(urlEqualTo("/missing")).willReturn(aResponse().withStatus(404).withBody("nope")));
+
+        RecordingSleeper sleeper = new RecordingSleeper();
+        RiotApiClient client = clientWith(sleeper, 3, Duration.ofSeconds(1));
+
+        assertThat(client.platformAsync(RiotApiPlatformUri.NA1, c -> c.get()
+                                .uri("/retry")
+                                .retrieve()
+                                .body(String.class))
+                        .join())
+                .isEqualTo("ok");
+        assertThat(sleeper.waits).containsExactly(Duration.ofSeconds(2));
+
+        assertThatThrownBy(() -> client.platformAsync(RiotApiPlatformUri.NA1, c -> c.get()
+                                .uri("/missing")
+                                .retrieve()
+                                .body(String.class))
+                        .join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(RiotApiException.class)
+                .extracting(e -> ((RiotApiException) e).getStatusCode())
+                .isEqualTo(404);
+    }
+
+    @Test
+    void a_cached_endpoint_is_fetched_once_per_ttl_and_errors_are_not_cached() {
+        stubFor(get(urlEqualTo("/lol/status/v4/platform-data")).willReturn(aResponse().withStatus(200).withBody("ok")));
+        stubFor(get(urlEqualTo("/lol/match/v5/matches/NA1_404"))
+                .willReturn(aResponse().withStatus(404).withBody("nope")));
+
+        RiotRateLimiterTest.MutableClock clock = new RiotRateLimiterTest.MutableClock();
+        RiotApiProperties props = new RiotApiProperties();
+        props.setApiKey("test-key-123");
+        props.setBaseUrlOverride("http://localhost:" + wireMock.port());
+        RiotApiProperties.Cache.Policy status = new RiotApiProperties.Cache.Policy();
+        status.setTemplate("/lol/status/v4/platform-data");
+        status.setTtl("60s");
+        RiotApiProperties.Cache.Policy match = new RiotApiProperties.Cache.Policy();
+        match.setTemplate("/lol/match/v5/matches/{matchId}");
+        match.setTtl("forever");
+        props.getCache().getPolicies().addAll(List.of(status, match));
+        RiotApiClient client = new RiotApiClient(props, new RecordingSleeper(), clock);
+        RestClient na1 = client.platform(RiotApiPlatformUri.NA1);
+
+        assertThat(na1.get().uri("/lol/status/v4/platform-data").retrieve().body(String.class))
+                .isEqualTo("ok");
+        assertThat(na1.get().uri("/lol/status/v4/platform-data").retrieve().body(String.class))
+                .isEqualTo("ok");
+        clock.advance(Duration.ofSeconds(61));
+        na1.get().uri("/lol/status/v4/platform-data").retrieve().body(String.class);
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> na1.get()
+                            .uri("/lol/match/v5/matches/{matchId}", "NA1_404")
+                            .retrieve()
+                            .body(String.class))
+                    .isInstanceOf(RiotApiException.class);
+        }
+
+        verify(exactly(2), getRequestedFor(urlEqualTo("/lol/status/v4/platform-data")));
+        verify(exactly(2), getRequestedFor(urlEqualTo("/lol/match/v5/matches/NA1_404")));
+        assertThat(client.metrics().cacheHits("/lol/status/v4/platform-data")).isEqualTo(1);
+    }
+
+    @Test
+    void a_stale_entry_is_refreshed_by_a_new_request_through_the_rest_of_the_chain() throws Exception {
+        stubFor(get(urlEqualTo("/lol/league/v4/challengerleagues/by-queue/RANKED_SOLO_5x5"))
+                .willReturn(aResponse().withStatus(200).withBody("ladder")));
+
+        RiotRateLimiterTest.MutableClock clock = new RiotRateLimiterTest.MutableClock();
+        RiotApiProperties props = new RiotApiProperties();
+        props.setApiKey("test-key-123");
+        props.setBaseUrlOverride("http://localhost:" + wireMock.port());
+        RiotApiProperties.Cache.Policy ladder = new RiotApiProperties.Cache.Policy();
+        ladder.setTemplate("/lol/league/v4/{leaguePath}/by-queue/{queue}");
+        ladder.setTtl("2m");
+        ladder.setStaleWhileRevalidate(Duration.ofMinutes(1));
+        props.getCache().getPolicies().add(ladder);
+        RiotApiClient client = new RiotApiClient(props, new RecordingSleeper(), clock);
+        RestClient na1 = client.platform(RiotApiPlatformUri.NA1);
+        String template = "/lol/league/v4/{leaguePath}/by-queue/{queue}";
+        String path = "/lol/league/v4/challengerleagues/by-queue/RANKED_SOLO_5x5";
+
+        na1.get().uri(path).retrieve().body(String.class);
+        clock.advance(Duration.ofSeconds(150));
+        assertThat(na1.get().uri(path).retrieve().body(String.class)).isEqualTo("ladder");
+        // The refresh runs on the async executor: read until it has landed and the entry is fresh again.
+        // Stale reads meanwhile do not start a second refresh.
+        for (int i = 0; i < 100 && client.metrics().cacheHits(template) == 0; i++) {
+            Thread.sleep(50);
+            na1.get().uri(path).retrieve().body(String.class);
+        }
+
+        verify(exactly(2), getRequestedFor(urlEqualTo(path)).withHeader("X-RIOT-TOKEN", equalTo("test-key-123")));
+        assertThat(client.metrics().cacheHits(template)).isEqualTo(1);
+        client.destroy();
+    }
 }
@@ -0,0 +1,162 @@
+package com.muddl.riot.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.muddl.riot.core.exception.RiotApiException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class RiotRateLimiterTest {
+
+    private static final String APP = "key|na1.api.riotgames.com";
+    private static final String METHOD = APP + "|/lol/summoner/v4/summoners/by-puuid/{}";
+
+    private final MutableClock clock = new MutableClock();
+    private final AdvancingSleeper sleeper = new AdvancingSleeper(clock);
+    private final RiotRateLimiter limiter = new RiotRateLimiter(clock, sleeper, Duration.ofSeconds(120));
+
+    @Test
+    void admits_immediately_while_no_limits_are_known() {
+        for (int i = 0; i < 50; i++) {
+            limiter.acquire(APP, METHOD);
+        }
+
+        assertThat(sleeper.waits).isEmpty();
+    }
+
+    @Test
+    void delays_the_request_that_would_exceed_the_application_limit_until_the_window_resets() {
+        limiter.acquire(APP, METHOD);
+        limiter.record(APP, METHOD, headers("2:10", "1:10", null, null));
+
+        limiter.acquire(APP, METHOD); // second slot of two
+        limiter.acquire(APP, METHOD); // window full: waits out the rest of it
+
+        assertThat(sleeper.waits).containsExactly(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void the_method_limit_applies_independently_of_the_application_limit() {
+        limiter.acquire(APP, METHOD);
+        limiter.record(APP, METHOD, headers("100:120", "1:120", "1:5", "1:5"));
+
+        limiter.acquire(APP, METHOD);
+
+        assertThat(sleeper.waits).containsExactly(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void a_different_method_on_the_same_host_is_not_held_by_another_methods_limit() {
+        limiter.acquire(APP, METHOD);
+        limiter.record(APP, METHOD, headers("100:120", "1:120", "1:5", "1:5"));
+
+        limiter.acquire(APP, APP + "|/lol/match/v5/matches/{}");
+
+        assertThat(sleeper.waits).isEmpty();
+    }
+
+    @Test
+    void riots_reported_count_wins_when_it_is_ahead_of_the_local_count() {
+        limiter.acquire(APP, METHOD);
+        // Riot counts all 20 of the 20 per-second slots used (another process shares the key); locally, one.
+        limiter.record(APP, METHOD, headers("20:1", "20:1", null, null));
+
+        limiter.acquire(APP, METHOD);
+
+        assertThat(sleeper.waits).containsExactly(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void fails_fast_when_the_wait_would_exceed_max_wait() {
+        RiotRateLimiter strict = new RiotRateLimiter(clock, sleeper, Duration.ofSeconds(30));
+        strict.acquire(APP, METHOD);
+        strict.record(APP, METHOD, headers("1:120", "1:120", null, null));
+
+        assertThatThrownBy(() -> strict.acquire(APP, METHOD))
+                .isInstanceOf(RiotApiException.class)
+                .extracting(e -> ((RiotApiException) e).getStatusCode())
+                .isEqualTo(429);
+        assertThat(sleeper.waits).isEmpty();
+    }
+
+    @Test
+    void parse_reads_pairs_and_skips_malformed_ones() {
+        assertThat(RiotRateLimiter.parse("20:1, 100:120,banana,5"))
+                .containsExactly(new long[] {20, 1}, new long[] {100, 120});
+        assertThat(RiotRateLimiter.parse(null)).isEmpty();
+    }
+
+    @Test
+    void methodOf_collapses_variable_segments_into_one_method() {
+        assertThat(RiotRateLimiter.methodOf("/lol/match/v5/matches/NA1_4001"))
+                .isEqualTo("/lol/match/v5/matches/{}");
+        assertThat(RiotRateLimiter.methodOf("/lol/match/v5/matches/by-puuid/abc-DEF_123/ids"))
+                .isEqualTo("/lol/match/v5/matches/by-puuid/{}/{}");
+        // Lowercase game names after a by-* selector are still parameters, not fixed segments.
+        assertThat(RiotRateLimiter.methodOf("/riot/account/v1/accounts/by-riot-id/faker/kr"))
+                .isEqualTo(RiotRateLimiter.methodOf("/riot/account/v1/accounts/by-riot-id/Hide on bush/KR1"));
+        assertThat(RiotRateLimiter.methodOf("/lol/league/v4/challengerleagues/by-queue/RANKED_SOLO_5x5"))
+                .isNotEqualTo(RiotRateLimiter.methodOf("/lol/league/v4/masterleagues/by-queue/RANKED_SOLO_5x5"));
+    }
+
+    private static HttpHeaders headers(String appLimit, String appCount, String methodLimit, String methodCount) {
+        HttpHeaders headers = new HttpHeaders();
+        if (appLimit != null) {
+            headers.add(RiotRateLimiter.APP_LIMIT, appLimit);
+            headers.add(RiotRateLimiter.APP_COUNT, appCount);
+        }
+        if (methodLimit != null) {
+            headers.add(RiotRateLimiter.METHOD_LIMIT, methodLimit);
+            headers.add(RiotRateLimiter.METHOD_COUNT, methodCount);
+        }
+        return headers;
+    }
+
+    /** A clock the test moves by hand. */
+    static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-10-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    /** Records each wait and moves the clock past it, so the limiter's loop sees time pass. */
+    static final class AdvancingSleeper implements BackoffSleeper {
+        final List<Duration> waits = new ArrayList<>();
+        private final MutableClock clock;
+
+        AdvancingSleeper(MutableClock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public void sleep(Duration duration) {
+            waits.add(duration);
+            clock.advance(duration);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.muddl.riot.core.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+class JsonProjectionTest {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private static final Map<String, Object> MATCH = match();
+
+    @Test
+    void bare_names_after_a_path_are_its_siblings_in_every_array_element() {
+        JsonProjection projection = JsonProjection.parse("info.participants[].championName,kills,win");
+
+        assertProjects(
+                projection,
+                "{\"info\":{\"participants\":[{\"championName\":\"Ahri\",\"kills\":3,\"win\":true},"
+                        + "{\"championName\":\"Zed\",\"kills\":5,\"win\":false}]}}");
+    }
+
+    @Test
+    void a_path_ending_at_an_object_keeps_all_of_it_and_brackets_are_optional() {
+        JsonProjection projection = JsonProjection.parse("metadata, info.participants.challenges");
+
+        assertProjects(
+                projection,
+                "{\"metadata\":{\"matchId\":\"NA1_1\"},\"info\":{\"participants\":"
+                        + "[{\"challenges\":{\"kda\":4.5}},{\"challenges\":{\"kda\":1.5}}]}}");
+    }
+
+    @Test
+    void a_projection_matching_nothing_is_an_empty_object() {
+        assertProjects(JsonProjection.parse("info.gameDuration.seconds,unknown"), "{}");
+    }
+
+    @Test
+    void no_fields_is_the_whole_document() {
+        assertThat(JsonProjection.parse(null)).isSameAs(JsonProjection.ALL);
+        assertThat(JsonProjection.parse(" , ")).isSameAs(JsonProjection.ALL);
+        assertProjects(JsonProjection.ALL, MAPPER.writeValueAsString(MATCH));
+    }
+
+    @Test
+    void a_malformed_path_is_rejected() {
+        assertThatThrownBy(() -> JsonProjection.parse("info..kills"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Bad field path 'info..kills'");
+        assertThatThrownBy(() -> JsonProjection.parse("info.participants[0].kills"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Raw bytes through the filtering parser and a value through the filtering generator agree. */
+    private static void assertProjects(JsonProjection projection, String expected) {
+        assertThat(projection.project(MAPPER.writeValueAsBytes(MATCH))).isEqualTo(expected);
+        assertThat(projection.write(MATCH)).isEqualTo(expected);
+    }
+
+    private static Map<String, Object> match() {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("gameDuration", 1834);
+        info.put("participants", List.of(participant("Ahri", 3, true, 4.5), participant("Zed", 5, false, 1.5)));
+        Map<String, Object> match = new LinkedHashMap<>();
+        match.put("metadata", Map.of("matchId", "NA1_1"));
+        match.put("info", info);
+        return match;
+    }
+
+    private static Map<String, Object> participant(String champion, int kills, boolean win, double kda) {
+        Map<String, Object> participant = new LinkedHashMap<>();
+        participant.put("puuid", "puuid-" + champion);
+        participant.put("championName", champion);
+        participant.put("kills", kills);
+        participant.put("win", win);
+        participant.put("challenges", Map.of("kda", kda));
+        return participant;
+    }
+}
@@ -0,0 +1,62 @@
+package com.muddl.riot.core.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class OffsetPagerTest {
+
+    private final List<String> requests = new ArrayList<>();
+
+    /** An endpoint holding {@code size} items, recording each page request as "start+count". */
+    private OffsetPager.PageFetcher<Integer> endpoint(int size) {
+        return (start, count) -> {
+            requests.add(start + "+" + count);
+            return IntStream.range(start, Math.min(size, start + count)).boxed().toList();
+        };
+    }
+
+    private static List<Integer> drain(OffsetPager<Integer> pager) {
+        List<Integer> items = new ArrayList<>();
+        pager.forEachRemaining(items::add);
+        return items;
+    }
+
+    @Test
+    void pages_of_one_hundred_until_the_limit() {
+        List<Integer> items = drain(new OffsetPager<>(250, endpoint(1_000)));
+
+        assertThat(items).hasSize(250).startsWith(0, 1).endsWith(249);
+        assertThat(requests).containsExactly("0+100", "100+100", "200+50");
+    }
+
+    @Test
+    void stops_at_the_first_short_page() {
+        List<Integer> items = drain(new OffsetPager<>(500, endpoint(130)));
+
+        assertThat(items).hasSize(130);
+        assertThat(requests).containsExactly("0+100", "100+100");
+    }
+
+    @Test
+    void fetches_nothing_until_asked_and_no_further_than_consumed() {
+        OffsetPager<Integer> pager = new OffsetPager<>(500, 10, endpoint(1_000));
+        assertThat(requests).isEmpty();
+
+        for (int i = 0; i < 15; i++) {
+            pager.next();
+        }
+
+        assertThat(requests).containsExactly("0+10", "10+10");
+    }
+
+    @Test
+    void rejects_a_page_size_riot_does_not_serve() {
+        assertThatThrownBy(() -> new OffsetPager<>(10, 101, endpoint(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
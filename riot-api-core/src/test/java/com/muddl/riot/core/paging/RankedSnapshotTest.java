@@ -0,0 +1,62 @@
+package com.muddl.riot.core.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RankedSnapshotTest {
+
+    private record Item(String puuid, int points) {}
+
+    /** Points ascending with index, so the last item is the best. */
+    private static RankedSnapshot<Item> ladder(int size) {
+        List<Item> items = IntStream.range(0, size).mapToObj(i -> new Item("p" + i, i)).toList();
+        return RankedSnapshot.of(items, Comparator.comparingInt(Item::points).reversed(), Item::puuid);
+    }
+
+    @Test
+    void top_n_is_the_best_first_and_never_more_than_there_are() {
+        RankedSnapshot<Item> snapshot = ladder(300);
+
+        assertThat(snapshot.top(3)).extracting(Item::points).containsExactly(299, 298, 297);
+        assertThat(snapshot.top(5000)).hasSize(300);
+        assertThat(snapshot.top(0)).isEmpty();
+    }
+
+    @Test
+    void a_key_is_looked_up_to_its_one_based_rank() {
+        RankedSnapshot<Item> snapshot = ladder(300);
+
+        assertThat(snapshot.rankOf("p299")).hasValue(1);
+        assertThat(snapshot.rankOf("p0")).hasValue(300);
+        assertThat(snapshot.rankOf("unranked")).isEmpty();
+        assertThat(snapshot.rankOf(null)).isEmpty();
+        assertThat(snapshot.atRank(300).puuid()).isEqualTo("p0");
+    }
+
+    @Test
+    void around_a_key_is_clamped_at_either_end_of_the_ladder() {
+        RankedSnapshot<Item> snapshot = ladder(10);
+
+        assertThat(snapshot.around("p5", 2)).extracting(Item::points).containsExactly(7, 6, 5, 4, 3);
+        assertThat(snapshot.around("p9", 2)).extracting(Item::points).containsExactly(9, 8, 7);
+        assertThat(snapshot.around("p0", 2)).extracting(Item::points).containsExactly(2, 1, 0);
+        assertThat(snapshot.around("unranked", 2)).isEmpty();
+    }
+
+    @Test
+    void a_slice_past_the_end_is_empty_and_ties_keep_their_source_order() {
+        RankedSnapshot<Item> snapshot = RankedSnapshot.of(
+                List.of(new Item("a", 1), new Item("b", 2), new Item("c", 1), new Item(null, 0)),
+                Comparator.comparingInt(Item::points).reversed(),
+                Item::puuid);
+
+        assertThat(snapshot.slice(1, 2)).extracting(Item::puuid).containsExactly("a", "c");
+        assertThat(snapshot.slice(4, 10)).isEmpty();
+        assertThat(snapshot.slice(40, Integer.MAX_VALUE)).isEmpty();
+        assertThat(snapshot.size()).isEqualTo(4);
+    }
+}
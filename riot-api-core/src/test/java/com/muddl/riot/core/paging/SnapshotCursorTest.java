@@ -0,0 +1,33 @@
+package com.muddl.riot.core.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+class SnapshotCursorTest {
+
+    @Test
+    void a_cursor_decodes_to_what_was_encoded_and_is_url_safe() {
+        SnapshotCursor cursor = new SnapshotCursor(Long.MAX_VALUE, 200);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(SnapshotCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void anything_else_is_a_bad_cursor() {
+        String wrongShape = Base64.getUrlEncoder().encodeToString("s1.7".getBytes(StandardCharsets.US_ASCII));
+        String negative = Base64.getUrlEncoder().encodeToString("s1.7.-1".getBytes(StandardCharsets.US_ASCII));
+
+        for (String bad : new String[] {"", "not base64!", wrongShape, negative}) {
+            assertThatThrownBy(() -> SnapshotCursor.decode(bad))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Bad cursor");
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.muddl.riot.core.enums.RiotApiPlatformUri;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.tft.analytics.domain.PlayerMatchAnalytics;
 import com.muddl.riot.tft.match.application.MatchService;
+import com.muddl.riot.tft.match.domain.MatchIdQuery;
 import com.muddl.riot.tft.match.domain.Participant;
 import com.muddl.riot.tft.match.domain.TftMatch;
 import com.muddl.riot.tft.match.domain.Trait;
@@ -40,7 +41,7 @@ public class AnalyticsService {
         String puuid = identityResolver.resolvePuuid(player);
         Summoner summoner = summonerService.getSummonerByPuuid(platform, puuid);
 
-        List<String> matchIds = matchService.getMatchIdsByPuuid(region, puuid, matchCount, 0);
+        List<String> matchIds = matchService.getMatchIdsByPuuid(region, puuid, matchCount, 0, MatchIdQuery.ALL);
 
         List<Participant> parts = new ArrayList<>();
         for (String matchId : matchIds) {
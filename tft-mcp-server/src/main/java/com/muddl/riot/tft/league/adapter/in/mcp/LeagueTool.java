@@ -2,6 +2,7 @@ package com.muddl.riot.tft.league.adapter.in.mcp;
 
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
 import com.muddl.riot.tft.league.application.LeagueService;
+import com.muddl.riot.tft.league.domain.ApexStanding;
 import com.muddl.riot.tft.league.domain.ApexTier;
 import com.muddl.riot.tft.league.domain.LeagueEntry;
 import com.muddl.riot.tft.league.domain.LeagueList;
@@ -21,6 +22,9 @@ public class LeagueTool {
 
     private static final String DEFAULT_RATED_QUEUE = "RANKED_TFT_TURBO";
 
+    private static final int DEFAULT_RADIUS = 2;
+    private static final int MAX_RADIUS = 50;
+
     private final LeagueService leagueService;
 
     @McpTool(
@@ -38,7 +42,7 @@ public class LeagueTool {
     @McpTool(
             name = "tft_league_apex_by_tier",
             description =
-                    "Get a Teamfight Tactics apex league: CHALLENGER, GRANDMASTER, or MASTER. Returns the top 10 entries by league points unless a larger count is requested.")
+                    "Get a Teamfight Tactics apex league: CHALLENGER, GRANDMASTER, or MASTER. Returns the top 10 entries by league points unless a larger count is requested. Page through the rest with offset, or with the nextCursor each page returns: cursor pages all come from the same ladder snapshot.")
     public LeagueList getApexLeague(
             @McpToolParam(description = "The Riot platform, e.g. NA1, EUW1", required = true) String platformStr,
             @McpToolParam(description = "The apex tier: CHALLENGER, GRANDMASTER, or MASTER", required = true)
@@ -46,11 +50,35 @@ public class LeagueTool {
             @McpToolParam(
                             description = "Optional: return only the top N entries by league points; defaults to 10",
                             required = false)
-                    Integer count) {
+                    Integer count,
+            @McpToolParam(description = "Optional: entries to skip from the top; defaults to 0", required = false)
+                    Integer offset,
+            @McpToolParam(
+                            description = "Optional: a previous page's nextCursor, to continue from; overrides offset",
+                            required = false)
+                    String cursor) {
         RiotApiPlatformUri platform = RiotApiPlatformUri.valueOf(platformStr.toUpperCase());
         ApexTier tier = ApexTier.valueOf(tierStr.toUpperCase());
         log.info("MCP Tool - Getting TFT {} apex league on platform: {}", tier, platform);
-        return leagueService.getApexLeague(platform, tier, count);
+        return leagueService.getApexLeague(platform, tier, count, offset, cursor);
+    }
+
+    @McpTool(
+            name = "tft_league_apex_standing_by_player",
+            description =
+                    "Get where a Teamfight Tactics player stands in the apex ladder (CHALLENGER, GRANDMASTER, MASTER): their rank in their tier by league points, their rank across all apex tiers, and the entries around them. Returns null if the player is not in an apex tier.")
+    public ApexStanding getApexStandingByPlayer(
+            @McpToolParam(description = "The Riot platform, e.g. NA1, EUW1", required = true) String platformStr,
+            @McpToolParam(description = "The player as a Riot ID (GameName#TAG) or a raw PUUID", required = true)
+                    String player,
+            @McpToolParam(
+                            description = "Optional: entries either side of the player, 0-50; defaults to 2",
+                            required = false)
+                    Integer radius) {
+        RiotApiPlatformUri platform = RiotApiPlatformUri.valueOf(platformStr.toUpperCase());
+        int reach = radius == null ? DEFAULT_RADIUS : Math.min(MAX_RADIUS, Math.max(0, radius));
+        log.info("MCP Tool - Getting TFT apex standing for a player on platform: {}", platform);
+        return leagueService.getApexStandingByPlayer(platform, player, reach);
     }
 
     @McpTool(
@@ -1,30 +1,104 @@
 package com.muddl.riot.tft.league.application;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.core.paging.RankedSnapshot;
+import com.muddl.riot.core.paging.SnapshotCursor;
 import com.muddl.riot.tft.league.application.port.LeaguePort;
+import com.muddl.riot.tft.league.domain.ApexStanding;
 import com.muddl.riot.tft.league.domain.ApexTier;
 import com.muddl.riot.tft.league.domain.LeagueEntry;
 import com.muddl.riot.tft.league.domain.LeagueItem;
 import com.muddl.riot.tft.league.domain.LeagueList;
 import com.muddl.riot.tft.league.domain.RatedLadderEntry;
+import java.time.Duration;
 import java.util.Comparator;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.OptionalInt;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-/** Application service for Riot TFT-League-V1 ranked data. */
+/**
+ * Application service for Riot TFT-League-V1 ranked data.
+ *
+ * <p>Apex leagues are held as {@link RankedSnapshot}s per platform and tier, as in the LoL server: sorted
+ * once per fetch and indexed by PUUID. A snapshot read more than {@link #LADDER_REFRESH} after it was
+ * taken is refreshed in the background while the old one is served; one unread for {@link
+ * #LADDER_IDLE} is dropped. Pages of a league carry a cursor naming their snapshot's version, so paging
+ * by cursor slices one snapshot throughout; snapshots stay reachable by version until unread for
+ * {@link #CURSOR_IDLE}.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class LeagueService {
 
     /** Default number of apex entries returned when the caller does not specify a count. */
     private static final int DEFAULT_APEX_ENTRIES = 10;
 
+    /**
+     * How stale a served apex league may get. Nothing else caches these endpoints, so each refresh goes
+     * to Riot and the snapshot is the only copy of the league held.
+     */
+    static final Duration LADDER_REFRESH = Duration.ofMinutes(2);
+
+    static final Duration LADDER_IDLE = Duration.ofMinutes(30);
+
+    /** How long a superseded snapshot outlives its last page read. */
+    static final Duration CURSOR_IDLE = Duration.ofMinutes(10);
+
+    /** Every platform's three apex tiers. */
+    private static final int MAX_LADDERS = 50;
+
+    /**
+     * Unlike the LoL server's equivalent, {@code leaguePoints} here is a boxed {@link Integer} and Riot
+     * may omit it, so the comparator is null-safe (nulls sort last) rather than a {@code comparingInt},
+     * which would unbox and throw.
+     */
+    private static final Comparator<LeagueItem> BY_LEAGUE_POINTS =
+            Comparator.comparing(LeagueItem::getLeaguePoints, Comparator.nullsLast(Comparator.reverseOrder()));
+
     private final LeaguePort leaguePort;
     private final PlayerIdentityResolver identityResolver;
+    private final LoadingCache<LadderKey, ApexLadder> ladders;
+    private final Cache<Long, ApexLadder> laddersByVersion;
+    private final AtomicLong versions = new AtomicLong();
+
+    @Autowired
+    public LeagueService(LeaguePort leaguePort, PlayerIdentityResolver identityResolver) {
+        this(
+                leaguePort,
+                identityResolver,
+                Ticker.systemTicker(),
+                Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("tft-ladder-refresh-", 0).factory()));
+    }
+
+    LeagueService(LeaguePort leaguePort, PlayerIdentityResolver identityResolver, Ticker ticker, Executor executor) {
+        this.leaguePort = leaguePort;
+        this.identityResolver = identityResolver;
+        // A league Riot has no body for is not cached: the loader returns null.
+        this.ladders = Caffeine.newBuilder()
+                .maximumSize(MAX_LADDERS)
+                .refreshAfterWrite(LADDER_REFRESH)
+                .expireAfterAccess(LADDER_IDLE)
+                .ticker(ticker)
+                .executor(executor)
+                .build(this::fetchLadder);
+        // Refreshes replace a ladder about every LADDER_REFRESH; four per ladder covers a slow pager.
+        this.laddersByVersion = Caffeine.newBuilder()
+                .maximumSize(MAX_LADDERS * 4L)
+                .expireAfterAccess(CURSOR_IDLE)
+                .ticker(ticker)
+                .build();
+    }
 
     public List<LeagueEntry> getLeagueEntriesByPlayer(RiotApiPlatformUri platform, String player) {
         String puuid = identityResolver.resolvePuuid(player);
@@ -32,10 +106,89 @@ public class LeagueService {
         return leaguePort.getLeagueEntriesByPuuid(platform, puuid);
     }
 
+    /** The first page of the apex league: its top {@code count} entries. */
     public LeagueList getApexLeague(RiotApiPlatformUri platform, ApexTier tier, Integer count) {
-        log.info("Fetching TFT {} apex league on platform: {}", tier, platform);
+        return getApexLeague(platform, tier, count, null, null);
+    }
+
+    /**
+     * One page of the apex league: {@code count} entries by league points from 0-based {@code offset},
+     * or from where {@code cursor} points, with {@code totalEntries} the whole ladder's size and {@code
+     * nextCursor} the page after, from the same snapshot. Riot's TFT-League-V1 apex endpoint has no
+     * server-side count parameter, so the bound is applied here in the application layer; entries are
+     * sorted first because Riot does not guarantee order. See ADR-0016.
+     *
+     * @throws IllegalArgumentException if {@code cursor} is malformed, expired, or from another ladder
+     */
+    public LeagueList getApexLeague(
+            RiotApiPlatformUri platform, ApexTier tier, Integer count, Integer offset, String cursor) {
+        log.info("Reading TFT {} apex league on platform: {}", tier, platform);
         int limit = (count == null || count <= 0) ? DEFAULT_APEX_ENTRIES : count;
-        return boundEntries(leaguePort.getApexLeague(platform, tier), limit);
+        LadderKey key = new LadderKey(platform, tier);
+        ApexLadder ladder;
+        int from;
+        if (cursor != null && !cursor.isBlank()) {
+            SnapshotCursor position = SnapshotCursor.decode(cursor);
+            ladder = laddersByVersion.getIfPresent(position.version());
+            if (ladder == null) {
+                throw new IllegalArgumentException("Cursor has expired; start again without one");
+            }
+            if (!ladder.key().equals(key)) {
+                throw new IllegalArgumentException("Cursor is for another ladder");
+            }
+            from = position.offset();
+        } else {
+            ladder = ladders.get(key);
+            if (ladder == null) {
+                return null;
+            }
+            from = offset == null ? 0 : Math.max(0, offset);
+        }
+        RankedSnapshot<LeagueItem> ranked = ladder.ranked();
+        List<LeagueItem> page = ranked.slice(from, limit);
+        int next = from + page.size();
+        return ladder.league().toBuilder()
+                .entries(page)
+                .totalEntries(ranked.size())
+                .offset(from)
+                .nextCursor(next < ranked.size() ? new SnapshotCursor(ladder.version(), next).encode() : null)
+                .build();
+    }
+
+    /**
+     * Where {@code player} stands in the apex ladder, with {@code radius} entries on either side. Tiers
+     * are searched from the top, each free once its snapshot is held. {@code null} if the player is in
+     * no apex tier.
+     */
+    public ApexStanding getApexStandingByPlayer(RiotApiPlatformUri platform, String player, int radius) {
+        String puuid = identityResolver.resolvePuuid(player);
+        log.info("Reading TFT apex standing on platform: {}", platform);
+        int reach = Math.max(0, radius);
+        int above = 0;
+        for (ApexTier tier : ApexTier.values()) {
+            ApexLadder ladder = ladders.get(new LadderKey(platform, tier));
+            if (ladder == null) {
+                continue;
+            }
+            RankedSnapshot<LeagueItem> ranked = ladder.ranked();
+            OptionalInt rank = ranked.rankOf(puuid);
+            if (rank.isPresent()) {
+                int r = rank.getAsInt();
+                return ApexStanding.builder()
+                        .puuid(puuid)
+                        .tier(tier.name())
+                        .queue(ladder.league().getQueue())
+                        .rank(r)
+                        .apexRank(above + r)
+                        .totalEntries(ranked.size())
+                        .entry(ranked.atRank(r))
+                        .aroundFromRank(Math.max(1, r - reach))
+                        .around(ranked.around(puuid, reach))
+                        .build();
+            }
+            above += ranked.size();
+        }
+        return null;
     }
 
     public List<LeagueEntry> getEntriesByTier(RiotApiPlatformUri platform, String tier, String division, int page) {
@@ -57,36 +210,28 @@ public class LeagueService {
                 .build();
     }
 
-    /**
-     * Returns a copy of {@code league} holding only the top {@code limit} entries by league points,
-     * with {@code totalEntries} stamped to the pre-truncation size. Riot's TFT-League-V1 apex
-     * endpoint has no server-side count parameter, so the bound is applied here in the application
-     * layer; entries are sorted first because Riot does not guarantee order. See ADR-0016.
-     *
-     * <p>Unlike the LoL server's equivalent, {@code leaguePoints} here is a boxed {@link Integer}
-     * and Riot may omit it, so the comparator is null-safe (nulls sort last) rather than a
-     * {@code comparingInt}, which would unbox and throw.
-     */
-    private static LeagueList boundEntries(LeagueList league, int limit) {
+    public List<RatedLadderEntry> getRatedLadder(RiotApiPlatformUri platform, String queue) {
+        log.info("Fetching TFT rated ladder for queue {} on platform: {}", queue, platform);
+        return leaguePort.getRatedLadder(platform, queue);
+    }
+
+    private ApexLadder fetchLadder(LadderKey key) {
+        LeagueList league = leaguePort.getApexLeague(key.platform(), key.tier());
         if (league == null) {
             return null;
         }
-        List<LeagueItem> entries = league.getEntries();
-        if (entries == null) {
-            return league.toBuilder().entries(List.of()).totalEntries(0).build();
-        }
-        return league.toBuilder()
-                .entries(entries.stream()
-                        .sorted(Comparator.comparing(
-                                LeagueItem::getLeaguePoints, Comparator.nullsLast(Comparator.reverseOrder())))
-                        .limit(limit)
-                        .toList())
-                .totalEntries(entries.size())
-                .build();
+        List<LeagueItem> entries = league.getEntries() == null ? List.of() : league.getEntries();
+        ApexLadder ladder = new ApexLadder(
+                key,
+                versions.incrementAndGet(),
+                league.toBuilder().entries(null).build(),
+                RankedSnapshot.of(entries, BY_LEAGUE_POINTS, LeagueItem::getPuuid));
+        laddersByVersion.put(ladder.version(), ladder);
+        return ladder;
     }
 
-    public List<RatedLadderEntry> getRatedLadder(RiotApiPlatformUri platform, String queue) {
-        log.info("Fetching TFT rated ladder for queue {} on platform: {}", queue, platform);
-        return leaguePort.getRatedLadder(platform, queue);
-    }
+    private record LadderKey(RiotApiPlatformUri platform, ApexTier tier) {}
+
+    /** An apex league's ranked entries, and the rest of the league without them. */
+    private record ApexLadder(LadderKey key, long version, LeagueList league, RankedSnapshot<LeagueItem> ranked) {}
 }
@@ -0,0 +1,28 @@
+package com.muddl.riot.tft.league.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where a player stands in the apex ladder: their rank within their tier's league by league points,
+ * and across all apex tiers ({@code apexRank}, counting everyone in the tiers above). {@code around}
+ * is their entry with its neighbours, starting at rank {@code aroundFromRank}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApexStanding {
+    private String puuid;
+    private String tier;
+    private String queue;
+    private int rank;
+    private int apexRank;
+    private int totalEntries;
+    private LeagueItem entry;
+    private int aroundFromRank;
+    private List<LeagueItem> around;
+}
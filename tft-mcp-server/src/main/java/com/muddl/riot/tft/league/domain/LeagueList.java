@@ -29,4 +29,13 @@ public class LeagueList {
      * received a capped {@link #entries} list still know the real ladder size.
      */
     private int totalEntries;
+
+    /** The 0-based rank of the first of {@link #entries} in the whole league. */
+    private int offset;
+
+    /**
+     * Pass as {@code cursor} for the page after this one, sliced from the same ladder snapshot; {@code
+     * null} on the last page, and for a league that is not paged.
+     */
+    private String nextCursor;
 }
@@ -1,8 +1,11 @@
 package com.muddl.riot.tft.match.adapter.in.mcp;
 
 import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.core.json.JsonProjection;
 import com.muddl.riot.tft.match.application.MatchService;
+import com.muddl.riot.tft.match.domain.MatchIdQuery;
 import com.muddl.riot.tft.match.domain.TftMatch;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +15,13 @@ import org.springframework.stereotype.Component;
 
 /**
  * MCP tools for TFT match data (TFT-Match-V1, region-routed). {@code tft_match_ids_by_player} is
- * player-keyed; {@code tft_match_by_id} is keyed by match ID and takes no player (ADR-0014).
+ * player-keyed; {@code tft_match_by_id} and {@code tft_match_json_by_id} are keyed by match ID and take
+ * no player (ADR-0014).
+ *
+ * <p>{@code tft_match_by_id} answers with the curated {@code TftMatch}, serialized by the framework like
+ * any other tool result. {@code tft_match_json_by_id} always answers with JSON text it builds itself:
+ * with {@code raw}, Riot's body without a decode and re-encode; otherwise the curated {@code TftMatch}.
+ * {@code fields} cuts either down as it is written ({@link JsonProjection}).
  */
 @Slf4j
 @Component
@@ -32,12 +41,21 @@ public class MatchTool {
             @McpToolParam(description = "Number of match IDs to return, 1-100, defaults to 20", required = false)
                     Integer count,
             @McpToolParam(description = "Number of match IDs to skip (for paging), defaults to 0", required = false)
-                    Integer start) {
+                    Integer start,
+            @McpToolParam(
+                            description = "Optional: only matches started at or after this epoch second",
+                            required = false)
+                    Long startTime,
+            @McpToolParam(
+                            description = "Optional: only matches started at or before this epoch second",
+                            required = false)
+                    Long endTime) {
         RiotApiRegionUri region = RiotApiRegionUri.valueOf(regionStr.toUpperCase());
         int resolvedCount = count == null ? 20 : count;
         int resolvedStart = start == null ? 0 : start;
+        MatchIdQuery query = MatchIdQuery.builder().startTime(startTime).endTime(endTime).build();
         log.info("MCP Tool - Getting TFT match IDs for a player in region: {}", region);
-        return matchService.getMatchIdsByPlayer(region, player, resolvedCount, resolvedStart);
+        return matchService.getMatchIdsByPlayer(region, player, resolvedCount, resolvedStart, query);
     }
 
     @McpTool(
@@ -51,4 +69,32 @@ public class MatchTool {
         log.info("MCP Tool - Getting TFT match detail for match ID: {}", matchId);
         return matchService.getMatchById(region, matchId);
     }
+
+    @McpTool(
+            name = "tft_match_json_by_id",
+            description = "Get one Teamfight Tactics match by its match ID as JSON text: Riot's match JSON "
+                    + "as sent with raw, and only the listed field paths with fields.")
+    public CallToolResult getMatchJsonById(
+            @McpToolParam(description = "The Riot region, e.g. AMERICAS, EUROPE, ASIA", required = true)
+                    String regionStr,
+            @McpToolParam(description = "The match ID, e.g. NA1_4600000001", required = true) String matchId,
+            @McpToolParam(
+                            description = "Optional: return Riot's match JSON as sent, with every field. "
+                                    + "Defaults to false",
+                            required = false)
+                    Boolean raw,
+            @McpToolParam(
+                            description = "Optional: return only these comma-separated field paths, "
+                                    + "e.g. \"info.participants[].placement,level\"; a bare name after a path "
+                                    + "is a sibling of that path's last field. Defaults to every field",
+                            required = false)
+                    String fields) {
+        RiotApiRegionUri region = RiotApiRegionUri.valueOf(regionStr.toUpperCase());
+        JsonProjection projection = JsonProjection.parse(fields);
+        log.info("MCP Tool - Getting TFT match detail as JSON for match ID: {}", matchId);
+        String json = Boolean.TRUE.equals(raw)
+                ? projection.project(matchService.getRawMatchById(region, matchId))
+                : projection.write(matchService.getMatchById(region, matchId));
+        return CallToolResult.builder().addTextContent(json).build();
+    }
 }
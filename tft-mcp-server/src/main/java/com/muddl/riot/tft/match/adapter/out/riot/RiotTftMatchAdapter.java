@@ -3,22 +3,30 @@ package com.muddl.riot.tft.match.adapter.out.riot;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.core.http.RiotApiClient;
 import com.muddl.riot.tft.match.application.port.MatchPort;
+import com.muddl.riot.tft.match.domain.MatchIdQuery;
 import com.muddl.riot.tft.match.domain.TftMatch;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
 
 /** Riot TFT-Match-V1 API adapter. Match endpoints are region-routed. */
 @Component
 @RequiredArgsConstructor
 public class RiotTftMatchAdapter implements MatchPort {
 
+    private static final JsonMapper MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
     private final RiotApiClient riotApiClient;
 
     @Override
     @SuppressWarnings("unchecked")
-    public List<String> getMatchIdsByPuuid(RiotApiRegionUri region, String puuid, Integer count, Integer start) {
+    public List<String> getMatchIdsByPuuid(
+            RiotApiRegionUri region, String puuid, Integer count, Integer start, MatchIdQuery query) {
         RestClient client = riotApiClient.regional(region);
 
         String uri = "/tft/match/v1/matches/by-puuid/{puuid}/ids?";
@@ -28,6 +36,14 @@ public class RiotTftMatchAdapter implements MatchPort {
         if (start != null) {
             uri += "start=" + start + "&";
         }
+        if (query != null) {
+            if (query.getStartTime() != null) {
+                uri += "startTime=" + query.getStartTime() + "&";
+            }
+            if (query.getEndTime() != null) {
+                uri += "endTime=" + query.getEndTime();
+            }
+        }
         if (uri.endsWith("&") || uri.endsWith("?")) {
             uri = uri.substring(0, uri.length() - 1);
         }
@@ -44,4 +60,19 @@ public class RiotTftMatchAdapter implements MatchPort {
                 .retrieve()
                 .body(TftMatch.class);
     }
+
+    /** Binds a body {@link #getRawMatchById} returned, skipping the fields {@code TftMatch} does not model. */
+    TftMatch decode(byte[] json) {
+        return MAPPER.readValue(json, TftMatch.class);
+    }
+
+    @Override
+    public byte[] getRawMatchById(RiotApiRegionUri region, String matchId) {
+        return riotApiClient
+                .regional(region)
+                .get()
+                .uri("/tft/match/v1/matches/{matchId}", matchId)
+                .retrieve()
+                .body(byte[].class);
+    }
 }
@@ -0,0 +1,70 @@
+package com.muddl.riot.tft.match.adapter.out.riot;
+
+import com.muddl.riot.core.archive.ResourceArchive;
+import com.muddl.riot.core.cache.ImmutableResourceStore;
+import com.muddl.riot.core.config.RiotApiProperties;
+import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.tft.match.application.port.MatchPort;
+import com.muddl.riot.tft.match.domain.MatchIdQuery;
+import com.muddl.riot.tft.match.domain.TftMatch;
+import java.util.List;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@link MatchPort} the application sees: {@link RiotTftMatchAdapter} behind an {@link
+ * ImmutableResourceStore}. A match ID names a finished, immutable match, so once fetched it is served
+ * from memory to {@code tft_match_by_id} and to every analytics pass that overlaps an earlier one.
+ * Match-ID lists change as players play and always go to Riot.
+ *
+ * <p>With {@code riot.archive.enabled}, the store reads through to an on-disk {@link ResourceArchive}
+ * under {@code tft-matches/}, so matches fetched before a restart are still a local read after it.
+ *
+ * <p>Matches are stored packed unless {@code riot.match-store.packed} is off, and rebuilt into a
+ * {@code TftMatch} on each read.
+ */
+@Primary
+@Component
+public class StoredTftMatchAdapter implements MatchPort, DisposableBean {
+
+    private final RiotTftMatchAdapter riot;
+    private final ImmutableResourceStore<TftMatch> matches;
+
+    public StoredTftMatchAdapter(RiotTftMatchAdapter riot, RiotApiProperties properties) {
+        this.riot = riot;
+        this.matches = new ImmutableResourceStore<>(
+                properties.getMatchStore().getMaxSize(),
+                ResourceArchive.open(properties.getArchive(), "tft-matches"),
+                TftMatch.class,
+                properties.getMatchStore().isPacked());
+    }
+
+    @Override
+    public List<String> getMatchIdsByPuuid(
+            RiotApiRegionUri region, String puuid, Integer count, Integer start, MatchIdQuery query) {
+        return riot.getMatchIdsByPuuid(region, puuid, count, start, query);
+    }
+
+    @Override
+    public TftMatch getMatchById(RiotApiRegionUri region, String matchId) {
+        // Match IDs carry their platform prefix (NA1_...), so the ID alone is a global key. The body is
+        // fetched raw so that Riot's JSON, not the re-serialized DTO, is what gets stored and archived.
+        return matches.get(matchId, id -> riot.getRawMatchById(region, id), riot::decode);
+    }
+
+    /**
+     * Served from the store, which keeps Riot's body rather than the decoded {@code TftMatch}: a miss is
+     * fetched once and stored for every later read, raw or not. A packed hit replays that body — every
+     * field Riot sent, though not necessarily in Riot's exact spelling of numbers and whitespace.
+     */
+    @Override
+    public byte[] getRawMatchById(RiotApiRegionUri region, String matchId) {
+        return matches.getJson(matchId, id -> riot.getRawMatchById(region, id));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        matches.close();
+    }
+}
@@ -3,6 +3,7 @@ package com.muddl.riot.tft.match.application;
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.tft.match.application.port.MatchPort;
+import com.muddl.riot.tft.match.domain.MatchIdQuery;
 import com.muddl.riot.tft.match.domain.TftMatch;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -22,18 +23,26 @@ public class MatchService {
     private final MatchPort matchPort;
     private final PlayerIdentityResolver identityResolver;
 
-    public List<String> getMatchIdsByPlayer(RiotApiRegionUri region, String player, Integer count, Integer start) {
+    public List<String> getMatchIdsByPlayer(
+            RiotApiRegionUri region, String player, Integer count, Integer start, MatchIdQuery query) {
         String puuid = identityResolver.resolvePuuid(player);
-        return getMatchIdsByPuuid(region, puuid, count, start);
+        return getMatchIdsByPuuid(region, puuid, count, start, query);
     }
 
-    public List<String> getMatchIdsByPuuid(RiotApiRegionUri region, String puuid, Integer count, Integer start) {
+    public List<String> getMatchIdsByPuuid(
+            RiotApiRegionUri region, String puuid, Integer count, Integer start, MatchIdQuery query) {
         log.info("Fetching TFT match IDs for PUUID: {}", puuid);
-        return matchPort.getMatchIdsByPuuid(region, puuid, count, start);
+        return matchPort.getMatchIdsByPuuid(region, puuid, count, start, query);
     }
 
     public TftMatch getMatchById(RiotApiRegionUri region, String matchId) {
         log.info("Fetching TFT match detail for match ID: {}", matchId);
         return matchPort.getMatchById(region, matchId);
     }
+
+    /** The match as Riot sent it, for callers that pass it on rather than read it. */
+    public byte[] getRawMatchById(RiotApiRegionUri region, String matchId) {
+        log.info("Fetching raw TFT match detail for match ID: {}", matchId);
+        return matchPort.getRawMatchById(region, matchId);
+    }
 }
@@ -1,13 +1,25 @@
 package com.muddl.riot.tft.match.application.port;
 
 import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.tft.match.domain.MatchIdQuery;
 import com.muddl.riot.tft.match.domain.TftMatch;
 import java.util.List;
 
 /** Outbound port for Riot TFT-Match-V1 data. Region-routed. */
 public interface MatchPort {
 
-    List<String> getMatchIdsByPuuid(RiotApiRegionUri region, String puuid, Integer count, Integer start);
+    /**
+     * One page of a player's match IDs, most recent first: up to {@code count} (at most 100) from offset
+     * {@code start}, filtered by {@code query} ({@code null} for none).
+     */
+    List<String> getMatchIdsByPuuid(
+            RiotApiRegionUri region, String puuid, Integer count, Integer start, MatchIdQuery query);
 
     TftMatch getMatchById(RiotApiRegionUri region, String matchId);
+
+    /**
+     * Riot's match-by-ID body: every field Riot sends, none of it bound to the DTO. Verbatim when it
+     * comes from Riot; a store may replay it with the same fields and values.
+     */
+    byte[] getRawMatchById(RiotApiRegionUri region, String matchId);
 }
@@ -0,0 +1,28 @@
+package com.muddl.riot.tft.match.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Filters on a player's match-ID history — the optional query parameters of TFT-Match-V1 {@code
+ * by-puuid/{puuid}/ids}, which takes a time window but, unlike Match-V5, no queue or type. Times are
+ * epoch seconds.
+ */
+@Value
+public class MatchIdQuery {
+
+    /** No filters: every match, most recent first. */
+    public static final MatchIdQuery ALL = builder().build();
+
+    Long startTime;
+    Long endTime;
+
+    @Builder
+    public MatchIdQuery(Long startTime, Long endTime) {
+        if (startTime != null && endTime != null && startTime > endTime) {
+            throw new IllegalArgumentException("startTime " + startTime + " is after endTime " + endTime + ".");
+        }
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+}
@@ -16,7 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.ai.mcp.annotation.McpTool;
 
 /**
- * Guards the public MCP contract: exactly the eleven TFT tools, each named
+ * Guards the public MCP contract: exactly the thirteen TFT tools, each named
  * {@code tft_<context>_<action>}. If this fails, a tool name changed without this list being updated.
  */
 class McpToolInventoryTest {
@@ -26,11 +26,13 @@ class McpToolInventoryTest {
             "tft_summoner_by_player",
             "tft_league_entries_by_player",
             "tft_league_apex_by_tier",
+            "tft_league_apex_standing_by_player",
             "tft_league_entries_by_tier",
             "tft_league_by_id",
             "tft_league_rated_ladder_by_queue",
             "tft_match_ids_by_player",
             "tft_match_by_id",
+            "tft_match_json_by_id",
             "tft_status_platform",
             "tft_analytics_player_matches");
 
@@ -52,7 +52,7 @@ class AnalyticsServiceTest {
         when(resolver.resolvePuuid("Player#NA1")).thenReturn(PUUID);
         when(summonerService.getSummonerByPuuid(PLATFORM, PUUID))
                 .thenReturn(Summoner.builder().summonerLevel(300L).build());
-        when(matchService.getMatchIdsByPuuid(eq(REGION), eq(PUUID), anyInt(), any()))
+        when(matchService.getMatchIdsByPuuid(eq(REGION), eq(PUUID), anyInt(), any(), any()))
                 .thenReturn(List.of("NA1_1", "NA1_2"));
         when(matchService.getMatchById(REGION, "NA1_1")).thenReturn(matchWith(1, 9, 2, "Set10_Punk", "TFT10_Jinx"));
         when(matchService.getMatchById(REGION, "NA1_2")).thenReturn(matchWith(5, 8, 0, "Set10_Punk", "TFT10_Sona"));
@@ -72,7 +72,7 @@ class AnalyticsServiceTest {
         when(resolver.resolvePuuid("Player#NA1")).thenReturn(PUUID);
         when(summonerService.getSummonerByPuuid(PLATFORM, PUUID))
                 .thenReturn(Summoner.builder().summonerLevel(10L).build());
-        when(matchService.getMatchIdsByPuuid(eq(REGION), eq(PUUID), anyInt(), any()))
+        when(matchService.getMatchIdsByPuuid(eq(REGION), eq(PUUID), anyInt(), any(), any()))
                 .thenReturn(List.of());
 
         PlayerMatchAnalytics a = service.getPlayerMatchAnalytics("Player#NA1", PLATFORM, REGION, 10);
@@ -89,7 +89,7 @@ class AnalyticsServiceTest {
         when(resolver.resolvePuuid("Player#NA1")).thenReturn(PUUID);
         when(summonerService.getSummonerByPuuid(PLATFORM, PUUID))
                 .thenReturn(Summoner.builder().build()); // summonerLevel null
-        when(matchService.getMatchIdsByPuuid(eq(REGION), eq(PUUID), anyInt(), any()))
+        when(matchService.getMatchIdsByPuuid(eq(REGION), eq(PUUID), anyInt(), any(), any()))
                 .thenReturn(List.of("NA1_1"));
         Participant p = Participant.builder()
                 .puuid(PUUID)
@@ -120,7 +120,7 @@ class AnalyticsServiceTest {
         when(resolver.resolvePuuid("Player#NA1")).thenReturn(PUUID);
         when(summonerService.getSummonerByPuuid(PLATFORM, PUUID))
                 .thenReturn(Summoner.builder().summonerLevel(1L).build());
-        when(matchService.getMatchIdsByPuuid(eq(REGION), eq(PUUID), anyInt(), any()))
+        when(matchService.getMatchIdsByPuuid(eq(REGION), eq(PUUID), anyInt(), any(), any()))
                 .thenReturn(List.of("NA1_1"));
         when(matchService.getMatchById(REGION, "NA1_1")).thenReturn(matchWith(1, 9, 4, "Set10_Punk", "TFT10_Jinx"));
 
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.when;
 
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
 import com.muddl.riot.tft.league.application.LeagueService;
+import com.muddl.riot.tft.league.domain.ApexStanding;
 import com.muddl.riot.tft.league.domain.ApexTier;
 import com.muddl.riot.tft.league.domain.LeagueEntry;
 import com.muddl.riot.tft.league.domain.LeagueList;
@@ -62,47 +63,78 @@ class LeagueToolTest {
     @Test
     void getApexLeague_passesPlatformAndTierThrough() {
         LeagueList list = LeagueList.builder().tier("CHALLENGER").build();
-        when(mockLeagueService.getApexLeague(RiotApiPlatformUri.NA1, ApexTier.CHALLENGER, null))
+        when(mockLeagueService.getApexLeague(RiotApiPlatformUri.NA1, ApexTier.CHALLENGER, null, null, null))
                 .thenReturn(list);
 
-        assertThat(leagueTool.getApexLeague("NA1", "CHALLENGER", null)).isSameAs(list);
-        verify(mockLeagueService).getApexLeague(RiotApiPlatformUri.NA1, ApexTier.CHALLENGER, null);
+        assertThat(leagueTool.getApexLeague("NA1", "CHALLENGER", null, null, null)).isSameAs(list);
+        verify(mockLeagueService).getApexLeague(RiotApiPlatformUri.NA1, ApexTier.CHALLENGER, null, null, null);
     }
 
     @Test
     void getApexLeague_normalizesCaseForPlatformAndTier() {
         LeagueList list = LeagueList.builder().tier("MASTER").build();
-        when(mockLeagueService.getApexLeague(RiotApiPlatformUri.NA1, ApexTier.MASTER, null))
+        when(mockLeagueService.getApexLeague(RiotApiPlatformUri.NA1, ApexTier.MASTER, null, null, null))
                 .thenReturn(list);
 
-        assertThat(leagueTool.getApexLeague("na1", "master", null)).isSameAs(list);
-        verify(mockLeagueService).getApexLeague(RiotApiPlatformUri.NA1, ApexTier.MASTER, null);
+        assertThat(leagueTool.getApexLeague("na1", "master", null, null, null)).isSameAs(list);
+        verify(mockLeagueService).getApexLeague(RiotApiPlatformUri.NA1, ApexTier.MASTER, null, null, null);
     }
 
     @Test
     void getApexLeague_passesCountThrough() {
         LeagueList list = LeagueList.builder().tier("CHALLENGER").build();
-        when(mockLeagueService.getApexLeague(RiotApiPlatformUri.NA1, ApexTier.CHALLENGER, 3))
+        when(mockLeagueService.getApexLeague(RiotApiPlatformUri.NA1, ApexTier.CHALLENGER, 3, null, null))
                 .thenReturn(list);
 
-        assertThat(leagueTool.getApexLeague("NA1", "CHALLENGER", 3)).isSameAs(list);
-        verify(mockLeagueService).getApexLeague(RiotApiPlatformUri.NA1, ApexTier.CHALLENGER, 3);
+        assertThat(leagueTool.getApexLeague("NA1", "CHALLENGER", 3, null, null)).isSameAs(list);
+        verify(mockLeagueService).getApexLeague(RiotApiPlatformUri.NA1, ApexTier.CHALLENGER, 3, null, null);
+    }
+
+    @Test
+    void getApexLeague_passesOffsetAndCursorThrough() {
+        LeagueList list = LeagueList.builder().tier("CHALLENGER").offset(200).build();
+        when(mockLeagueService.getApexLeague(RiotApiPlatformUri.NA1, ApexTier.CHALLENGER, 50, 200, "cursor"))
+                .thenReturn(list);
+
+        assertThat(leagueTool.getApexLeague("NA1", "CHALLENGER", 50, 200, "cursor")).isSameAs(list);
+        verify(mockLeagueService).getApexLeague(RiotApiPlatformUri.NA1, ApexTier.CHALLENGER, 50, 200, "cursor");
     }
 
     @Test
     void getApexLeague_invalidPlatform_throws() {
-        assertThatThrownBy(() -> leagueTool.getApexLeague("INVALID", "CHALLENGER", null))
+        assertThatThrownBy(() -> leagueTool.getApexLeague("INVALID", "CHALLENGER", null, null, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("No enum constant");
     }
 
     @Test
     void getApexLeague_invalidTier_throws() {
-        assertThatThrownBy(() -> leagueTool.getApexLeague("NA1", "BRONZE", null))
+        assertThatThrownBy(() -> leagueTool.getApexLeague("NA1", "BRONZE", null, null, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("No enum constant");
     }
 
+    // tft_league_apex_standing_by_player
+
+    @Test
+    void getApexStandingByPlayer_defaultsRadius_whenNull() {
+        ApexStanding standing = ApexStanding.builder().puuid("puuid-1").rank(3).build();
+        when(mockLeagueService.getApexStandingByPlayer(RiotApiPlatformUri.NA1, "Player#NA1", 2))
+                .thenReturn(standing);
+
+        assertThat(leagueTool.getApexStandingByPlayer("na1", "Player#NA1", null)).isSameAs(standing);
+        verify(mockLeagueService).getApexStandingByPlayer(RiotApiPlatformUri.NA1, "Player#NA1", 2);
+    }
+
+    @Test
+    void getApexStandingByPlayer_clampsRadius() {
+        leagueTool.getApexStandingByPlayer("NA1", "Player#NA1", 500);
+        leagueTool.getApexStandingByPlayer("NA1", "Player#NA1", -1);
+
+        verify(mockLeagueService).getApexStandingByPlayer(RiotApiPlatformUri.NA1, "Player#NA1", 50);
+        verify(mockLeagueService).getApexStandingByPlayer(RiotApiPlatformUri.NA1, "Player#NA1", 0);
+    }
+
     // tft_league_entries_by_tier
 
     @Test
@@ -15,6 +15,7 @@ public class InMemoryLeaguePort implements LeaguePort {
 
     private final Map<String, List<LeagueEntry>> entriesByPuuid = new HashMap<>();
     private final Map<ApexTier, LeagueList> apexByTier = new HashMap<>();
+    private int apexFetches;
     private final Map<String, List<LeagueEntry>> entriesByTierDivisionPage = new HashMap<>();
     private final Map<String, LeagueList> leagueById = new HashMap<>();
     private final Map<String, List<RatedLadderEntry>> ladderByQueue = new HashMap<>();
@@ -51,9 +52,15 @@ public class InMemoryLeaguePort implements LeaguePort {
 
     @Override
     public LeagueList getApexLeague(RiotApiPlatformUri platform, ApexTier tier) {
+        apexFetches++;
         return apexByTier.get(tier);
     }
 
+    /** Apex leagues fetched so far, found or not. */
+    public int apexFetches() {
+        return apexFetches;
+    }
+
     @Override
     public List<LeagueEntry> getEntriesByTier(RiotApiPlatformUri platform, String tier, String division, int page) {
         return entriesByTierDivisionPage.getOrDefault(tier + "|" + division + "|" + page, List.of());
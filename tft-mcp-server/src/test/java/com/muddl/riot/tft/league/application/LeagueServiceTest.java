@@ -1,18 +1,22 @@
 package com.muddl.riot.tft.league.application;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
 import com.muddl.riot.core.enums.RiotApiPlatformUri;
+import com.muddl.riot.tft.league.domain.ApexStanding;
 import com.muddl.riot.tft.league.domain.ApexTier;
 import com.muddl.riot.tft.league.domain.LeagueEntry;
 import com.muddl.riot.tft.league.domain.LeagueItem;
 import com.muddl.riot.tft.league.domain.LeagueList;
 import com.muddl.riot.tft.league.domain.RatedLadderEntry;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
@@ -22,7 +26,8 @@ class LeagueServiceTest {
 
     private final InMemoryLeaguePort port = new InMemoryLeaguePort();
     private final PlayerIdentityResolver resolver = mock(PlayerIdentityResolver.class);
-    private final LeagueService service = new LeagueService(port, resolver);
+    private final AtomicLong nanos = new AtomicLong();
+    private final LeagueService service = new LeagueService(port, resolver, nanos::get, Runnable::run);
 
     @Test
     void getLeagueEntriesByPlayer_resolvesPlayer_thenReturnsEntries() {
@@ -125,6 +130,85 @@ class LeagueServiceTest {
         assertThat(service.getApexLeague(PLATFORM, ApexTier.MASTER, null)).isNull();
     }
 
+    @Test
+    void getApexLeague_readsOneSnapshot_untilItIsDueARefresh() {
+        port.putApex(ApexTier.CHALLENGER, ladderOf(300));
+
+        service.getApexLeague(PLATFORM, ApexTier.CHALLENGER, 10);
+        service.getApexLeague(PLATFORM, ApexTier.CHALLENGER, 50);
+        assertThat(port.apexFetches()).isEqualTo(1);
+
+        port.putApex(ApexTier.CHALLENGER, ladderOf(5));
+        nanos.addAndGet(LeagueService.LADDER_REFRESH.plus(Duration.ofSeconds(1)).toNanos());
+        service.getApexLeague(PLATFORM, ApexTier.CHALLENGER, 10); // triggers the refresh
+
+        assertThat(port.apexFetches()).isEqualTo(2);
+        assertThat(service.getApexLeague(PLATFORM, ApexTier.CHALLENGER, 10).getTotalEntries())
+                .isEqualTo(5);
+    }
+
+    @Test
+    void getApexLeague_pagesByCursor_throughOneSnapshot_evenOnceItIsRefreshed() {
+        port.putApex(ApexTier.CHALLENGER, ladderOf(300));
+
+        LeagueList first = service.getApexLeague(PLATFORM, ApexTier.CHALLENGER, 50, 200, null);
+        port.putApex(ApexTier.CHALLENGER, ladderOf(5));
+        nanos.addAndGet(LeagueService.LADDER_REFRESH.plus(Duration.ofSeconds(1)).toNanos());
+        service.getApexLeague(PLATFORM, ApexTier.CHALLENGER, 10); // triggers the refresh
+        LeagueList second = service.getApexLeague(PLATFORM, ApexTier.CHALLENGER, 50, null, first.getNextCursor());
+
+        assertThat(first.getOffset()).isEqualTo(200);
+        assertThat(first.getEntries()).extracting(LeagueItem::getLeaguePoints).startsWith(99).endsWith(50);
+        assertThat(port.apexFetches()).isEqualTo(2);
+        assertThat(second.getOffset()).isEqualTo(250);
+        assertThat(second.getTotalEntries()).isEqualTo(300);
+        assertThat(second.getEntries()).extracting(LeagueItem::getLeaguePoints).startsWith(49).endsWith(0);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getApexLeague_rejectsACursor_fromAnotherLadder_orOnceItHasExpired() {
+        port.putApex(ApexTier.CHALLENGER, ladderOf(30));
+        port.putApex(ApexTier.MASTER, ladderOf(30));
+        String cursor = service.getApexLeague(PLATFORM, ApexTier.CHALLENGER, null).getNextCursor();
+
+        assertThatThrownBy(() -> service.getApexLeague(PLATFORM, ApexTier.MASTER, null, null, cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("another ladder");
+
+        nanos.addAndGet(LeagueService.CURSOR_IDLE.plus(Duration.ofSeconds(1)).toNanos());
+        assertThatThrownBy(() -> service.getApexLeague(PLATFORM, ApexTier.CHALLENGER, null, null, cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void getApexStandingByPlayer_ranksThePlayerInTheirTierAndAcrossTheTiersAbove() {
+        when(resolver.resolvePuuid("Player#NA1")).thenReturn("puuid-95");
+        port.putApex(
+                ApexTier.CHALLENGER,
+                LeagueList.builder()
+                        .entries(List.of(LeagueItem.builder().puuid("someone-else").leaguePoints(2000).build()))
+                        .build());
+        port.putApex(ApexTier.GRANDMASTER, ladderOf(700));
+
+        ApexStanding standing = service.getApexStandingByPlayer(PLATFORM, "Player#NA1", 2);
+
+        assertThat(standing.getTier()).isEqualTo("GRANDMASTER");
+        assertThat(standing.getRank()).isEqualTo(605); // 700 entries, leaguePoints 0..699: 95 is 605th
+        assertThat(standing.getApexRank()).isEqualTo(606);
+        assertThat(standing.getAroundFromRank()).isEqualTo(603);
+        assertThat(standing.getAround()).extracting(LeagueItem::getLeaguePoints).containsExactly(97, 96, 95, 94, 93);
+    }
+
+    @Test
+    void getApexStandingByPlayer_isNull_outsideTheApexTiers() {
+        when(resolver.resolvePuuid("Player#NA1")).thenReturn("unranked-puuid");
+        port.putApex(ApexTier.MASTER, ladderOf(30));
+
+        assertThat(service.getApexStandingByPlayer(PLATFORM, "Player#NA1", 2)).isNull();
+    }
+
     @Test
     void getEntriesByTier_delegatesToPort() {
         LeagueEntry entry =
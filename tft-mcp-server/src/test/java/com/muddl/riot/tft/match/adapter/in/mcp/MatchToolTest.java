@@ -2,12 +2,18 @@ package com.muddl.riot.tft.match.adapter.in.mcp;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.tft.match.application.MatchService;
+import com.muddl.riot.tft.match.domain.MatchIdQuery;
+import com.muddl.riot.tft.match.domain.MatchMetadata;
 import com.muddl.riot.tft.match.domain.TftMatch;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,45 +34,71 @@ class MatchToolTest {
 
     @Test
     void getMatchIdsByPlayer_passesArgsThrough() {
-        when(mockMatchService.getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0)).thenReturn(List.of("NA1_1", "NA1_2"));
+        when(mockMatchService.getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, MatchIdQuery.ALL))
+                .thenReturn(List.of("NA1_1", "NA1_2"));
 
-        assertThat(matchTool.getMatchIdsByPlayer("AMERICAS", "Faker#KR1", 20, 0))
+        assertThat(matchTool.getMatchIdsByPlayer("AMERICAS", "Faker#KR1", 20, 0, null, null))
                 .containsExactly("NA1_1", "NA1_2");
-        verify(mockMatchService).getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0);
+        verify(mockMatchService).getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, MatchIdQuery.ALL);
     }
 
     @Test
     void getMatchIdsByPlayer_normalizesCaseBeforeDelegating() {
-        when(mockMatchService.getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0)).thenReturn(List.of("NA1_1"));
+        when(mockMatchService.getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, MatchIdQuery.ALL))
+                .thenReturn(List.of("NA1_1"));
 
-        assertThat(matchTool.getMatchIdsByPlayer("americas", "Faker#KR1", 20, 0))
+        assertThat(matchTool.getMatchIdsByPlayer("americas", "Faker#KR1", 20, 0, null, null))
                 .containsExactly("NA1_1");
-        verify(mockMatchService).getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0);
+        verify(mockMatchService).getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, MatchIdQuery.ALL);
     }
 
     @Test
     void getMatchIdsByPlayer_defaultsCountAndStart_whenNull() {
-        when(mockMatchService.getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0)).thenReturn(List.of("NA1_1"));
+        when(mockMatchService.getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, MatchIdQuery.ALL))
+                .thenReturn(List.of("NA1_1"));
 
-        assertThat(matchTool.getMatchIdsByPlayer("AMERICAS", "Faker#KR1", null, null))
+        assertThat(matchTool.getMatchIdsByPlayer("AMERICAS", "Faker#KR1", null, null, null, null))
                 .containsExactly("NA1_1");
-        verify(mockMatchService).getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0);
+        verify(mockMatchService).getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, MatchIdQuery.ALL);
     }
 
     @Test
     void getMatchIdsByPlayer_invalidRegion_throws() {
-        assertThatThrownBy(() -> matchTool.getMatchIdsByPlayer("INVALID", "Faker#KR1", null, null))
+        assertThatThrownBy(() -> matchTool.getMatchIdsByPlayer("INVALID", "Faker#KR1", null, null, null, null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("No enum constant");
     }
 
     @Test
-    void getMatchById_passesArgsThrough() {
-        TftMatch match = TftMatch.builder().build();
+    void getMatchIdsByPlayer_passesTheTimeWindow() {
+        MatchIdQuery expected = MatchIdQuery.builder()
+                .startTime(1_700_000_000L)
+                .endTime(1_700_600_000L)
+                .build();
+        when(mockMatchService.getMatchIdsByPlayer(REGION, "Faker#KR1", 20, 0, expected))
+                .thenReturn(List.of("NA1_1"));
+
+        assertThat(matchTool.getMatchIdsByPlayer("AMERICAS", "Faker#KR1", null, null, 1_700_000_000L, 1_700_600_000L))
+                .containsExactly("NA1_1");
+    }
+
+    @Test
+    void getMatchIdsByPlayer_startAfterEnd_throws() {
+        assertThatThrownBy(() -> matchTool.getMatchIdsByPlayer(
+                        "AMERICAS", "Faker#KR1", null, null, 1_700_600_000L, 1_700_000_000L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is after endTime");
+    }
+
+    @Test
+    void getMatchById_returnsTheMatchItself_forTheFrameworkToSerialize() {
+        TftMatch match = TftMatch.builder()
+                .metadata(MatchMetadata.builder().matchId("NA1_1").build())
+                .build();
         when(mockMatchService.getMatchById(REGION, "NA1_1")).thenReturn(match);
 
         assertThat(matchTool.getMatchById("AMERICAS", "NA1_1")).isSameAs(match);
-        verify(mockMatchService).getMatchById(REGION, "NA1_1");
+        verify(mockMatchService, never()).getRawMatchById(REGION, "NA1_1");
     }
 
     @Test
@@ -74,14 +106,38 @@ class MatchToolTest {
         TftMatch match = TftMatch.builder().build();
         when(mockMatchService.getMatchById(REGION, "NA1_1")).thenReturn(match);
 
-        assertThat(matchTool.getMatchById("americas", "NA1_1")).isSameAs(match);
+        matchTool.getMatchById("americas", "NA1_1");
         verify(mockMatchService).getMatchById(REGION, "NA1_1");
     }
 
+    @Test
+    void getMatchJsonById_raw_passesRiotsBodyThroughUntouched() {
+        String body = "{\"metadata\":{\"match_id\":\"NA1_1\"},\"info\":{\"unmodelled_field\":7}}";
+        when(mockMatchService.getRawMatchById(REGION, "NA1_1")).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(text(matchTool.getMatchJsonById("AMERICAS", "NA1_1", true, null))).isEqualTo(body);
+        verify(mockMatchService, never()).getMatchById(REGION, "NA1_1");
+    }
+
+    @Test
+    void getMatchJsonById_fields_projectsTheRawBody() {
+        String body = "{\"metadata\":{\"match_id\":\"NA1_1\"},\"info\":{\"participants\":"
+                + "[{\"placement\":1,\"level\":9,\"gold_left\":3},{\"placement\":2,\"level\":8,\"gold_left\":0}]}}";
+        when(mockMatchService.getRawMatchById(REGION, "NA1_1")).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(text(matchTool.getMatchJsonById("AMERICAS", "NA1_1", true, "info.participants[].placement,level")))
+                .isEqualTo("{\"info\":{\"participants\":"
+                        + "[{\"placement\":1,\"level\":9},{\"placement\":2,\"level\":8}]}}");
+    }
+
     @Test
     void getMatchById_invalidRegion_throws() {
         assertThatThrownBy(() -> matchTool.getMatchById("INVALID", "NA1_1"))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("No enum constant");
     }
+
+    private static String text(CallToolResult result) {
+        return ((TextContent) result.content().get(0)).text();
+    }
 }
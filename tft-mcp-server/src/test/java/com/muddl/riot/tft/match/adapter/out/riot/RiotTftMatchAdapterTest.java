@@ -12,7 +12,9 @@ import com.muddl.riot.core.exception.RiotApiException;
 import com.muddl.riot.core.http.RiotApiClient;
 import com.muddl.riot.core.testsupport.Fixtures;
 import com.muddl.riot.tft.match.application.port.MatchPort;
+import com.muddl.riot.tft.match.domain.MatchIdQuery;
 import com.muddl.riot.tft.match.domain.TftMatch;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -52,12 +54,35 @@ class RiotTftMatchAdapterTest {
                         .withHeader("Content-Type", "application/json")
                         .withBody(Fixtures.read("tft-match-ids.json"))));
 
-        List<String> ids = adapter.getMatchIdsByPuuid(REGION, PUUID, 20, 0);
+        List<String> ids = adapter.getMatchIdsByPuuid(REGION, PUUID, 20, 0, MatchIdQuery.ALL);
 
         assertThat(ids).containsExactly("NA1_4600000001", "NA1_4600000002");
         verify(getRequestedFor(urlEqualTo(url)).withHeader("X-RIOT-TOKEN", equalTo("test-key-123")));
     }
 
+    @Test
+    void getMatchIdsByPuuid_sendsTheTimeWindow() {
+        String url = "/tft/match/v1/matches/by-puuid/" + PUUID
+                + "/ids?count=100&start=100&startTime=1700000000&endTime=1700600000";
+        stubFor(get(urlEqualTo(url))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("tft-match-ids.json"))));
+
+        adapter.getMatchIdsByPuuid(
+                REGION,
+                PUUID,
+                100,
+                100,
+                MatchIdQuery.builder()
+                        .startTime(1_700_000_000L)
+                        .endTime(1_700_600_000L)
+                        .build());
+
+        verify(getRequestedFor(urlEqualTo(url)));
+    }
+
     @Test
     void getMatchById_parsesSnakeCaseAndNestedComp() {
         String url = "/tft/match/v1/matches/" + MATCH_ID;
@@ -82,6 +107,20 @@ class RiotTftMatchAdapterTest {
                 .isEqualTo(2);
     }
 
+    @Test
+    void getRawMatchById_returnsTheBodyVerbatim() {
+        String body = Fixtures.read("tft-match.json");
+        stubFor(get(urlEqualTo("/tft/match/v1/matches/" + MATCH_ID))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(body)));
+
+        byte[] raw = adapter.getRawMatchById(REGION, MATCH_ID);
+
+        assertThat(new String(raw, StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
     @Test
     void notFound_mapsToRiotApiException() {
         String url = "/tft/match/v1/matches/" + MATCH_ID;
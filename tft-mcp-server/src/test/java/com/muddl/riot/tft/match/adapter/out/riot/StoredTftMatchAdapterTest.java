@@ -0,0 +1,77 @@
+package com.muddl.riot.tft.match.adapter.out.riot;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.muddl.riot.core.config.RiotApiProperties;
+import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.core.http.RiotApiClient;
+import com.muddl.riot.core.testsupport.Fixtures;
+import com.muddl.riot.tft.match.application.port.MatchPort;
+import com.muddl.riot.tft.match.domain.TftMatch;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+class StoredTftMatchAdapterTest {
+
+    private static final RiotApiRegionUri REGION = RiotApiRegionUri.AMERICAS;
+    private static final String MATCH_ID = "NA1_4600000001";
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private WireMockServer wireMock;
+    private MatchPort adapter;
+
+    @BeforeEach
+    void setUp() {
+        wireMock = new WireMockServer(options().dynamicPort());
+        wireMock.start();
+        configureFor(wireMock.port());
+        RiotApiProperties properties = new RiotApiProperties();
+        properties.setApiKey("test-key-123");
+        properties.setBaseUrlOverride("http://localhost:" + wireMock.port());
+        adapter = new StoredTftMatchAdapter(new RiotTftMatchAdapter(new RiotApiClient(properties)), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMock.stop();
+    }
+
+    @Test
+    void a_match_is_fetched_once_and_then_served_from_the_store() {
+        stubFor(get(urlEqualTo("/tft/match/v1/matches/" + MATCH_ID))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("tft-match.json"))));
+
+        TftMatch first = adapter.getMatchById(REGION, MATCH_ID);
+        TftMatch second = adapter.getMatchById(REGION, MATCH_ID);
+
+        // Stored packed: each read rebuilds an equal TftMatch.
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+        verify(exactly(1), getRequestedFor(urlEqualTo("/tft/match/v1/matches/" + MATCH_ID)));
+    }
+
+    @Test
+    void a_raw_match_is_stored_and_later_reads_are_served_from_the_store() {
+        stubFor(get(urlEqualTo("/tft/match/v1/matches/" + MATCH_ID))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(Fixtures.read("tft-match.json"))));
+
+        byte[] fetched = adapter.getRawMatchById(REGION, MATCH_ID);
+        adapter.getMatchById(REGION, MATCH_ID);
+        byte[] stored = adapter.getRawMatchById(REGION, MATCH_ID);
+
+        assertThat(new String(fetched, StandardCharsets.UTF_8)).isEqualTo(Fixtures.read("tft-match.json"));
+        assertThat(MAPPER.readTree(stored)).isEqualTo(MAPPER.readTree(fetched));
+        verify(exactly(1), getRequestedFor(urlEqualTo("/tft/match/v1/matches/" + MATCH_ID)));
+    }
+}
@@ -2,14 +2,18 @@ package com.muddl.riot.tft.match.application;
 
 import com.muddl.riot.core.enums.RiotApiRegionUri;
 import com.muddl.riot.tft.match.application.port.MatchPort;
+import com.muddl.riot.tft.match.domain.MatchIdQuery;
 import com.muddl.riot.tft.match.domain.TftMatch;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import tools.jackson.databind.json.JsonMapper;
 
 /** Hand-written in-memory {@link MatchPort}. */
 public class InMemoryMatchPort implements MatchPort {
 
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
     private final Map<String, List<String>> idsByPuuid = new HashMap<>();
     private final Map<String, TftMatch> matchById = new HashMap<>();
 
@@ -24,7 +28,8 @@ public class InMemoryMatchPort implements MatchPort {
     }
 
     @Override
-    public List<String> getMatchIdsByPuuid(RiotApiRegionUri region, String puuid, Integer count, Integer start) {
+    public List<String> getMatchIdsByPuuid(
+            RiotApiRegionUri region, String puuid, Integer count, Integer start, MatchIdQuery query) {
         return idsByPuuid.getOrDefault(puuid, List.of());
     }
 
@@ -32,4 +37,11 @@ public class InMemoryMatchPort implements MatchPort {
     public TftMatch getMatchById(RiotApiRegionUri region, String matchId) {
         return matchById.get(matchId);
     }
+
+    /** The stored match's JSON stands in for Riot's body. */
+    @Override
+    public byte[] getRawMatchById(RiotApiRegionUri region, String matchId) {
+        TftMatch match = getMatchById(region, matchId);
+        return match == null ? null : JSON.writeValueAsBytes(match);
+    }
 }
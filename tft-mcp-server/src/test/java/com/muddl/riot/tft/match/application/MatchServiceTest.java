@@ -6,6 +6,7 @@ import static org.mockito.Mockito.when;
 
 import com.muddl.riot.account.identity.PlayerIdentityResolver;
 import com.muddl.riot.core.enums.RiotApiRegionUri;
+import com.muddl.riot.tft.match.domain.MatchIdQuery;
 import com.muddl.riot.tft.match.domain.TftMatch;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -23,7 +24,8 @@ class MatchServiceTest {
         when(resolver.resolvePuuid("Player#NA1")).thenReturn("puuid-1");
         port.putIds("puuid-1", List.of("NA1_1", "NA1_2"));
 
-        assertThat(service.getMatchIdsByPlayer(REGION, "Player#NA1", 20, 0)).containsExactly("NA1_1", "NA1_2");
+        assertThat(service.getMatchIdsByPlayer(REGION, "Player#NA1", 20, 0, MatchIdQuery.ALL))
+                .containsExactly("NA1_1", "NA1_2");
     }
 
     @Test